@@ -1,88 +1,77 @@
 package com.app.apigateway;
 
 
-import java.text.ParseException;
-
-import org.springframework.stereotype.Component;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 
+import com.app.apigateway.service.KnownUserCache;
 import com.app.apigateway.service.RegisterRequest;
-import com.app.apigateway.service.UserServiceClient;
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
+import com.app.apigateway.service.UserProvisioner;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
 
-@Component
+/**
+ * Synchronise l'utilisateur authentifié avec user-service : crée son profil à sa première requête.
+ * <p>
+ * Le filtre est placé dans la chaîne de sécurité juste après l'authentification (voir
+ * {@link SecurityConfig}) : il lit les revendications du jeton déjà vérifié par le resource
+ * server, et une requête sans jeton valide n'entraîne aucun appel à user-service.
+ */
 @Slf4j
 @AllArgsConstructor
 public class KeycloackUserSyncFilter implements WebFilter  {
     //lis les infos JWT du token Keycloak et les synchronise avec le User-service et permet de les écrire son UserProfileDTO
        // Lis les infos du token et met dans UserProfileDTO
 
-    private final UserServiceClient userServiceClient;
+    // Sujets déjà synchronisés : leurs requêtes ne passent plus par user-service
+    private final KnownUserCache knownUserCache;
+
+    // Création des profils, partagée entre les requêtes concurrentes d'un même sujet
+    private final UserProvisioner userProvisioner;
 
 
 
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String token = exchange.getRequest().getHeaders().getFirst("Authorization");
-        if (token == null || !token.startsWith("Bearer ")) {
-            // Pas de token, on continue la chaîne
-            return chain.filter(exchange);
-        }
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(authentication -> getUserDetails(((JwtAuthenticationToken) authentication).getToken()))
+                .flatMap(this::synchronize)
+                // Pas de jeton authentifié, ou utilisateur synchronisé : on continue la chaîne
+                .then(chain.filter(exchange));
+    }
 
-        RegisterRequest userDetails = getUserDetails(token);
+    private Mono<Void> synchronize(RegisterRequest userDetails) {
+        String subject = userDetails.getKeycloakId();
+        if (subject == null || knownUserCache.isKnown(subject)) {
+            return Mono.empty();
+        }
 
-        return userServiceClient.getUserByEmail(userDetails.getEmail())
-                .flatMap(response -> {
-                    // L'utilisateur existe déjà, on continue la chaîne
-                    return chain.filter(exchange);
-                })
+        return userProvisioner.provision(userDetails)
                 .onErrorResume(e -> {
-                    if (isNotFoundException(e)) {
-                        log.info("Utilisateur non trouvé, création en cours pour l'email: {}", userDetails.getEmail());
-                        return userServiceClient.createUser(userDetails)
-                                .then(chain.filter(exchange));
-                    } else {
-                        log.error("Erreur inattendue lors de la vérification de l'utilisateur: {}", e.getMessage());
-                        return chain.filter(exchange);
-                    }
+                    // La requête continue : la synchronisation sera retentée à la prochaine
+                    log.error("Erreur lors de la synchronisation de l'utilisateur {}: {}", userDetails.getEmail(), e.getMessage());
+                    return Mono.empty();
                 });
     }
 
-    private RegisterRequest getUserDetails(String token) {
-
-        try {
-            // Parse the JWT token
-            String tokenWithoutBearer = token.replace("Bearer ", "").trim();
-            SignedJWT signedJWT = SignedJWT.parse(tokenWithoutBearer);
-            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
-
-            RegisterRequest registerRequest = new RegisterRequest();
-            registerRequest.setEmail(claims.getStringClaim("email"));
-            registerRequest.setKeycloakId(claims.getStringClaim("sub"));
-            registerRequest.setUsername(claims.getStringClaim("preferred_username"));
-
-            return registerRequest;
+    private RegisterRequest getUserDetails(Jwt jwt) {
+        // Revendications du jeton validé par le resource server
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail(jwt.getClaimAsString("email"));
+        registerRequest.setKeycloakId(jwt.getSubject());
+        registerRequest.setUsername(jwt.getClaimAsString("preferred_username"));
 
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
-        }
-
-    }
-
-    private boolean isNotFoundException(Throwable e) {
-        return e instanceof org.springframework.web.reactive.function.client.WebClientResponseException.NotFound;
+        return registerRequest;
     }
 }
-
-
-
-
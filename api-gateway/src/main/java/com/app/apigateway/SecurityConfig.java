@@ -4,16 +4,22 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
+import com.app.apigateway.service.KnownUserCache;
+import com.app.apigateway.service.UserProvisioner;
+
 
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         KnownUserCache knownUserCache,
+                                                         UserProvisioner userProvisioner) {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                     .authorizeExchange(exchange -> exchange
@@ -21,6 +27,9 @@ public class SecurityConfig {
                         .anyExchange().authenticated()
                     )
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+                // Synchronisation avec user-service une fois le jeton vérifié
+                .addFilterAfter(new KeycloackUserSyncFilter(knownUserCache, userProvisioner),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
                 .build();
 
 
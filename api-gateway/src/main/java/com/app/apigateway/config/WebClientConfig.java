@@ -1,14 +1,99 @@
 package com.app.apigateway.config;
 
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Client HTTP des appels de la gateway vers les services (voir {@code UserServiceClient}).
+ * <p>
+ * Le pool de connexions est borné (connexions, file d'attente d'acquisition) et ses connexions
+ * inactives ou trop anciennes sont évincées en tâche de fond. Les délais de connexion et de réponse
+ * évitent qu'une requête reste bloquée sur un service qui ne répond plus.
+ * Le pool publie ses métriques sous {@code reactor.netty.connection.provider.*} : connexions
+ * actives, inactives et en attente, et temps d'acquisition. Les requêtes publient les leurs sous
+ * {@code reactor.netty.http.client.*}.
+ */
 @Configuration
 public class WebClientConfig {
 
+    // Segments variables des chemins de user-service, regroupés dans le tag uri des métriques
+    private static final Pattern KEYCLOAK_ID = Pattern.compile("/keycloak/[^/]+");
+    private static final Pattern USERNAME = Pattern.compile("/username/[^/]+");
+    private static final Pattern OBJECT_ID = Pattern.compile("/[0-9a-fA-F]{24}(?=/|$)");
+
+    /**
+     * @param maxConnections nombre maximal de connexions ouvertes
+     * @param pendingAcquireMaxCount nombre maximal de requêtes en attente d'une connexion (au-delà, rejet immédiat)
+     * @param pendingAcquireTimeout attente maximale d'une connexion libre
+     * @param maxIdleTime durée d'inactivité au-delà de laquelle une connexion est fermée
+     * @param maxLifeTime durée de vie maximale d'une connexion
+     * @param evictionInterval intervalle de l'éviction en tâche de fond
+     * @return le pool de connexions vers les services
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serviceConnectionProvider(
+            @Value("${user-service.client.max-connections:200}") int maxConnections,
+            @Value("${user-service.client.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${user-service.client.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${user-service.client.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${user-service.client.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${user-service.client.eviction-interval:30s}") Duration evictionInterval) {
+        return ConnectionProvider.builder("services")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictionInterval)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * @param connectionProvider pool de connexions
+     * @param connectTimeout délai d'établissement d'une connexion
+     * @param responseTimeout délai maximal entre l'envoi de la requête et la réponse
+     * @param http2 HTTP/2 en clair (h2c) si le service le propose, HTTP/1.1 sinon
+     * @return le builder utilisé par les clients des services
+     */
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(ConnectionProvider connectionProvider,
+                                              @Value("${user-service.client.connect-timeout:2s}") Duration connectTimeout,
+                                              @Value("${user-service.client.response-timeout:5s}") Duration responseTimeout,
+                                              @Value("${user-service.client.http2:false}") boolean http2) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .metrics(true, WebClientConfig::uriTag);
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    /**
+     * Chemin sans paramètres ni identifiants, pour borner le nombre de séries par URI.
+     *
+     * @param uri chemin de la requête
+     * @return le chemin avec ses segments variables remplacés
+     */
+    static String uriTag(String uri) {
+        int query = uri.indexOf('?');
+        String path = query >= 0 ? uri.substring(0, query) : uri;
+        path = KEYCLOAK_ID.matcher(path).replaceAll("/keycloak/{keycloakId}");
+        path = USERNAME.matcher(path).replaceAll("/username/{username}");
+        return OBJECT_ID.matcher(path).replaceAll("/{id}");
     }
-}
\ No newline at end of file
+}
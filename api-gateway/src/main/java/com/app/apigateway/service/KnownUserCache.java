@@ -0,0 +1,59 @@
+package com.app.apigateway.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Sujets Keycloak (revendication sub) dont le profil existe déjà dans user-service.
+ * <p>
+ * Un utilisateur connu n'est plus vérifié auprès de user-service : seule sa première requête
+ * (ou la première après expiration de l'entrée) coûte un appel. Le cache est borné en nombre
+ * d'entrées et en durée de vie, pour qu'un profil supprimé finisse par être recréé.
+ * Les succès et échecs sont publiés sous {@code cache.gets} avec {@code cache=known.users}.
+ */
+@Component
+public class KnownUserCache {
+
+    private final Cache<String, Boolean> subjects;
+
+    /**
+     * @param maxSize nombre maximal de sujets en cache
+     * @param ttl durée de vie d'une entrée après la synchronisation
+     * @param meterRegistry registre des métriques
+     */
+    public KnownUserCache(@Value("${user-sync.known-users.max-size:100000}") long maxSize,
+                          @Value("${user-sync.known-users.ttl:10m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.subjects = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, subjects, "known.users");
+    }
+
+    /**
+     * @param subject identifiant Keycloak
+     * @return true si le profil de ce sujet a été vérifié ou créé récemment
+     */
+    public boolean isKnown(String subject) {
+        return subjects.getIfPresent(subject) != null;
+    }
+
+    /**
+     * Enregistre un sujet dont le profil existe dans user-service.
+     *
+     * @param subject identifiant Keycloak
+     */
+    public void markKnown(String subject) {
+        subjects.put(subject, Boolean.TRUE);
+    }
+}
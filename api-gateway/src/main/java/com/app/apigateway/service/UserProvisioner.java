@@ -0,0 +1,105 @@
+package com.app.apigateway.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Création à la volée des profils user-service, un seul appel à la fois par sujet Keycloak.
+ * <p>
+ * À sa première ouverture, l'application envoie plusieurs requêtes en parallèle avec le même jeton :
+ * elles partagent le même appel en cours au lieu de créer chacune le profil. L'entrée est retirée
+ * dès la fin de l'appel, succès ou échec, et un sujet provisionné est enregistré dans le
+ * {@link KnownUserCache}. Le nombre d'appels en cours est publié sous {@code user.provisioning.in.flight}.
+ * <p>
+ * Un refus définitif de user-service (erreur 4xx, par exemple un nom d'utilisateur déjà pris par
+ * un autre compte) est mémorisé pour une durée limitée : les requêtes suivantes du sujet ne
+ * relancent pas l'appel. Les erreurs transitoires (5xx, délais, 408 et 429) sont retentées à la
+ * requête suivante.
+ */
+@Slf4j
+@Component
+public class UserProvisioner {
+
+    private final UserServiceClient userServiceClient;
+    private final KnownUserCache knownUserCache;
+
+    // Appel en cours par sujet, partagé par les requêtes concurrentes
+    private final Map<String, Mono<Void>> inFlight = new ConcurrentHashMap<>();
+
+    // Sujets refusés par user-service, qui ne sont plus provisionnés jusqu'à expiration
+    private final Cache<String, Integer> rejected;
+
+    /**
+     * @param userServiceClient client de user-service
+     * @param knownUserCache sujets déjà synchronisés
+     * @param maxRejected nombre maximal de sujets refusés en mémoire
+     * @param rejectedTtl durée pendant laquelle un refus n'est pas retenté
+     * @param meterRegistry registre des métriques
+     */
+    public UserProvisioner(UserServiceClient userServiceClient, KnownUserCache knownUserCache,
+                           @Value("${user-sync.rejected-users.max-size:10000}") long maxRejected,
+                           @Value("${user-sync.rejected-users.ttl:10m}") Duration rejectedTtl,
+                           MeterRegistry meterRegistry) {
+        this.userServiceClient = userServiceClient;
+        this.knownUserCache = knownUserCache;
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(maxRejected)
+                .expireAfterWrite(rejectedTtl)
+                .build();
+        meterRegistry.gaugeMapSize("user.provisioning.in.flight", Tags.empty(), inFlight);
+        meterRegistry.gauge("user.provisioning.rejected", Tags.empty(), rejected, Cache::estimatedSize);
+    }
+
+    /**
+     * Crée le profil du sujet s'il n'existe pas encore, ou rejoint l'appel déjà en cours pour ce sujet.
+     *
+     * @param registerRequest identifiant Keycloak, email et nom d'utilisateur issus du jeton
+     * @return un Mono terminé une fois le profil disponible dans user-service, ou immédiatement
+     *         si user-service a récemment refusé ce sujet
+     */
+    public Mono<Void> provision(RegisterRequest registerRequest) {
+        String subject = registerRequest.getKeycloakId();
+        return Mono.defer(() -> {
+            if (rejected.getIfPresent(subject) != null) {
+                return Mono.empty();
+            }
+            return inFlight.computeIfAbsent(subject, key -> userServiceClient.provisionUser(registerRequest)
+                    .doOnSuccess(response -> knownUserCache.markKnown(key))
+                    .then()
+                    .onErrorResume(this::isPermanentRejection, e -> {
+                        WebClientResponseException response = (WebClientResponseException) e;
+                        rejected.put(key, response.getStatusCode().value());
+                        log.warn("Profil refusé par user-service pour {} ({}): {}", registerRequest.getEmail(),
+                                response.getStatusCode().value(), response.getResponseBodyAsString());
+                        return Mono.empty();
+                    })
+                    // Retiré avant la diffusion du résultat : une requête suivante relance un appel en cas d'échec
+                    .doOnTerminate(() -> inFlight.remove(key))
+                    .cache());
+        });
+    }
+
+    private boolean isPermanentRejection(Throwable e) {
+        if (!(e instanceof WebClientResponseException response)) {
+            return false;
+        }
+        int status = response.getStatusCode().value();
+        return response.getStatusCode().is4xxClientError()
+                && status != HttpStatus.REQUEST_TIMEOUT.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
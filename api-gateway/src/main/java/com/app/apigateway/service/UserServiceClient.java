@@ -29,6 +29,15 @@ public class UserServiceClient {
 
     }
 
+    // Crée l'utilisateur lié au keycloakId, ou renvoie celui qui existe déjà (appel idempotent)
+    public Mono<String> provisionUser(RegisterRequest registerRequest) {
+        return webClient.put()
+                .uri("/api/users/keycloak/{keycloakId}", registerRequest.getKeycloakId())
+                .bodyValue(registerRequest)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
     // Vérifier l'existence d'un utilisateur par ID
     public Mono<String> getUserById(String id) {
         return webClient.get()
@@ -0,0 +1,131 @@
+package com.app.apigateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.WebFilterChain;
+
+import com.app.apigateway.service.KnownUserCache;
+import com.app.apigateway.service.UserProvisioner;
+import com.app.apigateway.service.UserServiceClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class KeycloackUserSyncFilterTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> Mono.fromRunnable(forwarded::incrementAndGet);
+    private KeycloackUserSyncFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        KnownUserCache knownUserCache = new KnownUserCache(1_000, Duration.ofMinutes(10), meterRegistry);
+        filter = new KeycloackUserSyncFilter(knownUserCache,
+                new UserProvisioner(userServiceClient, knownUserCache, 1_000, Duration.ofMinutes(10), meterRegistry));
+    }
+
+    @Test
+    public void testKnownUserIsProvisionedOnlyOnce() {
+        // Arrange
+        when(userServiceClient.provisionUser(any())).thenReturn(Mono.just("{}"));
+
+        // Act
+        authenticated("kc-1", "alice@example.com").block();
+        authenticated("kc-1", "alice@example.com").block();
+
+        // Assert
+        verify(userServiceClient, times(1)).provisionUser(any());
+        assertEquals(2, forwarded.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "known.users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testRejectedUserIsForwardedWithoutRetry() {
+        // Arrange
+        when(userServiceClient.provisionUser(any())).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", HttpHeaders.EMPTY,
+                        new byte[0], StandardCharsets.UTF_8)));
+
+        // Act
+        authenticated("kc-2", "bob@example.com").block();
+        authenticated("kc-2", "bob@example.com").block();
+
+        // Assert
+        verify(userServiceClient, times(1)).provisionUser(any());
+        assertEquals(2, forwarded.get());
+    }
+
+    @Test
+    public void testUnauthenticatedRequestIsNotChecked() {
+        // Act
+        filter.filter(exchange(), chain).block();
+
+        // Assert
+        verify(userServiceClient, never()).provisionUser(any());
+        assertEquals(1, forwarded.get());
+    }
+
+    @Test
+    public void testChainErrorIsNotRetried() {
+        // Arrange
+        when(userServiceClient.provisionUser(any())).thenReturn(Mono.just("{}"));
+        WebFilterChain failingChain = exchange -> Mono.error(new IllegalStateException("route"));
+
+        // Act
+        Mono<Void> result = filter.filter(exchange(), failingChain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(token("kc-3", "carol@example.com")));
+
+        // Assert
+        assertThrows(IllegalStateException.class, result::block);
+        verify(userServiceClient, times(1)).provisionUser(any());
+    }
+
+    // Requête passée par la chaîne avec le jeton déjà authentifié dans le contexte de sécurité
+    private Mono<Void> authenticated(String subject, String email) {
+        return filter.filter(exchange(), chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(token(subject, email)));
+    }
+
+    private static JwtAuthenticationToken token(String subject, String email) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(subject)
+                .claim("email", email)
+                .claim("preferred_username", email.substring(0, email.indexOf('@')))
+                .build();
+        return new JwtAuthenticationToken(jwt);
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/me"));
+    }
+}
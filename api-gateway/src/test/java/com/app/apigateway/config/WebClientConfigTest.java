@@ -0,0 +1,35 @@
+package com.app.apigateway.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.netty.resources.ConnectionProvider;
+
+public class WebClientConfigTest {
+
+    @Test
+    public void testUriTagCollapsesPathVariables() {
+        // Act & Assert
+        assertEquals("/api/users/keycloak/{keycloakId}", WebClientConfig.uriTag("/api/users/keycloak/5b1f-4c2e"));
+        assertEquals("/api/users/username/{username}", WebClientConfig.uriTag("/api/users/username/alice"));
+        assertEquals("/api/users/{id}", WebClientConfig.uriTag("/api/users/662f1b2c3d4e5f6a7b8c9d0f"));
+        assertEquals("/api/users/email", WebClientConfig.uriTag("/api/users/email?email=alice@example.com"));
+    }
+
+    @Test
+    public void testConnectionProviderIsBounded() {
+        // Arrange
+        WebClientConfig config = new WebClientConfig();
+
+        // Act
+        ConnectionProvider provider = config.serviceConnectionProvider(50, 100, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+        // Assert
+        assertEquals(50, provider.maxConnections());
+        provider.dispose();
+    }
+}
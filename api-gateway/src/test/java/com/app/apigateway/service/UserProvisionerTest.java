@@ -0,0 +1,110 @@
+package com.app.apigateway.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+public class UserProvisionerTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KnownUserCache knownUserCache;
+    private UserProvisioner provisioner;
+
+    @BeforeEach
+    public void setUp() {
+        knownUserCache = new KnownUserCache(1_000, Duration.ofMinutes(10), meterRegistry);
+        provisioner = new UserProvisioner(userServiceClient, knownUserCache, 1_000, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneCall() {
+        // Arrange
+        Sinks.One<String> response = Sinks.one();
+        when(userServiceClient.provisionUser(any())).thenReturn(response.asMono());
+        List<Boolean> completed = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            provisioner.provision(request("kc-1")).doOnSuccess(v -> completed.add(true)).subscribe();
+        }
+        double inFlight = meterRegistry.get("user.provisioning.in.flight").gauge().value();
+        response.tryEmitValue("{}");
+
+        // Assert
+        verify(userServiceClient, times(1)).provisionUser(any());
+        assertEquals(1.0, inFlight);
+        assertEquals(5, completed.size());
+        assertTrue(knownUserCache.isKnown("kc-1"));
+        assertEquals(0.0, meterRegistry.get("user.provisioning.in.flight").gauge().value());
+    }
+
+    @Test
+    public void testTransientFailureIsRetriedByNextRequest() {
+        // Arrange
+        when(userServiceClient.provisionUser(any()))
+                .thenReturn(Mono.error(error(HttpStatus.SERVICE_UNAVAILABLE)), Mono.just("{}"));
+
+        // Act
+        assertThrows(WebClientResponseException.class, () -> provisioner.provision(request("kc-2")).block());
+        provisioner.provision(request("kc-2")).block();
+
+        // Assert
+        verify(userServiceClient, times(2)).provisionUser(any());
+        assertTrue(knownUserCache.isKnown("kc-2"));
+    }
+
+    @Test
+    public void testPermanentRejectionIsNotRetried() {
+        // Arrange
+        when(userServiceClient.provisionUser(any())).thenReturn(Mono.error(error(HttpStatus.BAD_REQUEST)));
+
+        // Act
+        provisioner.provision(request("kc-3")).block();
+        provisioner.provision(request("kc-3")).block();
+
+        // Assert
+        verify(userServiceClient, times(1)).provisionUser(any());
+        assertFalse(knownUserCache.isKnown("kc-3"));
+        assertEquals(1.0, meterRegistry.get("user.provisioning.rejected").gauge().value());
+    }
+
+    private static WebClientResponseException error(HttpStatus status) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), HttpHeaders.EMPTY,
+                new byte[0], StandardCharsets.UTF_8);
+    }
+
+    private static RegisterRequest request(String subject) {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setKeycloakId(subject);
+        registerRequest.setEmail(subject + "@example.com");
+        registerRequest.setUsername(subject);
+        return registerRequest;
+    }
+}
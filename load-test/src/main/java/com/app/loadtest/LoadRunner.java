@@ -0,0 +1,233 @@
+package com.app.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.loadtest.report.LoadReport;
+import com.app.loadtest.report.LoadReport.EndpointResult;
+import com.app.loadtest.report.LoadStatistics;
+import com.app.loadtest.scenario.Endpoint;
+import com.app.loadtest.scenario.LoadScenario;
+import com.app.loadtest.scenario.VirtualUser;
+
+/**
+ * Conduit un tir en charge ouverte : les inscriptions et les lectures partent à des débits fixes,
+ * indépendamment des temps de réponse, pour que la latence mesurée inclue l'attente dans les
+ * files de la gateway et du service.
+ * <p>
+ * Déroulement : inscription préalable de quelques utilisateurs (cibles des lectures), chauffe
+ * non mesurée, période mesurée avec un rapport par intervalle, attente des requêtes en cours
+ * puis bilan. Au-delà de {@code max-in-flight} requêtes en cours, les nouvelles sont comptées
+ * comme rejetées au lieu d'être envoyées.
+ */
+@Component
+public class LoadRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    private static final long TICK_MILLIS = 5;
+
+    private final LoadScenario scenario;
+    private final LoadStatistics statistics;
+    private final LoadReport report;
+    private final double onboardingRate;
+    private final double readRate;
+    private final int profileWeight;
+    private final int completionWeight;
+    private final int interestSearchWeight;
+    private final int prepareUsers;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration reportInterval;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    // Utilisateurs inscrits, cibles des lectures
+    private final List<VirtualUser> onboarded = new ArrayList<>();
+
+    @Autowired
+    public LoadRunner(LoadScenario scenario, LoadStatistics statistics, LoadReport report,
+                      @Value("${load-test.onboarding-rate}") double onboardingRate,
+                      @Value("${load-test.read-rate}") double readRate,
+                      @Value("${load-test.read-mix.profile}") int profileWeight,
+                      @Value("${load-test.read-mix.completion}") int completionWeight,
+                      @Value("${load-test.read-mix.interest-search}") int interestSearchWeight,
+                      @Value("${load-test.prepare-users}") int prepareUsers,
+                      @Value("${load-test.warmup}") Duration warmup,
+                      @Value("${load-test.duration}") Duration duration,
+                      @Value("${load-test.report-interval}") Duration reportInterval,
+                      @Value("${load-test.max-in-flight}") int maxInFlight) {
+        if (profileWeight + completionWeight + interestSearchWeight <= 0 && readRate > 0) {
+            throw new IllegalArgumentException("load-test.read-mix: au moins un poids doit être positif");
+        }
+        this.scenario = scenario;
+        this.statistics = statistics;
+        this.report = report;
+        this.onboardingRate = onboardingRate;
+        this.readRate = readRate;
+        this.profileWeight = profileWeight;
+        this.completionWeight = completionWeight;
+        this.interestSearchWeight = interestSearchWeight;
+        this.prepareUsers = prepareUsers;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.reportInterval = reportInterval;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Exécute le tir complet.
+     *
+     * @return le bilan par endpoint
+     */
+    public List<EndpointResult> run() throws Exception {
+        prepare();
+
+        Pacer onboardings = new Pacer(onboardingRate);
+        Pacer reads = new Pacer(readRate);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                for (long n = onboardings.due(); n > 0; n--) {
+                    startOnboarding();
+                }
+                for (long n = reads.due(); n > 0; n--) {
+                    startRead();
+                }
+            } catch (RuntimeException e) {
+                // Une exception arrêterait la planification
+                logger.error("Erreur du générateur de charge: {}", e.getMessage());
+            }
+        }, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        logger.info("Chauffe de {} s : {} inscriptions/s, {} lectures/s", warmup.toSeconds(), onboardingRate, readRate);
+        Thread.sleep(warmup.toMillis());
+        statistics.reset();
+
+        logger.info("Mesure pendant {} s", duration.toSeconds());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long last = start;
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(reportInterval.toMillis(), Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+            long now = System.nanoTime();
+            report.logInterval(Duration.ofNanos(now - last));
+            last = now;
+        }
+        scheduler.shutdownNow();
+        Duration measured = Duration.ofNanos(System.nanoTime() - start);
+
+        // Les réponses attendues sont comptées, le débit reste rapporté à la période mesurée
+        if (!inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            logger.warn("{} requêtes toujours en cours après 30 s, ignorées", maxInFlight - inFlight.availablePermits());
+        }
+        return report.finish(measured);
+    }
+
+    // Inscrit les premières cibles des lectures, hors mesure
+    private void prepare() throws InterruptedException {
+        if (prepareUsers <= 0) {
+            return;
+        }
+        logger.info("Inscription préalable de {} utilisateurs", prepareUsers);
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Boolean>> pending = new ArrayList<>();
+        for (int i = 0; i < prepareUsers; i++) {
+            inFlight.acquire();
+            VirtualUser user = scenario.newUser();
+            pending.add(scenario.onboard(user).whenComplete((success, error) -> {
+                inFlight.release();
+                if (Boolean.TRUE.equals(success)) {
+                    addOnboarded(user);
+                } else {
+                    failed.incrementAndGet();
+                }
+            }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        if (failed.get() == prepareUsers) {
+            throw new IllegalStateException("Aucune inscription n'a abouti : vérifier la gateway, le JWKS et user-service");
+        }
+        logger.info("{} utilisateurs inscrits, {} échecs", prepareUsers - failed.get(), failed.get());
+    }
+
+    private void startOnboarding() {
+        if (!inFlight.tryAcquire()) {
+            statistics.of(Endpoint.SYNC).recordDropped();
+            return;
+        }
+        VirtualUser user = scenario.newUser();
+        scenario.onboard(user).whenComplete((success, error) -> {
+            inFlight.release();
+            if (Boolean.TRUE.equals(success)) {
+                addOnboarded(user);
+            }
+        });
+    }
+
+    private void startRead() {
+        VirtualUser user = randomOnboarded();
+        if (user == null) {
+            return;
+        }
+        Endpoint endpoint = pickRead();
+        if (!inFlight.tryAcquire()) {
+            statistics.of(endpoint).recordDropped();
+            return;
+        }
+        scenario.read(endpoint, user).whenComplete((success, error) -> inFlight.release());
+    }
+
+    private Endpoint pickRead() {
+        int draw = ThreadLocalRandom.current().nextInt(profileWeight + completionWeight + interestSearchWeight);
+        if (draw < profileWeight) {
+            return Endpoint.PROFILE;
+        }
+        return draw < profileWeight + completionWeight ? Endpoint.COMPLETION : Endpoint.INTEREST_SEARCH;
+    }
+
+    private synchronized void addOnboarded(VirtualUser user) {
+        onboarded.add(user);
+    }
+
+    private synchronized VirtualUser randomOnboarded() {
+        return onboarded.isEmpty() ? null : onboarded.get(ThreadLocalRandom.current().nextInt(onboarded.size()));
+    }
+
+    /**
+     * Nombre d'envois dus depuis le départ à un débit donné, sans dérive : un retard du
+     * planificateur est rattrapé au tick suivant.
+     */
+    private static final class Pacer {
+
+        private final double perNano;
+        private final long start = System.nanoTime();
+        private long issued;
+
+        Pacer(double perSecond) {
+            this.perNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+        }
+
+        long due() {
+            long expected = (long) ((System.nanoTime() - start) * perNano);
+            long due = expected - issued;
+            issued = expected;
+            return due;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.app.loadtest;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Générateur de charge de bout en bout : JWT → gateway (KeycloackUserSyncFilter,
+ * UserServiceClient) → user-service → MongoDB.
+ * <p>
+ * L'application sert le JWKS qui remplace Keycloak pendant toute la durée du tir, puis s'arrête.
+ */
+@SpringBootApplication
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(SpringApplication.run(LoadTestApplication.class, args)));
+    }
+
+    @Bean
+    public CommandLineRunner runLoadTest(LoadRunner loadRunner) {
+        return args -> loadRunner.run();
+    }
+}
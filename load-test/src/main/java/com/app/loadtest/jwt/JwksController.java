@@ -0,0 +1,32 @@
+package com.app.loadtest.jwt;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Remplace Keycloak pour la gateway : sert le JWKS au même chemin que Keycloak, de sorte que
+ * seule l'URL du serveur change dans spring.security.oauth2.resourceserver.jwt.jwk-set-uri.
+ */
+@RestController
+public class JwksController {
+
+    private final TokenIssuer tokenIssuer;
+
+    @Autowired
+    public JwksController(TokenIssuer tokenIssuer) {
+        this.tokenIssuer = tokenIssuer;
+    }
+
+    /**
+     * @param realm nom du realm (ignoré : une seule clé pour tous)
+     * @return les clés publiques de signature
+     */
+    @GetMapping("/realms/{realm}/protocol/openid-connect/certs")
+    public Map<String, Object> certs(@PathVariable String realm) {
+        return tokenIssuer.publicJwkSet();
+    }
+}
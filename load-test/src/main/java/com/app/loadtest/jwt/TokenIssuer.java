@@ -0,0 +1,109 @@
+package com.app.loadtest.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.loadtest.scenario.VirtualUser;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Émet des jetons d'accès au format Keycloak, signés par une clé RSA générée au démarrage.
+ * <p>
+ * La clé publique est servie par {@link JwksController} : la gateway, configurée avec ce JWKS,
+ * valide les jetons comme ceux de Keycloak. Chaque utilisateur simulé réutilise son jeton tant
+ * qu'il lui reste plus de la moitié de sa durée de vie, comme un client réel : la signature RSA
+ * ne pèse pas sur le générateur de charge.
+ */
+@Component
+public class TokenIssuer {
+
+    private record IssuedToken(String value, Instant renewAfter) {
+    }
+
+    private final RSAKey signingKey;
+    private final JWSSigner signer;
+    private final String issuer;
+    private final Duration ttl;
+    private final Map<String, IssuedToken> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * @param issuer valeur de la revendication iss (URL du realm simulé)
+     * @param ttl durée de validité des jetons
+     */
+    public TokenIssuer(@Value("${load-test.jwt.issuer}") String issuer,
+                       @Value("${load-test.jwt.ttl}") Duration ttl) throws JOSEException {
+        this.signingKey = new RSAKeyGenerator(2048)
+                .keyID(UUID.randomUUID().toString())
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .generate();
+        this.signer = new RSASSASigner(signingKey);
+        this.issuer = issuer;
+        this.ttl = ttl;
+    }
+
+    /**
+     * @return le JWKS public, tel que servi par Keycloak
+     */
+    public Map<String, Object> publicJwkSet() {
+        return new JWKSet(signingKey.toPublicJWK()).toJSONObject();
+    }
+
+    /**
+     * Retourne la valeur de l'en-tête Authorization d'un utilisateur simulé.
+     *
+     * @param user utilisateur simulé
+     * @return "Bearer " suivi d'un jeton valide
+     */
+    public String bearer(VirtualUser user) {
+        Instant now = Instant.now();
+        IssuedToken token = tokens.compute(user.getKeycloakId(), (id, current) ->
+                current != null && now.isBefore(current.renewAfter()) ? current : issue(user, now));
+        return "Bearer " + token.value();
+    }
+
+    private IssuedToken issue(VirtualUser user, Instant now) {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(user.getKeycloakId())
+                .audience("account")
+                .jwtID(UUID.randomUUID().toString())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .claim("typ", "Bearer")
+                .claim("azp", "skillnexus-frontend")
+                .claim("email", user.getEmail())
+                .claim("email_verified", true)
+                .claim("preferred_username", user.getUsername())
+                .build();
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(signingKey.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build();
+        SignedJWT jwt = new SignedJWT(header, claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Signature du jeton impossible", e);
+        }
+        return new IssuedToken(jwt.serialize(), now.plus(ttl.dividedBy(2)));
+    }
+}
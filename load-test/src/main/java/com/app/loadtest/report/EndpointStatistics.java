@@ -0,0 +1,116 @@
+package com.app.loadtest.report;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Mesures d'un endpoint : histogramme des latences et décompte des réponses par classe de statut.
+ * <p>
+ * Les latences sont enregistrées sans verrou par un {@link Recorder} ; le rapporteur en extrait
+ * périodiquement l'histogramme de l'intervalle écoulé et le cumule.
+ */
+public class EndpointStatistics {
+
+    // Latences de 1 µs à 1 min, à 3 chiffres significatifs
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+    private Histogram interval;
+
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Enregistre une réponse reçue.
+     *
+     * @param status statut HTTP
+     * @param nanos durée de l'échange
+     */
+    public void recordResponse(int status, long nanos) {
+        recordLatency(nanos);
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    /**
+     * Enregistre un échange sans réponse (connexion refusée, délai dépassé).
+     *
+     * @param nanos durée jusqu'à l'échec
+     */
+    public void recordFailure(long nanos) {
+        recordLatency(nanos);
+        failures.increment();
+    }
+
+    /**
+     * Compte une requête non envoyée : trop de requêtes déjà en cours.
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    private void recordLatency(long nanos) {
+        recorder.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos))));
+    }
+
+    /**
+     * Extrait l'histogramme de l'intervalle écoulé et l'ajoute au cumul.
+     * Appelé par un seul thread (le rapporteur).
+     *
+     * @return les latences de l'intervalle, en microsecondes
+     */
+    synchronized Histogram takeInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    /**
+     * Oublie tout ce qui a été mesuré (fin de la période de chauffe).
+     */
+    synchronized void reset() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.reset();
+        success.reset();
+        clientErrors.reset();
+        serverErrors.reset();
+        failures.reset();
+        dropped.reset();
+    }
+
+    synchronized Histogram total() {
+        return total;
+    }
+
+    long success() {
+        return success.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,142 @@
+package com.app.loadtest.report;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.app.loadtest.scenario.Endpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Rapports du tir : débit, percentiles de latence et taux d'erreur par endpoint.
+ * <p>
+ * Un rapport d'intervalle est journalisé pendant la mesure. Le rapport final est affiché puis
+ * écrit dans load-test-results/&lt;date&gt;-&lt;heure&gt;/ : summary.json, et pour chaque endpoint
+ * la distribution complète des latences au format .hgrm (lisible par HdrHistogram Plotter).
+ */
+@Component
+public class LoadReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadReport.class);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    /**
+     * Latences en millisecondes.
+     */
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    /**
+     * Bilan d'un endpoint sur la période mesurée.
+     *
+     * @param throughput réponses (ou échecs) par seconde
+     * @param errorRate part des requêtes envoyées en erreur (statut 4xx/5xx ou absence de réponse)
+     * @param dropped requêtes non envoyées faute de place (limite de requêtes en cours atteinte)
+     */
+    public record EndpointResult(String endpoint, long requests, double throughput, long success,
+                                 long clientErrors, long serverErrors, long failures, long dropped,
+                                 double errorRate, Latency latency) {
+    }
+
+    private final LoadStatistics statistics;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LoadReport(LoadStatistics statistics, ObjectMapper objectMapper) {
+        this.statistics = statistics;
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Journalise les mesures de l'intervalle écoulé et les ajoute au cumul.
+     *
+     * @param interval durée de l'intervalle
+     */
+    public void logInterval(Duration interval) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = statistics.of(endpoint).takeInterval();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            logger.info("{}: {} req/s, p50 {} ms, p99 {} ms", endpoint.getLabel(),
+                    String.format(Locale.ROOT, "%.1f", histogram.getTotalCount() / seconds(interval)),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)));
+        }
+    }
+
+    /**
+     * Affiche et écrit le bilan de la période mesurée.
+     *
+     * @param measured durée de la période mesurée
+     * @return le bilan par endpoint
+     */
+    public List<EndpointResult> finish(Duration measured) throws IOException {
+        List<EndpointResult> results = new ArrayList<>();
+        Path directory = Files.createDirectories(Path.of("load-test-results", LocalDateTime.now().format(TIMESTAMP)));
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStatistics endpointStatistics = statistics.of(endpoint);
+            endpointStatistics.takeInterval();
+            Histogram total = endpointStatistics.total();
+            long requests = total.getTotalCount();
+            if (requests == 0 && endpointStatistics.dropped() == 0) {
+                continue;
+            }
+            long errors = endpointStatistics.clientErrors() + endpointStatistics.serverErrors() + endpointStatistics.failures();
+            results.add(new EndpointResult(endpoint.getLabel(), requests, requests / seconds(measured),
+                    endpointStatistics.success(), endpointStatistics.clientErrors(), endpointStatistics.serverErrors(),
+                    endpointStatistics.failures(), endpointStatistics.dropped(),
+                    requests == 0 ? 0 : (double) errors / requests, latency(total)));
+            try (PrintStream out = new PrintStream(directory.resolve(endpoint.name().toLowerCase(Locale.ROOT) + ".hgrm").toFile())) {
+                total.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        print(results, measured);
+        objectMapper.writeValue(directory.resolve("summary.json").toFile(), results);
+        logger.info("Résultats écrits dans {}", directory);
+        return results;
+    }
+
+    private static void print(List<EndpointResult> results, Duration measured) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, "%nBilan sur %d s (latences en ms)%n", measured.toSeconds()));
+        table.append(String.format(Locale.ROOT, "%-42s %8s %8s %8s %8s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Requêtes", "req/s", "Erreurs", "Rejets", "p50", "p90", "p99", "p99.9", "max"));
+        for (EndpointResult result : results) {
+            table.append(String.format(Locale.ROOT, "%-42s %8d %8.1f %7.2f%% %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    result.endpoint(), result.requests(), result.throughput(), result.errorRate() * 100,
+                    result.dropped(), result.latency().p50(), result.latency().p90(), result.latency().p99(),
+                    result.latency().p999(), result.latency().max()));
+        }
+        System.out.print(table);
+    }
+
+    private static Latency latency(Histogram histogram) {
+        return new Latency(histogram.getMean() / MICROS_PER_MILLI, millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static double seconds(Duration duration) {
+        return Math.max(1, duration.toMillis()) / 1_000.0;
+    }
+}
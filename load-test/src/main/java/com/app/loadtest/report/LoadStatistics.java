@@ -0,0 +1,34 @@
+package com.app.loadtest.report;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.app.loadtest.scenario.Endpoint;
+
+/**
+ * Mesures de tous les endpoints du tir.
+ */
+@Component
+public class LoadStatistics {
+
+    private final Map<Endpoint, EndpointStatistics> endpoints = new EnumMap<>(Endpoint.class);
+
+    public LoadStatistics() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint, new EndpointStatistics());
+        }
+    }
+
+    public EndpointStatistics of(Endpoint endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * Oublie les mesures de la chauffe.
+     */
+    public void reset() {
+        endpoints.values().forEach(EndpointStatistics::reset);
+    }
+}
@@ -0,0 +1,28 @@
+package com.app.loadtest.scenario;
+
+/**
+ * Endpoints appelés à travers la gateway, tels qu'ils apparaissent dans le rapport.
+ */
+public enum Endpoint {
+
+    // Parcours d'inscription
+    SYNC("GET /api/users/email (synchronisation)"),
+    PERSONAL_INFO("PUT /api/users/profile/personal-info"),
+    INTERESTS("PUT /api/users/profile/interests"),
+    OBJECTIVES("PUT /api/users/profile/objectives"),
+
+    // Lectures
+    PROFILE("GET /api/users/{id}"),
+    COMPLETION("GET /api/users/profile/completion"),
+    INTEREST_SEARCH("GET /api/interests/search");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
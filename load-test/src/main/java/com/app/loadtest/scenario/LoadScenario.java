@@ -0,0 +1,215 @@
+package com.app.loadtest.scenario;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.loadtest.jwt.TokenIssuer;
+import com.app.loadtest.report.EndpointStatistics;
+import com.app.loadtest.report.LoadStatistics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Requêtes d'un utilisateur simulé, envoyées à la gateway avec son jeton.
+ * <p>
+ * L'inscription enchaîne les étapes du parcours de l'application : première requête (la
+ * gateway crée alors le profil dans user-service), informations personnelles, centres d'intérêt
+ * puis objectifs. Chaque étape attend la réponse de la précédente et le parcours s'arrête à la
+ * première erreur. Toutes les requêtes sont asynchrones : le rythme d'envoi ne dépend pas des
+ * temps de réponse.
+ */
+@Component
+public class LoadScenario {
+
+    private static final int MAX_OBJECTIVES = 3;
+
+    private final HttpClient httpClient;
+    private final TokenIssuer tokenIssuer;
+    private final LoadStatistics statistics;
+    private final ObjectMapper objectMapper;
+    private final String gatewayUrl;
+    private final Duration requestTimeout;
+    private final List<String> interests;
+
+    // Les identités d'un tir ne rencontrent jamais celles d'un tir précédent
+    private final String runId = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextInt());
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param gatewayUrl URL de la gateway
+     * @param requestTimeout délai maximal d'une réponse
+     * @param clientThreads threads du client HTTP (traitement des réponses)
+     * @param interests centres d'intérêt choisis à l'inscription
+     */
+    @Autowired
+    public LoadScenario(TokenIssuer tokenIssuer, LoadStatistics statistics, ObjectMapper objectMapper,
+                        @Value("${load-test.gateway-url}") String gatewayUrl,
+                        @Value("${load-test.request-timeout}") Duration requestTimeout,
+                        @Value("${load-test.client-threads}") int clientThreads,
+                        @Value("${load-test.interests}") List<String> interests) {
+        this.tokenIssuer = tokenIssuer;
+        this.statistics = statistics;
+        this.objectMapper = objectMapper;
+        this.gatewayUrl = gatewayUrl;
+        this.requestTimeout = requestTimeout;
+        this.interests = interests;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(Executors.newFixedThreadPool(clientThreads))
+                .build();
+    }
+
+    /**
+     * @return un nouvel utilisateur, inconnu de user-service
+     */
+    public VirtualUser newUser() {
+        long index = sequence.incrementAndGet();
+        return new VirtualUser(UUID.randomUUID().toString(), "charge-" + runId + "-" + index + "@example.com",
+                "charge_" + runId + "_" + index);
+    }
+
+    /**
+     * Déroule le parcours d'inscription d'un utilisateur.
+     *
+     * @param user utilisateur simulé, sans profil
+     * @return true si toutes les étapes ont réussi
+     */
+    public CompletableFuture<Boolean> onboard(VirtualUser user) {
+        return send(Endpoint.SYNC, get(user, "/api/users/email?email=" + encode(user.getEmail())))
+                .thenCompose(response -> {
+                    String userId = userId(response);
+                    if (userId == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    user.setUserId(userId);
+                    return send(Endpoint.PERSONAL_INFO, put(user, "/api/users/profile/personal-info?userId=" + userId,
+                            Map.of("username", user.getUsername(), "bio", "Profil créé par le tir de charge",
+                                    "profilePictureUrl", "https://example.com/avatars/" + user.getUsername() + ".png")));
+                })
+                .thenCompose(response -> succeeded(response)
+                        ? send(Endpoint.INTERESTS, put(user, "/api/users/profile/interests?userId=" + user.getUserId(), pickInterests()))
+                        : CompletableFuture.completedFuture(null))
+                .thenCompose(response -> succeeded(response)
+                        ? send(Endpoint.OBJECTIVES, put(user, "/api/users/profile/objectives?userId=" + user.getUserId(), pickObjectives()))
+                        : CompletableFuture.completedFuture(null))
+                .thenApply(LoadScenario::succeeded);
+    }
+
+    /**
+     * Envoie une lecture pour le compte d'un utilisateur inscrit.
+     *
+     * @param endpoint endpoint de lecture
+     * @param user utilisateur inscrit
+     * @return l'achèvement de la requête
+     */
+    public CompletableFuture<Boolean> read(Endpoint endpoint, VirtualUser user) {
+        String path = switch (endpoint) {
+            case PROFILE -> "/api/users/" + user.getUserId();
+            case COMPLETION -> "/api/users/profile/completion?userId=" + user.getUserId();
+            case INTEREST_SEARCH -> "/api/interests/search?name="
+                    + encode(interests.get(ThreadLocalRandom.current().nextInt(interests.size())).substring(0, 3));
+            default -> throw new IllegalArgumentException("Endpoint d'écriture: " + endpoint);
+        };
+        return send(endpoint, get(user, path)).thenApply(LoadScenario::succeeded);
+    }
+
+    // La réponse complète, ou null si l'échange a échoué ; dans les deux cas la mesure est enregistrée
+    private CompletableFuture<HttpResponse<byte[]>> send(Endpoint endpoint, HttpRequest request) {
+        EndpointStatistics endpointStatistics = statistics.of(endpoint);
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (error != null) {
+                        endpointStatistics.recordFailure(elapsed);
+                        return null;
+                    }
+                    endpointStatistics.recordResponse(response.statusCode(), elapsed);
+                    return response;
+                });
+    }
+
+    private HttpRequest get(VirtualUser user, String path) {
+        return request(user, path).GET().build();
+    }
+
+    private HttpRequest put(VirtualUser user, String path, Object body) {
+        try {
+            return request(user, path)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(VirtualUser user, String path) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .timeout(requestTimeout)
+                .header("Authorization", tokenIssuer.bearer(user))
+                .header("Accept", "application/json");
+    }
+
+    private List<Map<String, Object>> pickInterests() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> remaining = new ArrayList<>(interests);
+        List<Map<String, Object>> picked = new ArrayList<>();
+        int count = Math.min(remaining.size(), 2 + random.nextInt(3));
+        for (int i = 0; i < count; i++) {
+            picked.add(Map.of("name", remaining.remove(random.nextInt(remaining.size())), "category", "Loisirs"));
+        }
+        return picked;
+    }
+
+    private List<Map<String, Object>> pickObjectives() {
+        List<Map<String, Object>> objectives = new ArrayList<>();
+        int count = 1 + ThreadLocalRandom.current().nextInt(MAX_OBJECTIVES);
+        for (int i = 1; i <= count; i++) {
+            objectives.add(Map.of("title", "Objectif " + i, "description", "Objectif du tir de charge",
+                    "progressPercentage", 0));
+        }
+        return objectives;
+    }
+
+    private String userId(HttpResponse<byte[]> response) {
+        if (!succeeded(response)) {
+            return null;
+        }
+        try {
+            JsonNode id = objectMapper.readTree(response.body()).path("data").path("id");
+            return id.isTextual() ? id.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean succeeded(HttpResponse<byte[]> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package com.app.loadtest.scenario;
+
+/**
+ * Utilisateur simulé : son identité Keycloak est fixée à la création, son identifiant
+ * user-service est connu après la première requête (synchronisation par la gateway).
+ */
+public class VirtualUser {
+
+    private final String keycloakId;
+    private final String email;
+    private final String username;
+    private volatile String userId;
+
+    public VirtualUser(String keycloakId, String email, String username) {
+        this.keycloakId = keycloakId;
+        this.email = email;
+        this.username = username;
+    }
+
+    public String getKeycloakId() {
+        return keycloakId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualUser{" +
+                "keycloakId='" + keycloakId + '\'' +
+                ", username='" + username + '\'' +
+                ", userId='" + userId + '\'' +
+                '}';
+    }
+}
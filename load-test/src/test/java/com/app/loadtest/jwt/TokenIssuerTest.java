@@ -0,0 +1,57 @@
+package com.app.loadtest.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.loadtest.scenario.VirtualUser;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+public class TokenIssuerTest {
+
+    private TokenIssuer tokenIssuer;
+    private final VirtualUser alice = new VirtualUser("kc-1", "alice@example.com", "alice");
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tokenIssuer = new TokenIssuer("http://localhost:8180/realms/skillnexus", Duration.ofHours(1));
+    }
+
+    @Test
+    public void testTokenIsVerifiedByPublishedJwks() throws Exception {
+        // Act
+        SignedJWT jwt = SignedJWT.parse(tokenIssuer.bearer(alice).substring("Bearer ".length()));
+        JWKSet jwkSet = JWKSet.parse(tokenIssuer.publicJwkSet());
+
+        // Assert
+        RSAKey key = (RSAKey) jwkSet.getKeyByKeyId(jwt.getHeader().getKeyID());
+        assertTrue(jwt.verify(new RSASSAVerifier(key)));
+        assertTrue(jwkSet.getKeys().stream().noneMatch(jwk -> jwk.isPrivate()));
+        JWTClaimsSet claims = jwt.getJWTClaimsSet();
+        assertEquals("kc-1", claims.getSubject());
+        assertEquals("alice@example.com", claims.getStringClaim("email"));
+        assertEquals("alice", claims.getStringClaim("preferred_username"));
+    }
+
+    @Test
+    public void testTokenIsReusedPerUser() {
+        // Arrange
+        VirtualUser bob = new VirtualUser("kc-2", "bob@example.com", "bob");
+
+        // Act
+        String first = tokenIssuer.bearer(alice);
+
+        // Assert
+        assertEquals(first, tokenIssuer.bearer(alice));
+        assertNotEquals(first, tokenIssuer.bearer(bob));
+    }
+}
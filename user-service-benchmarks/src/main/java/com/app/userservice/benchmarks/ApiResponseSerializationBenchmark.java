@@ -0,0 +1,115 @@
+package com.app.userservice.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.userservice.dto.ApiResponse;
+import com.app.userservice.dto.SkillTagDTO;
+import com.app.userservice.dto.UserProfileDTO;
+import com.app.userservice.model.SkillTag;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Sérialisation JSON des réponses ApiResponse avec l'ObjectMapper du service.
+ * <p>
+ * L'ObjectMapper est créé par l'auto-configuration Jackson de Spring Boot, avec le fichier
+ * application.yml de user-service : les options spring.jackson.* sont donc celles de production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private ObjectWriter profileWriter;
+    private JavaType profileResponseType;
+    private byte[] profileJson;
+    private ApiResponse<UserProfileDTO> profileResponse;
+    private ApiResponse<List<SkillTagDTO>> catalogResponse;
+    private ApiResponse<Object> errorResponse;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.main.banner-mode=off");
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        List<SkillTag> skills = Fixtures.skills(70);
+        profileResponse = ApiResponse.success(UserProfileDTO.fromModel(
+                Fixtures.completeProfile(skills, Fixtures.interests(40))));
+        catalogResponse = ApiResponse.success(skills.stream().map(SkillTagDTO::fromModel).toList());
+        errorResponse = ApiResponse.error("Utilisateur non trouvé avec l'ID: " + Fixtures.objectId(3, 1));
+        profileResponseType = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, UserProfileDTO.class);
+        profileWriter = objectMapper.writerFor(profileResponseType);
+        try {
+            profileJson = objectMapper.writeValueAsBytes(profileResponse);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Chemin de Spring MVC : writeValueAsBytes sur le type d'exécution.
+     */
+    @Benchmark
+    public byte[] profileResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(profileResponse);
+    }
+
+    /**
+     * Même réponse avec un ObjectWriter typé, réutilisé entre les appels.
+     */
+    @Benchmark
+    public byte[] profileResponsePreparedWriter() throws JsonProcessingException {
+        return profileWriter.writeValueAsBytes(profileResponse);
+    }
+
+    @Benchmark
+    public byte[] skillCatalogResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalogResponse);
+    }
+
+    @Benchmark
+    public byte[] errorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+
+    /**
+     * Lecture d'une réponse par un client du service (UserServiceClient de la gateway).
+     */
+    @Benchmark
+    public ApiResponse<UserProfileDTO> profileResponseDeserialization() throws IOException {
+        return objectMapper.readValue(profileJson, profileResponseType);
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.userservice.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée des benchmarks : accepte les options habituelles de JMH et écrit par défaut
+ * les résultats en JSON dans jmh-results/, un fichier horodaté par exécution, pour pouvoir
+ * comparer deux exécutions avec {@link ResultComparison}.
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue()) {
+            Path directory = Files.createDirectories(Path.of("jmh-results"));
+            Path result = directory.resolve(LocalDateTime.now().format(TIMESTAMP) + ".json");
+            options.resultFormat(ResultFormatType.JSON).result(result.toString());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.userservice.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.userservice.dto.InterestTagDTO;
+import com.app.userservice.dto.SkillTagDTO;
+import com.app.userservice.dto.UserProfileDTO;
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Conversions modèle ↔ DTO exécutées par les contrôleurs à chaque requête.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private UserProfile profile;
+    private UserProfileDTO profileDTO;
+    private SkillTag skill;
+    private SkillTagDTO skillDTO;
+    private InterestTag interest;
+    private InterestTagDTO interestDTO;
+    private List<SkillTag> catalog;
+
+    @Setup
+    public void setUp() {
+        catalog = Fixtures.skills(70);
+        List<InterestTag> interests = Fixtures.interests(40);
+        profile = Fixtures.completeProfile(catalog, interests);
+        profileDTO = UserProfileDTO.fromModel(profile);
+        skill = catalog.get(0);
+        skillDTO = SkillTagDTO.fromModel(skill);
+        interest = interests.get(0);
+        interestDTO = InterestTagDTO.fromModel(interest);
+    }
+
+    @Benchmark
+    public UserProfileDTO userProfileFromModel() {
+        return UserProfileDTO.fromModel(profile);
+    }
+
+    @Benchmark
+    public UserProfile userProfileToModel() {
+        return profileDTO.toModel();
+    }
+
+    @Benchmark
+    public SkillTagDTO skillTagFromModel() {
+        return SkillTagDTO.fromModel(skill);
+    }
+
+    @Benchmark
+    public SkillTag skillTagToModel() {
+        return skillDTO.toModel();
+    }
+
+    @Benchmark
+    public InterestTagDTO interestTagFromModel() {
+        return InterestTagDTO.fromModel(interest);
+    }
+
+    @Benchmark
+    public InterestTag interestTagToModel() {
+        return interestDTO.toModel();
+    }
+
+    /**
+     * Réponse de GET /api/skills : tout le catalogue prédéfini.
+     */
+    @Benchmark
+    public List<SkillTagDTO> skillCatalogFromModel() {
+        return catalog.stream().map(SkillTagDTO::fromModel).toList();
+    }
+}
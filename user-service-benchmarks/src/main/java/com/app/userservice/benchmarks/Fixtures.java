@@ -0,0 +1,69 @@
+package com.app.userservice.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.ProfileCompletionStatus;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Données de test déterministes partagées par les benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Catalogue de compétences prédéfinies, d'identifiants au format ObjectId.
+     */
+    static List<SkillTag> skills(int count) {
+        List<SkillTag> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            skills.add(new SkillTag(objectId(1, i), "Compétence " + i, "Catégorie " + (i % 8), true, null));
+        }
+        return skills;
+    }
+
+    /**
+     * Catalogue d'intérêts prédéfinis, d'identifiants au format ObjectId.
+     */
+    static List<InterestTag> interests(int count) {
+        List<InterestTag> interests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            interests.add(new InterestTag(objectId(2, i), "Intérêt " + i, "Catégorie " + (i % 6), true));
+        }
+        return interests;
+    }
+
+    /**
+     * Profil complet typique : 6 compétences, 4 intérêts, 3 objectifs et 2 partenariats.
+     */
+    static UserProfile completeProfile(List<SkillTag> skills, List<InterestTag> interests) {
+        Date now = new Date(1_700_000_000_000L);
+        UserProfile user = new UserProfile(objectId(3, 1), "5f0c2a4e-8d6b-4b1e-9a57-2f1d3c4b5a69", "alice.martin",
+                "https://cdn.example.com/avatars/alice.png", "Développeuse backend, j'apprends la guitare le soir.",
+                "alice.martin@example.com", now, now);
+        user.setSkills(new ArrayList<>(skills.subList(0, 6)));
+        user.setInterests(new ArrayList<>(interests.subList(0, 4)));
+        List<LearningObjective> objectives = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            objectives.add(new LearningObjective(objectId(4, i), "Objectif " + i, "Description de l'objectif " + i,
+                    20 * i, now, user.getId(), now, now));
+        }
+        user.setLearningObjectives(objectives);
+        user.setPartnershipIds(new ArrayList<>(List.of(objectId(5, 1), objectId(5, 2))));
+        user.setProfileCompletionStatus(ProfileCompletionStatus.COMPLETED);
+        user.setVersion(7L);
+        return user;
+    }
+
+    // Identifiant de 24 caractères hexadécimaux, unique par (type, index)
+    static String objectId(int type, int index) {
+        return String.format("%08x%016x", type, index);
+    }
+}
@@ -0,0 +1,135 @@
+package com.app.userservice.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.repository.CatalogVersionRepository;
+import com.app.userservice.repository.InterestRepository;
+import com.app.userservice.repository.SkillRepository;
+
+/**
+ * Repositories en mémoire, pour mesurer la logique des services sans MongoDB.
+ * <p>
+ * Seules les méthodes appelées par la résolution des tags et le cache du catalogue sont
+ * implémentées ; les autres lèvent {@link UnsupportedOperationException}.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static SkillRepository skills(List<SkillTag> initial) {
+        TagTable<SkillTag> table = new TagTable<>(SkillTag::getId, SkillTag::getName,
+                (tag, id) -> new SkillTag(id, tag.getName(), tag.getCategory(), false, tag.getLevel()));
+        initial.forEach(table::put);
+        return table.proxy(SkillRepository.class);
+    }
+
+    static InterestRepository interests(List<InterestTag> initial) {
+        TagTable<InterestTag> table = new TagTable<>(InterestTag::getId, InterestTag::getName,
+                (tag, id) -> new InterestTag(id, tag.getName(), tag.getCategory(), false));
+        initial.forEach(table::put);
+        return table.proxy(InterestRepository.class);
+    }
+
+    static CatalogVersionRepository catalogVersions() {
+        Map<String, Long> versions = new LinkedHashMap<>();
+        return (CatalogVersionRepository) Proxy.newProxyInstance(CatalogVersionRepository.class.getClassLoader(),
+                new Class<?>[] {CatalogVersionRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "current" -> versions.getOrDefault((String) args[0], 0L);
+                    case "increment" -> versions.merge((String) args[0], 1L, Long::sum);
+                    case "toString" -> "InMemoryCatalogVersionRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Collection de tags indexée par identifiant et par nom, comme avec l'index unique sur le nom.
+     */
+    private static final class TagTable<T> {
+
+        private final Map<String, T> byId = new LinkedHashMap<>();
+        private final Map<String, T> byName = new LinkedHashMap<>();
+        private final AtomicInteger nextId = new AtomicInteger();
+        private final Function<T, String> idOf;
+        private final Function<T, String> nameOf;
+        private final BiFunction<T, String, T> withId;
+
+        TagTable(Function<T, String> idOf, Function<T, String> nameOf, BiFunction<T, String, T> withId) {
+            this.idOf = idOf;
+            this.nameOf = nameOf;
+            this.withId = withId;
+        }
+
+        synchronized void put(T tag) {
+            byId.put(idOf.apply(tag), tag);
+            byName.put(nameOf.apply(tag), tag);
+        }
+
+        synchronized T findOrCreate(T tag) {
+            T existing = byName.get(nameOf.apply(tag));
+            if (existing != null) {
+                return existing;
+            }
+            T created = withId.apply(tag, Fixtures.objectId(9, nextId.getAndIncrement()));
+            put(created);
+            return created;
+        }
+
+        synchronized List<T> findByIdsOrNames(Collection<String> ids, Collection<String> names) {
+            List<T> found = new ArrayList<>();
+            for (String id : ids) {
+                T tag = byId.get(id);
+                if (tag != null) {
+                    found.add(tag);
+                }
+            }
+            for (String name : names) {
+                T tag = byName.get(name);
+                if (tag != null && !ids.contains(idOf.apply(tag))) {
+                    found.add(tag);
+                }
+            }
+            return found;
+        }
+
+        @SuppressWarnings("unchecked")
+        <R> R proxy(Class<R> repositoryType) {
+            return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {repositoryType},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "findAll" -> {
+                            synchronized (this) {
+                                yield new ArrayList<>(byId.values());
+                            }
+                        }
+                        case "findById" -> {
+                            synchronized (this) {
+                                yield Optional.ofNullable(byId.get((String) args[0]));
+                            }
+                        }
+                        case "findByIdInOrNameIn" -> findByIdsOrNames((Collection<String>) args[0], (Collection<String>) args[1]);
+                        case "findOrCreateByName" -> findOrCreate((T) args[0]);
+                        case "upsertAllByName" -> {
+                            ((List<T>) args[0]).forEach(this::findOrCreate);
+                            yield null;
+                        }
+                        case "toString" -> "InMemory" + repositoryType.getSimpleName();
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.userservice.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.service.impl.ParallelMatchScorer;
+import com.app.userservice.service.impl.ProfileTagEncoder.EncodedProfile;
+import com.app.userservice.service.impl.TagCodeSets;
+
+/**
+ * Notation des candidats du matching (ParallelMatchScorer) : top 20 parmi N profils encodés,
+ * en séquentiel ou sur le pool dédié. À comparer sur une machine à plusieurs cœurs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchScoringBenchmark {
+
+    private static final int SKILL_CATALOG = 500;
+    private static final int INTEREST_CATALOG = 200;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    @Param({"2000", "20000"})
+    public int candidates;
+
+    private ParallelMatchScorer scorer;
+    private List<EncodedProfile> encoded;
+    private ToDoubleFunction<EncodedProfile> score;
+
+    @Setup
+    public void setUp() {
+        scorer = new ParallelMatchScorer(parallelism, 512, 2048);
+        SplittableRandom random = new SplittableRandom(42);
+        encoded = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            UserProfile user = new UserProfile(Fixtures.objectId(3, i), null, null, null, null, null, null, null);
+            encoded.add(new EncodedProfile(user, randomSet(random, 5, SKILL_CATALOG),
+                    randomSet(random, 4, INTEREST_CATALOG), randomSet(random, 2, SKILL_CATALOG)));
+        }
+        EncodedProfile reference = new EncodedProfile(null, randomSet(random, 5, SKILL_CATALOG),
+                randomSet(random, 4, INTEREST_CATALOG), TagCodeSets.EMPTY);
+        // Jaccard pondéré du matching par similarité (compétences 1.0, intérêts 0.5)
+        score = candidate -> {
+            int sharedSkills = TagCodeSets.intersectionSize(reference.skills(), candidate.skills());
+            int sharedInterests = TagCodeSets.intersectionSize(reference.interests(), candidate.interests());
+            double union = (reference.skills().length + candidate.skills().length - sharedSkills)
+                    + 0.5 * (reference.interests().length + candidate.interests().length - sharedInterests);
+            return union == 0 ? 0 : (sharedSkills + 0.5 * sharedInterests) / union;
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        scorer.shutdown();
+    }
+
+    @Benchmark
+    public List<ProfileMatch> topMatches() {
+        return scorer.topMatches(encoded, score, 20).toSortedList();
+    }
+
+    private static int[] randomSet(SplittableRandom random, int size, int catalog) {
+        int[] codes = new int[size];
+        for (int i = 0; i < size; i++) {
+            codes[i] = random.nextInt(catalog);
+        }
+        return TagCodeSets.sortedSet(codes, size);
+    }
+}
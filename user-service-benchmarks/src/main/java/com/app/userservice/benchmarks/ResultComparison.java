@@ -0,0 +1,81 @@
+package com.app.userservice.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compare deux fichiers de résultats JMH au format JSON (référence puis exécution courante).
+ * <p>
+ * Un benchmark est en régression lorsque son score se dégrade de plus du seuil (10 % par défaut)
+ * et que l'écart dépasse la somme des marges d'erreur des deux mesures. Le code de sortie vaut 1
+ * en cas de régression, pour pouvoir bloquer une intégration continue.
+ * <p>
+ * Usage : {@code java -cp benchmarks.jar com.app.userservice.benchmarks.ResultComparison reference.json courant.json [seuil-%]}
+ */
+public final class ResultComparison {
+
+    private record Score(String mode, double value, double error, String unit) {
+
+        // Temps moyen ou par opération : plus petit est meilleur ; débit : plus grand est meilleur
+        boolean lowerIsBetter() {
+            return !"thrpt".equals(mode);
+        }
+    }
+
+    private ResultComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : ResultComparison reference.json courant.json [seuil-%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        Map<String, Score> reference = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Référence", "Courant", "Écart");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = reference.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  nouveau%n", entry.getKey(), "-", after.value(), "");
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value();
+            double worsening = after.lowerIsBetter() ? change : -change;
+            boolean significant = Math.abs(after.value() - before.value()) > before.error() + after.error();
+            boolean regression = worsening > threshold && significant;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.value(), after.value(),
+                    change * 100, after.unit(), regression ? "  RÉGRESSION" : "");
+        }
+        System.out.printf("%d benchmark(s) comparé(s), %d régression(s) au-delà de %.0f %%%n",
+                current.size(), regressions, threshold * 100);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // Résultats indexés par nom de benchmark et paramètres
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            Map<String, String> params = new LinkedHashMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = result.path("benchmark").asText() + (params.isEmpty() ? "" : " " + params);
+            JsonNode metric = result.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key, new Score(result.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,106 @@
+package com.app.userservice.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.service.InterestService;
+import com.app.userservice.service.SkillService;
+import com.app.userservice.service.impl.InterestServiceImpl;
+import com.app.userservice.service.impl.SkillServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Résolution des tags envoyés par les clients (resolveSkills / resolveInterests), avec le
+ * cache du catalogue et le résolveur par lot réels, devant des repositories en mémoire.
+ * Mesure le coût CPU de la résolution, hors allers-retours MongoDB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagResolutionBenchmark {
+
+    private SkillService skillService;
+    private InterestService interestService;
+    private List<SkillTag> skillsById;
+    private List<SkillTag> skillsByName;
+    private List<InterestTag> interestsById;
+    private int customTagSequence;
+
+    // Recréé à chaque itération : les tags personnalisés créés ne s'accumulent pas dans le catalogue
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<SkillTag> skills = Fixtures.skills(70);
+        List<InterestTag> interests = Fixtures.interests(40);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        skillService = new SkillServiceImpl(InMemoryRepositories.skills(skills),
+                InMemoryRepositories.catalogVersions(), meterRegistry, event -> { });
+        interestService = new InterestServiceImpl(InMemoryRepositories.interests(interests),
+                InMemoryRepositories.catalogVersions(), meterRegistry, event -> { });
+
+        // Tags tels qu'envoyés par le client : identifiant seul, ou nom seul avec une casse quelconque
+        skillsById = new ArrayList<>();
+        skillsByName = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            SkillTag byId = new SkillTag();
+            byId.setId(skills.get(i * 7).getId());
+            skillsById.add(byId);
+            skillsByName.add(new SkillTag(" " + skills.get(i * 7).getName().toUpperCase(Locale.ROOT), null));
+        }
+        interestsById = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            InterestTag byId = new InterestTag();
+            byId.setId(interests.get(i * 5).getId());
+            interestsById.add(byId);
+        }
+
+        // Premier chargement du catalogue hors mesure
+        skillService.resolveSkills(skillsById);
+        interestService.resolveInterests(interestsById);
+    }
+
+    @Benchmark
+    public List<SkillTag> resolveSkillsById() {
+        return skillService.resolveSkills(skillsById);
+    }
+
+    @Benchmark
+    public List<SkillTag> resolveSkillsByName() {
+        return skillService.resolveSkills(skillsByName);
+    }
+
+    @Benchmark
+    public List<InterestTag> resolveInterestsById() {
+        return interestService.resolveInterests(interestsById);
+    }
+
+    /**
+     * Six compétences connues et deux compétences personnalisées nouvelles, créées par un upsert groupé.
+     */
+    @Benchmark
+    public List<SkillTag> resolveSkillsWithCustomTags() {
+        List<SkillTag> requested = new ArrayList<>(skillsById.subList(0, 6));
+        requested.add(new SkillTag("Personnalisée " + customTagSequence++, "Autre"));
+        requested.add(new SkillTag("Personnalisée " + customTagSequence++, "Autre"));
+        return skillService.resolveSkills(requested);
+    }
+}
@@ -0,0 +1,217 @@
+package com.app.userservice.benchmarks.dataset;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.ProfileCompletionStatus;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Génère un jeu de données synthétique et le charge dans MongoDB par insertions groupées.
+ * <p>
+ * Distribution des données :
+ * <ul>
+ * <li>catalogues de compétences et d'intérêts prédéfinis, dont la popularité suit une loi de Zipf ;</li>
+ * <li>1 à 8 compétences et 1 à 6 intérêts par utilisateur ;</li>
+ * <li>une part des utilisateurs ajoute une compétence personnalisée, tirée dans un second catalogue
+ * (lui aussi selon une loi de Zipf) et créée avec {@code isPredefined = false} ;</li>
+ * <li>0 à 3 objectifs d'apprentissage, dont la moitié porte le nom d'une compétence du catalogue ;
+ * ils sont stockés dans leur collection et embarqués dans le profil, comme le fait le service.</li>
+ * </ul>
+ * Les identifiants sont déterministes ({@link #userId(long)}, {@link #email(long)}...) : les
+ * requêtes peuvent viser un utilisateur existant sans relire la base. La graine fixe rend le jeu
+ * reproductible d'une exécution à l'autre.
+ */
+class DatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int OBJECTIVE_SAMPLE_SIZE = 10_000;
+    private static final Date CREATED_AT = new Date(1_700_000_000_000L);
+
+    private static final String[] SKILL_CATEGORIES = {"Programmation", "Data", "Design", "Langues", "Musique", "Sport", "Cuisine", "Gestion"};
+    private static final String[] INTEREST_CATEGORIES = {"Loisirs", "Culture", "Technologie", "Nature", "Société", "Voyages"};
+
+    // Types d'identifiants, en tête de l'ObjectId
+    private static final int USER = 1;
+    private static final int SKILL = 2;
+    private static final int INTEREST = 3;
+    private static final int OBJECTIVE = 4;
+    private static final int CUSTOM_SKILL = 5;
+
+    /**
+     * Paramètres de génération.
+     *
+     * @param skills taille du catalogue de compétences prédéfinies
+     * @param interests taille du catalogue d'intérêts prédéfinis
+     * @param customSkills taille du catalogue de compétences personnalisées
+     * @param customSkillRatio part des utilisateurs qui ajoutent une compétence personnalisée
+     * @param zipfExponent exposant de la loi de Zipf de popularité des tags
+     * @param seed graine du générateur aléatoire
+     */
+    record Settings(int skills, int interests, int customSkills, double customSkillRatio, double zipfExponent, long seed) {
+    }
+
+    /**
+     * Objectif existant, pour les requêtes qui visent un objectif et son propriétaire.
+     */
+    record ObjectiveRef(String userId, String objectiveId, String title) {
+    }
+
+    /**
+     * Résumé du jeu chargé, utilisé pour tirer les arguments des requêtes.
+     */
+    record Dataset(long users, long objectives, List<SkillTag> skills, List<InterestTag> interests,
+                   List<SkillTag> customSkills, List<ObjectiveRef> objectiveSample) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Settings settings;
+
+    DatasetGenerator(MongoTemplate mongoTemplate, Settings settings) {
+        this.mongoTemplate = mongoTemplate;
+        this.settings = settings;
+    }
+
+    static String userId(long index) {
+        return objectId(USER, index);
+    }
+
+    static String email(long index) {
+        return "user" + index + "@example.com";
+    }
+
+    static String username(long index) {
+        return "user" + index;
+    }
+
+    static String keycloakId(long index) {
+        return new UUID(0x5eed_0000_0000_0000L, index).toString();
+    }
+
+    /**
+     * Génère puis insère les catalogues, les utilisateurs et leurs objectifs.
+     *
+     * @param users nombre d'utilisateurs
+     * @return le résumé du jeu chargé
+     */
+    Dataset load(long users) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        List<SkillTag> skills = new ArrayList<>();
+        for (int i = 0; i < settings.skills(); i++) {
+            skills.add(new SkillTag(objectId(SKILL, i), "Compétence " + i, SKILL_CATEGORIES[i % SKILL_CATEGORIES.length], true, null));
+        }
+        List<InterestTag> interests = new ArrayList<>();
+        for (int i = 0; i < settings.interests(); i++) {
+            interests.add(new InterestTag(objectId(INTEREST, i), "Intérêt " + i, INTEREST_CATEGORIES[i % INTEREST_CATEGORIES.length], true));
+        }
+        mongoTemplate.insert(skills, SkillTag.class);
+        mongoTemplate.insert(interests, InterestTag.class);
+
+        ZipfSampler skillPopularity = new ZipfSampler(settings.skills(), settings.zipfExponent());
+        ZipfSampler interestPopularity = new ZipfSampler(settings.interests(), settings.zipfExponent());
+        ZipfSampler customPopularity = new ZipfSampler(settings.customSkills(), settings.zipfExponent());
+        Map<Integer, SkillTag> customSkills = new LinkedHashMap<>();
+        List<ObjectiveRef> objectiveSample = new ArrayList<>();
+
+        List<UserProfile> userBatch = new ArrayList<>(BATCH_SIZE);
+        List<LearningObjective> objectiveBatch = new ArrayList<>(BATCH_SIZE * 2);
+        long objectives = 0;
+        long started = System.nanoTime();
+        for (long index = 0; index < users; index++) {
+            UserProfile user = new UserProfile(userId(index), keycloakId(index), username(index), null,
+                    "Profil généré n°" + index, email(index), CREATED_AT, CREATED_AT);
+            user.setVersion(0L);
+
+            int skillCount = 1 + random.nextInt(8);
+            while (user.getSkills().size() < skillCount) {
+                SkillTag skill = skills.get(skillPopularity.sample(random)).toSnapshot();
+                if (!user.getSkills().contains(skill)) {
+                    user.addSkill(skill);
+                }
+            }
+            if (random.nextDouble() < settings.customSkillRatio()) {
+                int rank = customPopularity.sample(random);
+                SkillTag custom = customSkills.computeIfAbsent(rank, k -> new SkillTag(objectId(CUSTOM_SKILL, k),
+                        "Compétence personnalisée " + k, "Autre", false, null));
+                user.addSkill(custom.toSnapshot());
+            }
+            int interestCount = 1 + random.nextInt(6);
+            while (user.getInterests().size() < interestCount) {
+                InterestTag interest = interests.get(interestPopularity.sample(random)).toSnapshot();
+                if (!user.getInterests().contains(interest)) {
+                    user.addInterest(interest);
+                }
+            }
+
+            int objectiveCount = random.nextInt(4);
+            for (int k = 0; k < objectiveCount; k++) {
+                String title = random.nextBoolean()
+                        ? skills.get(skillPopularity.sample(random)).getName()
+                        : "Objectif libre " + random.nextInt(1_000);
+                if (user.getLearningObjectives().stream().anyMatch(existing -> existing.getTitle().equals(title))) {
+                    continue;
+                }
+                LearningObjective objective = new LearningObjective(objectId(OBJECTIVE, objectives++), title,
+                        "Objectif généré", random.nextInt(101), null, user.getId(), CREATED_AT, CREATED_AT);
+                user.addLearningObjective(objective);
+                objectiveBatch.add(objective);
+                // Échantillon par réservoir, uniforme sur tous les objectifs
+                if (objectiveSample.size() < OBJECTIVE_SAMPLE_SIZE) {
+                    objectiveSample.add(new ObjectiveRef(user.getId(), objective.getId(), title));
+                } else {
+                    long slot = random.nextLong(objectives);
+                    if (slot < OBJECTIVE_SAMPLE_SIZE) {
+                        objectiveSample.set((int) slot, new ObjectiveRef(user.getId(), objective.getId(), title));
+                    }
+                }
+            }
+            user.setProfileCompletionStatus(objectiveCount > 0 ? ProfileCompletionStatus.COMPLETED
+                    : ProfileCompletionStatus.INTERESTS_COMPLETED);
+
+            userBatch.add(user);
+            if (userBatch.size() == BATCH_SIZE) {
+                flush(userBatch, objectiveBatch);
+            }
+            if ((index + 1) % 500_000 == 0) {
+                logger.info("{} utilisateurs insérés ({} s)", index + 1, (System.nanoTime() - started) / 1_000_000_000);
+            }
+        }
+        flush(userBatch, objectiveBatch);
+        if (!customSkills.isEmpty()) {
+            mongoTemplate.insert(new ArrayList<>(customSkills.values()), SkillTag.class);
+        }
+        logger.info("Jeu de données chargé: {} utilisateurs, {} objectifs, {} compétences personnalisées en {} s",
+                users, objectives, customSkills.size(), (System.nanoTime() - started) / 1_000_000_000);
+        return new Dataset(users, objectives, skills, interests, new ArrayList<>(customSkills.values()), objectiveSample);
+    }
+
+    private void flush(List<UserProfile> users, List<LearningObjective> objectives) {
+        if (!users.isEmpty()) {
+            mongoTemplate.insert(users, UserProfile.class);
+            users.clear();
+        }
+        if (!objectives.isEmpty()) {
+            mongoTemplate.insert(objectives, LearningObjective.class);
+            objectives.clear();
+        }
+    }
+
+    // ObjectId valide (24 caractères hexadécimaux), unique par (type, index)
+    private static String objectId(int type, long index) {
+        return String.format("%08x%016x", type, index);
+    }
+}
@@ -0,0 +1,54 @@
+package com.app.userservice.benchmarks.dataset;
+
+import java.util.Arrays;
+
+/**
+ * Enregistre les durées d'une requête et en calcule les percentiles exacts.
+ */
+final class LatencyRecorder {
+
+    /**
+     * Percentiles d'une série de mesures, en microsecondes.
+     */
+    record Percentiles(int operations, double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    int count() {
+        return count;
+    }
+
+    Percentiles percentiles() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        double total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        return new Percentiles(count, micros(count == 0 ? 0 : total / count), micros(at(sorted, 0.50)),
+                micros(at(sorted, 0.90)), micros(at(sorted, 0.99)), micros(at(sorted, 0.999)),
+                micros(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    // Plus petite valeur telle qu'au moins la fraction q des mesures lui soit inférieure ou égale
+    private static long at(long[] sorted, double q) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+
+    private static double micros(double nanos) {
+        return nanos / 1_000;
+    }
+}
@@ -0,0 +1,159 @@
+package com.app.userservice.benchmarks.dataset;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+
+import com.app.userservice.benchmarks.dataset.DatasetGenerator.Dataset;
+import com.app.userservice.benchmarks.dataset.QueryBenchmarkSuite.QueryResult;
+import com.app.userservice.config.MongoIndexInitializer;
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.InterestRepository;
+import com.app.userservice.repository.LearningObjectiveRepository;
+import com.app.userservice.repository.SkillRepository;
+import com.app.userservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Charge des jeux de données synthétiques de tailles croissantes dans un mongod local et mesure
+ * la latence de chaque requête des repositories de user-service.
+ * <p>
+ * Pour chaque taille : la base est supprimée, le jeu est généré et inséré, les index de
+ * production sont créés (annotations {@code @Indexed} et {@link MongoIndexInitializer}), puis
+ * {@link QueryBenchmarkSuite} est exécutée. Les percentiles sont affichés par taille et écrits en
+ * JSON dans dataset-results/, un fichier horodaté par exécution.
+ * <p>
+ * Seuls les repositories et les entités du service sont chargés : ni les services, ni le web, ni
+ * Eureka. La configuration est lue dans dataset-benchmark.yml et non dans l'application.yml du service.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = UserProfile.class)
+@EnableMongoRepositories(basePackageClasses = UserRepository.class)
+public class MongoQueryBenchmarkApplication {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoQueryBenchmarkApplication.class);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final long MIN_USERS = 1_000;
+    private static final long MAX_USERS = 5_000_000;
+
+    // Base de production du service, jamais supprimée par l'outil
+    private static final String PROTECTED_DATABASE = "user_service_db";
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(MongoQueryBenchmarkApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of("spring.config.name", "dataset-benchmark"));
+        System.exit(SpringApplication.exit(application.run(args)));
+    }
+
+    @Bean
+    public CommandLineRunner runDatasetBenchmark(MongoTemplate mongoTemplate, UserRepository userRepository,
+                                                 SkillRepository skillRepository, InterestRepository interestRepository,
+                                                 LearningObjectiveRepository learningObjectiveRepository,
+                                                 @Value("${dataset.sizes}") List<Long> sizes,
+                                                 @Value("${dataset.skills}") int skills,
+                                                 @Value("${dataset.interests}") int interests,
+                                                 @Value("${dataset.custom-skills}") int customSkills,
+                                                 @Value("${dataset.custom-skill-ratio}") double customSkillRatio,
+                                                 @Value("${dataset.zipf-exponent}") double zipfExponent,
+                                                 @Value("${dataset.seed}") long seed,
+                                                 @Value("${dataset.warmup}") int warmup,
+                                                 @Value("${dataset.iterations}") int iterations,
+                                                 @Value("${dataset.time-budget}") Duration timeBudget,
+                                                 @Value("${dataset.max-result-size}") long maxResultSize) {
+        return args -> {
+            String database = mongoTemplate.getDb().getName();
+            if (PROTECTED_DATABASE.equals(database)) {
+                throw new IllegalArgumentException("La base " + database + " est celle du service : choisir une base dédiée");
+            }
+            for (Long size : sizes) {
+                if (size < MIN_USERS || size > MAX_USERS) {
+                    throw new IllegalArgumentException("Taille hors limites (" + MIN_USERS + " à " + MAX_USERS + "): " + size);
+                }
+            }
+
+            DatasetGenerator generator = new DatasetGenerator(mongoTemplate, new DatasetGenerator.Settings(
+                    skills, interests, customSkills, customSkillRatio, zipfExponent, seed));
+            QueryBenchmarkSuite suite = new QueryBenchmarkSuite(userRepository, skillRepository, interestRepository,
+                    learningObjectiveRepository, mongoTemplate,
+                    new QueryBenchmarkSuite.Settings(warmup, iterations, timeBudget, maxResultSize, seed));
+
+            List<QueryResult> results = new ArrayList<>();
+            for (long size : sizes) {
+                logger.info("Jeu de {} utilisateurs dans la base {}", size, database);
+                mongoTemplate.getDb().drop();
+                Dataset dataset = generator.load(size);
+                createIndexes(mongoTemplate);
+                List<QueryResult> sizeResults = suite.run(dataset);
+                print(size, sizeResults);
+                results.addAll(sizeResults);
+            }
+            write(results);
+        };
+    }
+
+    // Index créés après le chargement : l'insertion est plus rapide sans index secondaires
+    private static void createIndexes(MongoTemplate mongoTemplate) {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        for (Class<?> type : List.of(UserProfile.class, SkillTag.class, InterestTag.class, LearningObjective.class)) {
+            resolver.resolveIndexFor(type).forEach(index -> mongoTemplate.indexOps(type).ensureIndex(index));
+        }
+        new MongoIndexInitializer().ensureIndexes(mongoTemplate);
+    }
+
+    private static void print(long size, List<QueryResult> results) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, "%n%,d utilisateurs (latences en µs)%n", size));
+        table.append(String.format(Locale.ROOT, "%-75s %8s %9s %9s %9s %9s %9s%n",
+                "Requête", "Exéc.", "p50", "p90", "p99", "p99.9", "max"));
+        for (QueryResult result : results) {
+            if (result.latency() == null) {
+                table.append(String.format(Locale.ROOT, "%-75s ignorée : %s%n", result.query(), result.skipped()));
+                continue;
+            }
+            table.append(String.format(Locale.ROOT, "%-75s %8d %9.0f %9.0f %9.0f %9.0f %9.0f%n", result.query(),
+                    result.latency().operations(), result.latency().p50(), result.latency().p90(),
+                    result.latency().p99(), result.latency().p999(), result.latency().max()));
+        }
+        System.out.print(table);
+    }
+
+    private static void write(List<QueryResult> results) throws IOException {
+        Path directory = Files.createDirectories(Path.of("dataset-results"));
+        Path file = directory.resolve(LocalDateTime.now().format(TIMESTAMP) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), results);
+        logger.info("Résultats écrits dans {}", file);
+    }
+}
@@ -0,0 +1,329 @@
+package com.app.userservice.benchmarks.dataset;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.app.userservice.benchmarks.dataset.DatasetGenerator.Dataset;
+import com.app.userservice.benchmarks.dataset.DatasetGenerator.ObjectiveRef;
+import com.app.userservice.benchmarks.dataset.LatencyRecorder.Percentiles;
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.InterestRepository;
+import com.app.userservice.repository.LearningObjectiveRepository;
+import com.app.userservice.repository.SkillRepository;
+import com.app.userservice.repository.UserRepository;
+
+/**
+ * Exécute chaque requête des repositories sur le jeu de données chargé et mesure sa latence.
+ * <p>
+ * Chaque requête est d'abord chauffée, puis exécutée jusqu'au nombre d'itérations demandé ou
+ * jusqu'à épuisement de son budget de temps (au moins une exécution mesurée). Les arguments sont
+ * tirés au hasard parmi des valeurs existantes, avec une graine fixe.
+ * Les requêtes qui chargent un résultat de plus de {@code maxResultSize} documents (findAll,
+ * recherche par tag très populaire) ne sont pas exécutées : elles sont signalées avec la taille
+ * du résultat qu'elles auraient chargé.
+ */
+class QueryBenchmarkSuite {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBenchmarkSuite.class);
+
+    private static final int PAGE_SIZE = 50;
+    private static final int STREAMED_DOCUMENTS = 1_000;
+
+    /**
+     * Paramètres des mesures.
+     *
+     * @param warmup exécutions non mesurées avant chaque requête
+     * @param iterations exécutions mesurées par requête
+     * @param budget durée maximale des mesures d'une requête
+     * @param maxResultSize taille maximale d'un résultat chargé en mémoire
+     * @param seed graine du tirage des arguments
+     */
+    record Settings(int warmup, int iterations, Duration budget, long maxResultSize, long seed) {
+    }
+
+    /**
+     * Résultat d'une requête pour une taille de jeu de données.
+     *
+     * @param datasetSize nombre d'utilisateurs du jeu
+     * @param query repository et requête (variante entre parenthèses)
+     * @param latency percentiles en microsecondes, null si la requête n'a pas été exécutée
+     * @param skipped raison de l'absence de mesure, sinon null
+     */
+    record QueryResult(long datasetSize, String query, Percentiles latency, String skipped) {
+    }
+
+    private record Operation(String name, Runnable prepare, Consumer<SplittableRandom> call, String skipped) {
+    }
+
+    private final UserRepository userRepository;
+    private final SkillRepository skillRepository;
+    private final InterestRepository interestRepository;
+    private final LearningObjectiveRepository learningObjectiveRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Settings settings;
+
+    QueryBenchmarkSuite(UserRepository userRepository, SkillRepository skillRepository,
+                        InterestRepository interestRepository, LearningObjectiveRepository learningObjectiveRepository,
+                        MongoTemplate mongoTemplate, Settings settings) {
+        this.userRepository = userRepository;
+        this.skillRepository = skillRepository;
+        this.interestRepository = interestRepository;
+        this.learningObjectiveRepository = learningObjectiveRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.settings = settings;
+    }
+
+    List<QueryResult> run(Dataset dataset) {
+        List<QueryResult> results = new ArrayList<>();
+        for (Operation operation : operations(dataset)) {
+            if (operation.skipped() != null) {
+                logger.info("{}: ignorée ({})", operation.name(), operation.skipped());
+                results.add(new QueryResult(dataset.users(), operation.name(), null, operation.skipped()));
+                continue;
+            }
+            Percentiles latency = measure(operation);
+            logger.info("{}: p50 {} µs, p99 {} µs ({} exécutions)", operation.name(),
+                    Math.round(latency.p50()), Math.round(latency.p99()), latency.operations());
+            results.add(new QueryResult(dataset.users(), operation.name(), latency, null));
+        }
+        return results;
+    }
+
+    private Percentiles measure(Operation operation) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        operation.prepare().run();
+        long deadline = System.nanoTime() + settings.budget().toNanos() / 4;
+        for (int i = 0; i < settings.warmup() && System.nanoTime() < deadline; i++) {
+            operation.call().accept(random);
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        deadline = System.nanoTime() + settings.budget().toNanos();
+        while (recorder.count() < settings.iterations() && (recorder.count() == 0 || System.nanoTime() < deadline)) {
+            long start = System.nanoTime();
+            operation.call().accept(random);
+            recorder.record(System.nanoTime() - start);
+        }
+        return recorder.percentiles();
+    }
+
+    private List<Operation> operations(Dataset dataset) {
+        long users = dataset.users();
+        List<SkillTag> skills = dataset.skills();
+        List<InterestTag> interests = dataset.interests();
+        List<ObjectiveRef> objectives = dataset.objectiveSample();
+        List<Operation> operations = new ArrayList<>();
+
+        // UserRepository : lectures par clé
+        operations.add(op("UserRepository.findById", random -> userRepository.findById(DatasetGenerator.userId(random.nextLong(users)))));
+        operations.add(op("UserRepository.findAllById (" + PAGE_SIZE + " ids)", random -> {
+            List<String> ids = new ArrayList<>(PAGE_SIZE);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                ids.add(DatasetGenerator.userId(random.nextLong(users)));
+            }
+            userRepository.findAllById(ids);
+        }));
+        operations.add(op("UserRepository.count", random -> userRepository.count()));
+        operations.add(op("UserRepository.findByEmail", random -> userRepository.findByEmail(DatasetGenerator.email(random.nextLong(users)))));
+        operations.add(op("UserRepository.findByUsername", random -> userRepository.findByUsername(DatasetGenerator.username(random.nextLong(users)))));
+        operations.add(op("UserRepository.findByKeycloakId", random -> userRepository.findByKeycloakId(DatasetGenerator.keycloakId(random.nextLong(users)))));
+        // Une vérification sur deux porte sur une valeur libre, comme à l'inscription
+        operations.add(op("UserRepository.existsByEmail", random -> userRepository.existsByEmail(
+                DatasetGenerator.email(random.nextBoolean() ? random.nextLong(users) : users + random.nextLong(users)))));
+        operations.add(op("UserRepository.existsByUsername", random -> userRepository.existsByUsername(
+                DatasetGenerator.username(random.nextBoolean() ? random.nextLong(users) : users + random.nextLong(users)))));
+
+        // UserRepository : renommage d'un tag répercuté sur les profils qui le portent (mêmes nom et
+        // catégorie : le contenu ne change pas), selon la popularité du tag
+        SkillTag medianSkill = skills.get(skills.size() / 2);
+        SkillTag topSkill = skills.get(0);
+        operations.add(op("UserRepository.updateTagSnapshots (compétence médiane)", count("skills._id", new ObjectId(medianSkill.getId())),
+                random -> userRepository.updateTagSnapshots("skills", medianSkill.getId(), medianSkill.getName(), medianSkill.getCategory())));
+        operations.add(op("UserRepository.updateTagSnapshots (compétence la plus populaire)", count("skills._id", new ObjectId(topSkill.getId())),
+                random -> userRepository.updateTagSnapshots("skills", topSkill.getId(), topSkill.getName(), topSkill.getCategory())));
+        InterestTag medianInterest = interests.get(interests.size() / 2);
+        operations.add(op("UserRepository.updateTagSnapshots (intérêt médian)", count("interests._id", new ObjectId(medianInterest.getId())),
+                random -> userRepository.updateTagSnapshots("interests", medianInterest.getId(), medianInterest.getName(), medianInterest.getCategory())));
+
+        // UserRepository : parcours
+        operations.add(op("UserRepository.findAllByOrderByIdAsc (" + PAGE_SIZE + ")",
+                random -> userRepository.findAllByOrderByIdAsc(Limit.of(PAGE_SIZE))));
+        operations.add(op("UserRepository.findByIdGreaterThanOrderByIdAsc (" + PAGE_SIZE + ")",
+                random -> userRepository.findByIdGreaterThanOrderByIdAsc(DatasetGenerator.userId(random.nextLong(users)), Limit.of(PAGE_SIZE))));
+        operations.add(op("UserRepository.streamAllByOrderByIdAsc (" + STREAMED_DOCUMENTS + " premiers)", random -> {
+            try (Stream<UserProfile> stream = userRepository.streamAllByOrderByIdAsc()) {
+                stream.limit(STREAMED_DOCUMENTS).forEach(user -> { });
+            }
+        }));
+        operations.add(op("UserRepository.findAll", users, random -> userRepository.findAll()));
+
+        // UserRepository : écritures ciblées
+        operations.add(op("UserRepository.updateFields (bio)", random -> userRepository.updateFields(
+                DatasetGenerator.userId(random.nextLong(users)), null,
+                Map.of("bio", "Bio modifiée " + random.nextInt(), "updatedAt", new Date()), null, null)));
+        if (!objectives.isEmpty()) {
+            operations.add(op("UserRepository.updateLearningObjective", random -> {
+                ObjectiveRef ref = objectives.get(random.nextInt(objectives.size()));
+                LearningObjective objective = new LearningObjective(ref.objectiveId(), ref.title(), "Description modifiée",
+                        random.nextInt(101), null, ref.userId(), null, new Date());
+                userRepository.updateLearningObjective(ref.userId(), objective);
+            }));
+        }
+        Deque<String[]> pushed = new ArrayDeque<>();
+        operations.add(op("UserRepository.pushLearningObjective", random -> {
+            String userId = DatasetGenerator.userId(random.nextLong(users));
+            LearningObjective objective = new LearningObjective(new ObjectId().toHexString(), "Objectif mesuré",
+                    null, 0, null, userId, new Date(), new Date());
+            if (userRepository.pushLearningObjective(userId, objective, 3)) {
+                pushed.add(new String[] {userId, objective.getId()});
+            }
+        }));
+        // Retire les objectifs ajoutés par la mesure précédente
+        operations.add(op("UserRepository.pullLearningObjective", random -> {
+            String[] entry = pushed.poll();
+            if (entry != null) {
+                userRepository.pullLearningObjective(entry[0], entry[1]);
+            } else {
+                userRepository.pullLearningObjective(DatasetGenerator.userId(random.nextLong(users)), new ObjectId().toHexString());
+            }
+        }));
+
+        // Catalogues de tags
+        addTagOperations(operations, "SkillRepository", skills, dataset.customSkills());
+        addInterestOperations(operations, interests);
+
+        // LearningObjectiveRepository
+        if (!objectives.isEmpty()) {
+            operations.add(op("LearningObjectiveRepository.findById",
+                    random -> learningObjectiveRepository.findById(objectives.get(random.nextInt(objectives.size())).objectiveId())));
+            operations.add(op("LearningObjectiveRepository.findByUserId",
+                    random -> learningObjectiveRepository.findByUserId(objectives.get(random.nextInt(objectives.size())).userId())));
+            operations.add(op("LearningObjectiveRepository.findByTitleAndUserId", random -> {
+                ObjectiveRef ref = objectives.get(random.nextInt(objectives.size()));
+                learningObjectiveRepository.findByTitleAndUserId(ref.title(), ref.userId());
+            }));
+            operations.add(op("LearningObjectiveRepository.existsByTitleAndUserId", random -> {
+                ObjectiveRef ref = objectives.get(random.nextInt(objectives.size()));
+                learningObjectiveRepository.existsByTitleAndUserId(ref.title(), ref.userId());
+            }));
+            operations.add(op("LearningObjectiveRepository.findByTitleContainingIgnoreCase", dataset.objectives(),
+                    random -> learningObjectiveRepository.findByTitleContainingIgnoreCase("libre " + random.nextInt(1_000))));
+            operations.add(op("LearningObjectiveRepository.updateProgress", random -> learningObjectiveRepository.updateProgress(
+                    objectives.get(random.nextInt(objectives.size())).objectiveId(), random.nextInt(101))));
+            operations.add(op("LearningObjectiveRepository.updateForUser", random -> {
+                ObjectiveRef ref = objectives.get(random.nextInt(objectives.size()));
+                LearningObjective changes = new LearningObjective(ref.title(), "Description modifiée", ref.userId());
+                changes.setProgressPercentage(random.nextInt(101));
+                learningObjectiveRepository.updateForUser(ref.userId(), ref.objectiveId(), changes);
+            }));
+        }
+        // Suppression d'objectifs insérés pour l'occasion, hors mesure
+        Deque<LearningObjective> disposable = new ArrayDeque<>();
+        operations.add(new Operation("LearningObjectiveRepository.deleteForUser", () -> {
+            SplittableRandom random = new SplittableRandom(settings.seed());
+            List<LearningObjective> inserted = new ArrayList<>();
+            for (int i = 0; i < settings.warmup() + settings.iterations(); i++) {
+                inserted.add(new LearningObjective(new ObjectId().toHexString(), "Objectif jetable", null, 0, null,
+                        DatasetGenerator.userId(random.nextLong(users)), new Date(), new Date()));
+            }
+            disposable.addAll(learningObjectiveRepository.saveAll(inserted));
+        }, random -> {
+            LearningObjective objective = disposable.poll();
+            if (objective != null) {
+                learningObjectiveRepository.deleteForUser(objective.getUserId(), objective.getId());
+            }
+        }, null));
+        return operations;
+    }
+
+    private void addTagOperations(List<Operation> operations, String repository, List<SkillTag> skills, List<SkillTag> customSkills) {
+        List<SkillTag> all = new ArrayList<>(skills);
+        all.addAll(customSkills);
+        operations.add(op(repository + ".findById", random -> skillRepository.findById(all.get(random.nextInt(all.size())).getId())));
+        operations.add(op(repository + ".findAll", random -> skillRepository.findAll()));
+        operations.add(op(repository + ".findByName", random -> skillRepository.findByName(all.get(random.nextInt(all.size())).getName())));
+        operations.add(op(repository + ".findByNameContainingIgnoreCase",
+                random -> skillRepository.findByNameContainingIgnoreCase("pétence " + random.nextInt(10))));
+        operations.add(op(repository + ".existsByName", random -> skillRepository.existsByName(all.get(random.nextInt(all.size())).getName())));
+        operations.add(op(repository + ".findByIdInOrNameIn (5 ids, 3 noms)", random -> skillRepository.findByIdInOrNameIn(
+                sample(all, random, 5).stream().map(SkillTag::getId).toList(),
+                sample(all, random, 3).stream().map(SkillTag::getName).toList())));
+        operations.add(op(repository + ".findByNameIn (8 noms)",
+                random -> skillRepository.findByNameIn(sample(all, random, 8).stream().map(SkillTag::getName).toList())));
+        operations.add(op(repository + ".findOrCreateByName (existant)",
+                random -> skillRepository.findOrCreateByName(copyOf(all.get(random.nextInt(all.size()))))));
+        operations.add(op(repository + ".upsertAllByName (8 existants)",
+                random -> skillRepository.upsertAllByName(sample(all, random, 8).stream().map(QueryBenchmarkSuite::copyOf).toList())));
+    }
+
+    private void addInterestOperations(List<Operation> operations, List<InterestTag> interests) {
+        String repository = "InterestRepository";
+        operations.add(op(repository + ".findById", random -> interestRepository.findById(interests.get(random.nextInt(interests.size())).getId())));
+        operations.add(op(repository + ".findAll", random -> interestRepository.findAll()));
+        operations.add(op(repository + ".findByName", random -> interestRepository.findByName(interests.get(random.nextInt(interests.size())).getName())));
+        operations.add(op(repository + ".findByNameContainingIgnoreCase",
+                random -> interestRepository.findByNameContainingIgnoreCase("térêt " + random.nextInt(10))));
+        operations.add(op(repository + ".existsByName", random -> interestRepository.existsByName(interests.get(random.nextInt(interests.size())).getName())));
+        operations.add(op(repository + ".findByIdInOrNameIn (5 ids, 3 noms)", random -> interestRepository.findByIdInOrNameIn(
+                sample(interests, random, 5).stream().map(InterestTag::getId).toList(),
+                sample(interests, random, 3).stream().map(InterestTag::getName).toList())));
+        operations.add(op(repository + ".findByNameIn (8 noms)",
+                random -> interestRepository.findByNameIn(sample(interests, random, 8).stream().map(InterestTag::getName).toList())));
+        operations.add(op(repository + ".findOrCreateByName (existant)", random -> {
+            InterestTag interest = interests.get(random.nextInt(interests.size()));
+            interestRepository.findOrCreateByName(new InterestTag(interest.getName(), interest.getCategory()));
+        }));
+        operations.add(op(repository + ".upsertAllByName (8 existants)", random -> interestRepository.upsertAllByName(
+                sample(interests, random, 8).stream().map(interest -> new InterestTag(interest.getName(), interest.getCategory())).toList())));
+    }
+
+    private Operation op(String name, Consumer<SplittableRandom> call) {
+        return new Operation(name, () -> { }, call, null);
+    }
+
+    // Requête qui charge tout son résultat en mémoire : ignorée au-delà de maxResultSize documents
+    private Operation op(String name, long resultSize, Consumer<SplittableRandom> call) {
+        String skipped = resultSize > settings.maxResultSize()
+                ? "résultat de " + resultSize + " documents, au-delà de " + settings.maxResultSize()
+                : null;
+        return new Operation(name, () -> { }, call, skipped);
+    }
+
+    private long count(String field, Object value) {
+        return mongoTemplate.count(new Query(Criteria.where(field).is(value)), UserProfile.class);
+    }
+
+    private static <T> List<T> sample(List<T> values, SplittableRandom random, int size) {
+        List<T> sample = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sample.add(values.get(random.nextInt(values.size())));
+        }
+        return sample;
+    }
+
+    // Tag tel qu'envoyé par un client : sans identifiant
+    private static SkillTag copyOf(SkillTag skill) {
+        SkillTag copy = new SkillTag(skill.getName(), skill.getCategory());
+        copy.setPredefined(skill.isPredefined());
+        return copy;
+    }
+}
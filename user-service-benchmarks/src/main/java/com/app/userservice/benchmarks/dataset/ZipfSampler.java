@@ -0,0 +1,41 @@
+package com.app.userservice.benchmarks.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Tirage de rangs selon une loi de Zipf : le rang k (à partir de 0) est tiré avec une
+ * probabilité proportionnelle à 1 / (k + 1)^s. Quelques tags très populaires, une longue traîne.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    /**
+     * @param size nombre de rangs
+     * @param exponent exposant s ; 1 environ pour la popularité de tags
+     */
+    ZipfSampler(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * Part attendue des tirages qui donnent le rang k.
+     */
+    double probability(int k) {
+        return k == 0 ? cumulative[0] : cumulative[k] - cumulative[k - 1];
+    }
+}
@@ -0,0 +1,53 @@
+package com.app.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.app.userservice.monitoring.SimilarityEvaluationEndpoint;
+import com.app.userservice.repository.TagCodeRepository;
+import com.app.userservice.service.SimilarityIndexService;
+import com.app.userservice.service.impl.ParallelMatchScorer;
+import com.app.userservice.service.impl.TagDictionary;
+
+/**
+ * Configuration du matching : calcul parallèle des scores, dictionnaire des tags et évaluation
+ * de la recherche approchée des utilisateurs similaires.
+ */
+@Configuration
+public class MatchingConfig {
+
+    /**
+     * Crée le ForkJoinPool dédié à la notation des candidats.
+     *
+     * @param parallelism nombre de fils ; 0 (par défaut) pour le nombre de processeurs disponibles,
+     *                    1 pour une notation séquentielle (cas d'une machine à un seul processeur)
+     * @param splitThreshold taille maximale d'une tranche notée par un seul fil
+     * @param parallelThreshold nombre minimal de candidats pour noter en parallèle
+     * @return le calculateur de scores
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ParallelMatchScorer parallelMatchScorer(@Value("${user-service.matching.parallelism:0}") int parallelism,
+                                                   @Value("${user-service.matching.split-threshold:512}") int splitThreshold,
+                                                   @Value("${user-service.matching.parallel-threshold:2048}") int parallelThreshold) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ParallelMatchScorer(threads, splitThreshold, parallelThreshold);
+    }
+
+    /**
+     * Crée le dictionnaire des tags, partagé par le matching et l'index de similarité.
+     * Les codes persistés sont chargés au démarrage par {@link TagDictionaryInitializer}.
+     *
+     * @param tagCodeRepository Repository des codes de tags
+     * @return le dictionnaire des tags
+     */
+    @Bean
+    public TagDictionary tagDictionary(TagCodeRepository tagCodeRepository) {
+        return new TagDictionary(tagCodeRepository);
+    }
+
+    @Bean
+    public SimilarityEvaluationEndpoint similarityEvaluationEndpoint(SimilarityIndexService similarityIndexService) {
+        return new SimilarityEvaluationEndpoint(similarityIndexService);
+    }
+}
@@ -0,0 +1,176 @@
+package com.app.userservice.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+/**
+ * Réconciliation des index MongoDB au démarrage.
+ * Déclare les index nécessaires aux requêtes dérivées des repositories (unicité de l'email,
+ * du nom d'utilisateur et de l'identifiant Keycloak, recherches par tag et par utilisateur)
+ * et les crée s'ils sont absents. Les index devenus inutiles sont supprimés.
+ * <p>
+ * Un index d'unicité manquant fait échouer le démarrage : le provisionnement des profils
+ * (UserService.provisionUser) s'appuie sur les erreurs de doublon qu'il produit pour détecter
+ * les inscriptions concurrentes, et créerait sinon des profils en double. C'est le cas s'il est
+ * impossible à créer (doublons en base, à corriger avant de redémarrer) ou s'il existe sans l'option
+ * d'unicité. Les autres index, qui ne servent qu'aux performances, sont signalés sans bloquer le démarrage.
+ */
+@Configuration
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    /**
+     * Index requis sur une collection.
+     *
+     * @param collection nom de la collection
+     * @param index définition de l'index
+     */
+    public record RequiredIndex(String collection, Index index) {
+    }
+
+    /**
+     * Liste des index requis, en plus de ceux déclarés par annotations sur les modèles.
+     *
+     * @return les index à créer
+     */
+    public static List<RequiredIndex> requiredIndexes() {
+        return List.of(
+            // Vérifications d'unicité à l'inscription et synchronisation depuis la gateway
+            new RequiredIndex("users", new Index().on("email", Sort.Direction.ASC).unique().sparse().named("email_unique")),
+            new RequiredIndex("users", new Index().on("username", Sort.Direction.ASC).unique().sparse().named("username_unique")),
+            new RequiredIndex("users", new Index().on("keycloakId", Sort.Direction.ASC).unique().sparse().named("keycloakId_unique")),
+            // Profils portant un tag, pour répercuter son renommage ou sa suppression sur les instantanés embarqués
+            new RequiredIndex("users", new Index().on("skills._id", Sort.Direction.ASC).named("skills_id")),
+            new RequiredIndex("users", new Index().on("interests._id", Sort.Direction.ASC).named("interests_id")),
+            // Objectifs d'un utilisateur, et recherche par titre pour un utilisateur donné
+            new RequiredIndex("learning_objectives", new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("title", Sort.Direction.ASC)
+                    .named("userId_title")),
+            // Modifications d'un objectif filtrées sur son propriétaire
+            new RequiredIndex("learning_objectives", new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("userId_id")),
+            // Recommandations qui citent un utilisateur, à recalculer quand il change
+            new RequiredIndex("recommendations", new Index().on("similar.userId", Sort.Direction.ASC).named("similar_userId")),
+            new RequiredIndex("recommendations", new Index().on("complementary.userId", Sort.Direction.ASC).named("complementary_userId"))
+        );
+    }
+
+    /**
+     * Index créés par des versions précédentes et qui ne servent plus aucune requête : supprimés au
+     * démarrage, car chacun alourdit les écritures des profils.
+     *
+     * @return les noms des index à supprimer, par collection
+     */
+    public static Map<String, List<String>> obsoleteIndexes() {
+        // Recherches par nom de tag, remplacées par l'index tag → utilisateurs (tag_postings)
+        return Map.of("users", List.of("skills_name", "interests_name"));
+    }
+
+    /**
+     * Crée un CommandLineRunner qui réconcilie les index au démarrage,
+     * avant toute migration ou initialisation de données.
+     *
+     * @param mongoTemplate Template MongoDB
+     * @return Un CommandLineRunner pour l'exécution au démarrage
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CommandLineRunner initIndexes(MongoTemplate mongoTemplate) {
+        return args -> ensureIndexes(mongoTemplate);
+    }
+
+    /**
+     * Crée les index requis absents et signale ceux qui divergent.
+     *
+     * @param mongoTemplate Template MongoDB
+     * @throws IllegalStateException si un index d'unicité requis n'a pas pu être créé ou existe sans l'option d'unicité
+     */
+    public void ensureIndexes(MongoTemplate mongoTemplate) {
+        int created = 0;
+        List<String> missingUnique = new ArrayList<>();
+        for (RequiredIndex required : requiredIndexes()) {
+            IndexOperations indexOps = mongoTemplate.indexOps(required.collection());
+            Document keys = required.index().getIndexKeys();
+            boolean unique = required.index().getIndexOptions().getBoolean("unique", false);
+
+            Optional<IndexInfo> existing = indexOps.getIndexInfo().stream()
+                    .filter(info -> sameKeys(info, keys))
+                    .findFirst();
+            if (existing.isPresent()) {
+                if (existing.get().isUnique() != unique) {
+                    logger.warn("Index {} sur {} présent avec des options divergentes (unique={}), à corriger manuellement",
+                            existing.get().getName(), required.collection(), existing.get().isUnique());
+                    if (unique) {
+                        missingUnique.add(required.collection() + " " + keys.toJson());
+                    }
+                }
+                continue;
+            }
+
+            try {
+                indexOps.ensureIndex(required.index());
+                created++;
+            } catch (DataIntegrityViolationException | UncategorizedMongoDbException e) {
+                logger.error("Impossible de créer l'index {} sur {}: {}", keys.toJson(), required.collection(), e.getMessage());
+                if (unique) {
+                    missingUnique.add(required.collection() + " " + keys.toJson());
+                }
+            }
+        }
+        int dropped = dropObsoleteIndexes(mongoTemplate);
+        logger.info("Réconciliation des index terminée: {} index créés, {} supprimés", created, dropped);
+        if (!missingUnique.isEmpty()) {
+            throw new IllegalStateException("Index d'unicité absents, démarrage interrompu: " + missingUnique);
+        }
+    }
+
+    private int dropObsoleteIndexes(MongoTemplate mongoTemplate) {
+        int dropped = 0;
+        for (Map.Entry<String, List<String>> obsolete : obsoleteIndexes().entrySet()) {
+            IndexOperations indexOps = mongoTemplate.indexOps(obsolete.getKey());
+            for (IndexInfo info : indexOps.getIndexInfo()) {
+                if (obsolete.getValue().contains(info.getName())) {
+                    indexOps.dropIndex(info.getName());
+                    logger.info("Index {} sur {} supprimé: plus utilisé", info.getName(), obsolete.getKey());
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    private boolean sameKeys(IndexInfo info, Document keys) {
+        if (info.getIndexFields().size() != keys.size()) {
+            return false;
+        }
+        int i = 0;
+        for (String key : keys.keySet()) {
+            if (!info.getIndexFields().get(i++).getKey().equals(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
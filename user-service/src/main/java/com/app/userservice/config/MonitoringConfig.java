@@ -0,0 +1,104 @@
+package com.app.userservice.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.app.userservice.monitoring.ControllerObservationConvention;
+import com.app.userservice.monitoring.MongoDiagnostics;
+import com.app.userservice.monitoring.MongoDiagnosticsEndpoint;
+import com.app.userservice.monitoring.MongoQueryTracker;
+import com.app.userservice.monitoring.QueryCountFilter;
+import com.app.userservice.monitoring.QueryCountingCommandListener;
+import com.app.userservice.monitoring.SlowQueryListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration de l'instrumentation HTTP et MongoDB.
+ * <p>
+ * Spring Boot publie déjà les timers {@code http.server.requests} (par route), la latence des
+ * commandes MongoDB {@code mongodb.driver.commands} (par commande et par collection) et
+ * l'occupation du pool de connexions {@code mongodb.driver.pool.*} ; les percentiles et
+ * histogrammes sont activés dans application.yml. Cette configuration y ajoute la méthode de
+ * contrôleur sur les timers HTTP, le nombre de commandes MongoDB par requête HTTP et le mode
+ * diagnostic (commandes lentes, requêtes N+1), piloté par l'endpoint {@code mongodiagnostics}.
+ */
+@Configuration
+public class MonitoringConfig {
+
+    /**
+     * Crée le mode diagnostic de l'accès à MongoDB.
+     *
+     * @param enabled état au démarrage, modifiable ensuite par l'endpoint actuator
+     * @param slowThreshold durée à partir de laquelle une commande est signalée
+     * @param repeatedQueryThreshold nombre de commandes par collection et par requête HTTP au-delà
+     *                               duquel la requête est signalée
+     * @param historySize nombre de signalements conservés de chaque type
+     * @param meterRegistry registre des métriques
+     * @return le mode diagnostic
+     */
+    @Bean
+    public MongoDiagnostics mongoDiagnostics(@Value("${user-service.mongo-diagnostics.enabled:true}") boolean enabled,
+                                             @Value("${user-service.mongo-diagnostics.slow-threshold:100ms}") Duration slowThreshold,
+                                             @Value("${user-service.mongo-diagnostics.repeated-query-threshold:10}") int repeatedQueryThreshold,
+                                             @Value("${user-service.mongo-diagnostics.history-size:100}") int historySize,
+                                             MeterRegistry meterRegistry) {
+        return new MongoDiagnostics(enabled, slowThreshold, repeatedQueryThreshold, historySize, meterRegistry);
+    }
+
+    @Bean
+    public MongoDiagnosticsEndpoint mongoDiagnosticsEndpoint(MongoDiagnostics mongoDiagnostics) {
+        return new MongoDiagnosticsEndpoint(mongoDiagnostics);
+    }
+
+    @Bean
+    public MongoQueryTracker mongoQueryTracker(MongoDiagnostics mongoDiagnostics) {
+        return new MongoQueryTracker(mongoDiagnostics);
+    }
+
+    /**
+     * Enregistre le comptage des commandes et la détection des commandes lentes auprès du
+     * client MongoDB.
+     *
+     * @param mongoQueryTracker décompte des commandes par requête
+     * @param mongoDiagnostics mode diagnostic
+     * @return la personnalisation du client MongoDB
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryCountingCustomizer(MongoQueryTracker mongoQueryTracker,
+                                                                       MongoDiagnostics mongoDiagnostics) {
+        return settings -> settings
+                .addCommandListener(new QueryCountingCommandListener(mongoQueryTracker))
+                .addCommandListener(new SlowQueryListener(mongoDiagnostics));
+    }
+
+    /**
+     * Crée le filtre qui publie le nombre de commandes par requête, placé juste après
+     * l'observation des requêtes HTTP de Spring Boot.
+     *
+     * @param mongoQueryTracker décompte des commandes par requête
+     * @param mongoDiagnostics mode diagnostic
+     * @param meterRegistry registre des métriques
+     * @return le filtre enregistré
+     */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MongoQueryTracker mongoQueryTracker,
+                                                                     MongoDiagnostics mongoDiagnostics,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(mongoQueryTracker, mongoDiagnostics, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    public ControllerObservationConvention controllerObservationConvention() {
+        return new ControllerObservationConvention();
+    }
+}
@@ -0,0 +1,34 @@
+package com.app.userservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.app.userservice.service.SimilarityIndexService;
+
+/**
+ * Classe d'initialisation de l'index de similarité (MinHash LSH).
+ * L'index en mémoire est rechargé à partir des signatures persistées ; elles ne sont recalculées
+ * à partir des profils qu'au premier démarrage ou après un changement du découpage en bandes.
+ */
+@Configuration
+public class SimilarityIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityIndexInitializer.class);
+
+    /**
+     * Crée un CommandLineRunner qui charge ou reconstruit l'index de similarité.
+     *
+     * @param similarityIndexService Service de l'index de similarité
+     * @return Un CommandLineRunner pour l'exécution au démarrage
+     */
+    @Bean
+    public CommandLineRunner initSimilarityIndex(SimilarityIndexService similarityIndexService) {
+        return args -> {
+            long indexed = similarityIndexService.loadOrRebuild();
+            logger.info("Index de similarité chargé: {} utilisateurs", indexed);
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.userservice.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.service.InterestService;
+import com.app.userservice.service.SkillService;
+import com.app.userservice.service.impl.TagDictionary;
+
+/**
+ * Classe d'initialisation du dictionnaire des tags.
+ * Les codes persistés sont chargés, puis un code est attribué aux tags du catalogue qui n'en ont
+ * pas encore ; les tags créés ensuite reçoivent le leur à leur première utilisation.
+ * S'exécute avant le chargement de l'index de similarité, qui encode les tags des signatures.
+ */
+@Configuration
+public class TagDictionaryInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagDictionaryInitializer.class);
+
+    /**
+     * Crée un CommandLineRunner qui charge le dictionnaire des tags.
+     *
+     * @param tagDictionary Dictionnaire des tags
+     * @param skillService Service des compétences
+     * @param interestService Service des intérêts
+     * @return Un CommandLineRunner pour l'exécution au démarrage
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 3)
+    public CommandLineRunner initTagDictionary(TagDictionary tagDictionary, SkillService skillService,
+                                              InterestService interestService) {
+        return args -> {
+            int loaded = tagDictionary.load();
+            List<String> tagIds = new ArrayList<>();
+            for (SkillTag skill : skillService.getAllSkills()) {
+                tagIds.add(skill.getId());
+            }
+            for (InterestTag interest : interestService.getAllInterests()) {
+                tagIds.add(interest.getId());
+            }
+            // Les tags sans code sont attribués en un seul lot
+            tagDictionary.encode(tagIds);
+            logger.info("Dictionnaire des tags chargé: {} codes persistés, {} au total", loaded, tagDictionary.size());
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.userservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.app.userservice.monitoring.TagIndexEndpoint;
+import com.app.userservice.service.TagIndexService;
+
+/**
+ * Classe d'initialisation de l'index inversé tag → utilisateurs.
+ * L'index est construit au premier démarrage, quand il est vide ; il est ensuite maintenu de manière
+ * incrémentale à chaque modification de tags. La réconciliation complète, qui parcourt tous les profils,
+ * ne bloque donc pas les démarrages suivants : un index partiel (écriture interrompue, événement perdu)
+ * se répare à la demande par l'endpoint {@code tagindex}, ou en arrière-plan à chaque démarrage avec
+ * {@code user-service.tag-index.reconcile-on-startup}.
+ */
+@Configuration
+public class TagIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagIndexInitializer.class);
+
+    /**
+     * Crée un CommandLineRunner qui construit l'index inversé s'il est vide.
+     * S'exécute après la migration des tags embarqués et le chargement du dictionnaire des tags.
+     *
+     * @param tagIndexService Service de l'index inversé
+     * @param reconcileOnStartup Réconcilie en arrière-plan un index déjà construit
+     * @return Un CommandLineRunner pour l'exécution au démarrage
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 4)
+    public CommandLineRunner initTagIndex(TagIndexService tagIndexService,
+                                          @Value("${user-service.tag-index.reconcile-on-startup:false}") boolean reconcileOnStartup) {
+        return args -> {
+            if (tagIndexService.isEmpty()) {
+                long changed = tagIndexService.reconcile();
+                logger.info("Index inversé des tags construit: {} entrées ajoutées", changed);
+            } else if (reconcileOnStartup && tagIndexService.reconcileInBackground()) {
+                logger.info("Réconciliation de l'index inversé des tags lancée en arrière-plan");
+            } else {
+                logger.info("Index inversé des tags présent, réparable par l'endpoint tagindex");
+            }
+        };
+    }
+
+    @Bean
+    public TagIndexEndpoint tagIndexEndpoint(TagIndexService tagIndexService) {
+        return new TagIndexEndpoint(tagIndexService);
+    }
+}
@@ -0,0 +1,188 @@
+package com.app.userservice.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.model.Filters;
+
+/**
+ * Migration des profils utilisateurs stockés avec des @DBRef vers des instantanés embarqués.
+ * Les anciens documents référencent les compétences, intérêts et objectifs par {$ref, $id} ;
+ * cette migration remplace chaque référence par une copie compacte du document cible afin
+ * que la lecture d'un profil ne nécessite plus qu'un seul aller-retour vers MongoDB.
+ */
+@Configuration
+public class TagSnapshotMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagSnapshotMigration.class);
+
+    private static final String USERS_COLLECTION = "users";
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Crée un CommandLineRunner qui migre les profils encore stockés avec des références.
+     * Exécuté juste après la réconciliation des index, avant les initialisations qui lisent les tags embarqués.
+     * La migration est idempotente : seuls les documents contenant encore un $ref sont traités.
+     *
+     * @param mongoTemplate Template MongoDB
+     * @param enabled Active ou désactive la migration au démarrage
+     * @return Un CommandLineRunner pour l'exécution au démarrage
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public CommandLineRunner migrateTagReferences(MongoTemplate mongoTemplate,
+                                                  @Value("${user-service.migration.embed-tags:true}") boolean enabled) {
+        return args -> {
+            if (!enabled) {
+                logger.info("Migration des références de tags désactivée, ignorée");
+                return;
+            }
+            int migrated = migrate(mongoTemplate);
+            if (migrated > 0) {
+                logger.info("Migration des références de tags terminée: {} profils convertis", migrated);
+            } else {
+                logger.info("Aucun profil avec des références de tags à migrer, ignoré");
+            }
+        };
+    }
+
+    /**
+     * Convertit par lots tous les profils contenant encore des DBRef.
+     *
+     * @param mongoTemplate Template MongoDB
+     * @return le nombre de profils convertis
+     */
+    int migrate(MongoTemplate mongoTemplate) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("skills.$ref").exists(true),
+                Criteria.where("interests.$ref").exists(true),
+                Criteria.where("learningObjectives.$ref").exists(true)));
+        query.fields().include("skills", "interests", "learningObjectives");
+
+        int migrated = 0;
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Document> users = mongoTemplate.stream(query, Document.class, USERS_COLLECTION)) {
+            for (Document user : (Iterable<Document>) users::iterator) {
+                batch.add(user);
+                if (batch.size() == BATCH_SIZE) {
+                    migrated += migrateBatch(mongoTemplate, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(mongoTemplate, batch);
+        }
+        return migrated;
+    }
+
+    private int migrateBatch(MongoTemplate mongoTemplate, List<Document> users) {
+        // Une seule requête $in par collection référencée pour tout le lot
+        Map<String, Set<Object>> idsByCollection = new HashMap<>();
+        for (Document user : users) {
+            collectReferences(user.get("skills"), idsByCollection);
+            collectReferences(user.get("interests"), idsByCollection);
+            collectReferences(user.get("learningObjectives"), idsByCollection);
+        }
+
+        Map<String, Map<Object, Document>> targets = new HashMap<>();
+        idsByCollection.forEach((collection, ids) -> {
+            Map<Object, Document> byId = new HashMap<>();
+            for (Document target : mongoTemplate.getCollection(collection).find(Filters.in("_id", ids))) {
+                byId.put(target.get("_id"), target);
+            }
+            targets.put(collection, byId);
+        });
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, USERS_COLLECTION);
+        int updates = 0;
+        for (Document user : users) {
+            Update update = new Update();
+            boolean changed = false;
+            changed |= embed(user, "skills", targets, true, update);
+            changed |= embed(user, "interests", targets, true, update);
+            changed |= embed(user, "learningObjectives", targets, false, update);
+            if (changed) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(user.get("_id"))), update);
+                updates++;
+            }
+        }
+        if (updates > 0) {
+            bulk.execute();
+        }
+        return updates;
+    }
+
+    private void collectReferences(Object value, Map<String, Set<Object>> idsByCollection) {
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (element instanceof DBRef ref) {
+                    idsByCollection.computeIfAbsent(ref.getCollectionName(), k -> new HashSet<>()).add(ref.getId());
+                }
+            }
+        }
+    }
+
+    private boolean embed(Document user, String field, Map<String, Map<Object, Document>> targets,
+                          boolean compact, Update update) {
+        if (!(user.get(field) instanceof List<?> list)) {
+            return false;
+        }
+
+        boolean hasReference = false;
+        List<Document> embedded = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element instanceof DBRef ref) {
+                hasReference = true;
+                Document target = targets.getOrDefault(ref.getCollectionName(), Map.of()).get(ref.getId());
+                if (target == null) {
+                    // Référence orpheline : le tag ou l'objectif a été supprimé
+                    continue;
+                }
+                embedded.add(compact ? tagSnapshot(target) : withoutClass(target));
+            } else if (element instanceof Document document) {
+                embedded.add(document);
+            }
+        }
+
+        if (hasReference) {
+            update.set(field, embedded);
+        }
+        return hasReference;
+    }
+
+    private Document tagSnapshot(Document tag) {
+        Document snapshot = new Document("_id", tag.get("_id"));
+        snapshot.put("name", tag.get("name"));
+        snapshot.put("category", tag.get("category"));
+        snapshot.put("isPredefined", tag.getBoolean("isPredefined", false));
+        return snapshot;
+    }
+
+    private Document withoutClass(Document document) {
+        Document copy = new Document(document);
+        copy.remove("_class");
+        return copy;
+    }
+}
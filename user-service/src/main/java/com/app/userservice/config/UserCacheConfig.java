@@ -0,0 +1,36 @@
+package com.app.userservice.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.app.userservice.service.impl.UserProfileCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration du cache local des profils utilisateurs.
+ */
+@Configuration
+public class UserCacheConfig {
+
+    /**
+     * Crée le cache des profils, borné par un poids mémoire estimé.
+     *
+     * @param maxWeight poids maximal des profils en cache
+     * @param maxAliases nombre maximal de clés secondaires (email, Keycloak, nom d'utilisateur)
+     * @param ttl durée de vie d'une entrée, qui borne l'incohérence entre instances
+     * @param meterRegistry registre des métriques
+     * @return le cache des profils
+     */
+    @Bean
+    public UserProfileCache userProfileCache(@Value("${user-service.user-cache.max-weight:32MB}") DataSize maxWeight,
+                                             @Value("${user-service.user-cache.max-aliases:200000}") long maxAliases,
+                                             @Value("${user-service.user-cache.ttl:10m}") Duration ttl,
+                                             MeterRegistry meterRegistry) {
+        return new UserProfileCache(maxWeight.toBytes(), maxAliases, ttl, meterRegistry);
+    }
+}
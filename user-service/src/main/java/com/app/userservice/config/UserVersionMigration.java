@@ -0,0 +1,47 @@
+package com.app.userservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Initialise le champ de version des profils créés avant l'introduction du verrouillage optimiste.
+ * Sans version, Spring Data considérerait ces profils comme nouveaux et tenterait de les insérer
+ * lors d'une sauvegarde complète.
+ */
+@Configuration
+public class UserVersionMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserVersionMigration.class);
+
+    /**
+     * Crée un CommandLineRunner qui fixe à 0 la version des profils qui n'en ont pas.
+     * Une seule écriture multiple, idempotente.
+     *
+     * @param mongoTemplate Template MongoDB
+     * @return Un CommandLineRunner pour l'exécution au démarrage
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public CommandLineRunner initUserVersions(MongoTemplate mongoTemplate) {
+        return args -> {
+            long updated = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    UserProfile.class).getModifiedCount();
+            if (updated > 0) {
+                logger.info("Version initialisée pour {} profils", updated);
+            }
+        };
+    }
+}
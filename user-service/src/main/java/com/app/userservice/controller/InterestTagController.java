@@ -29,6 +29,8 @@ import com.app.userservice.service.InterestService;
 @RequestMapping("/api/interests")
 public class InterestTagController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final InterestService interestService;
 
     @Autowired
@@ -102,11 +104,15 @@ public class InterestTagController {
      * Recherche des intérêts par nom partiel.
      * 
      * @param name Nom partiel de l'intérêt
+     * @param limit Nombre maximum de résultats (20 par défaut)
      * @return Une liste des intérêts correspondants convertis en DTOs
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<InterestTagDTO>>> searchInterests(@RequestParam String name) {
-        List<InterestTag> interests = interestService.findInterestsByPartialName(name);
+    public ResponseEntity<ApiResponse<List<InterestTagDTO>>> searchInterests(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
+        // Autocomplétion servie par l'index en mémoire, classée et bornée
+        List<InterestTag> interests = interestService.searchInterests(name, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
         
         List<InterestTagDTO> interestDTOs = interests.stream()
                 .map(InterestTagDTO::fromModel)
@@ -20,6 +20,7 @@ import com.app.userservice.dto.ApiResponse;
 import com.app.userservice.dto.LearningObjectiveDTO;
 import com.app.userservice.model.LearningObjective;
 import com.app.userservice.model.UserProfile;
+import com.app.userservice.service.LearningObjectiveService;
 import com.app.userservice.service.UserService;
 
 /**
@@ -31,10 +32,12 @@ import com.app.userservice.service.UserService;
 public class LearningObjectiveController {
 
     private final UserService userService;
+    private final LearningObjectiveService learningObjectiveService;
 
     @Autowired
-    public LearningObjectiveController(UserService userService) {
+    public LearningObjectiveController(UserService userService, LearningObjectiveService learningObjectiveService) {
         this.userService = userService;
+        this.learningObjectiveService = learningObjectiveService;
     }
 
     /**
@@ -68,43 +71,34 @@ public class LearningObjectiveController {
 
     /**
      * Ajoute un objectif d'apprentissage à un utilisateur.
+     * L'objectif est créé dans sa collection puis ajouté au profil par une seule mise à jour.
      * 
      * @param userId Identifiant de l'utilisateur
      * @param objectiveDTO DTO contenant les informations de l'objectif
-     * @return Le DTO de l'utilisateur mis à jour avec ses objectifs
+     * @return Les objectifs du profil de l'utilisateur convertis en DTOs
      */
     @PostMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<List<LearningObjectiveDTO>>> addObjective(
             @PathVariable String userId,
             @RequestBody LearningObjectiveDTO objectiveDTO) {
         try {
-            Optional<UserProfile> userOpt = userService.getUserById(userId);
-            
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error("Utilisateur non trouvé avec l'ID: " + userId));
-            }
-            
             // Conversion du DTO vers le modèle
             LearningObjective objective = objectiveDTO.toModel();
             
-            // Récupération et mise à jour de l'utilisateur
-            UserProfile user = userOpt.get();
-            List<LearningObjective> objectives = user.getLearningObjectives();
+            Optional<LearningObjective> createdObjective = learningObjectiveService.addObjectiveForUser(userId, objective);
             
-            if (objectives == null) {
-                objectives = List.of(objective);
-            } else {
-                objectives.add(objective);
+            if (createdObjective.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Utilisateur non trouvé avec l'ID: " + userId));
             }
             
-            user.setLearningObjectives(objectives);
-            
-            // Sauvegarde de l'utilisateur mis à jour
-            UserProfile updatedUser = userService.updateUser(userId, user);
+            // Objectifs embarqués dans le profil (au plus 3), relus après invalidation du cache
+            List<LearningObjective> objectives = userService.getUserById(userId)
+                    .map(UserProfile::getLearningObjectives)
+                    .orElse(null);
             
             // Conversion des objectifs en DTOs pour la réponse
-            List<LearningObjectiveDTO> objectiveDTOs = updatedUser.getLearningObjectives().stream()
+            List<LearningObjectiveDTO> objectiveDTOs = objectives == null ? List.of() : objectives.stream()
                     .map(LearningObjectiveDTO::fromModel)
                     .collect(Collectors.toList());
                     
@@ -130,42 +124,16 @@ public class LearningObjectiveController {
             @PathVariable String objectiveId,
             @RequestBody LearningObjectiveDTO objectiveDTO) {
         try {
-            Optional<UserProfile> userOpt = userService.getUserById(userId);
-            
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error("Utilisateur non trouvé avec l'ID: " + userId));
-            }
-            
-            UserProfile user = userOpt.get();
-            List<LearningObjective> objectives = user.getLearningObjectives();
-            
-            if (objectives == null || objectives.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error("Aucun objectif trouvé pour cet utilisateur"));
-            }
-            
-            // Recherche de l'objectif à mettre à jour
-            Optional<LearningObjective> objectiveOpt = objectives.stream()
-                    .filter(obj -> obj.getId().equals(objectiveId))
-                    .findFirst();
+            Optional<LearningObjective> updatedObjective =
+                    learningObjectiveService.updateObjectiveForUser(userId, objectiveId, objectiveDTO.toModel());
                     
-            if (objectiveOpt.isEmpty()) {
+            if (updatedObjective.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Objectif non trouvé avec l'ID: " + objectiveId));
             }
             
-            // Mise à jour de l'objectif
-            LearningObjective objective = objectiveOpt.get();
-            objective.setTitle(objectiveDTO.getTitle());
-            objective.setDescription(objectiveDTO.getDescription());
-            objective.setProgressPercentage(objectiveDTO.getProgressPercentage());
-            
-            // Sauvegarde de l'utilisateur mis à jour
-            userService.updateUser(userId, user);
-            
             // Conversion de l'objectif en DTO pour la réponse
-            LearningObjectiveDTO updatedObjectiveDTO = LearningObjectiveDTO.fromModel(objective);
+            LearningObjectiveDTO updatedObjectiveDTO = LearningObjectiveDTO.fromModel(updatedObjective.get());
             
             return ResponseEntity.ok(ApiResponse.success(updatedObjectiveDTO));
         } catch (IllegalArgumentException e) {
@@ -186,36 +154,15 @@ public class LearningObjectiveController {
             @PathVariable String userId,
             @PathVariable String objectiveId) {
         try {
-            Optional<UserProfile> userOpt = userService.getUserById(userId);
-            
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error("Utilisateur non trouvé avec l'ID: " + userId));
-            }
-            
-            UserProfile user = userOpt.get();
-            List<LearningObjective> objectives = user.getLearningObjectives();
-            
-            if (objectives == null || objectives.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error("Aucun objectif trouvé pour cet utilisateur"));
-            }
-            
-            // Filtrage des objectifs pour exclure celui à supprimer
-            boolean objectiveExists = objectives.removeIf(obj -> obj.getId().equals(objectiveId));
-            
-            if (!objectiveExists) {
+            if (!learningObjectiveService.deleteObjectiveForUser(userId, objectiveId)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Objectif non trouvé avec l'ID: " + objectiveId));
             }
             
-            // Sauvegarde de l'utilisateur mis à jour
-            userService.updateUser(userId, user);
-            
             return ResponseEntity.ok(ApiResponse.success(null));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+}
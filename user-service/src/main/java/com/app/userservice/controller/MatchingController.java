@@ -0,0 +1,115 @@
+package com.app.userservice.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.userservice.dto.ApiResponse;
+import com.app.userservice.dto.ProfileMatchDTO;
+import com.app.userservice.dto.RecommendationDTO;
+import com.app.userservice.model.MatchMode;
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.service.MatchingService;
+import com.app.userservice.service.RecommendationService;
+import com.app.userservice.service.SimilarityIndexService;
+
+/**
+ * Contrôleur REST pour la recherche de partenaires.
+ * Utilise les DTOs pour la communication avec les clients.
+ */
+@RestController
+@RequestMapping("/api/matching")
+public class MatchingController {
+
+    private static final int MAX_MATCH_LIMIT = 100;
+
+    private final MatchingService matchingService;
+    private final SimilarityIndexService similarityIndexService;
+    private final RecommendationService recommendationService;
+
+    @Autowired
+    public MatchingController(MatchingService matchingService, SimilarityIndexService similarityIndexService,
+                              RecommendationService recommendationService) {
+        this.matchingService = matchingService;
+        this.similarityIndexService = similarityIndexService;
+        this.recommendationService = recommendationService;
+    }
+
+    /**
+     * Recherche les meilleurs partenaires pour un utilisateur.
+     * 
+     * @param userId Identifiant de l'utilisateur
+     * @param mode SIMILARITY (profils proches) ou COMPLEMENTARITY (compétences complémentaires)
+     * @param limit Nombre maximal de partenaires retournés
+     * @return Les partenaires proposés, par score décroissant
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<ApiResponse<List<ProfileMatchDTO>>> findMatches(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "SIMILARITY") MatchMode mode,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<ProfileMatch> matches = matchingService.findMatches(
+                    userId, mode, Math.max(1, Math.min(limit, MAX_MATCH_LIMIT)));
+            
+            List<ProfileMatchDTO> matchDTOs = matches.stream()
+                    .map(ProfileMatchDTO::fromModel)
+                    .collect(Collectors.toList());
+                    
+            return ResponseEntity.ok(ApiResponse.success(matchDTOs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Recherche approchée des utilisateurs aux tags les plus proches (MinHash LSH).
+     * Le coût dépend du nombre d'utilisateurs similaires et non de la taille de la base.
+     * 
+     * @param userId Identifiant de l'utilisateur
+     * @param limit Nombre maximal d'utilisateurs retournés
+     * @return Les utilisateurs similaires, par similarité décroissante
+     */
+    @GetMapping("/users/{userId}/similar")
+    public ResponseEntity<ApiResponse<List<ProfileMatchDTO>>> findSimilarUsers(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<ProfileMatch> matches = similarityIndexService.findSimilarUsers(
+                    userId, Math.max(1, Math.min(limit, MAX_MATCH_LIMIT)));
+            
+            List<ProfileMatchDTO> matchDTOs = matches.stream()
+                    .map(ProfileMatchDTO::fromModel)
+                    .collect(Collectors.toList());
+                    
+            return ResponseEntity.ok(ApiResponse.success(matchDTOs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Retourne les partenaires recommandés à un utilisateur, précalculés en arrière-plan.
+     * Tant qu'ils n'ont pas été calculés, la réponse est 404 et le calcul est demandé.
+     * 
+     * @param userId Identifiant de l'utilisateur
+     * @return Les partenaires recommandés dans chaque mode
+     */
+    @GetMapping("/users/{userId}/recommendations")
+    public ResponseEntity<ApiResponse<RecommendationDTO>> getRecommendations(@PathVariable String userId) {
+        return recommendationService.getRecommendations(userId)
+                .map(recommendation -> ResponseEntity.ok(ApiResponse.success(RecommendationDTO.fromModel(recommendation))))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Recommandations en cours de calcul pour l'utilisateur: " + userId)));
+    }
+}
@@ -29,6 +29,8 @@ import com.app.userservice.service.SkillService;
 @RequestMapping("/api/skills")
 public class SkillTagController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final SkillService skillService;
 
     @Autowired
@@ -102,11 +104,15 @@ public class SkillTagController {
      * Recherche des compétences par nom partiel.
      * 
      * @param name Nom partiel de la compétence
+     * @param limit Nombre maximum de résultats (20 par défaut)
      * @return Une liste des compétences correspondantes converties en DTOs
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<SkillTagDTO>>> searchSkills(@RequestParam String name) {
-        List<SkillTag> skills = skillService.findSkillsByPartialName(name);
+    public ResponseEntity<ApiResponse<List<SkillTagDTO>>> searchSkills(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
+        // Autocomplétion servie par l'index en mémoire, classée et bornée
+        List<SkillTag> skills = skillService.searchSkills(name, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
         
         List<SkillTagDTO> skillDTOs = skills.stream()
                 .map(SkillTagDTO::fromModel)
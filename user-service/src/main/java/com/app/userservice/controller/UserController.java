@@ -1,11 +1,15 @@
 package com.app.userservice.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import com.app.userservice.dto.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,12 +20,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.app.userservice.model.InterestTag;
 import com.app.userservice.model.LearningObjective;
 import com.app.userservice.model.ProfileCompletionStatus;
+import com.app.userservice.model.ProfileMatch;
 import com.app.userservice.model.UserProfile;
+import com.app.userservice.service.MatchingService;
 import com.app.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 /**
  * Contrôleur REST pour les opérations liées aux utilisateurs.
@@ -31,11 +40,20 @@ import com.app.userservice.service.UserService;
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PARTNER_LIMIT = 100;
+
     private final UserService userService;
+    private final MatchingService matchingService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, MatchingService matchingService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.matchingService = matchingService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -65,21 +83,94 @@ public class UserController {
     }
 
     /**
-     * Récupère tous les utilisateurs.
+     * Crée l'utilisateur lié à un identifiant Keycloak, ou renvoie celui qui existe déjà.
+     * Utilisé par la gateway à la première requête d'un utilisateur : l'appel peut être répété sans effet.
+     * 
+     * @param keycloakId Identifiant Keycloak de l'utilisateur
+     * @param userProfileDTO DTO contenant l'email et le nom d'utilisateur
+     * @return Une réponse contenant le DTO de l'utilisateur existant ou créé
+     */
+    @PutMapping("/keycloak/{keycloakId}")
+    public ResponseEntity<ApiResponse<UserProfileDTO>> provisionUser(@PathVariable String keycloakId,
+                                                                     @RequestBody UserProfileDTO userProfileDTO) {
+        try {
+            UserProfile userProfile = userProfileDTO.toModel();
+            // L'identifiant du chemin fait foi
+            userProfile.setKeycloakId(keycloakId);
+            
+            UserProfile provisionedUser = userService.provisionUser(userProfile);
+            
+            return ResponseEntity.ok(ApiResponse.success(UserProfileDTO.fromModel(provisionedUser)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Récupère les utilisateurs page par page, triés par identifiant.
+     * La pagination se fait par curseur : chaque page renvoie le jeton à fournir
+     * pour obtenir la suivante, sans coût de saut croissant avec le numéro de page.
      * 
-     * @return Une liste de tous les utilisateurs convertis en DTOs
+     * @param cursor Jeton de la page précédente (absent pour la première page)
+     * @param size Nombre d'utilisateurs par page (borné à {@value #MAX_PAGE_SIZE})
+     * @return Une page d'utilisateurs convertis en DTOs
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<UserProfileDTO>>> getAllUsers() {
-        // Récupération de tous les utilisateurs
-        List<UserProfile> users = userService.getAllUsers();
-        
-        // Conversion de chaque utilisateur en DTO
-        List<UserProfileDTO> userDTOs = users.stream()
-                .map(UserProfileDTO::fromModel)
-                .collect(Collectors.toList());
-                
-        return ResponseEntity.ok(ApiResponse.success(userDTOs));
+    public ResponseEntity<ApiResponse<UserPageDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        try {
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException(
+                        "La taille de page doit être comprise entre 1 et " + MAX_PAGE_SIZE);
+            }
+            String afterId = cursor != null ? UserPageDTO.decodeCursor(cursor) : null;
+            
+            // Récupération de la page d'utilisateurs
+            List<UserProfile> users = userService.getUsersPage(afterId, size);
+            
+            // Conversion de chaque utilisateur en DTO
+            List<UserProfileDTO> userDTOs = users.stream()
+                    .map(UserProfileDTO::fromModel)
+                    .collect(Collectors.toList());
+            
+            // Une page incomplète signifie que la dernière page a été atteinte
+            String nextCursor = users.size() == size
+                    ? UserPageDTO.encodeCursor(users.get(users.size() - 1).getId())
+                    : null;
+                    
+            return ResponseEntity.ok(ApiResponse.success(new UserPageDTO(userDTOs, nextCursor, userDTOs.size())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Diffuse tous les utilisateurs au format NDJSON (un profil par ligne).
+     * Les profils sont écrits sur la socket au fil du curseur MongoDB :
+     * la mémoire utilisée reste constante quel que soit le nombre d'utilisateurs.
+     * 
+     * @return Un flux NDJSON des utilisateurs convertis en DTOs
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                userService.forEachUser(user -> {
+                    try {
+                        writer.write(UserProfileDTO.fromModel(user));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
     /**
@@ -158,6 +249,9 @@ public class UserController {
             UserProfileDTO updatedUserDTO = UserProfileDTO.fromModel(updatedUser);
             
             return ResponseEntity.ok(ApiResponse.success(updatedUserDTO));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
@@ -215,6 +309,68 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(userDTOs));
     }
     
+    /**
+     * Recherche des utilisateurs par plusieurs compétences et/ou intérêts.
+     * S'appuie sur l'index inversé tag → utilisateurs.
+     * 
+     * @param skills Noms des compétences recherchées
+     * @param interests Noms des intérêts recherchés
+     * @param match "all" pour exiger tous les tags, "any" pour au moins un
+     * @return Une liste des utilisateurs correspondants convertis en DTOs
+     */
+    @GetMapping("/tags")
+    public ResponseEntity<ApiResponse<List<UserProfileDTO>>> getUsersByTags(
+            @RequestParam(required = false, defaultValue = "") List<String> skills,
+            @RequestParam(required = false, defaultValue = "") List<String> interests,
+            @RequestParam(defaultValue = "any") String match) {
+        if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Le mode de recherche doit être 'all' ou 'any'"));
+        }
+        if (skills.isEmpty() && interests.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Au moins une compétence ou un intérêt doit être fourni"));
+        }
+        
+        List<UserProfile> users = userService.findUsersByTags(skills, interests, "all".equalsIgnoreCase(match));
+        
+        List<UserProfileDTO> userDTOs = users.stream()
+                .map(UserProfileDTO::fromModel)
+                .collect(Collectors.toList());
+                
+        return ResponseEntity.ok(ApiResponse.success(userDTOs));
+    }
+    
+    /**
+     * Recherche de partenaires sur plusieurs compétences et/ou intérêts en un seul appel.
+     * Les utilisateurs possédant au moins un des tags sont classés par la part
+     * (pondérée) des tags demandés qu'ils possèdent.
+     * 
+     * @param skills Noms des compétences recherchées
+     * @param interests Noms des intérêts recherchés
+     * @param limit Nombre maximal de partenaires retournés
+     * @return Les partenaires classés, par score décroissant
+     */
+    @GetMapping("/partners")
+    public ResponseEntity<ApiResponse<List<ProfileMatchDTO>>> searchPartners(
+            @RequestParam(required = false, defaultValue = "") List<String> skills,
+            @RequestParam(required = false, defaultValue = "") List<String> interests,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (skills.isEmpty() && interests.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Au moins une compétence ou un intérêt doit être fourni"));
+        }
+        
+        List<ProfileMatch> partners = matchingService.searchPartners(
+                skills, interests, Math.max(1, Math.min(limit, MAX_PARTNER_LIMIT)));
+        
+        List<ProfileMatchDTO> partnerDTOs = partners.stream()
+                .map(ProfileMatchDTO::fromModel)
+                .collect(Collectors.toList());
+                
+        return ResponseEntity.ok(ApiResponse.success(partnerDTOs));
+    }
+    
     /**
  * Met à jour les informations personnelles d'un utilisateur.
  * Étape 1 du processus d'inscription progressive.
@@ -226,16 +382,20 @@ public class UserController {
 @PutMapping("/profile/personal-info")
 public ResponseEntity<ApiResponse<UserProfileDTO>> updatePersonalInfo(
         @RequestParam String userId,
+        @RequestParam(required = false) Long version,
         @RequestBody PersonalInfoDTO personalInfoDTO) {
     try {
         UserProfile updatedUser = userService.updatePersonalInfo(
             userId,
             personalInfoDTO.getUsername(), 
             personalInfoDTO.getBio(), 
-            personalInfoDTO.getProfilePictureUrl()
+            personalInfoDTO.getProfilePictureUrl(),
+            version
         );
         UserProfileDTO updatedUserDTO = UserProfileDTO.fromModel(updatedUser);
         return ResponseEntity.ok(ApiResponse.success(updatedUserDTO));
+    } catch (OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
     } catch (IllegalArgumentException e) {
         return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
     }
@@ -252,15 +412,18 @@ public ResponseEntity<ApiResponse<UserProfileDTO>> updatePersonalInfo(
     @PutMapping("/profile/interests")
     public ResponseEntity<ApiResponse<UserProfileDTO>> updateInterests(
             @RequestParam String userId,
+            @RequestParam(required = false) Long version,
             @RequestBody List<InterestTagDTO> interestDTOs) {
         try {
             List<InterestTag> interests = interestDTOs.stream()
                 .map(InterestTagDTO::toModel)
                 .collect(Collectors.toList());
                 
-            UserProfile updatedUser = userService.updateInterests(userId, interests);
+            UserProfile updatedUser = userService.updateInterests(userId, interests, version);
             UserProfileDTO updatedUserDTO = UserProfileDTO.fromModel(updatedUser);
             return ResponseEntity.ok(ApiResponse.success(updatedUserDTO));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -277,15 +440,18 @@ public ResponseEntity<ApiResponse<UserProfileDTO>> updatePersonalInfo(
     @PutMapping("/profile/objectives")
     public ResponseEntity<ApiResponse<UserProfileDTO>> updateLearningObjectives(
             @RequestParam String userId,
+            @RequestParam(required = false) Long version,
             @RequestBody List<LearningObjectiveDTO> objectiveDTOs) {
         try {
             List<LearningObjective> objectives = objectiveDTOs.stream()
                 .map(LearningObjectiveDTO::toModel)
                 .collect(Collectors.toList());
                 
-            UserProfile updatedUser = userService.updateLearningObjectives(userId, objectives);
+            UserProfile updatedUser = userService.updateLearningObjectives(userId, objectives, version);
             UserProfileDTO updatedUserDTO = UserProfileDTO.fromModel(updatedUser);
             return ResponseEntity.ok(ApiResponse.success(updatedUserDTO));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
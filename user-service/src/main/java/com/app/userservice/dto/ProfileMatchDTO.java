@@ -0,0 +1,36 @@
+package com.app.userservice.dto;
+
+import com.app.userservice.model.ProfileMatch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO pour un partenaire proposé par le matching.
+ * Ne contient que le résumé public du profil et le score obtenu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileMatchDTO {
+    private String userId;
+    private String username;
+    private String profilePictureUrl;
+    private double score;
+
+    /**
+     * Convertit un résultat de matching en DTO.
+     *
+     * @param model Le résultat à convertir
+     * @return Un objet DTO correspondant
+     */
+    public static ProfileMatchDTO fromModel(ProfileMatch model) {
+        ProfileMatchDTO dto = new ProfileMatchDTO();
+        dto.setUserId(model.getUser().getId());
+        dto.setUsername(model.getUser().getUsername());
+        dto.setProfilePictureUrl(model.getUser().getProfilePictureUrl());
+        dto.setScore(model.getScore());
+        return dto;
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.userservice.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import com.app.userservice.model.Recommendation;
+import com.app.userservice.model.Recommendation.RecommendedUser;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO pour les recommandations précalculées d'un utilisateur.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationDTO {
+    private List<ProfileMatchDTO> similar;
+    private List<ProfileMatchDTO> complementary;
+    private Date computedAt;
+
+    /**
+     * Convertit des recommandations en DTO.
+     *
+     * @param model Les recommandations à convertir
+     * @return Un objet DTO correspondant
+     */
+    public static RecommendationDTO fromModel(Recommendation model) {
+        RecommendationDTO dto = new RecommendationDTO();
+        dto.setSimilar(toDTOs(model.getSimilar()));
+        dto.setComplementary(toDTOs(model.getComplementary()));
+        dto.setComputedAt(model.getComputedAt());
+        return dto;
+    }
+
+    private static List<ProfileMatchDTO> toDTOs(List<RecommendedUser> partners) {
+        if (partners == null) {
+            return List.of();
+        }
+        return partners.stream()
+                .map(partner -> new ProfileMatchDTO(partner.getUserId(), partner.getUsername(),
+                        partner.getProfilePictureUrl(), partner.getScore()))
+                .toList();
+    }
+}
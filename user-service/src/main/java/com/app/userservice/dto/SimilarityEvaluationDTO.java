@@ -0,0 +1,36 @@
+package com.app.userservice.dto;
+
+import com.app.userservice.model.SimilarityEvaluation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO pour la comparaison entre recherche approchée et recherche exacte des utilisateurs similaires.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarityEvaluationDTO {
+    private int bands;
+    private int rows;
+    private int limit;
+    private int exactCandidates;
+    private int approximateCandidates;
+    private double exactMillis;
+    private double approximateMillis;
+    private double recall;
+
+    /**
+     * Convertit une évaluation en DTO.
+     *
+     * @param model L'évaluation à convertir
+     * @return Un objet DTO correspondant
+     */
+    public static SimilarityEvaluationDTO fromModel(SimilarityEvaluation model) {
+        return new SimilarityEvaluationDTO(model.getBands(), model.getRows(), model.getLimit(),
+                model.getExactCandidates(), model.getApproximateCandidates(),
+                model.getExactMillis(), model.getApproximateMillis(), model.getRecall());
+    }
+}
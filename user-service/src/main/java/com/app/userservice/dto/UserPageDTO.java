@@ -0,0 +1,53 @@
+package com.app.userservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO pour une page d'utilisateurs obtenue par pagination par curseur.
+ * Le curseur est un jeton opaque à renvoyer tel quel pour obtenir la page suivante ;
+ * il vaut null lorsque la dernière page a été atteinte.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDTO {
+    private List<UserProfileDTO> users;
+    private String nextCursor;
+    private int size;
+
+    /**
+     * Encode l'identifiant du dernier utilisateur d'une page en jeton de curseur.
+     *
+     * @param lastId identifiant du dernier utilisateur retourné
+     * @return le jeton opaque
+     */
+    public static String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton de curseur en identifiant d'utilisateur.
+     *
+     * @param cursor jeton reçu du client
+     * @return l'identifiant à partir duquel reprendre la lecture
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    public static String decodeCursor(String cursor) {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!id.matches("[0-9a-fA-F]{24}")) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+}
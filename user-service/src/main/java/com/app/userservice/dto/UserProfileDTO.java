@@ -31,6 +31,8 @@ public class UserProfileDTO {
     private List<String> partnershipIds;
     private Date createdAt;
     private Date updatedAt;
+    // Version du profil, à renvoyer pour une mise à jour avec contrôle de concurrence
+    private Long version;
     
     /**
      * Convertit un objet du modèle UserProfile en UserProfileDTO.
@@ -49,6 +51,7 @@ public class UserProfileDTO {
         dto.setCreatedAt(model.getCreatedAt());
         dto.setUpdatedAt(model.getUpdatedAt());
         dto.setPartnershipIds(model.getPartnershipIds());
+        dto.setVersion(model.getVersion());
         
         // Conversion des compétences si présentes
         if (model.getSkills() != null) {
@@ -90,6 +93,7 @@ public class UserProfileDTO {
         model.setCreatedAt(this.createdAt);
         model.setUpdatedAt(this.updatedAt);
         model.setPartnershipIds(this.partnershipIds);
+        model.setVersion(this.version);
         
         // Conversion des compétences si présentes
         if (this.skills != null) {
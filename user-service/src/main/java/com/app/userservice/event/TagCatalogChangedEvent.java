@@ -0,0 +1,91 @@
+package com.app.userservice.event;
+
+/**
+ * Événement publié par SkillServiceImpl et InterestServiceImpl lorsqu'un tag du catalogue est
+ * renommé, recatégorisé ou supprimé. Les profils embarquent une copie des tags (identifiant,
+ * nom, catégorie) : ces copies doivent suivre le catalogue.
+ */
+public class TagCatalogChangedEvent {
+
+    /**
+     * Catalogue concerné, avec le champ du profil qui en embarque les copies.
+     */
+    public enum Catalog {
+        SKILLS("skills"), INTERESTS("interests");
+
+        private final String profileField;
+
+        Catalog(String profileField) {
+            this.profileField = profileField;
+        }
+
+        public String getProfileField() {
+            return profileField;
+        }
+    }
+
+    private final Catalog catalog;
+    private final String tagId;
+    private final String name;
+    private final String category;
+    private final boolean deleted;
+
+    private TagCatalogChangedEvent(Catalog catalog, String tagId, String name, String category, boolean deleted) {
+        this.catalog = catalog;
+        this.tagId = tagId;
+        this.name = name;
+        this.category = category;
+        this.deleted = deleted;
+    }
+
+    /**
+     * @param catalog catalogue du tag
+     * @param tagId identifiant du tag modifié
+     * @param name nouveau nom
+     * @param category nouvelle catégorie
+     * @return un événement de modification
+     */
+    public static TagCatalogChangedEvent updated(Catalog catalog, String tagId, String name, String category) {
+        return new TagCatalogChangedEvent(catalog, tagId, name, category, false);
+    }
+
+    /**
+     * @param catalog catalogue du tag
+     * @param tagId identifiant du tag supprimé
+     * @return un événement de suppression
+     */
+    public static TagCatalogChangedEvent deleted(Catalog catalog, String tagId) {
+        return new TagCatalogChangedEvent(catalog, tagId, null, null, true);
+    }
+
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    public String getTagId() {
+        return tagId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "TagCatalogChangedEvent{" +
+                "catalog=" + catalog +
+                ", tagId='" + tagId + '\'' +
+                ", name='" + name + '\'' +
+                ", category='" + category + '\'' +
+                ", deleted=" + deleted +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.userservice.event;
+
+/**
+ * Événement publié par UserServiceImpl et LearningObjectiveServiceImpl lorsque les objectifs
+ * d'apprentissage d'un profil ont changé.
+ * Les objectifs déterminent les compétences recherchées, donc les partenaires complémentaires.
+ */
+public class UserObjectivesChangedEvent {
+
+    private final String userId;
+
+    public UserObjectivesChangedEvent(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String toString() {
+        return "UserObjectivesChangedEvent{" +
+                "userId='" + userId + '\'' +
+                '}';
+    }
+}
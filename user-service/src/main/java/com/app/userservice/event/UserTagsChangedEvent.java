@@ -0,0 +1,52 @@
+package com.app.userservice.event;
+
+import java.util.List;
+
+/**
+ * Événement publié par UserServiceImpl lorsque les tags d'un profil ont changé.
+ * Une liste null signifie que ce type de tag n'a pas été modifié ; une liste vide
+ * signifie que l'utilisateur ne possède plus aucun tag de ce type (ou a été supprimé).
+ */
+public class UserTagsChangedEvent {
+
+    private final String userId;
+    private final List<String> skillIds;
+    private final List<String> interestIds;
+
+    public UserTagsChangedEvent(String userId, List<String> skillIds, List<String> interestIds) {
+        this.userId = userId;
+        this.skillIds = skillIds;
+        this.interestIds = interestIds;
+    }
+
+    /**
+     * Crée l'événement correspondant à la suppression d'un utilisateur.
+     *
+     * @param userId identifiant de l'utilisateur supprimé
+     * @return un événement retirant tous les tags de l'utilisateur
+     */
+    public static UserTagsChangedEvent removed(String userId) {
+        return new UserTagsChangedEvent(userId, List.of(), List.of());
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public List<String> getSkillIds() {
+        return skillIds;
+    }
+
+    public List<String> getInterestIds() {
+        return interestIds;
+    }
+
+    @Override
+    public String toString() {
+        return "UserTagsChangedEvent{" +
+                "userId='" + userId + '\'' +
+                ", skillIds=" + skillIds +
+                ", interestIds=" + interestIds +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.app.userservice.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Numéro de version d'un catalogue de tags (compétences ou intérêts).
+ * Incrémenté à chaque création, modification ou suppression de tag, il permet à chaque
+ * instance du service de détecter que son cache du catalogue est périmé.
+ */
+@Document(collection = "catalog_versions")
+public class CatalogVersion {
+
+    // Nom du catalogue ("skills" ou "interests")
+    @Id
+    private String id;
+
+    private long version;
+
+    // Constructeurs
+    public CatalogVersion() {
+    }
+
+    public CatalogVersion(String id, long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    // Getters et Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogVersion{" +
+                "id='" + id + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.app.userservice.model;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Entrée de la file des recommandations à recalculer.
+ * L'identifiant du document est celui de l'utilisateur : un utilisateur marqué plusieurs fois
+ * n'est présent qu'une fois dans la file.
+ * <p>
+ * La file est consommée par date d'entrée croissante : un nouveau marquage ne modifie pas cette date,
+ * pour qu'un utilisateur marqué sans cesse ne soit pas repoussé en fin de file indéfiniment. Il
+ * incrémente le nombre de marquages, qui permet de détecter un marquage survenu pendant le calcul.
+ */
+@Document(collection = "recommendation_queue")
+public class DirtyUser {
+
+    // Identifiant de l'utilisateur à recalculer
+    @Id
+    private String id;
+
+    // Date d'entrée dans la file, conservée par les marquages suivants
+    @Indexed(name = "dirtyAt")
+    private Date dirtyAt;
+
+    // Nombre de marquages depuis l'entrée dans la file
+    private long marks;
+
+    // Constructeurs
+    public DirtyUser() {
+    }
+
+    public DirtyUser(String id, Date dirtyAt) {
+        this.id = id;
+        this.dirtyAt = dirtyAt;
+    }
+
+    public DirtyUser(String id, Date dirtyAt, long marks) {
+        this.id = id;
+        this.dirtyAt = dirtyAt;
+        this.marks = marks;
+    }
+
+    // Getters et Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Date getDirtyAt() {
+        return dirtyAt;
+    }
+
+    public void setDirtyAt(Date dirtyAt) {
+        this.dirtyAt = dirtyAt;
+    }
+
+    public long getMarks() {
+        return marks;
+    }
+
+    public void setMarks(long marks) {
+        this.marks = marks;
+    }
+
+    @Override
+    public String toString() {
+        return "DirtyUser{" +
+                "id='" + id + '\'' +
+                ", dirtyAt=" + dirtyAt +
+                ", marks=" + marks +
+                '}';
+    }
+}
@@ -70,6 +70,15 @@ public class InterestTag {
         isPredefined = predefined;
     }
 
+    /**
+     * Crée l'instantané compact (id, nom, catégorie) embarqué dans les profils utilisateurs.
+     *
+     * @return une copie du tag limitée aux champs de référence
+     */
+    public InterestTag toSnapshot() {
+        return new InterestTag(id, name, category, isPredefined);
+    }
+
     // equals, hashCode et toString
     @Override
     public boolean equals(Object o) {
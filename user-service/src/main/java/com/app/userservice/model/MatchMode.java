@@ -0,0 +1,9 @@
+package com.app.userservice.model;
+
+/**
+ * Énumération des modes de calcul du score de matching entre deux profils.
+ */
+public enum MatchMode {
+    SIMILARITY,       // Profils proches : compétences et intérêts en commun (Jaccard pondéré)
+    COMPLEMENTARITY   // Profils complémentaires : ce que l'un maîtrise, l'autre veut l'apprendre
+}
@@ -0,0 +1,25 @@
+package com.app.userservice.model;
+
+/**
+ * Résultat du matching : un profil candidat et son score par rapport au profil de référence.
+ */
+public class ProfileMatch {
+
+    private final UserProfile user;
+
+    // Score entre 0 et 1
+    private final double score;
+
+    public ProfileMatch(UserProfile user, double score) {
+        this.user = user;
+        this.score = score;
+    }
+
+    public UserProfile getUser() {
+        return user;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,146 @@
+package com.app.userservice.model;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Partenaires recommandés à un utilisateur, précalculés par le service de recommandations.
+ * Chaque liste contient les N meilleurs partenaires d'un mode de matching, avec le résumé de
+ * leur profil : la lecture des recommandations est une seule lecture de document.
+ */
+@Document(collection = "recommendations")
+public class Recommendation {
+
+    /**
+     * Partenaire recommandé, embarqué dans le document.
+     */
+    public static class RecommendedUser {
+
+        private String userId;
+        private String username;
+        private String profilePictureUrl;
+        private double score;
+
+        public RecommendedUser() {
+        }
+
+        public RecommendedUser(String userId, String username, String profilePictureUrl, double score) {
+            this.userId = userId;
+            this.username = username;
+            this.profilePictureUrl = profilePictureUrl;
+            this.score = score;
+        }
+
+        /**
+         * Crée l'entrée correspondant à un résultat de matching.
+         *
+         * @param match résultat de matching
+         * @return le partenaire recommandé
+         */
+        public static RecommendedUser fromMatch(ProfileMatch match) {
+            UserProfile user = match.getUser();
+            return new RecommendedUser(user.getId(), user.getUsername(), user.getProfilePictureUrl(), match.getScore());
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public void setUserId(String userId) {
+            this.userId = userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getProfilePictureUrl() {
+            return profilePictureUrl;
+        }
+
+        public void setProfilePictureUrl(String profilePictureUrl) {
+            this.profilePictureUrl = profilePictureUrl;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+
+    // Identifiant de l'utilisateur
+    @Id
+    private String id;
+
+    // Profils proches (mode SIMILARITY)
+    private List<RecommendedUser> similar;
+
+    // Profils complémentaires (mode COMPLEMENTARITY)
+    private List<RecommendedUser> complementary;
+
+    private Date computedAt;
+
+    // Constructeurs
+    public Recommendation() {
+    }
+
+    public Recommendation(String id, List<RecommendedUser> similar, List<RecommendedUser> complementary, Date computedAt) {
+        this.id = id;
+        this.similar = similar;
+        this.complementary = complementary;
+        this.computedAt = computedAt;
+    }
+
+    // Getters et Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<RecommendedUser> getSimilar() {
+        return similar;
+    }
+
+    public void setSimilar(List<RecommendedUser> similar) {
+        this.similar = similar;
+    }
+
+    public List<RecommendedUser> getComplementary() {
+        return complementary;
+    }
+
+    public void setComplementary(List<RecommendedUser> complementary) {
+        this.complementary = complementary;
+    }
+
+    public Date getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Date computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Recommendation{" +
+                "id='" + id + '\'' +
+                ", similar=" + (similar == null ? 0 : similar.size()) +
+                ", complementary=" + (complementary == null ? 0 : complementary.size()) +
+                ", computedAt=" + computedAt +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.userservice.model;
+
+/**
+ * Comparaison, pour un utilisateur, de la recherche approchée (MinHash LSH) avec le calcul
+ * exact de l'indice de Jaccard sur tous les utilisateurs partageant au moins un tag.
+ */
+public class SimilarityEvaluation {
+
+    private final int bands;
+    private final int rows;
+    private final int limit;
+
+    // Candidats notés par chaque méthode
+    private final int exactCandidates;
+    private final int approximateCandidates;
+
+    // Durées en millisecondes
+    private final double exactMillis;
+    private final double approximateMillis;
+
+    // Part des K meilleurs résultats exacts retrouvés par la recherche approchée
+    private final double recall;
+
+    public SimilarityEvaluation(int bands, int rows, int limit, int exactCandidates, int approximateCandidates,
+                                double exactMillis, double approximateMillis, double recall) {
+        this.bands = bands;
+        this.rows = rows;
+        this.limit = limit;
+        this.exactCandidates = exactCandidates;
+        this.approximateCandidates = approximateCandidates;
+        this.exactMillis = exactMillis;
+        this.approximateMillis = approximateMillis;
+        this.recall = recall;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getExactCandidates() {
+        return exactCandidates;
+    }
+
+    public int getApproximateCandidates() {
+        return approximateCandidates;
+    }
+
+    public double getExactMillis() {
+        return exactMillis;
+    }
+
+    public double getApproximateMillis() {
+        return approximateMillis;
+    }
+
+    public double getRecall() {
+        return recall;
+    }
+}
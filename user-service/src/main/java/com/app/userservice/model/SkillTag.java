@@ -82,6 +82,15 @@ public class SkillTag {
         this.level = level;
     }
 
+    /**
+     * Crée l'instantané compact (id, nom, catégorie) embarqué dans les profils utilisateurs.
+     *
+     * @return une copie du tag limitée aux champs de référence
+     */
+    public SkillTag toSnapshot() {
+        return new SkillTag(id, name, category, isPredefined, null);
+    }
+
     // equals, hashCode et toString
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,54 @@
+package com.app.userservice.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Entier dense attribué à un tag (compétence ou intérêt) par le dictionnaire des tags.
+ * Les codes sont persistés pour rester identiques d'un démarrage à l'autre et entre instances.
+ */
+@Document(collection = "tag_codes")
+public class TagCode {
+
+    // Identifiant du tag
+    @Id
+    private String id;
+
+    @Indexed(name = "code_unique", unique = true)
+    private int code;
+
+    // Constructeurs
+    public TagCode() {
+    }
+
+    public TagCode(String id, int code) {
+        this.id = id;
+        this.code = code;
+    }
+
+    // Getters et Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public void setCode(int code) {
+        this.code = code;
+    }
+
+    @Override
+    public String toString() {
+        return "TagCode{" +
+                "id='" + id + '\'' +
+                ", code=" + code +
+                '}';
+    }
+}
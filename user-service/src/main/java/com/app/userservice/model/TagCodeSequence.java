@@ -0,0 +1,53 @@
+package com.app.userservice.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Compteur des codes du dictionnaire des tags (voir {@link TagCode}).
+ * Un document unique contient le prochain code libre ; une instance réserve plusieurs codes
+ * d'un coup en l'incrémentant.
+ */
+@Document(collection = "tag_code_sequence")
+public class TagCodeSequence {
+
+    @Id
+    private String id;
+
+    // Prochain code libre
+    private long next;
+
+    // Constructeurs
+    public TagCodeSequence() {
+    }
+
+    public TagCodeSequence(String id, long next) {
+        this.id = id;
+        this.next = next;
+    }
+
+    // Getters et Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getNext() {
+        return next;
+    }
+
+    public void setNext(long next) {
+        this.next = next;
+    }
+
+    @Override
+    public String toString() {
+        return "TagCodeSequence{" +
+                "id='" + id + '\'' +
+                ", next=" + next +
+                '}';
+    }
+}
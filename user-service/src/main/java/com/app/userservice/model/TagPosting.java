@@ -0,0 +1,100 @@
+package com.app.userservice.model;
+
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Entrée de l'index inversé tag → utilisateurs.
+ * Chaque document associe un tag (compétence ou intérêt) à un utilisateur qui le possède ;
+ * la liste des entrées d'un même tag constitue sa liste de diffusion (posting list).
+ */
+@Document(collection = "tag_postings")
+@CompoundIndexes({
+    // Lecture d'une posting list, couverte par l'index (aucun accès aux documents)
+    @CompoundIndex(name = "type_tag_user", def = "{'type': 1, 'tagId': 1, 'userId': 1}", unique = true),
+    // Mise à jour des entrées d'un utilisateur lors d'un changement de tags
+    @CompoundIndex(name = "user_type", def = "{'userId': 1, 'type': 1}")
+})
+public class TagPosting {
+
+    @Id
+    private String id;
+
+    private TagType type;
+
+    private String tagId;
+
+    private String userId;
+
+    // Constructeurs
+    public TagPosting() {
+    }
+
+    public TagPosting(TagType type, String tagId, String userId) {
+        this.type = type;
+        this.tagId = tagId;
+        this.userId = userId;
+    }
+
+    // Getters et Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public TagType getType() {
+        return type;
+    }
+
+    public void setType(TagType type) {
+        this.type = type;
+    }
+
+    public String getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(String tagId) {
+        this.tagId = tagId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    // equals, hashCode et toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TagPosting that = (TagPosting) o;
+        return type == that.type &&
+                Objects.equals(tagId, that.tagId) &&
+                Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, tagId, userId);
+    }
+
+    @Override
+    public String toString() {
+        return "TagPosting{" +
+                "type=" + type +
+                ", tagId='" + tagId + '\'' +
+                ", userId='" + userId + '\'' +
+                '}';
+    }
+}
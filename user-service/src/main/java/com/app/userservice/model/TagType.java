@@ -0,0 +1,9 @@
+package com.app.userservice.model;
+
+/**
+ * Énumération des types de tags pouvant être associés à un profil utilisateur.
+ */
+public enum TagType {
+    SKILL,    // Compétence (collection skills)
+    INTEREST  // Centre d'intérêt (collection interests)
+}
@@ -8,7 +8,7 @@ import java.util.Objects;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.Email;
@@ -45,18 +45,23 @@ public class UserProfile {
     // Statut de complétion du profil utilisateur
     private ProfileCompletionStatus profileCompletionStatus = ProfileCompletionStatus.INITIAL;
 
-    @DBRef
+    // Instantanés embarqués des tags (id, nom, catégorie) : le profil complet
+    // est servi par une seule lecture du document, sans résolution de DBRef
     private List<SkillTag> skills = new ArrayList<>();
 
-    @DBRef
+    // Copies embarquées des objectifs (au plus 3), la collection learning_objectives
+    // reste la source de vérité
     private List<LearningObjective> learningObjectives = new ArrayList<>();
 
-    @DBRef
     private List<InterestTag> interests = new ArrayList<>();
 
     // References aux IDs des partenariats (gérés par partner-service)
     private List<String> partnershipIds = new ArrayList<>();
 
+    // Version pour le verrouillage optimiste, incrémentée à chaque écriture
+    @Version
+    private Long version;
+
     // Constructeurs
     public UserProfile() {
     }
@@ -73,6 +78,28 @@ public class UserProfile {
         this.updatedAt = updatedAt;
     }
 
+    // Constructeur de copie : les listes et les objectifs embarqués sont dupliqués,
+    // les instantanés de tags (jamais modifiés en place) sont partagés
+    public UserProfile(UserProfile other) {
+        this(other.id, other.keycloakId, other.username, other.profilePictureUrl, other.bio,
+                other.email, other.createdAt, other.updatedAt);
+        this.profileCompletionStatus = other.profileCompletionStatus;
+        this.version = other.version;
+        this.skills = other.skills == null ? null : new ArrayList<>(other.skills);
+        this.interests = other.interests == null ? null : new ArrayList<>(other.interests);
+        this.partnershipIds = other.partnershipIds == null ? null : new ArrayList<>(other.partnershipIds);
+        if (other.learningObjectives != null) {
+            this.learningObjectives = new ArrayList<>(other.learningObjectives.size());
+            for (LearningObjective objective : other.learningObjectives) {
+                this.learningObjectives.add(new LearningObjective(objective.getId(), objective.getTitle(),
+                        objective.getDescription(), objective.getProgressPercentage(), objective.getTargetDate(),
+                        objective.getUserId(), objective.getCreatedAt(), objective.getUpdatedAt()));
+            }
+        } else {
+            this.learningObjectives = null;
+        }
+    }
+
     // Getters et Setters
     public String getId() {
         return id;
@@ -178,6 +205,14 @@ public class UserProfile {
         this.partnershipIds = partnershipIds;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Méthodes utilitaires
     public void addSkill(SkillTag skill) {
         if (this.skills == null) {
@@ -0,0 +1,123 @@
+package com.app.userservice.model;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Signature MinHash de l'ensemble des tags (compétences et intérêts) d'un utilisateur,
+ * et clés de ses bandes LSH.
+ * Ces documents sont la forme persistée de l'index de similarité : il est rechargé en mémoire
+ * au démarrage sans recalculer les signatures, tant que le découpage (bandes × lignes) ne change pas.
+ * Un utilisateur supprimé ou sans tag garde un document sans signature ni clé, pour que les autres
+ * instances le retirent de leur index.
+ */
+@Document(collection = "user_signatures")
+public class UserSignature {
+
+    // Identifiant de l'utilisateur
+    @Id
+    private String id;
+
+    // Tags signés (identifiants préfixés par leur type), pour noter exactement les candidats
+    private List<String> tags;
+
+    private int[] minHash;
+
+    // Une clé par bande : deux utilisateurs partageant une clé sont candidats l'un pour l'autre
+    @Indexed(name = "bandKeys")
+    private List<Long> bandKeys;
+
+    private int bands;
+
+    private int rows;
+
+    // Synchronisation des autres instances : signatures modifiées depuis leur dernière lecture
+    @Indexed(name = "updatedAt")
+    private Date updatedAt;
+
+    // Constructeurs
+    public UserSignature() {
+    }
+
+    public UserSignature(String id, List<String> tags, int[] minHash, List<Long> bandKeys, int bands, int rows,
+                         Date updatedAt) {
+        this.id = id;
+        this.tags = tags;
+        this.minHash = minHash;
+        this.bandKeys = bandKeys;
+        this.bands = bands;
+        this.rows = rows;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters et Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public int[] getMinHash() {
+        return minHash;
+    }
+
+    public void setMinHash(int[] minHash) {
+        this.minHash = minHash;
+    }
+
+    public List<Long> getBandKeys() {
+        return bandKeys;
+    }
+
+    public void setBandKeys(List<Long> bandKeys) {
+        this.bandKeys = bandKeys;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public void setBands(int bands) {
+        this.bands = bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSignature{" +
+                "id='" + id + '\'' +
+                ", bands=" + bands +
+                ", rows=" + rows +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.userservice.monitoring;
+
+import java.util.List;
+
+/**
+ * Retrouve, dans la pile du thread courant, la méthode du service à l'origine d'une commande
+ * MongoDB. Parcourir la pile est coûteux : appelé seulement pour les commandes signalées.
+ */
+final class CallSite {
+
+    private static final String APP_PACKAGE = "com.app.userservice.";
+    private static final String MONITORING_PACKAGE = "com.app.userservice.monitoring.";
+    private static final String SERVICE_PACKAGE = "com.app.userservice.service.";
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private CallSite() {
+    }
+
+    /**
+     * @return la première méthode d'un service dans la pile (Classe.méthode:ligne), à défaut
+     * la première méthode de l'application, ou « unknown »
+     */
+    static String origin() {
+        List<StackWalker.StackFrame> frames = WALKER.walk(stack -> stack
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().startsWith(MONITORING_PACKAGE))
+                .limit(16)
+                .toList());
+        return frames.stream()
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(CallSite::format)
+                .orElse("unknown");
+    }
+
+    private static String format(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,197 @@
+package com.app.userservice.monitoring;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.app.userservice.monitoring.MongoQueryTracker.RequestQueries;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mode diagnostic de l'accès à MongoDB, activable à chaud par l'endpoint actuator
+ * {@code mongodiagnostics}.
+ * <p>
+ * Deux signalements, journalisés en WARN, comptés ({@code mongodb.diagnostics.slow.queries},
+ * {@code mongodb.diagnostics.repeated.queries}) et conservés dans un historique borné :
+ * <ul>
+ * <li>commande plus lente que le seuil : commande, collection, forme du filtre, durée et méthode
+ * du service appelante ;</li>
+ * <li>requête HTTP qui émet plus de commandes que le seuil sur une même collection (N+1), avec
+ * la méthode qui a émis la commande de trop.</li>
+ * </ul>
+ * Le coût en fonctionnement normal se limite au calcul de la forme du filtre de chaque commande ;
+ * la pile d'appels n'est parcourue que pour les commandes signalées.
+ */
+public class MongoDiagnostics {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoDiagnostics.class);
+
+    /**
+     * Commande plus lente que le seuil.
+     */
+    public record SlowQuery(Instant at, String command, String collection, String shape, long durationMillis,
+                            boolean failed, String origin) {
+    }
+
+    /**
+     * Requête HTTP qui a émis trop de commandes sur une même collection.
+     */
+    public record RepeatedQueries(Instant at, String request, String collection, int count, String origin) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int historySize;
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final Deque<RepeatedQueries> repeatedQueries = new ArrayDeque<>();
+
+    private volatile boolean enabled;
+    private volatile long slowThresholdNanos;
+    private volatile int repeatedQueryThreshold;
+
+    /**
+     * @param enabled état initial du mode diagnostic
+     * @param slowThreshold durée à partir de laquelle une commande est lente
+     * @param repeatedQueryThreshold nombre maximal de commandes par collection et par requête HTTP
+     * @param historySize nombre de signalements conservés de chaque type
+     * @param meterRegistry registre des métriques
+     */
+    public MongoDiagnostics(boolean enabled, Duration slowThreshold, int repeatedQueryThreshold, int historySize,
+                            MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.historySize = historySize;
+        configure(enabled, slowThreshold, repeatedQueryThreshold);
+    }
+
+    /**
+     * Modifie les réglages ; les valeurs nulles sont laissées inchangées.
+     *
+     * @param enabled active ou désactive le mode diagnostic
+     * @param slowThreshold durée à partir de laquelle une commande est lente
+     * @param repeatedQueryThreshold nombre maximal de commandes par collection et par requête HTTP
+     * @throws IllegalArgumentException si un seuil est négatif ou nul
+     */
+    public synchronized void configure(Boolean enabled, Duration slowThreshold, Integer repeatedQueryThreshold) {
+        if (slowThreshold != null && (slowThreshold.isNegative() || slowThreshold.isZero())) {
+            throw new IllegalArgumentException("Le seuil de lenteur doit être positif");
+        }
+        if (repeatedQueryThreshold != null && repeatedQueryThreshold < 1) {
+            throw new IllegalArgumentException("Le seuil de commandes répétées doit être au moins 1");
+        }
+        if (slowThreshold != null) {
+            this.slowThresholdNanos = slowThreshold.toNanos();
+        }
+        if (repeatedQueryThreshold != null) {
+            this.repeatedQueryThreshold = repeatedQueryThreshold;
+        }
+        if (enabled != null && enabled != this.enabled) {
+            this.enabled = enabled;
+            logger.info("Diagnostic MongoDB {} (lenteur >= {} ms, plus de {} commandes par collection et par requête)",
+                    enabled ? "activé" : "désactivé", getSlowThreshold().toMillis(), this.repeatedQueryThreshold);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getSlowThreshold() {
+        return Duration.ofNanos(slowThresholdNanos);
+    }
+
+    public int getRepeatedQueryThreshold() {
+        return repeatedQueryThreshold;
+    }
+
+    boolean isSlow(long nanos) {
+        return enabled && nanos >= slowThresholdNanos;
+    }
+
+    /**
+     * Rang de la commande, dans une requête HTTP et pour une collection, à partir duquel
+     * l'origine est relevée ; -1 si le mode diagnostic est désactivé.
+     */
+    int firstRepeatedCount() {
+        return enabled ? repeatedQueryThreshold + 1 : -1;
+    }
+
+    /**
+     * Signale une commande lente. Appelé sur le thread qui a émis la commande.
+     */
+    void reportSlowQuery(String command, String collection, String shape, long nanos, boolean failed) {
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), command, collection, shape,
+                TimeUnit.NANOSECONDS.toMillis(nanos), failed, CallSite.origin());
+        logger.warn("Commande MongoDB lente: {} {} {} en {} ms{} depuis {}", command, collection, shape,
+                slowQuery.durationMillis(), failed ? " (échec)" : "", slowQuery.origin());
+        Counter.builder("mongodb.diagnostics.slow.queries")
+                .description("Commandes MongoDB plus lentes que le seuil du mode diagnostic")
+                .tag("command", command)
+                .tag("collection", collection)
+                .register(meterRegistry)
+                .increment();
+        synchronized (slowQueries) {
+            append(slowQueries, slowQuery);
+        }
+    }
+
+    /**
+     * Signale les collections sur lesquelles une requête HTTP a émis trop de commandes.
+     *
+     * @param method méthode HTTP
+     * @param route gabarit de la route
+     * @param queries commandes de la requête
+     */
+    void checkRepeated(String method, String route, RequestQueries queries) {
+        if (!enabled) {
+            return;
+        }
+        int threshold = repeatedQueryThreshold;
+        for (Map.Entry<String, Integer> entry : queries.getByCollection().entrySet()) {
+            if (entry.getValue() <= threshold) {
+                continue;
+            }
+            String origin = queries.getOrigins().getOrDefault(entry.getKey(), "unknown");
+            RepeatedQueries repeated = new RepeatedQueries(Instant.now(), method + " " + route, entry.getKey(),
+                    entry.getValue(), origin);
+            logger.warn("Requête {} : {} commandes sur {} (seuil {}), N+1 probable depuis {}", repeated.request(),
+                    entry.getValue(), entry.getKey(), threshold, origin);
+            Counter.builder("mongodb.diagnostics.repeated.queries")
+                    .description("Requêtes HTTP qui dépassent le seuil de commandes sur une même collection")
+                    .tag("uri", route)
+                    .tag("collection", entry.getKey())
+                    .register(meterRegistry)
+                    .increment();
+            synchronized (repeatedQueries) {
+                append(repeatedQueries, repeated);
+            }
+        }
+    }
+
+    public List<SlowQuery> recentSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public List<RepeatedQueries> recentRepeatedQueries() {
+        synchronized (repeatedQueries) {
+            return new ArrayList<>(repeatedQueries);
+        }
+    }
+
+    private <T> void append(Deque<T> history, T entry) {
+        history.addFirst(entry);
+        while (history.size() > historySize) {
+            history.removeLast();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.userservice.monitoring;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import com.app.userservice.monitoring.MongoDiagnostics.RepeatedQueries;
+import com.app.userservice.monitoring.MongoDiagnostics.SlowQuery;
+
+/**
+ * Endpoint actuator {@code /actuator/mongodiagnostics} : état et derniers signalements du mode
+ * diagnostic (GET), activation et seuils modifiables à chaud (POST, corps JSON avec les champs
+ * à modifier : {@code enabled}, {@code slowThresholdMillis}, {@code repeatedQueryThreshold}).
+ * <p>
+ * L'endpoint est en lecture seule par défaut : le service n'a pas d'authentification, et quiconque
+ * atteint son port pourrait sinon couper le diagnostic ou abaisser les seuils. La modification à chaud
+ * s'active avec {@code management.endpoint.mongodiagnostics.access=unrestricted}, de préférence avec un
+ * port de gestion réservé au réseau interne ({@code management.server.port} et {@code management.server.address}).
+ */
+@Endpoint(id = "mongodiagnostics", defaultAccess = Access.READ_ONLY)
+public class MongoDiagnosticsEndpoint {
+
+    /**
+     * État du mode diagnostic.
+     */
+    public record Status(boolean enabled, long slowThresholdMillis, int repeatedQueryThreshold,
+                         List<SlowQuery> slowQueries, List<RepeatedQueries> repeatedQueries) {
+    }
+
+    private final MongoDiagnostics diagnostics;
+
+    public MongoDiagnosticsEndpoint(MongoDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(diagnostics.isEnabled(), diagnostics.getSlowThreshold().toMillis(),
+                diagnostics.getRepeatedQueryThreshold(), diagnostics.recentSlowQueries(),
+                diagnostics.recentRepeatedQueries());
+    }
+
+    @WriteOperation
+    public Status configure(@Nullable Boolean enabled, @Nullable Long slowThresholdMillis,
+                            @Nullable Integer repeatedQueryThreshold) {
+        try {
+            diagnostics.configure(enabled, slowThresholdMillis == null ? null : Duration.ofMillis(slowThresholdMillis),
+                    repeatedQueryThreshold);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return status();
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.userservice.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compte les commandes MongoDB émises pendant le traitement d'une requête HTTP.
+ * <p>
+ * Le driver synchrone exécute chaque commande sur le thread appelant : un compteur par thread,
+ * ouvert et fermé par {@link QueryCountFilter}, suffit. Les commandes émises hors d'une requête
+ * (tâches planifiées, initialisation) ou sur un autre thread (réponses asynchrones) ne sont pas
+ * comptées.
+ * <p>
+ * En mode diagnostic, la méthode qui émet la première commande au-delà du seuil sur une
+ * collection est relevée, pour le signalement des requêtes N+1 par {@link MongoDiagnostics}.
+ */
+public class MongoQueryTracker {
+
+    /**
+     * Commandes d'une requête HTTP, au total et par collection.
+     */
+    public static final class RequestQueries {
+
+        private int total;
+        private final Map<String, Integer> byCollection = new HashMap<>();
+        private final Map<String, String> origins = new HashMap<>();
+
+        int record(String collection) {
+            total++;
+            return byCollection.merge(collection, 1, Integer::sum);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Map<String, Integer> getByCollection() {
+            return byCollection;
+        }
+
+        public Map<String, String> getOrigins() {
+            return origins;
+        }
+    }
+
+    private final ThreadLocal<RequestQueries> current = new ThreadLocal<>();
+    private final MongoDiagnostics diagnostics;
+
+    public MongoQueryTracker(MongoDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Ouvre le décompte d'une requête sur le thread courant.
+     *
+     * @return le décompte ouvert
+     */
+    public RequestQueries begin() {
+        RequestQueries queries = new RequestQueries();
+        current.set(queries);
+        return queries;
+    }
+
+    /**
+     * Ferme le décompte du thread courant.
+     */
+    public void end() {
+        current.remove();
+    }
+
+    /**
+     * Compte une commande, si une requête est en cours sur le thread courant.
+     *
+     * @param collection collection visée
+     */
+    public void record(String collection) {
+        RequestQueries queries = current.get();
+        if (queries != null && queries.record(collection) == diagnostics.firstRepeatedCount()) {
+            queries.origins.put(collection, CallSite.origin());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.userservice.monitoring;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.app.userservice.monitoring.MongoQueryTracker.RequestQueries;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Publie le nombre de commandes MongoDB émises par chaque requête HTTP, sous forme d'histogramme
+ * {@code mongodb.request.queries} étiqueté par route ({@code uri}) et méthode HTTP.
+ * <p>
+ * Une route dont la distribution se décale vers le haut signale une requête N+1 (résolution de
+ * références une à une, boucle de lectures par identifiant). En mode diagnostic, les requêtes
+ * qui dépassent le seuil sur une collection sont en outre signalées par {@link MongoDiagnostics}.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "mongodb.request.queries";
+
+    // Seuils publiés même sans histogramme complet : 1 à 50 commandes par requête
+    private static final double[] SLOS = {1, 2, 5, 10, 20, 50};
+
+    private final MongoQueryTracker tracker;
+    private final MongoDiagnostics diagnostics;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MongoQueryTracker tracker, MongoDiagnostics diagnostics, MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.diagnostics = diagnostics;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueries queries = tracker.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.end();
+            String route = route(request);
+            summary(request.getMethod(), route).record(queries.getTotal());
+            diagnostics.checkRepeated(request.getMethod(), route, queries);
+        }
+    }
+
+    private DistributionSummary summary(String method, String route) {
+        return DistributionSummary.builder(METRIC)
+                .description("Commandes MongoDB émises par requête HTTP")
+                .baseUnit("queries")
+                .tag("uri", route)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SLOS)
+                .register(meterRegistry);
+    }
+
+    // Gabarit de la route (/api/users/{id}) plutôt que le chemin, pour borner le nombre de séries
+    static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
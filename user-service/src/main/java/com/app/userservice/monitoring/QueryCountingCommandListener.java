@@ -0,0 +1,49 @@
+package com.app.userservice.monitoring;
+
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Transmet à {@link MongoQueryTracker} chaque commande de lecture ou d'écriture, avec sa collection.
+ * <p>
+ * Les commandes d'administration du driver (hello, ping, endSessions...) sont ignorées. La
+ * latence par commande et par collection est mesurée à part par le listener de Spring Boot
+ * ({@code mongodb.driver.commands}).
+ */
+public class QueryCountingCommandListener implements CommandListener {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of(
+            "find", "getMore", "aggregate", "count", "distinct",
+            "insert", "update", "delete", "findAndModify");
+
+    private final MongoQueryTracker tracker;
+
+    public QueryCountingCommandListener(MongoQueryTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (isQuery(event.getCommandName())) {
+            tracker.record(collection(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    static boolean isQuery(String commandName) {
+        return QUERY_COMMANDS.contains(commandName);
+    }
+
+    /**
+     * Collection visée par une commande : valeur du premier champ, ou du champ "collection"
+     * pour getMore.
+     */
+    static String collection(String commandName, BsonDocument command) {
+        BsonValue value = command.get("getMore".equals(commandName) ? "collection" : commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "unknown";
+    }
+}
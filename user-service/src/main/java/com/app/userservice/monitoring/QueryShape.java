@@ -0,0 +1,97 @@
+package com.app.userservice.monitoring;
+
+import java.util.Map;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Forme du filtre d'une commande MongoDB : noms de champs et opérateurs, valeurs remplacées par
+ * « ? ». Deux requêtes de même forme ne diffèrent que par leurs paramètres ; la forme ne contient
+ * aucune donnée utilisateur et peut être journalisée.
+ */
+final class QueryShape {
+
+    private static final int MAX_LENGTH = 300;
+
+    // Champ qui porte le filtre, par commande
+    private static final Map<String, String> FILTER_FIELDS = Map.of(
+            "find", "filter",
+            "count", "query",
+            "distinct", "query",
+            "findAndModify", "query",
+            "aggregate", "pipeline",
+            "update", "updates",
+            "delete", "deletes");
+
+    private QueryShape() {
+    }
+
+    /**
+     * @param commandName nom de la commande
+     * @param command document de la commande
+     * @return la forme du filtre, ou « {} » si la commande n'en a pas
+     */
+    static String of(String commandName, BsonDocument command) {
+        String field = FILTER_FIELDS.get(commandName);
+        BsonValue filter = field == null ? null : command.get(field);
+        if (filter == null) {
+            return "{}";
+        }
+        StringBuilder shape = new StringBuilder();
+        if ("aggregate".equals(commandName) && filter.isArray()) {
+            appendStages(shape, filter.asArray());
+        } else if (filter.isArray()) {
+            // update et delete : forme du filtre (q) de la première opération du lot
+            BsonArray operations = filter.asArray();
+            BsonValue first = operations.isEmpty() ? null : operations.get(0);
+            append(shape, first != null && first.isDocument() ? first.asDocument().get("q") : null);
+        } else {
+            append(shape, filter);
+        }
+        return shape.length() > MAX_LENGTH ? shape.substring(0, MAX_LENGTH) + "…" : shape.toString();
+    }
+
+    private static void appendStages(StringBuilder shape, BsonArray pipeline) {
+        shape.append('[');
+        for (int i = 0; i < pipeline.size() && shape.length() <= MAX_LENGTH; i++) {
+            if (i > 0) {
+                shape.append(", ");
+            }
+            append(shape, pipeline.get(i));
+        }
+        shape.append(']');
+    }
+
+    private static void append(StringBuilder shape, BsonValue value) {
+        if (value == null) {
+            shape.append("{}");
+        } else if (value.isDocument()) {
+            shape.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (shape.length() > MAX_LENGTH) {
+                    break;
+                }
+                if (!first) {
+                    shape.append(", ");
+                }
+                first = false;
+                shape.append(entry.getKey()).append(": ");
+                append(shape, entry.getValue());
+            }
+            shape.append('}');
+        } else if (value.isArray()) {
+            // Une liste de valeurs ($in, $all) a la même forme quelle que soit sa taille
+            BsonArray array = value.asArray();
+            shape.append('[');
+            if (!array.isEmpty()) {
+                append(shape, array.get(0));
+            }
+            shape.append(']');
+        } else {
+            shape.append('?');
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.userservice.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import com.app.userservice.dto.SimilarityEvaluationDTO;
+import com.app.userservice.service.SimilarityIndexService;
+
+/**
+ * Endpoint actuator {@code /actuator/similarityevaluation/{userId}?limit=10} : compare, pour un
+ * utilisateur, la recherche approchée des utilisateurs similaires au calcul exact (rappel sur les
+ * K premiers résultats, nombre de candidats et durée de chaque méthode).
+ * <p>
+ * Le calcul exact note tous les utilisateurs partageant un tag avec l'utilisateur : c'est un outil
+ * de réglage des bandes LSH, réservé à l'exploitation. L'endpoint n'est pas exposé sur HTTP par
+ * défaut ; l'ajouter à {@code management.endpoints.web.exposure.include} de préférence avec un port
+ * de gestion réservé au réseau interne.
+ */
+@Endpoint(id = "similarityevaluation")
+public class SimilarityEvaluationEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    private final SimilarityIndexService similarityIndexService;
+
+    public SimilarityEvaluationEndpoint(SimilarityIndexService similarityIndexService) {
+        this.similarityIndexService = similarityIndexService;
+    }
+
+    /**
+     * @param userId identifiant de l'utilisateur de référence
+     * @param limit nombre de résultats comparés
+     * @return le résultat de la comparaison, ou null (404) si l'utilisateur n'existe pas
+     */
+    @ReadOperation
+    public SimilarityEvaluationDTO evaluate(@Selector String userId, @Nullable Integer limit) {
+        int k = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        try {
+            return SimilarityEvaluationDTO.fromModel(similarityIndexService.evaluate(userId, k));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
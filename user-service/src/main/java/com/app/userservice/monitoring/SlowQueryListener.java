@@ -0,0 +1,56 @@
+package com.app.userservice.monitoring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Signale à {@link MongoDiagnostics} les commandes plus lentes que le seuil.
+ * <p>
+ * Le document de la commande n'est lisible que pendant commandStarted : sa forme est calculée
+ * à ce moment, puis conservée jusqu'à la fin de la commande.
+ */
+public class SlowQueryListener implements CommandListener {
+
+    private record PendingCommand(String collection, String shape) {
+    }
+
+    private final MongoDiagnostics diagnostics;
+    private final Map<Integer, PendingCommand> pending = new ConcurrentHashMap<>();
+
+    public SlowQueryListener(MongoDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (diagnostics.isEnabled() && QueryCountingCommandListener.isQuery(commandName)) {
+            pending.put(event.getRequestId(), new PendingCommand(
+                    QueryCountingCommandListener.collection(commandName, event.getCommand()),
+                    QueryShape.of(commandName, event.getCommand())));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    private void complete(int requestId, String commandName, long nanos, boolean failed) {
+        PendingCommand command = pending.remove(requestId);
+        if (command != null && diagnostics.isSlow(nanos)) {
+            diagnostics.reportSlowQuery(commandName, command.collection(), command.shape(), nanos, failed);
+        }
+    }
+}
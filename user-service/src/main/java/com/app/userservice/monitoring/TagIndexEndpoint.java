@@ -0,0 +1,48 @@
+package com.app.userservice.monitoring;
+
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import com.app.userservice.service.TagIndexService;
+
+/**
+ * Endpoint actuator {@code /actuator/tagindex} : état de l'index inversé des tags (GET), et réparation
+ * à la demande (POST) qui lance en arrière-plan la réconciliation complète de l'index avec les profils.
+ * <p>
+ * La réconciliation parcourt toute la collection des utilisateurs : l'endpoint est en lecture seule par
+ * défaut, et la réparation s'active avec {@code management.endpoint.tagindex.access=unrestricted}, sur
+ * un port de gestion réservé au réseau interne.
+ */
+@Endpoint(id = "tagindex", defaultAccess = Access.READ_ONLY)
+public class TagIndexEndpoint {
+
+    /**
+     * État de l'index inversé des tags.
+     */
+    public record Status(boolean empty, boolean reconciling) {
+    }
+
+    /**
+     * Résultat d'une demande de réparation : {@code started} est faux si une réconciliation était déjà en cours.
+     */
+    public record Repair(boolean started) {
+    }
+
+    private final TagIndexService tagIndexService;
+
+    public TagIndexEndpoint(TagIndexService tagIndexService) {
+        this.tagIndexService = tagIndexService;
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(tagIndexService.isEmpty(), tagIndexService.isReconciling());
+    }
+
+    @WriteOperation
+    public Repair reconcile() {
+        return new Repair(tagIndexService.reconcileInBackground());
+    }
+}
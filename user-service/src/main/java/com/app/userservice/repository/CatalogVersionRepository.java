@@ -0,0 +1,10 @@
+package com.app.userservice.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.app.userservice.model.CatalogVersion;
+
+@Repository
+public interface CatalogVersionRepository extends MongoRepository<CatalogVersion, String>, CatalogVersionRepositoryCustom {
+}
@@ -0,0 +1,23 @@
+package com.app.userservice.repository;
+
+/**
+ * Opérations personnalisées sur les versions des catalogues de tags.
+ */
+public interface CatalogVersionRepositoryCustom {
+
+    /**
+     * Incrémente atomiquement la version d'un catalogue, en la créant au besoin.
+     *
+     * @param catalog nom du catalogue
+     * @return la nouvelle version
+     */
+    long increment(String catalog);
+
+    /**
+     * Lit la version courante d'un catalogue.
+     *
+     * @param catalog nom du catalogue
+     * @return la version, ou 0 si le catalogue n'a jamais été modifié
+     */
+    long current(String catalog);
+}
@@ -0,0 +1,39 @@
+package com.app.userservice.repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.CatalogVersion;
+
+/**
+ * Implémentation MongoDB des opérations personnalisées sur les versions des catalogues.
+ */
+public class CatalogVersionRepositoryCustomImpl implements CatalogVersionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public CatalogVersionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long increment(String catalog) {
+        // Un seul findAndModify $inc avec upsert : atomique même entre plusieurs instances
+        CatalogVersion updated = mongoTemplate.findAndModify(byCatalog(catalog), new Update().inc("version", 1),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), CatalogVersion.class);
+        return updated.getVersion();
+    }
+
+    @Override
+    public long current(String catalog) {
+        CatalogVersion version = mongoTemplate.findOne(byCatalog(catalog), CatalogVersion.class);
+        return version == null ? 0 : version.getVersion();
+    }
+
+    private Query byCatalog(String catalog) {
+        return new Query(Criteria.where("_id").is(catalog));
+    }
+}
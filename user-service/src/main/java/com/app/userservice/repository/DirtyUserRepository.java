@@ -0,0 +1,15 @@
+package com.app.userservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.app.userservice.model.DirtyUser;
+
+@Repository
+public interface DirtyUserRepository extends MongoRepository<DirtyUser, String>, DirtyUserRepositoryCustom {
+
+    List<DirtyUser> findAllByOrderByDirtyAtAsc(Limit limit);
+}
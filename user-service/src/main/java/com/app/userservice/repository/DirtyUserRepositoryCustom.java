@@ -0,0 +1,27 @@
+package com.app.userservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.app.userservice.model.DirtyUser;
+
+/**
+ * Opérations personnalisées sur la file des recommandations à recalculer.
+ */
+public interface DirtyUserRepositoryCustom {
+
+    /**
+     * Marque des utilisateurs à recalculer, en une seule écriture groupée.
+     * Un utilisateur déjà dans la file y garde sa place.
+     *
+     * @param userIds identifiants des utilisateurs
+     */
+    void markDirty(Collection<String> userIds);
+
+    /**
+     * Retire de la file les entrées traitées, sauf celles marquées à nouveau entre-temps.
+     *
+     * @param processed entrées lues puis traitées
+     */
+    void acknowledge(List<DirtyUser> processed);
+}
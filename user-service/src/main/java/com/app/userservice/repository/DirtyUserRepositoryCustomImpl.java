@@ -0,0 +1,61 @@
+package com.app.userservice.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.DirtyUser;
+
+/**
+ * Implémentation MongoDB de la file des recommandations à recalculer.
+ */
+public class DirtyUserRepositoryCustomImpl implements DirtyUserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public DirtyUserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void markDirty(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DirtyUser.class);
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            // La date d'entrée fixe l'ordre de traitement ; le compteur signale le nouveau marquage
+            bulk.upsert(new Query(Criteria.where("_id").is(userId)),
+                    new Update().setOnInsert("dirtyAt", now).inc("marks", 1));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void acknowledge(List<DirtyUser> processed) {
+        if (processed.isEmpty()) {
+            return;
+        }
+        // Une entrée dont le compteur a changé a été marquée pendant le calcul : elle reste dans la file
+        List<Criteria> unchanged = processed.stream()
+                .map(entry -> Criteria.where("_id").is(entry.getId()).andOperator(sameMarks(entry)))
+                .toList();
+        mongoTemplate.remove(new Query(new Criteria().orOperator(unchanged)), DirtyUser.class);
+    }
+
+    // Les entrées écrites avant l'introduction du compteur n'ont pas de champ marks (lu comme 0) :
+    // null correspond aussi au champ absent
+    private static Criteria sameMarks(DirtyUser entry) {
+        return entry.getMarks() == 0
+                ? Criteria.where("marks").in(0L, null)
+                : Criteria.where("marks").is(entry.getMarks());
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.userservice.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,10 +10,13 @@ import org.springframework.stereotype.Repository;
 import com.app.userservice.model.InterestTag;
 
 @Repository
-public interface InterestRepository extends MongoRepository<InterestTag, String> {
+public interface InterestRepository extends MongoRepository<InterestTag, String>, InterestRepositoryCustom {
 
     Optional<InterestTag> findByName(String name);
     //Recherche des tags d'intérêt par nom partiel (insensible à la casse) pour la recherche en temps réel et les suggestions automatiques 
     List<InterestTag> findByNameContainingIgnoreCase(String name);
     boolean existsByName(String name);
+    //Résolution par lot : une seule requête $or/$in pour tous les identifiants et noms demandés
+    List<InterestTag> findByIdInOrNameIn(Collection<String> ids, Collection<String> names);
+    List<InterestTag> findByNameIn(Collection<String> names);
 }
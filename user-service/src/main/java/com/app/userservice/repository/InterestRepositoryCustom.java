@@ -0,0 +1,30 @@
+package com.app.userservice.repository;
+
+import java.util.List;
+
+import com.app.userservice.model.InterestTag;
+
+/**
+ * Opérations personnalisées sur les intérêts qui ne peuvent pas être dérivées du nom de méthode.
+ */
+public interface InterestRepositoryCustom {
+
+    /**
+     * Crée en une seule écriture groupée (non ordonnée) les intérêts absents.
+     * Chaque tag est inséré par un upsert sur l'index unique du nom : un tag créé
+     * entre-temps par une autre requête est conservé tel quel.
+     *
+     * @param tags tags à créer s'ils n'existent pas encore
+     */
+    void upsertAllByName(List<InterestTag> tags);
+
+    /**
+     * Retourne le tag portant ce nom, en le créant s'il n'existe pas encore.
+     * Repose sur un unique findAndModify avec upsert sur l'index unique du nom :
+     * un seul aller-retour, sans exception en cas de création concurrente.
+     *
+     * @param tag tag à retrouver ou à créer
+     * @return le tag canonique enregistré en base
+     */
+    InterestTag findOrCreateByName(InterestTag tag);
+}
@@ -0,0 +1,73 @@
+package com.app.userservice.repository;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.InterestTag;
+
+/**
+ * Implémentation MongoDB des opérations personnalisées sur les intérêts.
+ */
+public class InterestRepositoryCustomImpl implements InterestRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public InterestRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void upsertAllByName(List<InterestTag> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InterestTag.class);
+        for (InterestTag tag : tags) {
+            bulk.upsert(byName(tag), insertUpdate(tag));
+        }
+
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Un doublon signifie qu'une requête concurrente a créé le tag : il sera relu par l'appelant
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public InterestTag findOrCreateByName(InterestTag tag) {
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        try {
+            return mongoTemplate.findAndModify(byName(tag), insertUpdate(tag), options, InterestTag.class);
+        } catch (DuplicateKeyException e) {
+            // Les serveurs antérieurs à MongoDB 4.2 ne rejouent pas l'upsert concurrent :
+            // le tag existe désormais, le second appel se comporte comme une simple lecture
+            return mongoTemplate.findAndModify(byName(tag), insertUpdate(tag), options, InterestTag.class);
+        }
+    }
+
+    private Query byName(InterestTag tag) {
+        return new Query(Criteria.where("name").is(tag.getName()));
+    }
+
+    private Update insertUpdate(InterestTag tag) {
+        Update update = new Update()
+                .setOnInsert("category", tag.getCategory())
+                .setOnInsert("isPredefined", tag.isPredefined());
+        return update;
+    }
+}
@@ -9,7 +9,7 @@ import org.springframework.stereotype.Repository;
 import com.app.userservice.model.LearningObjective;
 
 @Repository
-public interface LearningObjectiveRepository extends MongoRepository<LearningObjective, String> {
+public interface LearningObjectiveRepository extends MongoRepository<LearningObjective, String>, LearningObjectiveRepositoryCustom {
 
     List<LearningObjective> findByUserId(String userId);
     List<LearningObjective> findByTitleContainingIgnoreCase(String title);
@@ -0,0 +1,41 @@
+package com.app.userservice.repository;
+
+import java.util.Optional;
+
+import com.app.userservice.model.LearningObjective;
+
+/**
+ * Opérations personnalisées sur les objectifs d'apprentissage.
+ */
+public interface LearningObjectiveRepositoryCustom {
+
+    /**
+     * Met à jour la progression d'un objectif par un $set ciblé, sans relire ni réécrire
+     * le document complet.
+     *
+     * @param id identifiant de l'objectif
+     * @param progressPercentage nouvelle progression
+     * @return l'objectif mis à jour, ou vide s'il n'existe pas
+     */
+    Optional<LearningObjective> updateProgress(String id, int progressPercentage);
+
+    /**
+     * Met à jour le titre, la description et la progression d'un objectif appartenant
+     * à un utilisateur, par un $set filtré sur (userId, _id).
+     *
+     * @param userId identifiant du propriétaire
+     * @param id identifiant de l'objectif
+     * @param changes nouvelles valeurs
+     * @return l'objectif mis à jour, ou vide s'il n'existe pas pour cet utilisateur
+     */
+    Optional<LearningObjective> updateForUser(String userId, String id, LearningObjective changes);
+
+    /**
+     * Supprime un objectif appartenant à un utilisateur.
+     *
+     * @param userId identifiant du propriétaire
+     * @param id identifiant de l'objectif
+     * @return true si l'objectif a été supprimé
+     */
+    boolean deleteForUser(String userId, String id);
+}
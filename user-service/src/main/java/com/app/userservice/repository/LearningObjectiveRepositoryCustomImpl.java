@@ -0,0 +1,54 @@
+package com.app.userservice.repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.LearningObjective;
+
+/**
+ * Implémentation MongoDB des opérations personnalisées sur les objectifs d'apprentissage.
+ */
+public class LearningObjectiveRepositoryCustomImpl implements LearningObjectiveRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public LearningObjectiveRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<LearningObjective> updateProgress(String id, int progressPercentage) {
+        Update update = new Update()
+                .set("progressPercentage", progressPercentage)
+                .set("updatedAt", new Date());
+        return Optional.ofNullable(mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(true), LearningObjective.class));
+    }
+
+    @Override
+    public Optional<LearningObjective> updateForUser(String userId, String id, LearningObjective changes) {
+        Update update = new Update()
+                .set("title", changes.getTitle())
+                .set("description", changes.getDescription())
+                .set("progressPercentage", changes.getProgressPercentage())
+                .set("updatedAt", new Date());
+        return Optional.ofNullable(mongoTemplate.findAndModify(byUser(userId, id), update,
+                FindAndModifyOptions.options().returnNew(true), LearningObjective.class));
+    }
+
+    @Override
+    public boolean deleteForUser(String userId, String id) {
+        return mongoTemplate.remove(byUser(userId, id), LearningObjective.class).getDeletedCount() > 0;
+    }
+
+    // Filtre couvert par l'index (userId, _id) : un objectif n'est modifiable que par son propriétaire
+    private Query byUser(String userId, String id) {
+        return new Query(Criteria.where("userId").is(userId).and("_id").is(id));
+    }
+}
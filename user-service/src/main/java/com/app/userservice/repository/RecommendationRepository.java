@@ -0,0 +1,17 @@
+package com.app.userservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.app.userservice.model.Recommendation;
+
+@Repository
+public interface RecommendationRepository extends MongoRepository<Recommendation, String> {
+
+    // Utilisateurs dont les recommandations citent un utilisateur donné (identifiants seulement)
+    @Query(value = "{ '$or': [ { 'similar.userId': ?0 }, { 'complementary.userId': ?0 } ] }", fields = "{ '_id': 1 }")
+    List<Recommendation> findReferencing(String userId);
+}
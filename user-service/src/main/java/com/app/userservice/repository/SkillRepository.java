@@ -4,13 +4,17 @@ import com.app.userservice.model.SkillTag;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SkillRepository extends MongoRepository<SkillTag, String> {
+public interface SkillRepository extends MongoRepository<SkillTag, String>, SkillRepositoryCustom {
 
     Optional<SkillTag> findByName(String name);
     List<SkillTag> findByNameContainingIgnoreCase(String name);
     boolean existsByName(String name);
+    //Résolution par lot : une seule requête $or/$in pour tous les identifiants et noms demandés
+    List<SkillTag> findByIdInOrNameIn(Collection<String> ids, Collection<String> names);
+    List<SkillTag> findByNameIn(Collection<String> names);
 }
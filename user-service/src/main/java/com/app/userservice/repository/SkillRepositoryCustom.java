@@ -0,0 +1,30 @@
+package com.app.userservice.repository;
+
+import java.util.List;
+
+import com.app.userservice.model.SkillTag;
+
+/**
+ * Opérations personnalisées sur les compétences qui ne peuvent pas être dérivées du nom de méthode.
+ */
+public interface SkillRepositoryCustom {
+
+    /**
+     * Crée en une seule écriture groupée (non ordonnée) les compétences absentes.
+     * Chaque tag est inséré par un upsert sur l'index unique du nom : un tag créé
+     * entre-temps par une autre requête est conservé tel quel.
+     *
+     * @param tags tags à créer s'ils n'existent pas encore
+     */
+    void upsertAllByName(List<SkillTag> tags);
+
+    /**
+     * Retourne le tag portant ce nom, en le créant s'il n'existe pas encore.
+     * Repose sur un unique findAndModify avec upsert sur l'index unique du nom :
+     * un seul aller-retour, sans exception en cas de création concurrente.
+     *
+     * @param tag tag à retrouver ou à créer
+     * @return le tag canonique enregistré en base
+     */
+    SkillTag findOrCreateByName(SkillTag tag);
+}
@@ -0,0 +1,76 @@
+package com.app.userservice.repository;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.SkillTag;
+
+/**
+ * Implémentation MongoDB des opérations personnalisées sur les compétences.
+ */
+public class SkillRepositoryCustomImpl implements SkillRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public SkillRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void upsertAllByName(List<SkillTag> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SkillTag.class);
+        for (SkillTag tag : tags) {
+            bulk.upsert(byName(tag), insertUpdate(tag));
+        }
+
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Un doublon signifie qu'une requête concurrente a créé le tag : il sera relu par l'appelant
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public SkillTag findOrCreateByName(SkillTag tag) {
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        try {
+            return mongoTemplate.findAndModify(byName(tag), insertUpdate(tag), options, SkillTag.class);
+        } catch (DuplicateKeyException e) {
+            // Les serveurs antérieurs à MongoDB 4.2 ne rejouent pas l'upsert concurrent :
+            // le tag existe désormais, le second appel se comporte comme une simple lecture
+            return mongoTemplate.findAndModify(byName(tag), insertUpdate(tag), options, SkillTag.class);
+        }
+    }
+
+    private Query byName(SkillTag tag) {
+        return new Query(Criteria.where("name").is(tag.getName()));
+    }
+
+    private Update insertUpdate(SkillTag tag) {
+        Update update = new Update()
+                .setOnInsert("category", tag.getCategory())
+                .setOnInsert("isPredefined", tag.isPredefined());
+        if (tag.getLevel() != null) {
+            update.setOnInsert("level", tag.getLevel());
+        }
+        return update;
+    }
+}
@@ -0,0 +1,14 @@
+package com.app.userservice.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.app.userservice.model.TagCode;
+
+@Repository
+public interface TagCodeRepository extends MongoRepository<TagCode, String>, TagCodeRepositoryCustom {
+
+    Stream<TagCode> streamAllBy();
+}
@@ -0,0 +1,27 @@
+package com.app.userservice.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Opérations personnalisées sur les codes du dictionnaire des tags.
+ */
+public interface TagCodeRepositoryCustom {
+
+    /**
+     * Retourne les codes d'un lot de tags, en attribuant les prochains codes libres à ceux qui n'en ont pas.
+     * Deux instances qui attribuent un code au même tag obtiennent le même résultat.
+     *
+     * @param tagIds identifiants des tags
+     * @return le code de chaque tag
+     */
+    Map<String, Integer> assignAll(Collection<String> tagIds);
+
+    /**
+     * Avance le compteur des codes pour que le prochain code attribué soit au moins {@code nextCode}.
+     * Sans effet si le compteur est déjà plus loin.
+     *
+     * @param nextCode plus petit code encore libre
+     */
+    void advanceSequence(int nextCode);
+}
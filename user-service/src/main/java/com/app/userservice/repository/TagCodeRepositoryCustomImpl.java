@@ -0,0 +1,111 @@
+package com.app.userservice.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.TagCode;
+import com.app.userservice.model.TagCodeSequence;
+import com.mongodb.bulk.BulkWriteError;
+
+/**
+ * Implémentation MongoDB de l'attribution des codes de tags.
+ * <p>
+ * Un lot coûte trois allers-retours quelle que soit sa taille : lecture des codes existants,
+ * réservation d'une plage de codes dans {@link TagCodeSequence}, insertion des nouveaux codes.
+ */
+public class TagCodeRepositoryCustomImpl implements TagCodeRepositoryCustom {
+
+    private static final String SEQUENCE = "tag_codes";
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+
+    public TagCodeRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, Integer> assignAll(Collection<String> tagIds) {
+        Map<String, Integer> codes = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>(tagIds);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && !missing.isEmpty(); attempt++) {
+            for (TagCode stored : mongoTemplate.find(new Query(Criteria.where("_id").in(missing)), TagCode.class)) {
+                codes.put(stored.getId(), stored.getCode());
+                missing.remove(stored.getId());
+            }
+            if (missing.isEmpty()) {
+                break;
+            }
+
+            List<TagCode> created = new ArrayList<>(missing.size());
+            long code = reserve(missing.size());
+            for (String tagId : missing) {
+                created.add(new TagCode(tagId, Math.toIntExact(code++)));
+            }
+            Set<Integer> rejected = insert(created);
+            for (int i = 0; i < created.size(); i++) {
+                if (!rejected.contains(i)) {
+                    codes.put(created.get(i).getId(), created.get(i).getCode());
+                    missing.remove(created.get(i).getId());
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Impossible d'attribuer un code aux tags " + missing);
+        }
+        return codes;
+    }
+
+    @Override
+    public void advanceSequence(int nextCode) {
+        mongoTemplate.upsert(bySequence(), new Update().max("next", (long) nextCode), TagCodeSequence.class);
+    }
+
+    // Réserve une plage de codes consécutifs et retourne le premier
+    private long reserve(int count) {
+        TagCodeSequence sequence = mongoTemplate.findAndModify(bySequence(), new Update().inc("next", count),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), TagCodeSequence.class);
+        return sequence.getNext() - count;
+    }
+
+    // Insère les codes et retourne la position de ceux refusés
+    private Set<Integer> insert(List<TagCode> created) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCode.class);
+        bulk.insert(created);
+        try {
+            bulk.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            // Un doublon signifie qu'une autre instance a attribué un code au tag entre-temps (le sien fait foi
+            // et sera relu au tour suivant), ou que le code réservé est déjà pris (un autre sera réservé)
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            Set<Integer> rejected = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                rejected.add(error.getIndex());
+            }
+            return rejected;
+        }
+    }
+
+    private static Query bySequence() {
+        return new Query(Criteria.where("_id").is(SEQUENCE));
+    }
+}
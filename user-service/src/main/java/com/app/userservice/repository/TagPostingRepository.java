@@ -0,0 +1,20 @@
+package com.app.userservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.app.userservice.model.TagPosting;
+import com.app.userservice.model.TagType;
+
+@Repository
+public interface TagPostingRepository extends MongoRepository<TagPosting, String>, TagPostingRepositoryCustom {
+
+    void deleteByUserId(String userId);
+
+    void deleteByTypeAndTagId(TagType type, String tagId);
+
+    List<TagPosting> findByUserIdIn(Collection<String> userIds);
+}
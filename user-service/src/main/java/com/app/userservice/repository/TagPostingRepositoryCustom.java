@@ -0,0 +1,53 @@
+package com.app.userservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.app.userservice.model.TagPosting;
+import com.app.userservice.model.TagType;
+
+/**
+ * Opérations de maintenance et de lecture de l'index inversé tag → utilisateurs.
+ */
+public interface TagPostingRepositoryCustom {
+
+    /**
+     * Remplace les entrées d'un utilisateur pour un type de tag donné.
+     * Les nouvelles entrées sont ajoutées avant que celles absentes de la nouvelle liste ne soient
+     * supprimées : une lecture concurrente ne perd jamais un tag conservé, et une interruption entre
+     * les deux écritures laisse au pire des entrées en trop, corrigées par la réconciliation au démarrage.
+     * Les entrées inchangées ne sont pas réécrites.
+     *
+     * @param userId identifiant de l'utilisateur
+     * @param type type de tag concerné
+     * @param tagIds identifiants des tags que l'utilisateur possède désormais
+     */
+    void replaceUserTags(String userId, TagType type, Collection<String> tagIds);
+
+    /**
+     * Lit les posting lists des tags demandés et les combine.
+     *
+     * @param tagIds identifiants des tags par type
+     * @param matchAll true pour une intersection (ET), false pour une union (OU)
+     * @return les identifiants des utilisateurs correspondants
+     */
+    List<String> findUserIds(Map<TagType, ? extends Collection<String>> tagIds, boolean matchAll);
+
+    /**
+     * Retient les utilisateurs possédant le plus de tags parmi ceux demandés, à égalité par
+     * identifiant : le résultat ne dépend pas de l'ordre des posting lists.
+     *
+     * @param tagIds identifiants des tags par type
+     * @param limit nombre maximal d'utilisateurs retournés
+     * @return les identifiants des utilisateurs, du plus grand au plus petit nombre de tags communs
+     */
+    List<String> findTopUserIdsByOverlap(Map<TagType, ? extends Collection<String>> tagIds, int limit);
+
+    /**
+     * Insère un lot d'entrées en ignorant celles qui existent déjà.
+     *
+     * @param postings entrées à insérer
+     */
+    void insertAllIgnoringDuplicates(List<TagPosting> postings);
+}
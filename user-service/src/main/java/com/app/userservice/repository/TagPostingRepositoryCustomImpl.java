@@ -0,0 +1,147 @@
+package com.app.userservice.repository;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.userservice.model.TagPosting;
+import com.app.userservice.model.TagType;
+
+/**
+ * Implémentation MongoDB de l'index inversé tag → utilisateurs.
+ * Toutes les lectures sont couvertes par l'index unique (type, tagId, userId).
+ */
+public class TagPostingRepositoryCustomImpl implements TagPostingRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public TagPostingRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void replaceUserTags(String userId, TagType type, Collection<String> tagIds) {
+        // Ajouter d'abord les nouveaux tags, en une seule écriture groupée
+        if (!tagIds.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagPosting.class);
+            for (String tagId : new LinkedHashSet<>(tagIds)) {
+                bulk.upsert(new Query(Criteria.where("type").is(type).and("tagId").is(tagId).and("userId").is(userId)),
+                        new Update().setOnInsert("type", type));
+            }
+            executeIgnoringDuplicates(bulk);
+        }
+
+        // Puis retirer les tags que l'utilisateur ne possède plus
+        mongoTemplate.remove(new Query(Criteria.where("userId").is(userId)
+                .and("type").is(type)
+                .and("tagId").nin(tagIds)), TagPosting.class);
+    }
+
+    @Override
+    public List<String> findUserIds(Map<TagType, ? extends Collection<String>> tagIds, boolean matchAll) {
+        Criteria criteria = postingsOf(tagIds);
+        if (criteria == null) {
+            return List.of();
+        }
+        int distinctTags = distinctTags(tagIds);
+        if (!matchAll || distinctTags == 1) {
+            // Union des posting lists
+            return mongoTemplate.findDistinct(new Query(criteria), "userId", TagPosting.class, String.class);
+        }
+
+        // Intersection : un utilisateur doit apparaître dans chacune des posting lists
+        Aggregation aggregation = newAggregation(
+                match(criteria),
+                group("userId").count().as("matches"),
+                match(Criteria.where("matches").is(distinctTags)));
+        List<String> userIds = new ArrayList<>();
+        for (Document result : mongoTemplate.aggregate(aggregation, TagPosting.class, Document.class)) {
+            userIds.add(result.getString("_id"));
+        }
+        return userIds;
+    }
+
+    @Override
+    public List<String> findTopUserIdsByOverlap(Map<TagType, ? extends Collection<String>> tagIds, int limit) {
+        Criteria criteria = postingsOf(tagIds);
+        if (criteria == null || limit <= 0) {
+            return List.of();
+        }
+        Aggregation aggregation = newAggregation(
+                match(criteria),
+                group("userId").count().as("matches"),
+                sort(Sort.by(Sort.Order.desc("matches"), Sort.Order.asc("_id"))),
+                limit(limit));
+        List<String> userIds = new ArrayList<>();
+        for (Document result : mongoTemplate.aggregate(aggregation, TagPosting.class, Document.class)) {
+            userIds.add(result.getString("_id"));
+        }
+        return userIds;
+    }
+
+    @Override
+    public void insertAllIgnoringDuplicates(List<TagPosting> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagPosting.class);
+        bulk.insert(postings);
+        executeIgnoringDuplicates(bulk);
+    }
+
+    // Entrées des posting lists demandées, ou null si aucun tag n'est demandé
+    private static Criteria postingsOf(Map<TagType, ? extends Collection<String>> tagIds) {
+        List<Criteria> perType = new ArrayList<>();
+        for (Map.Entry<TagType, ? extends Collection<String>> entry : tagIds.entrySet()) {
+            Set<String> ids = new LinkedHashSet<>(entry.getValue());
+            if (!ids.isEmpty()) {
+                perType.add(Criteria.where("type").is(entry.getKey()).and("tagId").in(ids));
+            }
+        }
+        if (perType.isEmpty()) {
+            return null;
+        }
+        return perType.size() == 1 ? perType.get(0) : new Criteria().orOperator(perType);
+    }
+
+    private static int distinctTags(Map<TagType, ? extends Collection<String>> tagIds) {
+        int distinctTags = 0;
+        for (Collection<String> ids : tagIds.values()) {
+            distinctTags += new LinkedHashSet<>(ids).size();
+        }
+        return distinctTags;
+    }
+
+    private void executeIgnoringDuplicates(BulkOperations bulk) {
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Entrée déjà présente : l'index est déjà à jour pour ce couple tag/utilisateur
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+}
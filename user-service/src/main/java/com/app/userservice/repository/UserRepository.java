@@ -2,20 +2,25 @@ package com.app.userservice.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import com.app.userservice.model.UserProfile;
 
 @Repository
-public interface UserRepository extends MongoRepository<UserProfile, String> {
+public interface UserRepository extends MongoRepository<UserProfile, String>, UserRepositoryCustom {
 
     Optional<UserProfile> findByEmail(String email);
     Optional<UserProfile> findByUsername(String username);
     Optional<UserProfile> findByKeycloakId(String keycloakId);
-    List<UserProfile> findBySkillsName(String skillName);
-    List<UserProfile> findByInterestsName(String interestName);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+    //Pagination par curseur (keyset) sur _id : pas de skip, coût constant quelle que soit la page
+    List<UserProfile> findAllByOrderByIdAsc(Limit limit);
+    List<UserProfile> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+    //Parcours de tous les profils via un curseur MongoDB, sans charger la collection en mémoire
+    Stream<UserProfile> streamAllByOrderByIdAsc();
 }
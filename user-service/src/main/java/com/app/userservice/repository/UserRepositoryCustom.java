@@ -0,0 +1,100 @@
+package com.app.userservice.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.ProfileCompletionStatus;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Écritures ciblées sur les profils utilisateurs.
+ * Chaque opération est une seule écriture MongoDB qui ne touche que les champs concernés,
+ * sans lecture préalable du document, et incrémente la version du profil.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Met à jour des champs du profil par $set et fait éventuellement progresser le statut
+     * de complétion, le tout en une seule écriture atomique.
+     *
+     * @param userId identifiant du profil
+     * @param expectedVersion version attendue (contrôle optimiste), ou null pour ne pas la vérifier
+     * @param fields champs à modifier et leurs nouvelles valeurs
+     * @param promoteFrom statut à partir duquel le profil progresse, ou null
+     * @param promoteTo statut atteint si le profil était au statut promoteFrom
+     * @return le profil mis à jour, ou vide si aucun profil ne correspond à l'identifiant et à la version
+     */
+    Optional<UserProfile> updateFields(String userId, Long expectedVersion, Map<String, Object> fields,
+                                       ProfileCompletionStatus promoteFrom, ProfileCompletionStatus promoteTo);
+
+    /**
+     * Ajoute la copie d'un objectif au profil par $push, si le profil en compte moins que le maximum
+     * et ne le contient pas déjà.
+     *
+     * @param userId identifiant du profil
+     * @param objective objectif à embarquer
+     * @param maxObjectives nombre maximal d'objectifs
+     * @return true si l'objectif a été ajouté
+     */
+    boolean pushLearningObjective(String userId, LearningObjective objective, int maxObjectives);
+
+    /**
+     * Indique si le profil contient déjà la copie d'un objectif.
+     *
+     * @param userId identifiant du profil
+     * @param objectiveId identifiant de l'objectif
+     * @return true si l'objectif est embarqué dans le profil
+     */
+    boolean hasLearningObjective(String userId, String objectiveId);
+
+    /**
+     * Met à jour, par l'opérateur positionnel, la copie embarquée d'un objectif.
+     *
+     * @param userId identifiant du profil
+     * @param objective objectif à jour (titre, description, progression, dates)
+     * @return true si la copie a été trouvée et mise à jour
+     */
+    boolean updateLearningObjective(String userId, LearningObjective objective);
+
+    /**
+     * Retire la copie embarquée d'un objectif par $pull.
+     *
+     * @param userId identifiant du profil
+     * @param objectiveId identifiant de l'objectif
+     * @return true si la copie a été retirée
+     */
+    boolean pullLearningObjective(String userId, String objectiveId);
+
+    /**
+     * Lie un profil existant à un identifiant Keycloak, s'il n'est encore lié à aucun
+     * (profils inscrits sans Keycloak ou données initiales).
+     *
+     * @param userId identifiant du profil
+     * @param keycloakId identifiant Keycloak à enregistrer
+     * @return le profil mis à jour, ou vide s'il est déjà lié à un identifiant Keycloak
+     */
+    Optional<UserProfile> attachKeycloakId(String userId, String keycloakId);
+
+    /**
+     * Met à jour le nom et la catégorie des copies embarquées d'un tag dans tous les profils
+     * qui le possèdent, par un updateMulti avec filtre de tableau.
+     *
+     * @param field champ du profil contenant les copies ("skills" ou "interests")
+     * @param tagId identifiant du tag
+     * @param name nouveau nom
+     * @param category nouvelle catégorie
+     * @return les identifiants des profils concernés
+     */
+    List<String> updateTagSnapshots(String field, String tagId, String name, String category);
+
+    /**
+     * Retire par $pull les copies embarquées d'un tag de tous les profils qui le possèdent.
+     *
+     * @param field champ du profil contenant les copies ("skills" ou "interests")
+     * @param tagId identifiant du tag supprimé
+     * @return les identifiants des profils concernés
+     */
+    List<String> pullTagSnapshots(String field, String tagId);
+}
@@ -0,0 +1,183 @@
+package com.app.userservice.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.TypeInformation;
+
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.ProfileCompletionStatus;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Implémentation MongoDB des écritures ciblées sur les profils utilisateurs.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String STATUS = "profileCompletionStatus";
+    private static final String VERSION = "version";
+    private static final String OBJECTIVES = "learningObjectives";
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<UserProfile> updateFields(String userId, Long expectedVersion, Map<String, Object> fields,
+                                              ProfileCompletionStatus promoteFrom, ProfileCompletionStatus promoteTo) {
+        // Mise à jour par pipeline : la progression du statut dépend de sa valeur courante,
+        // ce qu'un $set classique ne sait pas exprimer en une seule écriture
+        AggregationUpdate update = AggregationUpdate.update();
+        fields.forEach((field, value) -> update.set(field).toValue(literal(value)));
+        if (promoteFrom != null) {
+            update.set(STATUS).toValue(ConditionalOperators
+                    .when(ComparisonOperators.valueOf(STATUS).equalToValue(promoteFrom.name()))
+                    .then(promoteTo.name())
+                    .otherwiseValueOf(STATUS));
+        }
+        update.set(VERSION).toValue(ArithmeticOperators.valueOf(ConditionalOperators.ifNull(VERSION).then(0)).add(1));
+
+        Query query = new Query(Criteria.where("_id").is(userId));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where(VERSION).is(expectedVersion));
+        }
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, options, UserProfile.class));
+    }
+
+    @Override
+    public boolean pushLearningObjective(String userId, LearningObjective objective, int maxObjectives) {
+        // La limite est vérifiée par le filtre : l'élément d'indice max-1 ne doit pas exister ;
+        // un objectif déjà embarqué n'est pas ajouté une seconde fois
+        Query query = new Query(Criteria.where("_id").is(userId)
+                .and(OBJECTIVES + "." + (maxObjectives - 1)).exists(false)
+                .and(OBJECTIVES + "._id").ne(new ObjectId(objective.getId())));
+        Update update = new Update()
+                .push(OBJECTIVES, embedded(objective))
+                .set("updatedAt", new Date())
+                .inc(VERSION, 1);
+        return mongoTemplate.updateFirst(query, update, UserProfile.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean hasLearningObjective(String userId, String objectiveId) {
+        Query query = new Query(Criteria.where("_id").is(userId)
+                .and(OBJECTIVES + "._id").is(new ObjectId(objectiveId)));
+        return mongoTemplate.exists(query, UserProfile.class);
+    }
+
+    @Override
+    public boolean updateLearningObjective(String userId, LearningObjective objective) {
+        Query query = new Query(Criteria.where("_id").is(userId)
+                .and(OBJECTIVES + "._id").is(new ObjectId(objective.getId())));
+        Update update = new Update()
+                .set(OBJECTIVES + ".$.title", objective.getTitle())
+                .set(OBJECTIVES + ".$.description", objective.getDescription())
+                .set(OBJECTIVES + ".$.progressPercentage", objective.getProgressPercentage())
+                .set(OBJECTIVES + ".$.targetDate", objective.getTargetDate())
+                .set(OBJECTIVES + ".$.updatedAt", objective.getUpdatedAt())
+                .set("updatedAt", new Date())
+                .inc(VERSION, 1);
+        return mongoTemplate.updateFirst(query, update, UserProfile.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean pullLearningObjective(String userId, String objectiveId) {
+        Query query = new Query(Criteria.where("_id").is(userId));
+        Update update = new Update()
+                .pull(OBJECTIVES, new Document("_id", new ObjectId(objectiveId)))
+                .set("updatedAt", new Date())
+                .inc(VERSION, 1);
+        return mongoTemplate.updateFirst(query, update, UserProfile.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Optional<UserProfile> attachKeycloakId(String userId, String keycloakId) {
+        // Le filtre sur null couvre aussi le champ absent : un profil déjà lié n'est jamais réattribué
+        Query query = new Query(Criteria.where("_id").is(userId).and("keycloakId").is(null));
+        Update update = new Update()
+                .set("keycloakId", keycloakId)
+                .set("updatedAt", new Date())
+                .inc(VERSION, 1);
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, options, UserProfile.class));
+    }
+
+    @Override
+    public List<String> updateTagSnapshots(String field, String tagId, String name, String category) {
+        Query query = new Query(Criteria.where(field + "._id").is(storedId(tagId)));
+        List<String> userIds = userIds(query);
+        if (userIds.isEmpty()) {
+            return userIds;
+        }
+        Update update = new Update()
+                .set(field + ".$[tag].name", name)
+                .set(field + ".$[tag].category", category)
+                .filterArray(Criteria.where("tag._id").is(storedId(tagId)))
+                .inc(VERSION, 1);
+        mongoTemplate.updateMulti(query, update, UserProfile.class);
+        return userIds;
+    }
+
+    @Override
+    public List<String> pullTagSnapshots(String field, String tagId) {
+        Query query = new Query(Criteria.where(field + "._id").is(storedId(tagId)));
+        List<String> userIds = userIds(query);
+        if (userIds.isEmpty()) {
+            return userIds;
+        }
+        Update update = new Update()
+                .pull(field, new Document("_id", storedId(tagId)))
+                .inc(VERSION, 1);
+        mongoTemplate.updateMulti(query, update, UserProfile.class);
+        return userIds;
+    }
+
+    // Profils concernés, relevés avant l'écriture pour invalider leur copie en cache
+    private List<String> userIds(Query query) {
+        return mongoTemplate.findDistinct(query, "_id", UserProfile.class, Object.class).stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    // Les identifiants embarqués sont stockés en ObjectId lorsqu'ils en ont le format
+    private static Object storedId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    // Valeur littérale : une chaîne saisie par l'utilisateur commençant par "$" ne doit pas
+    // être interprétée comme un chemin de champ par le pipeline
+    private Object literal(Object value) {
+        if (value == null) {
+            return new Document("$literal", null);
+        }
+        if (value instanceof Collection<?> values) {
+            List<Object> converted = values.stream().map(this::embedded).collect(Collectors.toList());
+            return LiteralOperators.valueOf(converted).asLiteral();
+        }
+        return LiteralOperators.valueOf(embedded(value)).asLiteral();
+    }
+
+    // Conversion au format stocké (identifiants embarqués en ObjectId, sans _class)
+    private Object embedded(Object value) {
+        return mongoTemplate.getConverter().convertToMongoType(value, TypeInformation.of(value.getClass()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.app.userservice.repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.app.userservice.model.UserSignature;
+
+@Repository
+public interface UserSignatureRepository extends MongoRepository<UserSignature, String> {
+
+    Stream<UserSignature> streamAllBy();
+
+    List<UserSignature> findByUpdatedAtGreaterThanOrderByUpdatedAtAsc(Date since);
+
+    // Signatures calculées avec un autre découpage en bandes (vérifié au démarrage uniquement)
+    boolean existsByBandsNotOrRowsNot(int bands, int rows);
+}
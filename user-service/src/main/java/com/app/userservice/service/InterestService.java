@@ -1,5 +1,6 @@
 package com.app.userservice.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +19,7 @@ public interface InterestService {
     InterestTag createInterest(InterestTag interestTag);
     
     /**
-     * Récupère tous les intérêts
+     * Récupère tous les intérêts, depuis le cache du catalogue
      * @return liste des intérêts
      */
     List<InterestTag> getAllInterests();
@@ -31,7 +32,7 @@ public interface InterestService {
     Optional<InterestTag> getInterestById(String id);
     
     /**
-     * Recherche un intérêt par son nom
+     * Recherche un intérêt par son nom (insensible à la casse), depuis le cache du catalogue
      * @param name nom de l'intérêt
      * @return l'intérêt trouvé (optionnel)
      */
@@ -44,6 +45,23 @@ public interface InterestService {
      */
     List<InterestTag> findInterestsByPartialName(String name);
     
+    /**
+     * Autocomplétion des intérêts à partir de l'index en mémoire, sans requête MongoDB.
+     * Les correspondances par préfixe passent avant les correspondances internes,
+     * et les intérêts prédéfinis avant les tags personnalisés.
+     * @param query texte saisi (insensible à la casse et aux accents)
+     * @param limit nombre maximum de résultats
+     * @return les intérêts les mieux classés
+     */
+    List<InterestTag> searchInterests(String query, int limit);
+    
+    /**
+     * Recherche des intérêts par leurs noms (insensibles à la casse), depuis le cache du catalogue
+     * @param names noms des intérêts
+     * @return liste des intérêts trouvés
+     */
+    List<InterestTag> getInterestsByNames(Collection<String> names);
+    
     /**
      * Met à jour un intérêt
      * @param id identifiant de l'intérêt
@@ -57,4 +75,12 @@ public interface InterestService {
      * @param id identifiant de l'intérêt à supprimer
      */
     void deleteInterest(String id);
-} 
\ No newline at end of file
+    
+    /**
+     * Résout par lot des intérêts identifiés par ID ou par nom.
+     * Les intérêts inconnus par nom sont créés comme tags personnalisés.
+     * @param interests intérêts envoyés par le client
+     * @return les intérêts canoniques correspondants
+     */
+    List<InterestTag> resolveInterests(List<InterestTag> interests);
+}
@@ -73,4 +73,31 @@ public interface LearningObjectiveService {
      * @param id identifiant de l'objectif à supprimer
      */
     void deleteObjective(String id);
+    
+    /**
+     * Crée un objectif pour un utilisateur et l'ajoute à son profil,
+     * sans réécrire le reste du profil
+     * @param userId identifiant de l'utilisateur
+     * @param learningObjective objectif à créer
+     * @return l'objectif créé, ou vide si l'utilisateur n'existe pas
+     * @throws IllegalArgumentException si l'utilisateur a déjà le nombre maximal d'objectifs
+     */
+    Optional<LearningObjective> addObjectiveForUser(String userId, LearningObjective learningObjective);
+    
+    /**
+     * Met à jour un objectif d'un utilisateur et sa copie dans le profil
+     * @param userId identifiant de l'utilisateur
+     * @param id identifiant de l'objectif
+     * @param learningObjective nouvelles informations
+     * @return l'objectif mis à jour, ou vide s'il n'appartient pas à l'utilisateur
+     */
+    Optional<LearningObjective> updateObjectiveForUser(String userId, String id, LearningObjective learningObjective);
+    
+    /**
+     * Supprime un objectif d'un utilisateur et le retire de son profil
+     * @param userId identifiant de l'utilisateur
+     * @param id identifiant de l'objectif
+     * @return true si l'objectif a été supprimé
+     */
+    boolean deleteObjectiveForUser(String userId, String id);
 }
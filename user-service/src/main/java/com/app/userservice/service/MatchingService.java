@@ -0,0 +1,33 @@
+package com.app.userservice.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.app.userservice.model.MatchMode;
+import com.app.userservice.model.ProfileMatch;
+
+/**
+ * Service de matching entre profils utilisateurs
+ */
+public interface MatchingService {
+
+    /**
+     * Recherche les meilleurs partenaires pour un utilisateur
+     * @param userId identifiant de l'utilisateur de référence
+     * @param mode mode de calcul du score
+     * @param limit nombre maximal de partenaires retournés
+     * @return les partenaires, par score décroissant
+     * @throws IllegalArgumentException si l'utilisateur n'existe pas
+     */
+    List<ProfileMatch> findMatches(String userId, MatchMode mode, int limit);
+    
+    /**
+     * Recherche des partenaires possédant plusieurs compétences et/ou intérêts,
+     * classés par part des tags demandés qu'ils possèdent
+     * @param skillNames noms des compétences recherchées
+     * @param interestNames noms des intérêts recherchés
+     * @param limit nombre maximal de partenaires retournés
+     * @return les partenaires, par score décroissant
+     */
+    List<ProfileMatch> searchPartners(Collection<String> skillNames, Collection<String> interestNames, int limit);
+}
@@ -0,0 +1,41 @@
+package com.app.userservice.service;
+
+import java.util.Optional;
+
+import com.app.userservice.event.UserObjectivesChangedEvent;
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.Recommendation;
+
+/**
+ * Service des recommandations de partenaires précalculées
+ */
+public interface RecommendationService {
+
+    /**
+     * Marque à recalculer un utilisateur dont les tags ont changé, ainsi que les utilisateurs
+     * dont les recommandations le citent
+     * @param event événement décrivant les nouveaux tags de l'utilisateur
+     */
+    void onUserTagsChanged(UserTagsChangedEvent event);
+    
+    /**
+     * Marque à recalculer un utilisateur dont les objectifs d'apprentissage ont changé,
+     * ainsi que les utilisateurs dont les recommandations le citent
+     * @param event événement identifiant l'utilisateur
+     */
+    void onUserObjectivesChanged(UserObjectivesChangedEvent event);
+    
+    /**
+     * Retourne les recommandations précalculées d'un utilisateur, en une seule lecture.
+     * Des recommandations absentes ou trop anciennes sont mises en file pour être recalculées.
+     * @param userId identifiant de l'utilisateur
+     * @return les recommandations, vide si elles n'ont pas encore été calculées
+     */
+    Optional<Recommendation> getRecommendations(String userId);
+    
+    /**
+     * Recalcule un lot d'utilisateurs de la file, les plus anciennement marqués d'abord
+     * @return le nombre d'utilisateurs recalculés
+     */
+    int processQueue();
+}
@@ -0,0 +1,45 @@
+package com.app.userservice.service;
+
+import java.util.List;
+
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.SimilarityEvaluation;
+
+/**
+ * Service de recherche approchée des utilisateurs similaires (MinHash et LSH)
+ */
+public interface SimilarityIndexService {
+
+    /**
+     * Met à jour la signature d'un utilisateur après un changement de ses tags
+     * @param event événement décrivant les nouveaux tags de l'utilisateur
+     */
+    void onUserTagsChanged(UserTagsChangedEvent event);
+    
+    /**
+     * Recherche les utilisateurs dont les tags sont les plus proches : les candidats sont ceux qui
+     * partagent une bande LSH, notés par l'indice de Jaccard de leurs tags
+     * @param userId identifiant de l'utilisateur de référence
+     * @param limit nombre maximal d'utilisateurs retournés
+     * @return les utilisateurs similaires, par similarité décroissante
+     * @throws IllegalArgumentException si l'utilisateur n'existe pas
+     */
+    List<ProfileMatch> findSimilarUsers(String userId, int limit);
+    
+    /**
+     * Compare la recherche approchée au calcul exact pour un utilisateur
+     * @param userId identifiant de l'utilisateur de référence
+     * @param limit nombre de résultats comparés
+     * @return le rappel et les durées des deux méthodes
+     * @throws IllegalArgumentException si l'utilisateur n'existe pas
+     */
+    SimilarityEvaluation evaluate(String userId, int limit);
+    
+    /**
+     * Charge l'index depuis les signatures persistées, ou le reconstruit à partir des profils
+     * si aucune signature n'existe ou si le découpage en bandes a changé
+     * @return le nombre d'utilisateurs indexés
+     */
+    long loadOrRebuild();
+}
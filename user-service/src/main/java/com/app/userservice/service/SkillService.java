@@ -1,5 +1,6 @@
 package com.app.userservice.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +19,7 @@ public interface SkillService {
     SkillTag createSkill(SkillTag skillTag);
     
     /**
-     * Récupère toutes les compétences
+     * Récupère toutes les compétences, depuis le cache du catalogue
      * @return liste des compétences
      */
     List<SkillTag> getAllSkills();
@@ -31,7 +32,7 @@ public interface SkillService {
     Optional<SkillTag> getSkillById(String id);
     
     /**
-     * Recherche une compétence par son nom
+     * Recherche une compétence par son nom (insensible à la casse), depuis le cache du catalogue
      * @param name nom de la compétence
      * @return la compétence trouvée (optionnel)
      */
@@ -44,6 +45,23 @@ public interface SkillService {
      */
     List<SkillTag> findSkillsByPartialName(String name);
     
+    /**
+     * Autocomplétion des compétences à partir de l'index en mémoire, sans requête MongoDB.
+     * Les correspondances par préfixe passent avant les correspondances internes,
+     * et les compétences prédéfinies avant les tags personnalisés.
+     * @param query texte saisi (insensible à la casse et aux accents)
+     * @param limit nombre maximum de résultats
+     * @return les compétences les mieux classées
+     */
+    List<SkillTag> searchSkills(String query, int limit);
+    
+    /**
+     * Recherche des compétences par leurs noms (insensibles à la casse), depuis le cache du catalogue
+     * @param names noms des compétences
+     * @return liste des compétences trouvées
+     */
+    List<SkillTag> getSkillsByNames(Collection<String> names);
+    
     /**
      * Met à jour une compétence
      * @param id identifiant de la compétence
@@ -57,4 +75,12 @@ public interface SkillService {
      * @param id identifiant de la compétence à supprimer
      */
     void deleteSkill(String id);
-} 
\ No newline at end of file
+    
+    /**
+     * Résout par lot des compétences identifiées par ID ou par nom.
+     * Les compétences inconnues par nom sont créées comme tags personnalisés.
+     * @param skills compétences envoyées par le client
+     * @return les compétences canoniques correspondantes
+     */
+    List<SkillTag> resolveSkills(List<SkillTag> skills);
+}
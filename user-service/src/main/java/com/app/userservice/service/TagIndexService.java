@@ -0,0 +1,71 @@
+package com.app.userservice.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.app.userservice.event.TagCatalogChangedEvent;
+import com.app.userservice.event.UserTagsChangedEvent;
+
+/**
+ * Service de l'index inversé tag → utilisateurs
+ */
+public interface TagIndexService {
+
+    /**
+     * Met à jour l'index après un changement des tags d'un profil
+     * @param event événement décrivant les nouveaux tags de l'utilisateur
+     */
+    void onUserTagsChanged(UserTagsChangedEvent event);
+    
+    /**
+     * Recherche les utilisateurs possédant les tags demandés
+     * @param skillIds identifiants des compétences recherchées
+     * @param interestIds identifiants des intérêts recherchés
+     * @param matchAll true si l'utilisateur doit posséder tous les tags (ET), false pour au moins un (OU)
+     * @return les identifiants des utilisateurs correspondants
+     */
+    List<String> findUserIds(Collection<String> skillIds, Collection<String> interestIds, boolean matchAll);
+    
+    /**
+     * Recherche les utilisateurs possédant le plus de tags parmi ceux demandés
+     * @param skillIds identifiants des compétences recherchées
+     * @param interestIds identifiants des intérêts recherchés
+     * @param limit nombre maximal d'utilisateurs retournés
+     * @return les identifiants des utilisateurs, par nombre de tags communs décroissant puis par identifiant
+     */
+    List<String> findTopUserIdsByOverlap(Collection<String> skillIds, Collection<String> interestIds, int limit);
+    
+    /**
+     * Retire de l'index les entrées d'un tag supprimé du catalogue
+     * @param event événement décrivant le tag modifié ou supprimé
+     */
+    void onTagCatalogChanged(TagCatalogChangedEvent event);
+    
+    /**
+     * Réconcilie l'index avec les profils : ajoute les entrées manquantes et retire celles des tags
+     * que les profils ne portent plus. Un index vide est ainsi entièrement reconstruit, et un index
+     * partiel (écriture interrompue, événement perdu) est réparé.
+     * Parcourt tous les profils : une seule réconciliation s'exécute à la fois
+     * @return le nombre d'entrées ajoutées ou retirées
+     * @throws IllegalStateException si une réconciliation est déjà en cours
+     */
+    long reconcile();
+    
+    /**
+     * Lance la réconciliation sur un fil dédié, sans attendre sa fin
+     * @return false si une réconciliation est déjà en cours
+     */
+    boolean reconcileInBackground();
+    
+    /**
+     * Indique si une réconciliation est en cours
+     * @return true pendant une réconciliation
+     */
+    boolean isReconciling();
+    
+    /**
+     * Indique si l'index ne contient aucune entrée (premier démarrage, ou collection supprimée)
+     * @return true si l'index est vide
+     */
+    boolean isEmpty();
+}
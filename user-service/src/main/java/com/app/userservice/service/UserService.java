@@ -2,7 +2,9 @@ package com.app.userservice.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.app.userservice.event.TagCatalogChangedEvent;
 import com.app.userservice.model.InterestTag;
 import com.app.userservice.model.LearningObjective;
 import com.app.userservice.model.ProfileCompletionStatus;
@@ -20,12 +22,34 @@ public interface UserService {
      */
     UserProfile registerUser(UserProfile userProfile);
     
+    /**
+     * Renvoie l'utilisateur lié à un identifiant Keycloak, en le créant s'il n'existe pas encore.
+     * Appel idempotent : des appels répétés ou concurrents pour un même identifiant renvoient le même profil.
+     * @param userProfile le profil à créer (email, nom d'utilisateur), avec son identifiant Keycloak
+     * @return le profil existant ou créé
+     */
+    UserProfile provisionUser(UserProfile userProfile);
+    
     /**
      * Récupère tous les utilisateurs
      * @return la liste des utilisateurs
      */
     List<UserProfile> getAllUsers();
     
+    /**
+     * Récupère une page d'utilisateurs triés par identifiant (pagination par curseur)
+     * @param afterId identifiant du dernier utilisateur de la page précédente (null pour la première page)
+     * @param size nombre maximal d'utilisateurs à retourner
+     * @return la page d'utilisateurs
+     */
+    List<UserProfile> getUsersPage(String afterId, int size);
+    
+    /**
+     * Parcourt tous les utilisateurs au fil d'un curseur MongoDB, sans les charger tous en mémoire
+     * @param consumer traitement appliqué à chaque utilisateur
+     */
+    void forEachUser(Consumer<UserProfile> consumer);
+    
     /**
      * Recherche un utilisateur par son identifiant
      * @param id identifiant de l'utilisateur
@@ -83,30 +107,45 @@ public interface UserService {
     List<UserProfile> findUsersByInterest(String interestName);
     
     /**
-     * Met à jour les informations personnelles d'un utilisateur
+     * Trouve des utilisateurs par combinaison de compétences et d'intérêts
+     * @param skillNames noms des compétences recherchées
+     * @param interestNames noms des intérêts recherchés
+     * @param matchAll true si l'utilisateur doit posséder tous les tags (ET), false pour au moins un (OU)
+     * @return liste des utilisateurs correspondants
+     */
+    List<UserProfile> findUsersByTags(List<String> skillNames, List<String> interestNames, boolean matchAll);
+    
+    /**
+     * Met à jour les informations personnelles d'un utilisateur, en une seule écriture ciblée
      * @param userId identifiant de l'utilisateur
      * @param username nom d'utilisateur
      * @param bio biographie
      * @param profilePictureUrl URL de la photo de profil
+     * @param expectedVersion version attendue du profil (optionnelle)
      * @return le profil utilisateur mis à jour
+     * @throws org.springframework.dao.OptimisticLockingFailureException si le profil a changé de version
      */
-    UserProfile updatePersonalInfo(String userId, String username, String bio, String profilePictureUrl);
+    UserProfile updatePersonalInfo(String userId, String username, String bio, String profilePictureUrl, Long expectedVersion);
     
     /**
-     * Met à jour les centres d'intérêt d'un utilisateur
+     * Met à jour les centres d'intérêt d'un utilisateur, en une seule écriture ciblée
      * @param userId identifiant de l'utilisateur
      * @param interests liste des centres d'intérêt
+     * @param expectedVersion version attendue du profil (optionnelle)
      * @return le profil utilisateur mis à jour
+     * @throws org.springframework.dao.OptimisticLockingFailureException si le profil a changé de version
      */
-    UserProfile updateInterests(String userId, List<InterestTag> interests);
+    UserProfile updateInterests(String userId, List<InterestTag> interests, Long expectedVersion);
     
     /**
-     * Met à jour les objectifs d'apprentissage d'un utilisateur
+     * Met à jour les objectifs d'apprentissage d'un utilisateur, en une seule écriture ciblée du profil
      * @param userId identifiant de l'utilisateur
      * @param objectives liste des objectifs d'apprentissage
+     * @param expectedVersion version attendue du profil (optionnelle)
      * @return le profil utilisateur mis à jour
+     * @throws org.springframework.dao.OptimisticLockingFailureException si le profil a changé de version
      */
-    UserProfile updateLearningObjectives(String userId, List<LearningObjective> objectives);
+    UserProfile updateLearningObjectives(String userId, List<LearningObjective> objectives, Long expectedVersion);
     
     /**
      * Récupère le statut de complétion du profil d'un utilisateur
@@ -114,4 +153,11 @@ public interface UserService {
      * @return le statut de complétion du profil
      */
     ProfileCompletionStatus getProfileCompletionStatus(String userId);
+    
+    /**
+     * Répercute le renommage ou la suppression d'un tag du catalogue sur les copies embarquées dans les profils.
+     * Une suppression modifie les tags des profils concernés : un UserTagsChangedEvent est publié pour chacun
+     * @param event événement identifiant le tag modifié ou supprimé
+     */
+    void onTagCatalogChanged(TagCatalogChangedEvent event);
 }
@@ -1,52 +1,115 @@
 package com.app.userservice.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.app.userservice.event.TagCatalogChangedEvent;
 import com.app.userservice.model.InterestTag;
+import com.app.userservice.repository.CatalogVersionRepository;
 import com.app.userservice.repository.InterestRepository;
 import com.app.userservice.service.InterestService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class InterestServiceImpl implements InterestService {
 
     private final InterestRepository interestRepository;
+    private final TagBatchResolver<InterestTag> resolver;
+    private final TagCatalogCache<InterestTag> catalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public InterestServiceImpl(InterestRepository interestRepository) {
+    public InterestServiceImpl(InterestRepository interestRepository,
+                               CatalogVersionRepository catalogVersionRepository,
+                               MeterRegistry meterRegistry,
+                               ApplicationEventPublisher eventPublisher) {
         this.interestRepository = interestRepository;
+        this.eventPublisher = eventPublisher;
+        this.catalog = new TagCatalogCache<>("interests", interestRepository::findAll,
+                InterestTag::getId, InterestTag::getName, InterestTag::isPredefined,
+                catalogVersionRepository, meterRegistry);
+        this.resolver = new TagBatchResolver<>(
+                new TagBatchResolver.TagStore<>() {
+                    @Override
+                    public List<InterestTag> findByIdsOrNames(Collection<String> ids, Collection<String> names) {
+                        return catalog.findByIdsOrNames(ids, names, interestRepository::findByIdInOrNameIn);
+                    }
+
+                    @Override
+                    public void upsertAllByName(List<InterestTag> tags) {
+                        interestRepository.upsertAllByName(tags);
+                        catalog.bumpVersion();
+                    }
+
+                    @Override
+                    public InterestTag findOrCreateByName(InterestTag tag) {
+                        InterestTag created = interestRepository.findOrCreateByName(tag);
+                        catalog.put(created);
+                        return created;
+                    }
+                },
+                InterestTag::getId,
+                InterestTag::getName,
+                tag -> {
+                    InterestTag custom = new InterestTag();
+                    custom.setName(tag.getName());
+                    custom.setCategory(tag.getCategory());
+                    custom.setPredefined(false);
+                    return custom;
+                },
+                "interests");
     }
 
     @Override
     public InterestTag createInterest(InterestTag interestTag) {
-        // Vérifier si un intérêt avec ce nom existe déjà
-        if (interestRepository.existsByName(interestTag.getName())) {
+        // L'index unique sur le nom garantit l'absence de doublon, sans lecture préalable
+        try {
+            InterestTag created = interestRepository.insert(interestTag);
+            catalog.put(created);
+            return created;
+        } catch (DuplicateKeyException e) {
             throw new IllegalArgumentException("Un intérêt avec ce nom existe déjà");
         }
-        return interestRepository.save(interestTag);
     }
 
     @Override
     public List<InterestTag> getAllInterests() {
-        return interestRepository.findAll();
+        return catalog.findAll();
     }
 
     @Override
     public Optional<InterestTag> getInterestById(String id) {
-        return interestRepository.findById(id);
+        return catalog.findById(id, interestRepository::findById);
     }
 
     @Override
     public Optional<InterestTag> getInterestByName(String name) {
-        return interestRepository.findByName(name);
+        return catalog.findByName(name, interestRepository::findByName);
     }
 
     @Override
     public List<InterestTag> findInterestsByPartialName(String name) {
-        return interestRepository.findByNameContainingIgnoreCase(name);
+        return searchInterests(name, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<InterestTag> searchInterests(String query, int limit) {
+        // Servi par l'index en mémoire du catalogue : aucune requête regex vers MongoDB
+        return catalog.search(query, limit);
+    }
+
+    @Override
+    public List<InterestTag> getInterestsByNames(Collection<String> names) {
+        return catalog.findByIdsOrNames(List.of(), names, interestRepository::findByIdInOrNameIn);
     }
 
     @Override
@@ -64,7 +127,16 @@ public class InterestServiceImpl implements InterestService {
         
         // S'assurer que l'ID reste le même
         interestTag.setId(id);
-        return interestRepository.save(interestTag);
+        InterestTag updated = interestRepository.save(interestTag);
+        catalog.put(updated);
+        
+        // Les profils embarquent le nom et la catégorie : leurs copies suivent le catalogue
+        if (!Objects.equals(existingInterest.get().getName(), updated.getName())
+            || !Objects.equals(existingInterest.get().getCategory(), updated.getCategory())) {
+            eventPublisher.publishEvent(TagCatalogChangedEvent.updated(
+                TagCatalogChangedEvent.Catalog.INTERESTS, id, updated.getName(), updated.getCategory()));
+        }
+        return updated;
     }
 
     @Override
@@ -73,5 +145,22 @@ public class InterestServiceImpl implements InterestService {
             throw new IllegalArgumentException("Intérêt non trouvé avec l'ID: " + id);
         }
         interestRepository.deleteById(id);
+        catalog.remove(id);
+        
+        // Retirer les copies embarquées dans les profils
+        eventPublisher.publishEvent(TagCatalogChangedEvent.deleted(TagCatalogChangedEvent.Catalog.INTERESTS, id));
+    }
+
+    @Override
+    public List<InterestTag> resolveInterests(List<InterestTag> interests) {
+        return resolver.resolve(interests);
+    }
+
+    /**
+     * Recharge le cache du catalogue lorsqu'une autre instance l'a modifié.
+     */
+    @Scheduled(fixedDelayString = "${user-service.catalog-cache.poll-interval:PT5S}")
+    public void refreshCatalogIfStale() {
+        catalog.refreshIfStale();
     }
-} 
\ No newline at end of file
+}
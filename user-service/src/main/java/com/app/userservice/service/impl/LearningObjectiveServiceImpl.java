@@ -5,20 +5,35 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.app.userservice.event.UserObjectivesChangedEvent;
 import com.app.userservice.model.LearningObjective;
 import com.app.userservice.repository.LearningObjectiveRepository;
+import com.app.userservice.repository.UserRepository;
 import com.app.userservice.service.LearningObjectiveService;
 
 @Service
 public class LearningObjectiveServiceImpl implements LearningObjectiveService {
 
+    // Nombre maximal d'objectifs par profil
+    private static final int MAX_OBJECTIVES = 3;
+
     private final LearningObjectiveRepository learningObjectiveRepository;
+    private final UserRepository userRepository;
+    private final UserProfileCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public LearningObjectiveServiceImpl(LearningObjectiveRepository learningObjectiveRepository) {
+    public LearningObjectiveServiceImpl(LearningObjectiveRepository learningObjectiveRepository,
+                                        UserRepository userRepository,
+                                        UserProfileCache userCache,
+                                        ApplicationEventPublisher eventPublisher) {
         this.learningObjectiveRepository = learningObjectiveRepository;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -75,36 +90,115 @@ public class LearningObjectiveServiceImpl implements LearningObjectiveService {
         // Conserver la date de création
         learningObjective.setCreatedAt(existingObjective.get().getCreatedAt());
         
+        // Conserver le propriétaire s'il n'est pas précisé
+        if (learningObjective.getUserId() == null) {
+            learningObjective.setUserId(existingObjective.get().getUserId());
+        }
+        
         // Mettre à jour la date de modification
         learningObjective.setUpdatedAt(new Date());
         
-        return learningObjectiveRepository.save(learningObjective);
+        LearningObjective savedObjective = learningObjectiveRepository.save(learningObjective);
+        
+        // Synchroniser la copie embarquée dans le profil
+        String userId = savedObjective.getUserId();
+        if (userId != null && userRepository.updateLearningObjective(userId, savedObjective)) {
+            objectivesChanged(userId);
+        }
+        return savedObjective;
     }
 
     @Override
     public LearningObjective updateProgress(String id, Integer progressPercentage) {
-        Optional<LearningObjective> existingObjective = learningObjectiveRepository.findById(id);
-        if (existingObjective.isEmpty()) {
-            throw new IllegalArgumentException("Objectif non trouvé avec l'ID: " + id);
-        }
-        
         // Valider le pourcentage de progression
-        if (progressPercentage < 0 || progressPercentage > 100) {
+        if (progressPercentage == null || progressPercentage < 0 || progressPercentage > 100) {
             throw new IllegalArgumentException("Le pourcentage de progression doit être compris entre 0 et 100");
         }
         
-        LearningObjective objective = existingObjective.get();
-        objective.setProgressPercentage(progressPercentage);
-        objective.setUpdatedAt(new Date());
+        // Un seul $set sur la progression, sans relire ni réécrire l'objectif
+        LearningObjective objective = learningObjectiveRepository.updateProgress(id, progressPercentage)
+                .orElseThrow(() -> new IllegalArgumentException("Objectif non trouvé avec l'ID: " + id));
         
-        return learningObjectiveRepository.save(objective);
+        // Synchroniser la copie embarquée dans le profil
+        if (objective.getUserId() != null && userRepository.updateLearningObjective(objective.getUserId(), objective)) {
+            objectivesChanged(objective.getUserId());
+        }
+        
+        return objective;
     }
 
     @Override
     public void deleteObjective(String id) {
-        if (!learningObjectiveRepository.existsById(id)) {
-            throw new IllegalArgumentException("Objectif non trouvé avec l'ID: " + id);
-        }
+        LearningObjective objective = learningObjectiveRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Objectif non trouvé avec l'ID: " + id));
         learningObjectiveRepository.deleteById(id);
+        
+        // Retirer la copie embarquée dans le profil
+        String userId = objective.getUserId();
+        if (userId != null && userRepository.pullLearningObjective(userId, id)) {
+            objectivesChanged(userId);
+        }
+    }
+
+    @Override
+    public Optional<LearningObjective> addObjectiveForUser(String userId, LearningObjective learningObjective) {
+        if (!userRepository.existsById(userId)) {
+            return Optional.empty();
+        }
+        
+        // Réutiliser un objectif de même titre, comme lors de l'inscription
+        learningObjective.setUserId(userId);
+        Optional<LearningObjective> existingObjective =
+            learningObjectiveRepository.findByTitleAndUserId(learningObjective.getTitle(), userId);
+        LearningObjective objective = existingObjective.orElseGet(() -> createObjective(learningObjective));
+        
+        // Un seul $push, conditionné au nombre d'objectifs déjà présents dans le profil
+        if (!userRepository.pushLearningObjective(userId, objective, MAX_OBJECTIVES)) {
+            // Objectif réutilisé déjà présent dans le profil : rien à ajouter
+            if (existingObjective.isPresent() && userRepository.hasLearningObjective(userId, objective.getId())) {
+                return Optional.of(objective);
+            }
+            // Profil complet : annuler la création
+            if (existingObjective.isEmpty()) {
+                learningObjectiveRepository.deleteById(objective.getId());
+            }
+            throw new IllegalArgumentException(
+                "Vous ne pouvez pas avoir plus de " + MAX_OBJECTIVES + " objectifs d'apprentissage");
+        }
+        objectivesChanged(userId);
+        return Optional.of(objective);
+    }
+
+    @Override
+    public Optional<LearningObjective> updateObjectiveForUser(String userId, String id, LearningObjective learningObjective) {
+        Integer progressPercentage = learningObjective.getProgressPercentage();
+        if (progressPercentage != null && (progressPercentage < 0 || progressPercentage > 100)) {
+            throw new IllegalArgumentException("Le pourcentage de progression doit être compris entre 0 et 100");
+        }
+        
+        Optional<LearningObjective> updatedObjective = learningObjectiveRepository.updateForUser(userId, id, learningObjective);
+        updatedObjective.ifPresent(objective -> {
+            // Synchroniser la copie embarquée dans le profil
+            userRepository.updateLearningObjective(userId, objective);
+            objectivesChanged(userId);
+        });
+        return updatedObjective;
+    }
+
+    @Override
+    public boolean deleteObjectiveForUser(String userId, String id) {
+        if (!learningObjectiveRepository.deleteForUser(userId, id)) {
+            return false;
+        }
+        userRepository.pullLearningObjective(userId, id);
+        objectivesChanged(userId);
+        return true;
+    }
+
+    // Copie embarquée modifiée : profil en cache périmé et recommandations à recalculer,
+    // les objectifs déterminant les compétences recherchées
+    private void objectivesChanged(String userId) {
+        userCache.invalidate(userId);
+        eventPublisher.publishEvent(new UserObjectivesChangedEvent(userId));
     }
 }
@@ -0,0 +1,135 @@
+package com.app.userservice.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index LSH en mémoire : pour chaque clé de bande, les utilisateurs dont la signature
+ * produit cette clé.
+ * Une recherche ne lit que les seaux des bandes de l'utilisateur de référence : son coût dépend
+ * du nombre d'utilisateurs similaires, pas de la taille de la base.
+ * Les codes des tags de chaque utilisateur sont conservés avec ses clés, pour noter les candidats
+ * sans relire leurs signatures.
+ */
+public class LshIndex {
+
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    private final Map<String, long[]> keysByUser = new ConcurrentHashMap<>();
+    private final Map<String, int[]> tagsByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Ajoute ou remplace les clés de bandes d'un utilisateur.
+     *
+     * @param userId identifiant de l'utilisateur
+     * @param bandKeys clés de ses bandes
+     * @param tags codes de ses tags, triés
+     */
+    public synchronized void put(String userId, long[] bandKeys, int[] tags) {
+        remove(userId);
+        keysByUser.put(userId, bandKeys);
+        tagsByUser.put(userId, tags);
+        for (long key : bandKeys) {
+            buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(userId);
+        }
+    }
+
+    /**
+     * Retire un utilisateur de l'index.
+     *
+     * @param userId identifiant de l'utilisateur
+     */
+    public synchronized void remove(String userId) {
+        long[] previous = keysByUser.remove(userId);
+        tagsByUser.remove(userId);
+        if (previous == null) {
+            return;
+        }
+        for (long key : previous) {
+            Set<String> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(userId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retourne les utilisateurs partageant au moins une bande avec un utilisateur indexé.
+     *
+     * @param userId identifiant de l'utilisateur de référence
+     * @return les candidats, sans l'utilisateur lui-même
+     */
+    public Set<String> candidates(String userId) {
+        return sharedBands(userId).keySet();
+    }
+
+    /**
+     * Compte, pour chaque candidat, le nombre de bandes partagées avec un utilisateur indexé.
+     * Ce nombre croît avec l'indice de Jaccard des deux signatures.
+     *
+     * @param userId identifiant de l'utilisateur de référence
+     * @return le nombre de bandes partagées par candidat, sans l'utilisateur lui-même
+     */
+    public Map<String, Integer> sharedBands(String userId) {
+        long[] keys = keysByUser.get(userId);
+        if (keys == null) {
+            return Map.of();
+        }
+        Map<String, Integer> shared = new HashMap<>();
+        for (long key : keys) {
+            Set<String> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.forEach(candidate -> shared.merge(candidate, 1, Integer::sum));
+            }
+        }
+        shared.remove(userId);
+        return shared;
+    }
+
+    /**
+     * Retient les candidats partageant le plus de bandes, à égalité par identifiant : le résultat
+     * ne dépend pas de l'ordre de parcours des seaux.
+     *
+     * @param sharedBands nombre de bandes partagées par candidat
+     * @param limit nombre maximal de candidats retenus
+     * @return les candidats retenus, du plus proche au moins proche
+     */
+    public static List<String> mostShared(Map<String, Integer> sharedBands, int limit) {
+        return sharedBands.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Retourne les codes des tags d'un utilisateur indexé.
+     *
+     * @param userId identifiant de l'utilisateur
+     * @return les codes triés, ou null si l'utilisateur n'est pas indexé
+     */
+    public int[] tags(String userId) {
+        return tagsByUser.get(userId);
+    }
+
+    /**
+     * Nombre d'utilisateurs indexés.
+     */
+    public int size() {
+        return keysByUser.size();
+    }
+
+    /**
+     * Vide l'index.
+     */
+    public synchronized void clear() {
+        buckets.clear();
+        keysByUser.clear();
+        tagsByUser.clear();
+    }
+}
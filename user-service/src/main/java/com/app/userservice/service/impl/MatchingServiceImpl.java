@@ -0,0 +1,249 @@
+package com.app.userservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.MatchMode;
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.service.InterestService;
+import com.app.userservice.service.MatchingService;
+import com.app.userservice.service.SkillService;
+import com.app.userservice.service.TagIndexService;
+import com.app.userservice.service.impl.ProfileTagEncoder.EncodedProfile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Matching en mémoire entre profils.
+ * <p>
+ * Les candidats sont lus dans les posting lists de l'index inversé (jamais par un parcours de
+ * tous les utilisateurs), chargés par lots, encodés en ensembles de bits puis notés en parallèle
+ * par {@link ParallelMatchScorer} ; seuls les K meilleurs sont conservés.
+ */
+@Service
+public class MatchingServiceImpl implements MatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingServiceImpl.class);
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final TagIndexService tagIndexService;
+    private final SkillService skillService;
+    private final InterestService interestService;
+    private final ParallelMatchScorer scorer;
+    private final ProfileTagEncoder encoder;
+
+    private final double skillWeight;
+    private final double interestWeight;
+    private final int maxCandidates;
+    private final Counter truncations;
+
+    @Autowired
+    public MatchingServiceImpl(UserRepository userRepository, TagIndexService tagIndexService,
+                               SkillService skillService, InterestService interestService, ParallelMatchScorer scorer,
+                               TagDictionary tagDictionary,
+                               @Value("${user-service.matching.skill-weight:1.0}") double skillWeight,
+                               @Value("${user-service.matching.interest-weight:0.5}") double interestWeight,
+                               @Value("${user-service.matching.max-candidates:5000}") int maxCandidates,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.tagIndexService = tagIndexService;
+        this.skillService = skillService;
+        this.interestService = interestService;
+        this.scorer = scorer;
+        this.encoder = new ProfileTagEncoder(tagDictionary);
+        this.skillWeight = skillWeight;
+        this.interestWeight = interestWeight;
+        this.maxCandidates = maxCandidates;
+        this.truncations = Counter.builder("matching.candidates.truncated")
+                .description("Recherches de matching dont les candidats ont été limités")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<ProfileMatch> findMatches(String userId, MatchMode mode, int limit) {
+        UserProfile user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId));
+
+        Map<String, String> wantedSkills = skillIdsByTitle(List.of(user));
+        EncodedProfile reference = encoder.encode(user, titleLookup(wantedSkills));
+
+        List<String> candidateIds = candidateIds(user, wantedSkills.values(), mode);
+        return scoreCandidates(candidateIds, candidate -> score(reference, candidate, mode), limit);
+    }
+
+    @Override
+    public List<ProfileMatch> searchPartners(Collection<String> skillNames, Collection<String> interestNames, int limit) {
+        List<String> skillIds = skillNames.isEmpty() ? List.of() : skillService.getSkillsByNames(skillNames).stream()
+            .map(SkillTag::getId)
+            .toList();
+        List<String> interestIds = interestNames.isEmpty() ? List.of() : interestService.getInterestsByNames(interestNames).stream()
+            .map(InterestTag::getId)
+            .toList();
+        if (skillIds.isEmpty() && interestIds.isEmpty()) {
+            return List.of();
+        }
+
+        EncodedProfile query = encoder.encodeTags(skillIds, interestIds);
+        List<String> candidateIds = limitCandidates(skillIds, interestIds, null, "recherche multi-tags");
+        return scoreCandidates(candidateIds, candidate -> coverage(query, candidate, skillWeight, interestWeight), limit);
+    }
+
+    // Chargement par lots et encodage des candidats, puis notation parallèle
+    private List<ProfileMatch> scoreCandidates(List<String> candidateIds, ToDoubleFunction<EncodedProfile> score, int limit) {
+        List<EncodedProfile> encoded = new ArrayList<>(candidateIds.size());
+        for (int from = 0; from < candidateIds.size(); from += LOAD_BATCH_SIZE) {
+            List<String> batch = candidateIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, candidateIds.size()));
+            List<UserProfile> candidates = new ArrayList<>();
+            userRepository.findAllById(batch).forEach(candidates::add);
+
+            Function<String, String> candidateTitles = titleLookup(skillIdsByTitle(candidates));
+            for (UserProfile candidate : candidates) {
+                encoded.add(encoder.encode(candidate, candidateTitles));
+            }
+        }
+        return scorer.topMatches(encoded, score, limit).toSortedList();
+    }
+
+    /**
+     * Calcule le score d'un candidat par rapport au profil de référence.
+     */
+    double score(EncodedProfile reference, EncodedProfile candidate, MatchMode mode) {
+        return switch (mode) {
+            case SIMILARITY -> weightedJaccard(reference, candidate, skillWeight, interestWeight);
+            case COMPLEMENTARITY -> complementarity(reference, candidate);
+        };
+    }
+
+    /**
+     * Jaccard pondéré : poids des tags communs sur poids des tags de l'un ou de l'autre,
+     * chaque compétence pesant skillWeight et chaque intérêt interestWeight.
+     */
+    static double weightedJaccard(EncodedProfile a, EncodedProfile b, double skillWeight, double interestWeight) {
+        int sharedSkills = TagCodeSets.intersectionSize(a.skills(), b.skills());
+        int sharedInterests = TagCodeSets.intersectionSize(a.interests(), b.interests());
+        double shared = skillWeight * sharedSkills + interestWeight * sharedInterests;
+        double union = skillWeight * (a.skills().length + b.skills().length - sharedSkills)
+                + interestWeight * (a.interests().length + b.interests().length - sharedInterests);
+        return union == 0 ? 0 : shared / union;
+    }
+
+    /**
+     * Couverture d'une recherche : poids des tags demandés que le candidat possède,
+     * sur le poids de tous les tags demandés.
+     */
+    static double coverage(EncodedProfile query, EncodedProfile candidate, double skillWeight, double interestWeight) {
+        double requested = skillWeight * query.skills().length + interestWeight * query.interests().length;
+        if (requested == 0) {
+            return 0;
+        }
+        double found = skillWeight * TagCodeSets.intersectionSize(query.skills(), candidate.skills())
+                + interestWeight * TagCodeSets.intersectionSize(query.interests(), candidate.interests());
+        return found / requested;
+    }
+
+    /**
+     * Complémentarité : part des compétences visées par chacun que l'autre maîtrise.
+     */
+    static double complementarity(EncodedProfile a, EncodedProfile b) {
+        int wanted = a.wanted().length + b.wanted().length;
+        if (wanted == 0) {
+            return 0;
+        }
+        int taught = TagCodeSets.intersectionSize(b.skills(), a.wanted()) + TagCodeSets.intersectionSize(a.skills(), b.wanted());
+        return (double) taught / wanted;
+    }
+
+    // Candidats issus des posting lists : au moins un tag en commun, ou une compétence visée
+    private List<String> candidateIds(UserProfile user, Collection<String> wantedSkillIds, MatchMode mode) {
+        List<String> skillIds = new ArrayList<>();
+        List<String> interestIds = new ArrayList<>();
+        if (mode == MatchMode.SIMILARITY) {
+            if (user.getSkills() != null) {
+                user.getSkills().stream().map(SkillTag::getId).forEach(skillIds::add);
+            }
+            if (user.getInterests() != null) {
+                user.getInterests().stream().map(InterestTag::getId).forEach(interestIds::add);
+            }
+        } else {
+            skillIds.addAll(wantedSkillIds);
+        }
+
+        return limitCandidates(skillIds, interestIds, user.getId(), user.getId());
+    }
+
+    // Au-delà de la limite, les candidats ayant le plus de tags en commun avec la recherche sont retenus :
+    // la sélection ne dépend pas de l'ordre des posting lists et privilégie les meilleurs scores probables
+    private List<String> limitCandidates(Collection<String> skillIds, Collection<String> interestIds,
+                                         String excludedUserId, String context) {
+        Set<String> candidateIds = new LinkedHashSet<>(tagIndexService.findUserIds(skillIds, interestIds, false));
+        if (excludedUserId != null) {
+            candidateIds.remove(excludedUserId);
+        }
+        if (candidateIds.size() <= maxCandidates) {
+            return new ArrayList<>(candidateIds);
+        }
+
+        truncations.increment();
+        logger.info("Matching ({}): {} candidats, limités aux {} ayant le plus de tags communs",
+                context, candidateIds.size(), maxCandidates);
+        List<String> closest = new ArrayList<>(
+                tagIndexService.findTopUserIdsByOverlap(skillIds, interestIds, maxCandidates + 1));
+        closest.remove(excludedUserId);
+        return closest.size() > maxCandidates ? closest.subList(0, maxCandidates) : closest;
+    }
+
+    // Compétences du catalogue dont le nom correspond au titre d'un objectif, sans tenir compte de la casse :
+    // le titre est un texte libre, comparé au catalogue en cache sans lecture en base
+    private Map<String, String> skillIdsByTitle(Collection<UserProfile> users) {
+        Set<String> titles = new LinkedHashSet<>();
+        for (UserProfile user : users) {
+            if (user.getLearningObjectives() != null) {
+                for (LearningObjective objective : user.getLearningObjectives()) {
+                    if (objective.getTitle() != null && !objective.getTitle().isBlank()) {
+                        titles.add(titleKey(objective.getTitle()));
+                    }
+                }
+            }
+        }
+        Map<String, String> skillIds = new HashMap<>();
+        if (!titles.isEmpty()) {
+            for (SkillTag skill : skillService.getAllSkills()) {
+                String key = skill.getName() == null ? null : titleKey(skill.getName());
+                if (titles.contains(key)) {
+                    skillIds.putIfAbsent(key, skill.getId());
+                }
+            }
+        }
+        return skillIds;
+    }
+
+    private static Function<String, String> titleLookup(Map<String, String> skillIds) {
+        return title -> skillIds.get(titleKey(title));
+    }
+
+    private static String titleKey(String title) {
+        return title.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.userservice.service.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * Calcul des signatures MinHash et des clés de bandes LSH.
+ * <p>
+ * La signature d'un ensemble contient, pour chacune des {@code bands × rows} fonctions de hachage,
+ * la plus petite valeur obtenue sur ses éléments : la proportion de positions égales entre deux
+ * signatures estime l'indice de Jaccard des deux ensembles.
+ * La signature est découpée en {@code bands} bandes de {@code rows} valeurs ; deux ensembles dont
+ * au moins une bande est identique sont candidats. La probabilité de l'être vaut
+ * {@code 1 - (1 - J^rows)^bands} : plus de lignes par bande rend l'index plus sélectif (moins de
+ * candidats, rappel plus faible), plus de bandes augmente le rappel.
+ * <p>
+ * Les fonctions de hachage dérivent d'une graine fixe : les signatures sont identiques d'un
+ * démarrage et d'une instance à l'autre, ce qui permet de les persister.
+ */
+public class MinHasher {
+
+    private static final long SEED = 0x5EED_CAFE_F00DL;
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    /**
+     * @param bands nombre de bandes
+     * @param rows nombre de valeurs par bande
+     */
+    public MinHasher(int bands, int rows) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Le nombre de bandes et de lignes doit être positif");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new long[bands * rows];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Calcule la signature d'un ensemble d'éléments.
+     *
+     * @param elements éléments de l'ensemble (identifiants de tags préfixés par leur type)
+     * @return la signature, ou null si l'ensemble est vide
+     */
+    public int[] signature(Collection<String> elements) {
+        if (elements.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String element : elements) {
+            long base = hash(element);
+            for (int i = 0; i < seeds.length; i++) {
+                int value = (int) (mix(base ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Calcule la clé de chaque bande d'une signature.
+     *
+     * @param signature signature MinHash
+     * @return une clé par bande
+     */
+    public long[] bandKeys(int[] signature) {
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            // Le numéro de bande fait partie de la clé : deux bandes différentes ne se confondent pas
+            long key = mix(band + 1L);
+            for (int row = 0; row < rows; row++) {
+                key = mix(key ^ signature[band * rows + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    // FNV-1a 64 bits : stable, contrairement à un hashCode dépendant de l'implémentation
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // Finaliseur de SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.userservice.service.impl;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
+
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.service.impl.ProfileTagEncoder.EncodedProfile;
+
+/**
+ * Note des profils candidats et retient les K meilleurs, en parallèle sur un ForkJoinPool dédié.
+ * <p>
+ * La liste des candidats est découpée récursivement jusqu'à des tranches d'au plus
+ * {@code splitThreshold} profils ; chaque tranche est notée dans son propre tas borné, puis les
+ * tas sont fusionnés en remontant. Le pool est dédié au matching : il ne concurrence pas le
+ * pool commun utilisé par les streams parallèles du reste de l'application.
+ * En dessous de {@code parallelThreshold} candidats, ou avec un seul fil, la notation est
+ * séquentielle : le découpage coûterait plus qu'il ne rapporterait.
+ */
+public class ParallelMatchScorer {
+
+    private final ForkJoinPool pool;
+    private final int splitThreshold;
+    private final int parallelThreshold;
+
+    /**
+     * @param parallelism nombre de fils du pool
+     * @param splitThreshold taille maximale d'une tranche notée par un seul fil
+     * @param parallelThreshold nombre minimal de candidats pour noter en parallèle
+     */
+    public ParallelMatchScorer(int parallelism, int splitThreshold, int parallelThreshold) {
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        this.splitThreshold = Math.max(1, splitThreshold);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Note les candidats et retourne les K meilleurs.
+     *
+     * @param candidates profils encodés à noter
+     * @param scorer calcul du score d'un candidat
+     * @param limit nombre de résultats à conserver
+     * @return les meilleurs résultats
+     */
+    public TopMatches topMatches(List<EncodedProfile> candidates, ToDoubleFunction<EncodedProfile> scorer, int limit) {
+        if (pool == null || candidates.size() < parallelThreshold) {
+            return scoreRange(candidates, 0, candidates.size(), scorer, limit);
+        }
+        return pool.invoke(new ScoreTask(candidates, 0, candidates.size(), scorer, limit));
+    }
+
+    /**
+     * Arrête le pool de fils.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static TopMatches scoreRange(List<EncodedProfile> candidates, int from, int to,
+                                         ToDoubleFunction<EncodedProfile> scorer, int limit) {
+        TopMatches top = new TopMatches(limit);
+        for (int i = from; i < to; i++) {
+            EncodedProfile candidate = candidates.get(i);
+            top.offer(new ProfileMatch(candidate.user(), scorer.applyAsDouble(candidate)));
+        }
+        return top;
+    }
+
+    private class ScoreTask extends RecursiveTask<TopMatches> {
+
+        private final List<EncodedProfile> candidates;
+        private final int from;
+        private final int to;
+        private final ToDoubleFunction<EncodedProfile> scorer;
+        private final int limit;
+
+        ScoreTask(List<EncodedProfile> candidates, int from, int to, ToDoubleFunction<EncodedProfile> scorer, int limit) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.scorer = scorer;
+            this.limit = limit;
+        }
+
+        @Override
+        protected TopMatches compute() {
+            if (to - from <= splitThreshold) {
+                return scoreRange(candidates, from, to, scorer, limit);
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(candidates, from, middle, scorer, limit);
+            left.fork();
+            TopMatches right = new ScoreTask(candidates, middle, to, scorer, limit).compute();
+            TopMatches merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
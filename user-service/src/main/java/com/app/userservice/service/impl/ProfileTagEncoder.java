@@ -0,0 +1,96 @@
+package com.app.userservice.service.impl;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Encode les tags d'un profil en ensembles de codes pour le matching.
+ * <p>
+ * Chaque identifiant de tag est remplacé par son code dans le {@link TagDictionary} : les
+ * intersections et unions se calculent alors sur des tableaux d'entiers triés
+ * ({@link TagCodeSets}) plutôt que sur des ensembles de chaînes.
+ * <p>
+ * Un profil est décrit par trois ensembles : ses compétences, ses centres d'intérêt, et les
+ * compétences qu'il souhaite acquérir, déduites des titres de ses objectifs d'apprentissage
+ * qui correspondent à une compétence du catalogue.
+ */
+public class ProfileTagEncoder {
+
+    /**
+     * Profil encodé. Les ensembles sont des codes de tags triés et sans doublon.
+     *
+     * @param user profil d'origine
+     * @param skills compétences maîtrisées
+     * @param interests centres d'intérêt
+     * @param wanted compétences visées par les objectifs d'apprentissage
+     */
+    public record EncodedProfile(UserProfile user, int[] skills, int[] interests, int[] wanted) {
+    }
+
+    private final TagDictionary dictionary;
+
+    public ProfileTagEncoder(TagDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Encode un profil.
+     *
+     * @param user profil à encoder
+     * @param skillIdByTitle identifiant de la compétence correspondant au titre d'un objectif, ou null
+     * @return le profil encodé
+     */
+    public EncodedProfile encode(UserProfile user, Function<String, String> skillIdByTitle) {
+        int[] skills = TagCodeSets.EMPTY;
+        if (user.getSkills() != null) {
+            skills = new int[user.getSkills().size()];
+            int size = 0;
+            for (SkillTag skill : user.getSkills()) {
+                if (skill.getId() != null) {
+                    skills[size++] = dictionary.code(skill.getId());
+                }
+            }
+            skills = TagCodeSets.sortedSet(skills, size);
+        }
+        int[] interests = TagCodeSets.EMPTY;
+        if (user.getInterests() != null) {
+            interests = new int[user.getInterests().size()];
+            int size = 0;
+            for (InterestTag interest : user.getInterests()) {
+                if (interest.getId() != null) {
+                    interests[size++] = dictionary.code(interest.getId());
+                }
+            }
+            interests = TagCodeSets.sortedSet(interests, size);
+        }
+        int[] wanted = TagCodeSets.EMPTY;
+        if (user.getLearningObjectives() != null) {
+            wanted = new int[user.getLearningObjectives().size()];
+            int size = 0;
+            for (LearningObjective objective : user.getLearningObjectives()) {
+                String skillId = objective.getTitle() == null ? null : skillIdByTitle.apply(objective.getTitle());
+                if (skillId != null) {
+                    wanted[size++] = dictionary.code(skillId);
+                }
+            }
+            wanted = TagCodeSets.sortedSet(wanted, size);
+        }
+        return new EncodedProfile(user, skills, interests, wanted);
+    }
+
+    /**
+     * Encode une liste de tags recherchés, sans profil associé.
+     *
+     * @param skillIds identifiants des compétences
+     * @param interestIds identifiants des centres d'intérêt
+     * @return les tags encodés
+     */
+    public EncodedProfile encodeTags(Collection<String> skillIds, Collection<String> interestIds) {
+        return new EncodedProfile(null, dictionary.encode(skillIds), dictionary.encode(interestIds), TagCodeSets.EMPTY);
+    }
+}
@@ -0,0 +1,185 @@
+package com.app.userservice.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.app.userservice.event.UserObjectivesChangedEvent;
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.DirtyUser;
+import com.app.userservice.model.MatchMode;
+import com.app.userservice.model.Recommendation;
+import com.app.userservice.model.Recommendation.RecommendedUser;
+import com.app.userservice.repository.DirtyUserRepository;
+import com.app.userservice.repository.RecommendationRepository;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.service.MatchingService;
+import com.app.userservice.service.RecommendationService;
+
+@Service
+public class RecommendationServiceImpl implements RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationServiceImpl.class);
+
+    private final RecommendationRepository recommendationRepository;
+    private final DirtyUserRepository dirtyUserRepository;
+    private final UserRepository userRepository;
+    private final MatchingService matchingService;
+    private final int batchSize;
+    private final int size;
+    private final Duration maxAge;
+
+    @Autowired
+    public RecommendationServiceImpl(RecommendationRepository recommendationRepository,
+                                     DirtyUserRepository dirtyUserRepository, UserRepository userRepository,
+                                     MatchingService matchingService,
+                                     @Value("${user-service.recommendations.batch-size:100}") int batchSize,
+                                     @Value("${user-service.recommendations.size:20}") int size,
+                                     @Value("${user-service.recommendations.max-age:P1D}") Duration maxAge) {
+        this.recommendationRepository = recommendationRepository;
+        this.dirtyUserRepository = dirtyUserRepository;
+        this.userRepository = userRepository;
+        this.matchingService = matchingService;
+        this.batchSize = batchSize;
+        this.size = size;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    @EventListener
+    public void onUserTagsChanged(UserTagsChangedEvent event) {
+        markAffected(event.getUserId());
+    }
+
+    @Override
+    @EventListener
+    public void onUserObjectivesChanged(UserObjectivesChangedEvent event) {
+        markAffected(event.getUserId());
+    }
+
+    @Override
+    public Optional<Recommendation> getRecommendations(String userId) {
+        Optional<Recommendation> recommendation = recommendationRepository.findById(userId);
+        // Recommandations jamais calculées ou trop anciennes : elles le seront au prochain passage du worker
+        if (recommendation.isEmpty() || isStale(recommendation.get())) {
+            dirtyUserRepository.markDirty(List.of(userId));
+        }
+        return recommendation;
+    }
+
+    @Override
+    public int processQueue() {
+        List<DirtyUser> batch = dirtyUserRepository.findAllByOrderByDirtyAtAsc(Limit.of(batchSize));
+        List<DirtyUser> processed = new ArrayList<>(batch.size());
+        Set<String> propagated = new LinkedHashSet<>();
+        for (DirtyUser entry : batch) {
+            try {
+                recompute(entry.getId(), propagated);
+                processed.add(entry);
+            } catch (RuntimeException e) {
+                // L'entrée reste dans la file et sera reprise au prochain passage
+                logger.warn("Impossible de recalculer les recommandations de {}: {}", entry.getId(), e.getMessage());
+            }
+        }
+        dirtyUserRepository.acknowledge(processed);
+        dirtyUserRepository.markDirty(propagated);
+        return processed.size();
+    }
+
+    /**
+     * Consomme la file des utilisateurs à recalculer, par lots, jusqu'à la vider.
+     */
+    @Scheduled(fixedDelayString = "${user-service.recommendations.poll-interval:PT2S}")
+    public void drainQueue() {
+        try {
+            int processed;
+            do {
+                processed = processQueue();
+                if (processed > 0) {
+                    logger.debug("{} recommandations recalculées", processed);
+                }
+            } while (processed == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Impossible de traiter la file des recommandations: {}", e.getMessage());
+        }
+    }
+
+    // L'utilisateur modifié, et ceux dont les recommandations le citent avec un score désormais périmé
+    private void markAffected(String userId) {
+        Set<String> affected = new LinkedHashSet<>();
+        affected.add(userId);
+        recommendationRepository.findReferencing(userId).forEach(recommendation -> affected.add(recommendation.getId()));
+        dirtyUserRepository.markDirty(affected);
+    }
+
+    private void recompute(String userId, Set<String> propagated) {
+        if (!userRepository.existsById(userId)) {
+            recommendationRepository.deleteById(userId);
+            return;
+        }
+        Recommendation recommendation = new Recommendation(userId,
+                matchingService.findMatches(userId, MatchMode.SIMILARITY, size).stream().map(RecommendedUser::fromMatch).toList(),
+                matchingService.findMatches(userId, MatchMode.COMPLEMENTARITY, size).stream().map(RecommendedUser::fromMatch).toList(),
+                new Date());
+        recommendationRepository.save(recommendation);
+
+        // Les nouveaux partenaires de l'utilisateur peuvent le compter à leur tour parmi leurs meilleurs
+        Set<String> partners = new LinkedHashSet<>();
+        recommendation.getSimilar().forEach(partner -> partners.add(partner.getUserId()));
+        recommendation.getComplementary().forEach(partner -> partners.add(partner.getUserId()));
+        for (Recommendation existing : recommendationRepository.findAllById(partners)) {
+            if (shouldInclude(existing.getSimilar(), userId, scoreOf(recommendation.getSimilar(), existing.getId()))
+                    || shouldInclude(existing.getComplementary(), userId, scoreOf(recommendation.getComplementary(), existing.getId()))) {
+                propagated.add(existing.getId());
+            }
+        }
+    }
+
+    /**
+     * Indique si un utilisateur doit entrer dans une liste de recommandations qui ne le contient pas.
+     * Le score de l'utilisateur vu depuis le partenaire sert d'estimation : il est exact en similarité,
+     * approché en complémentarité ; l'ancienneté maximale corrige les écarts.
+     */
+    boolean shouldInclude(List<RecommendedUser> current, String userId, double score) {
+        if (Double.isNaN(score) || score <= 0) {
+            return false;
+        }
+        if (current == null) {
+            return true;
+        }
+        if (current.stream().anyMatch(partner -> partner.getUserId().equals(userId))) {
+            return false;
+        }
+        return current.size() < size || score > worstScore(current);
+    }
+
+    private boolean isStale(Recommendation recommendation) {
+        Date computedAt = recommendation.getComputedAt();
+        return computedAt == null || computedAt.toInstant().plus(maxAge).isBefore(new Date().toInstant());
+    }
+
+    private static double scoreOf(List<RecommendedUser> partners, String userId) {
+        return partners.stream()
+            .filter(partner -> partner.getUserId().equals(userId))
+            .mapToDouble(RecommendedUser::getScore)
+            .findFirst()
+            .orElse(Double.NaN);
+    }
+
+    private static double worstScore(List<RecommendedUser> partners) {
+        return partners.stream().mapToDouble(RecommendedUser::getScore).min().orElse(0);
+    }
+}
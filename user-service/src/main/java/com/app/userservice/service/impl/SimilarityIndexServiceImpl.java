@@ -0,0 +1,296 @@
+package com.app.userservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.SimilarityEvaluation;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.model.UserSignature;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.repository.UserSignatureRepository;
+import com.app.userservice.service.SimilarityIndexService;
+import com.app.userservice.service.TagIndexService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class SimilarityIndexServiceImpl implements SimilarityIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityIndexServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int LOAD_BATCH_SIZE = 500;
+    // Recouvrement de la synchronisation, pour tolérer un léger décalage d'horloge entre instances
+    private static final long SYNC_OVERLAP_MILLIS = 5_000;
+    // Longueur des préfixes "S:" et "I:" des éléments signés
+    private static final int ELEMENT_PREFIX_LENGTH = 2;
+
+    private record Scored(String userId, double score) {
+    }
+
+    private final UserSignatureRepository userSignatureRepository;
+    private final UserRepository userRepository;
+    private final TagIndexService tagIndexService;
+    private final TagDictionary tagDictionary;
+    private final MinHasher minHasher;
+    private final LshIndex lshIndex = new LshIndex();
+    private final int maxCandidates;
+    private final Counter truncations;
+
+    private volatile Date lastSync = new Date(0);
+
+    @Autowired
+    public SimilarityIndexServiceImpl(UserSignatureRepository userSignatureRepository, UserRepository userRepository,
+                                      TagIndexService tagIndexService, TagDictionary tagDictionary,
+                                      @Value("${user-service.similarity.bands:32}") int bands,
+                                      @Value("${user-service.similarity.rows:3}") int rows,
+                                      @Value("${user-service.matching.max-candidates:5000}") int maxCandidates,
+                                      MeterRegistry meterRegistry) {
+        this.userSignatureRepository = userSignatureRepository;
+        this.userRepository = userRepository;
+        this.tagIndexService = tagIndexService;
+        this.tagDictionary = tagDictionary;
+        this.minHasher = new MinHasher(bands, rows);
+        this.maxCandidates = maxCandidates;
+        this.truncations = Counter.builder("similarity.candidates.truncated")
+                .description("Recherches d'utilisateurs similaires dont les candidats LSH ont été limités")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @EventListener
+    public void onUserTagsChanged(UserTagsChangedEvent event) {
+        Set<String> elements;
+        if (event.getSkillIds() != null && event.getInterestIds() != null) {
+            elements = elements(event.getSkillIds(), event.getInterestIds());
+        } else {
+            // Un seul type de tag modifié : la signature porte sur l'ensemble des tags du profil
+            elements = userRepository.findById(event.getUserId()).map(this::elements).orElse(Set.of());
+        }
+        UserSignature signature = sign(event.getUserId(), elements);
+        userSignatureRepository.save(signature);
+        apply(signature);
+    }
+
+    @Override
+    public List<ProfileMatch> findSimilarUsers(String userId, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId);
+        }
+        List<Scored> scored = approximate(userId, limit);
+
+        // Seuls les K profils retenus sont chargés
+        Map<String, UserProfile> users = new HashMap<>();
+        userRepository.findAllById(scored.stream().map(Scored::userId).toList())
+            .forEach(user -> users.put(user.getId(), user));
+        return scored.stream()
+            .filter(result -> users.containsKey(result.userId()))
+            .map(result -> new ProfileMatch(users.get(result.userId()), result.score()))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public SimilarityEvaluation evaluate(String userId, int limit) {
+        UserProfile user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId));
+
+        long start = System.nanoTime();
+        List<Scored> approximate = approximate(userId, limit);
+        long approximateNanos = System.nanoTime() - start;
+        int approximateCandidates = lshIndex.candidates(userId).size();
+
+        // Référence : Jaccard exact sur tous les utilisateurs partageant au moins un tag
+        start = System.nanoTime();
+        int[] reference = codes(user);
+        List<String> candidateIds = tagIndexService.findUserIds(
+                tagIds(user.getSkills(), SkillTag::getId), tagIds(user.getInterests(), InterestTag::getId), false);
+        List<Scored> exact = new ArrayList<>();
+        for (int from = 0; from < candidateIds.size(); from += LOAD_BATCH_SIZE) {
+            List<String> batch = candidateIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, candidateIds.size()));
+            for (UserProfile candidate : userRepository.findAllById(batch)) {
+                if (!candidate.getId().equals(userId)) {
+                    exact.add(new Scored(candidate.getId(), TagCodeSets.jaccard(reference, codes(candidate))));
+                }
+            }
+        }
+        Map<String, Double> exactScores = new HashMap<>();
+        exact.forEach(result -> exactScores.put(result.userId(), result.score()));
+        exact = best(exact.stream(), limit);
+        long exactNanos = System.nanoTime() - start;
+
+        // Rappel tenant compte des ex aequo : un résultat approché compte s'il vaut au moins le K-ième score exact
+        double threshold = exact.isEmpty() ? 0 : exact.get(exact.size() - 1).score();
+        long found = approximate.stream()
+            .filter(result -> exactScores.getOrDefault(result.userId(), 0.0) >= threshold)
+            .count();
+        double recall = exact.isEmpty() ? 1.0 : (double) Math.min(found, exact.size()) / exact.size();
+
+        return new SimilarityEvaluation(minHasher.getBands(), minHasher.getRows(), limit,
+                candidateIds.size(), approximateCandidates, exactNanos / 1e6, approximateNanos / 1e6, recall);
+    }
+
+    @Override
+    public long loadOrRebuild() {
+        lshIndex.clear();
+        Date started = new Date();
+        if (userSignatureRepository.count() == 0
+                || userSignatureRepository.existsByBandsNotOrRowsNot(minHasher.getBands(), minHasher.getRows())) {
+            rebuild();
+        } else {
+            try (Stream<UserSignature> signatures = userSignatureRepository.streamAllBy()) {
+                signatures.forEach(this::apply);
+            }
+        }
+        lastSync = started;
+        return lshIndex.size();
+    }
+
+    /**
+     * Applique les signatures modifiées par les autres instances depuis la dernière synchronisation.
+     */
+    @Scheduled(fixedDelayString = "${user-service.similarity.sync-interval:PT10S}")
+    public void syncFromStore() {
+        try {
+            Date started = new Date();
+            Date since = new Date(lastSync.getTime() - SYNC_OVERLAP_MILLIS);
+            userSignatureRepository.findByUpdatedAtGreaterThanOrderByUpdatedAtAsc(since).forEach(this::apply);
+            lastSync = started;
+        } catch (RuntimeException e) {
+            logger.warn("Impossible de synchroniser l'index de similarité: {}", e.getMessage());
+        }
+    }
+
+    // Candidats LSH, notés par l'indice de Jaccard exact sur les codes de leurs tags, gardés en mémoire par l'index
+    private List<Scored> approximate(String userId, int limit) {
+        int[] reference = lshIndex.tags(userId);
+        if (reference == null) {
+            return List.of();
+        }
+
+        Map<String, Integer> sharedBands = lshIndex.sharedBands(userId);
+        Collection<String> candidateIds = sharedBands.keySet();
+        if (candidateIds.size() > maxCandidates) {
+            // Au-delà de la limite, les candidats partageant le plus de bandes sont notés
+            truncations.increment();
+            logger.info("Utilisateurs similaires à {}: {} candidats LSH, limités à {}",
+                    userId, candidateIds.size(), maxCandidates);
+            candidateIds = LshIndex.mostShared(sharedBands, maxCandidates);
+        }
+
+        List<Scored> scored = new ArrayList<>();
+        for (String candidateId : candidateIds) {
+            int[] tags = lshIndex.tags(candidateId);
+            if (tags != null) {
+                scored.add(new Scored(candidateId, TagCodeSets.jaccard(reference, tags)));
+            }
+        }
+        return best(scored.stream(), limit);
+    }
+
+    private void rebuild() {
+        userSignatureRepository.deleteAll();
+        List<UserSignature> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try (Stream<UserProfile> users = userRepository.streamAllByOrderByIdAsc()) {
+            for (UserProfile user : (Iterable<UserProfile>) users::iterator) {
+                UserSignature signature = sign(user.getId(), elements(user));
+                if (signature.getMinHash() != null) {
+                    batch.add(signature);
+                    apply(signature);
+                }
+                if (batch.size() >= REBUILD_BATCH_SIZE) {
+                    userSignatureRepository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        userSignatureRepository.saveAll(batch);
+        logger.info("Index de similarité reconstruit: {} signatures ({} bandes × {} lignes)",
+                lshIndex.size(), minHasher.getBands(), minHasher.getRows());
+    }
+
+    private UserSignature sign(String userId, Set<String> elements) {
+        int[] minHash = minHasher.signature(elements);
+        List<Long> bandKeys = new ArrayList<>();
+        if (minHash != null) {
+            for (long key : minHasher.bandKeys(minHash)) {
+                bandKeys.add(key);
+            }
+        }
+        return new UserSignature(userId, new ArrayList<>(elements), minHash, bandKeys,
+                minHasher.getBands(), minHasher.getRows(), new Date());
+    }
+
+    private void apply(UserSignature signature) {
+        if (signature.getBandKeys() == null || signature.getBandKeys().isEmpty()) {
+            lshIndex.remove(signature.getId());
+        } else {
+            lshIndex.put(signature.getId(), signature.getBandKeys().stream().mapToLong(Long::longValue).toArray(),
+                    codes(signature.getTags()));
+        }
+    }
+
+    private static List<Scored> best(Stream<Scored> scored, int limit) {
+        return scored
+            .filter(result -> result.score() > 0)
+            .sorted(Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::userId))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private int[] codes(UserProfile user) {
+        List<String> tagIds = new ArrayList<>(tagIds(user.getSkills(), SkillTag::getId));
+        tagIds.addAll(tagIds(user.getInterests(), InterestTag::getId));
+        return tagDictionary.encode(tagIds);
+    }
+
+    // Codes des tags d'une signature : ses éléments sans le préfixe du type de tag
+    private int[] codes(List<String> elements) {
+        if (elements == null) {
+            return TagCodeSets.EMPTY;
+        }
+        return tagDictionary.encode(elements.stream().map(element -> element.substring(ELEMENT_PREFIX_LENGTH)).toList());
+    }
+
+    // Éléments de l'ensemble signé : identifiants préfixés par le type de tag
+    private Set<String> elements(UserProfile user) {
+        return elements(tagIds(user.getSkills(), SkillTag::getId), tagIds(user.getInterests(), InterestTag::getId));
+    }
+
+    private static Set<String> elements(List<String> skillIds, List<String> interestIds) {
+        Set<String> elements = new LinkedHashSet<>();
+        skillIds.forEach(id -> elements.add("S:" + id));
+        interestIds.forEach(id -> elements.add("I:" + id));
+        return elements;
+    }
+
+    private static <T> List<String> tagIds(List<T> tags, Function<T, String> idOf) {
+        if (tags == null) {
+            return List.of();
+        }
+        return tags.stream().map(idOf).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+}
@@ -1,52 +1,116 @@
 package com.app.userservice.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.app.userservice.event.TagCatalogChangedEvent;
 import com.app.userservice.model.SkillTag;
+import com.app.userservice.repository.CatalogVersionRepository;
 import com.app.userservice.repository.SkillRepository;
 import com.app.userservice.service.SkillService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class SkillServiceImpl implements SkillService {
 
     private final SkillRepository skillRepository;
+    private final TagBatchResolver<SkillTag> resolver;
+    private final TagCatalogCache<SkillTag> catalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SkillServiceImpl(SkillRepository skillRepository) {
+    public SkillServiceImpl(SkillRepository skillRepository,
+                            CatalogVersionRepository catalogVersionRepository,
+                            MeterRegistry meterRegistry,
+                            ApplicationEventPublisher eventPublisher) {
         this.skillRepository = skillRepository;
+        this.eventPublisher = eventPublisher;
+        this.catalog = new TagCatalogCache<>("skills", skillRepository::findAll,
+                SkillTag::getId, SkillTag::getName, SkillTag::isPredefined,
+                catalogVersionRepository, meterRegistry);
+        this.resolver = new TagBatchResolver<>(
+                new TagBatchResolver.TagStore<>() {
+                    @Override
+                    public List<SkillTag> findByIdsOrNames(Collection<String> ids, Collection<String> names) {
+                        return catalog.findByIdsOrNames(ids, names, skillRepository::findByIdInOrNameIn);
+                    }
+
+                    @Override
+                    public void upsertAllByName(List<SkillTag> tags) {
+                        skillRepository.upsertAllByName(tags);
+                        catalog.bumpVersion();
+                    }
+
+                    @Override
+                    public SkillTag findOrCreateByName(SkillTag tag) {
+                        SkillTag created = skillRepository.findOrCreateByName(tag);
+                        catalog.put(created);
+                        return created;
+                    }
+                },
+                SkillTag::getId,
+                SkillTag::getName,
+                tag -> {
+                    SkillTag custom = new SkillTag();
+                    custom.setName(tag.getName());
+                    custom.setCategory(tag.getCategory());
+                    custom.setLevel(tag.getLevel());
+                    custom.setPredefined(false);
+                    return custom;
+                },
+                "skills");
     }
 
     @Override
     public SkillTag createSkill(SkillTag skillTag) {
-        // Vérifier si une compétence avec ce nom existe déjà
-        if (skillRepository.existsByName(skillTag.getName())) {
+        // L'index unique sur le nom garantit l'absence de doublon, sans lecture préalable
+        try {
+            SkillTag created = skillRepository.insert(skillTag);
+            catalog.put(created);
+            return created;
+        } catch (DuplicateKeyException e) {
             throw new IllegalArgumentException("Une compétence avec ce nom existe déjà");
         }
-        return skillRepository.save(skillTag);
     }
 
     @Override
     public List<SkillTag> getAllSkills() {
-        return skillRepository.findAll();
+        return catalog.findAll();
     }
 
     @Override
     public Optional<SkillTag> getSkillById(String id) {
-        return skillRepository.findById(id);
+        return catalog.findById(id, skillRepository::findById);
     }
 
     @Override
     public Optional<SkillTag> getSkillByName(String name) {
-        return skillRepository.findByName(name);
+        return catalog.findByName(name, skillRepository::findByName);
     }
 
     @Override
     public List<SkillTag> findSkillsByPartialName(String name) {
-        return skillRepository.findByNameContainingIgnoreCase(name);
+        return searchSkills(name, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<SkillTag> searchSkills(String query, int limit) {
+        // Servi par l'index en mémoire du catalogue : aucune requête regex vers MongoDB
+        return catalog.search(query, limit);
+    }
+
+    @Override
+    public List<SkillTag> getSkillsByNames(Collection<String> names) {
+        return catalog.findByIdsOrNames(List.of(), names, skillRepository::findByIdInOrNameIn);
     }
 
     @Override
@@ -64,7 +128,16 @@ public class SkillServiceImpl implements SkillService {
         
         // S'assurer que l'ID reste le même
         skillTag.setId(id);
-        return skillRepository.save(skillTag);
+        SkillTag updated = skillRepository.save(skillTag);
+        catalog.put(updated);
+        
+        // Les profils embarquent le nom et la catégorie : leurs copies suivent le catalogue
+        if (!Objects.equals(existingSkill.get().getName(), updated.getName())
+            || !Objects.equals(existingSkill.get().getCategory(), updated.getCategory())) {
+            eventPublisher.publishEvent(TagCatalogChangedEvent.updated(
+                TagCatalogChangedEvent.Catalog.SKILLS, id, updated.getName(), updated.getCategory()));
+        }
+        return updated;
     }
 
     @Override
@@ -73,5 +146,22 @@ public class SkillServiceImpl implements SkillService {
             throw new IllegalArgumentException("Compétence non trouvée avec l'ID: " + id);
         }
         skillRepository.deleteById(id);
+        catalog.remove(id);
+        
+        // Retirer les copies embarquées dans les profils
+        eventPublisher.publishEvent(TagCatalogChangedEvent.deleted(TagCatalogChangedEvent.Catalog.SKILLS, id));
+    }
+
+    @Override
+    public List<SkillTag> resolveSkills(List<SkillTag> skills) {
+        return resolver.resolve(skills);
+    }
+
+    /**
+     * Recharge le cache du catalogue lorsqu'une autre instance l'a modifié.
+     */
+    @Scheduled(fixedDelayString = "${user-service.catalog-cache.poll-interval:PT5S}")
+    public void refreshCatalogIfStale() {
+        catalog.refreshIfStale();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,203 @@
+package com.app.userservice.service.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Index en mémoire pour l'autocomplétion des tags (compétences ou intérêts).
+ * <p>
+ * Les noms sont normalisés (minuscules, sans accents) puis indexés par n-grammes de 1 à 3
+ * caractères. Une recherche part de la plus courte liste de postings des n-grammes du texte
+ * saisi, vérifie la sous-chaîne sur ces seuls candidats et ne touche jamais MongoDB.
+ * <p>
+ * L'index est mis à jour de manière incrémentale à chaque création, renommage ou
+ * suppression de tag. Les écritures sont sérialisées ; les lectures se font sans verrou.
+ * <p>
+ * Classement des résultats : correspondance par préfixe avant correspondance interne,
+ * tags prédéfinis avant tags personnalisés, puis nom le plus court et ordre alphabétique.
+ *
+ * @param <T> Type du tag (SkillTag ou InterestTag)
+ */
+public class TagAutocompleteIndex<T> {
+
+    private static final int GRAM_SIZE = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private record Entry<T>(String id, String key, boolean predefined, T tag) {
+    }
+
+    private record Match<T>(Entry<T> entry, boolean prefix) {
+    }
+
+    private final Function<T, String> idOf;
+    private final Function<T, String> nameOf;
+    private final Predicate<T> predefinedOf;
+
+    private final Map<String, Entry<T>> byId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Entry<T>>> postings = new ConcurrentHashMap<>();
+
+    private final Comparator<Match<T>> ranking = Comparator
+            .comparing((Match<T> match) -> !match.prefix())
+            .thenComparing(match -> !match.entry().predefined())
+            .thenComparingInt(match -> match.entry().key().length())
+            .thenComparing(match -> match.entry().key());
+
+    /**
+     * @param idOf extrait l'identifiant d'un tag
+     * @param nameOf extrait le nom d'un tag
+     * @param predefinedOf indique si un tag est prédéfini
+     */
+    public TagAutocompleteIndex(Function<T, String> idOf, Function<T, String> nameOf, Predicate<T> predefinedOf) {
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.predefinedOf = predefinedOf;
+    }
+
+    /**
+     * Remplace tout le contenu de l'index par le catalogue donné.
+     *
+     * @param tags catalogue complet des tags
+     */
+    public synchronized void replaceAll(Collection<T> tags) {
+        byId.clear();
+        postings.clear();
+        tags.forEach(this::put);
+    }
+
+    /**
+     * Ajoute un tag à l'index, ou le met à jour s'il y figure déjà (renommage).
+     *
+     * @param tag tag créé ou modifié
+     */
+    public synchronized void put(T tag) {
+        String id = idOf.apply(tag);
+        String name = nameOf.apply(tag);
+        if (id == null || name == null) {
+            return;
+        }
+
+        Entry<T> entry = new Entry<>(id, normalize(name), predefinedOf.test(tag), tag);
+        Entry<T> previous = byId.put(id, entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        for (String gram : grams(entry.key())) {
+            postings.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+    }
+
+    /**
+     * Retire un tag de l'index.
+     *
+     * @param id identifiant du tag supprimé
+     */
+    public synchronized void remove(String id) {
+        Entry<T> previous = byId.remove(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    /**
+     * Recherche les tags dont le nom contient le texte saisi.
+     *
+     * @param query texte saisi (insensible à la casse et aux accents)
+     * @param limit nombre maximum de résultats
+     * @return les meilleurs tags, classés
+     */
+    public List<T> search(String query, int limit) {
+        String key = query == null ? "" : normalize(query).trim();
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Tas borné : on ne conserve que les K meilleurs candidats
+        PriorityQueue<Match<T>> best = new PriorityQueue<>(ranking.reversed());
+        for (Entry<T> entry : candidates(key)) {
+            boolean prefix = entry.key().startsWith(key);
+            if (!prefix && !entry.key().contains(key)) {
+                continue;
+            }
+            best.add(new Match<>(entry, prefix));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Match<T>> sorted = new ArrayList<>(best);
+        sorted.sort(ranking);
+        List<T> result = new ArrayList<>(sorted.size());
+        for (Match<T> match : sorted) {
+            result.add(match.entry().tag());
+        }
+        return result;
+    }
+
+    /**
+     * Nombre de tags indexés.
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    private Collection<Entry<T>> candidates(String key) {
+        if (key.length() <= GRAM_SIZE) {
+            return postings.getOrDefault(key, Set.of());
+        }
+
+        // Candidats : la plus courte liste de postings parmi les trigrammes, vérifiée ensuite par contains
+        Set<Entry<T>> smallest = null;
+        for (String gram : grams(key)) {
+            if (gram.length() < GRAM_SIZE) {
+                continue;
+            }
+            Set<Entry<T>> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest == null ? List.of() : smallest;
+    }
+
+    private void unlink(Entry<T> entry) {
+        for (String gram : grams(entry.key())) {
+            Set<Entry<T>> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(entry);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int size = 1; size <= GRAM_SIZE; size++) {
+            for (int i = 0; i + size <= key.length(); i++) {
+                grams.add(key.substring(i, i + size));
+            }
+        }
+        return grams;
+    }
+
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
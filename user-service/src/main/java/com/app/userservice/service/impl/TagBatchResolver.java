@@ -0,0 +1,164 @@
+package com.app.userservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Résolution par lot des tags (compétences ou intérêts) envoyés par les clients.
+ * <p>
+ * Les tags demandés sont identifiés soit par leur ID, soit par leur nom. Tous les tags
+ * inconnus du cache de la requête sont recherchés en une seule requête $in, puis les
+ * tags personnalisés manquants sont créés par un upsert groupé et relus en une requête
+ * (ou par un unique findAndModify lorsqu'il n'y en a qu'un).
+ * Le nombre d'allers-retours vers MongoDB reste donc constant quel que soit le nombre
+ * de tags envoyés.
+ * <p>
+ * Les tags résolus sont mémorisés pour le reste de la requête HTTP en cours, de sorte
+ * qu'un même tag n'est jamais relu deux fois pendant un {@code updateUser}.
+ *
+ * @param <T> Type du tag (SkillTag ou InterestTag)
+ */
+public class TagBatchResolver<T> {
+
+    /**
+     * Accès au stockage des tags utilisé par le résolveur.
+     *
+     * @param <T> Type du tag
+     */
+    public interface TagStore<T> {
+
+        /**
+         * Recherche en une seule requête les tags correspondant aux IDs ou aux noms donnés.
+         */
+        List<T> findByIdsOrNames(Collection<String> ids, Collection<String> names);
+
+        /**
+         * Crée en une seule écriture groupée les tags qui n'existent pas encore.
+         */
+        void upsertAllByName(List<T> tags);
+
+        /**
+         * Retrouve ou crée un tag en un seul aller-retour.
+         */
+        T findOrCreateByName(T tag);
+    }
+
+    private static final String ID_KEY = "id:";
+    private static final String NAME_KEY = "name:";
+
+    private final TagStore<T> store;
+    private final Function<T, String> idOf;
+    private final Function<T, String> nameOf;
+    private final Function<T, T> customTagOf;
+    private final String memoAttribute;
+
+    /**
+     * @param store accès au stockage des tags
+     * @param idOf extrait l'identifiant d'un tag
+     * @param nameOf extrait le nom d'un tag
+     * @param customTagOf construit le tag personnalisé à créer à partir du tag demandé
+     * @param memoName nom du cache de requête (un par type de tag)
+     */
+    public TagBatchResolver(TagStore<T> store, Function<T, String> idOf, Function<T, String> nameOf,
+                            Function<T, T> customTagOf, String memoName) {
+        this.store = store;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.customTagOf = customTagOf;
+        this.memoAttribute = TagBatchResolver.class.getName() + "." + memoName;
+    }
+
+    /**
+     * Résout les tags demandés vers leur version canonique en base.
+     * Les IDs inconnus sont ignorés, les noms inconnus donnent lieu à la création d'un tag personnalisé.
+     *
+     * @param requested tags envoyés par le client
+     * @return les tags canoniques, dans l'ordre de la demande et sans doublon
+     */
+    public List<T> resolve(List<T> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, T> memo = requestMemo();
+
+        // Identifier ce qui n'est pas encore connu pour cette requête
+        Set<String> missingIds = new LinkedHashSet<>();
+        Set<String> missingNames = new LinkedHashSet<>();
+        for (T tag : requested) {
+            String id = idOf.apply(tag);
+            String name = nameOf.apply(tag);
+            if (id != null) {
+                if (!memo.containsKey(ID_KEY + id)) {
+                    missingIds.add(id);
+                }
+            } else if (name != null && !name.isBlank() && !memo.containsKey(NAME_KEY + name)) {
+                missingNames.add(name);
+            }
+        }
+
+        // Une seule requête $in pour tous les IDs et noms inconnus
+        if (!missingIds.isEmpty() || !missingNames.isEmpty()) {
+            remember(memo, store.findByIdsOrNames(missingIds, missingNames));
+        }
+
+        // Créer en un seul upsert groupé les tags personnalisés manquants, puis les relire
+        Map<String, T> toCreate = new LinkedHashMap<>();
+        for (T tag : requested) {
+            String name = nameOf.apply(tag);
+            if (idOf.apply(tag) == null && missingNames.contains(name) && !memo.containsKey(NAME_KEY + name)) {
+                toCreate.putIfAbsent(name, customTagOf.apply(tag));
+            }
+        }
+        if (toCreate.size() == 1) {
+            // Un seul tag à créer : un findAndModify atomique suffit
+            remember(memo, List.of(store.findOrCreateByName(toCreate.values().iterator().next())));
+        } else if (!toCreate.isEmpty()) {
+            store.upsertAllByName(new ArrayList<>(toCreate.values()));
+            remember(memo, store.findByIdsOrNames(List.of(), toCreate.keySet()));
+        }
+
+        // Reconstituer la liste dans l'ordre demandé
+        Map<String, T> resolved = new LinkedHashMap<>();
+        for (T tag : requested) {
+            String id = idOf.apply(tag);
+            T canonical = id != null ? memo.get(ID_KEY + id) : memo.get(NAME_KEY + nameOf.apply(tag));
+            if (canonical != null) {
+                resolved.putIfAbsent(idOf.apply(canonical), canonical);
+            }
+        }
+        return new ArrayList<>(resolved.values());
+    }
+
+    private void remember(Map<String, T> memo, List<T> tags) {
+        for (T tag : tags) {
+            memo.put(ID_KEY + idOf.apply(tag), tag);
+            memo.put(NAME_KEY + nameOf.apply(tag), tag);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, T> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            // Hors requête HTTP (migration, tests) : cache limité à cet appel
+            return new HashMap<>();
+        }
+        Map<String, T> memo = (Map<String, T>) attributes.getAttribute(memoAttribute, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(memoAttribute, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
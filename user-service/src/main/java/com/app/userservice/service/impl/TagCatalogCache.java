@@ -0,0 +1,292 @@
+package com.app.userservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.app.userservice.repository.CatalogVersionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache en lecture du catalogue de tags (compétences ou intérêts).
+ * <p>
+ * Le catalogue complet est chargé en mémoire, indexé par identifiant et par nom, et alimente
+ * l'index d'autocomplétion. Les noms sont comparés tels quels, comme par l'index unique sur le
+ * nom en base : « Java » et « java » sont deux tags distincts, et le cache ne répond jamais
+ * autrement que ne le ferait la lecture en base.
+ * Une clé absente du cache est lue en base puis ajoutée au cache (lecture traversante).
+ * <p>
+ * La cohérence entre instances repose sur la version du catalogue stockée dans MongoDB :
+ * chaque écriture l'incrémente, et {@link #refreshIfStale()}, appelée périodiquement,
+ * recharge le catalogue dès que la version en base diffère de celle chargée.
+ * Les instantanés sont immuables : les lectures se font sans verrou.
+ * <p>
+ * Métriques exposées : {@code tag.catalog.cache.requests} (tag {@code result} = hit ou miss),
+ * {@code tag.catalog.cache.reloads} et {@code tag.catalog.cache.size}, par catalogue.
+ *
+ * @param <T> Type du tag (SkillTag ou InterestTag)
+ */
+public class TagCatalogCache<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagCatalogCache.class);
+
+    private record Snapshot<T>(long version, Map<String, T> byId, Map<String, T> byName) {
+    }
+
+    private final String catalog;
+    private final Supplier<List<T>> loader;
+    private final Function<T, String> idOf;
+    private final Function<T, String> nameOf;
+    private final CatalogVersionRepository versions;
+    private final TagAutocompleteIndex<T> searchIndex;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter reloads;
+
+    // null tant que le catalogue n'a pas été chargé
+    private volatile Snapshot<T> snapshot;
+
+    /**
+     * @param catalog nom du catalogue, utilisé pour la version et les métriques
+     * @param loader charge le catalogue complet depuis la base
+     * @param idOf extrait l'identifiant d'un tag
+     * @param nameOf extrait le nom d'un tag
+     * @param predefinedOf indique si un tag est prédéfini
+     * @param versions accès aux versions des catalogues
+     * @param meterRegistry registre des métriques
+     */
+    public TagCatalogCache(String catalog, Supplier<List<T>> loader, Function<T, String> idOf,
+                           Function<T, String> nameOf, Predicate<T> predefinedOf,
+                           CatalogVersionRepository versions, MeterRegistry meterRegistry) {
+        this.catalog = catalog;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.versions = versions;
+        this.searchIndex = new TagAutocompleteIndex<>(idOf, nameOf, predefinedOf);
+
+        this.hits = Counter.builder("tag.catalog.cache.requests")
+                .description("Recherches dans le cache du catalogue de tags")
+                .tag("catalog", catalog).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("tag.catalog.cache.requests")
+                .description("Recherches dans le cache du catalogue de tags")
+                .tag("catalog", catalog).tag("result", "miss")
+                .register(meterRegistry);
+        this.reloads = Counter.builder("tag.catalog.cache.reloads")
+                .description("Rechargements complets du catalogue de tags")
+                .tag("catalog", catalog)
+                .register(meterRegistry);
+        Gauge.builder("tag.catalog.cache.size", this, cache -> cache.snapshot == null ? 0 : cache.snapshot.byId().size())
+                .description("Nombre de tags en cache")
+                .tag("catalog", catalog)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recherche un tag par identifiant, en lisant la base en cas d'absence du cache.
+     */
+    public Optional<T> findById(String id, Function<String, Optional<T>> databaseLookup) {
+        T cached = loaded().byId().get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        Optional<T> found = databaseLookup.apply(id);
+        found.ifPresent(this::cacheLocally);
+        return found;
+    }
+
+    /**
+     * Recherche un tag par nom exact, en lisant la base en cas d'absence du cache.
+     */
+    public Optional<T> findByName(String name, Function<String, Optional<T>> databaseLookup) {
+        T cached = loaded().byName().get(name);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        Optional<T> found = databaseLookup.apply(name);
+        found.ifPresent(this::cacheLocally);
+        return found;
+    }
+
+    /**
+     * Recherche des tags par identifiants ou noms : les clés absentes du cache sont lues
+     * en base en une seule requête.
+     */
+    public List<T> findByIdsOrNames(Collection<String> ids, Collection<String> names,
+                                    BiFunction<Collection<String>, Collection<String>, List<T>> databaseLookup) {
+        Snapshot<T> current = loaded();
+        Set<T> found = new LinkedHashSet<>();
+        List<String> missingIds = new ArrayList<>();
+        List<String> missingNames = new ArrayList<>();
+        for (String id : ids) {
+            T cached = current.byId().get(id);
+            if (cached != null) {
+                found.add(cached);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        for (String name : names) {
+            T cached = current.byName().get(name);
+            if (cached != null) {
+                found.add(cached);
+            } else {
+                missingNames.add(name);
+            }
+        }
+
+        hits.increment(ids.size() + names.size() - missingIds.size() - missingNames.size());
+        if (!missingIds.isEmpty() || !missingNames.isEmpty()) {
+            misses.increment(missingIds.size() + missingNames.size());
+            for (T tag : databaseLookup.apply(missingIds, missingNames)) {
+                cacheLocally(tag);
+                found.add(tag);
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Retourne tout le catalogue.
+     */
+    public List<T> findAll() {
+        return new ArrayList<>(loaded().byId().values());
+    }
+
+    /**
+     * Autocomplétion sur le catalogue en cache.
+     */
+    public List<T> search(String query, int limit) {
+        loaded();
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Enregistre un tag créé ou modifié en base : la version du catalogue est incrémentée
+     * et le tag est appliqué au cache local.
+     */
+    public void put(T tag) {
+        long version = versions.increment(catalog);
+        apply(version, tag, null);
+    }
+
+    /**
+     * Enregistre la suppression d'un tag en base.
+     */
+    public void remove(String id) {
+        long version = versions.increment(catalog);
+        apply(version, null, id);
+    }
+
+    /**
+     * Signale une écriture dont les tags seront relus ensuite (upsert groupé) :
+     * seule la version du catalogue est incrémentée.
+     */
+    public void bumpVersion() {
+        long version = versions.increment(catalog);
+        apply(version, null, null);
+    }
+
+    /**
+     * Recharge le catalogue si sa version en base a changé depuis le dernier chargement.
+     * Les erreurs sont journalisées : le cache courant reste utilisé.
+     */
+    public void refreshIfStale() {
+        try {
+            long current = versions.current(catalog);
+            Snapshot<T> loaded = snapshot;
+            // Un catalogue vide peut avoir été lu avant l'initialisation des données prédéfinies
+            if (loaded == null || loaded.version() != current || loaded.byId().isEmpty()) {
+                reload(current);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Impossible de vérifier la version du catalogue {}: {}", catalog, e.getMessage());
+        }
+    }
+
+    private Snapshot<T> loaded() {
+        Snapshot<T> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                reload(versions.current(catalog));
+            }
+            return snapshot;
+        }
+    }
+
+    private synchronized void reload(long version) {
+        // La version est lue avant le catalogue : une écriture concurrente provoquera un nouveau rechargement
+        List<T> tags = loader.get();
+        Map<String, T> byId = new HashMap<>();
+        Map<String, T> byName = new HashMap<>();
+        for (T tag : tags) {
+            byId.put(idOf.apply(tag), tag);
+            byName.put(nameOf.apply(tag), tag);
+        }
+        searchIndex.replaceAll(tags);
+        snapshot = new Snapshot<>(version, Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+        reloads.increment();
+        logger.debug("Catalogue {} rechargé: {} tags (version {})", catalog, tags.size(), version);
+    }
+
+    private void cacheLocally(T tag) {
+        Snapshot<T> current = snapshot;
+        apply(current == null ? 0 : current.version(), tag, null);
+    }
+
+    private synchronized void apply(long version, T upserted, String removedId) {
+        Snapshot<T> current = snapshot;
+        if (current == null) {
+            // Rien en cache : le prochain accès chargera le catalogue à jour
+            return;
+        }
+
+        Map<String, T> byId = new HashMap<>(current.byId());
+        Map<String, T> byName = new HashMap<>(current.byName());
+        if (upserted != null) {
+            T previous = byId.put(idOf.apply(upserted), upserted);
+            if (previous != null) {
+                byName.remove(nameOf.apply(previous));
+            }
+            byName.put(nameOf.apply(upserted), upserted);
+            searchIndex.put(upserted);
+        }
+        if (removedId != null) {
+            T previous = byId.remove(removedId);
+            if (previous != null) {
+                byName.remove(nameOf.apply(previous));
+            }
+            searchIndex.remove(removedId);
+        }
+
+        // Si une autre instance a écrit entre-temps, l'ancienne version est conservée
+        // pour que la prochaine vérification recharge le catalogue complet
+        long next = version == current.version() + 1 ? version : current.version();
+        snapshot = new Snapshot<>(next, Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+    }
+}
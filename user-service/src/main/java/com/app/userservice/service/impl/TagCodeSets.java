@@ -0,0 +1,66 @@
+package com.app.userservice.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Opérations sur des ensembles de codes de tags représentés par des tableaux d'entiers triés
+ * et sans doublon. Les intersections se calculent par fusion des deux tableaux, sans allocation.
+ */
+public final class TagCodeSets {
+
+    public static final int[] EMPTY = new int[0];
+
+    private TagCodeSets() {
+    }
+
+    /**
+     * Trie les premiers éléments d'un tableau et en retire les doublons.
+     *
+     * @param codes tableau de codes, modifié en place
+     * @param size nombre d'éléments à conserver
+     * @return l'ensemble trié, sans doublon
+     */
+    public static int[] sortedSet(int[] codes, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(codes, 0, size);
+        int distinct = 1;
+        for (int i = 1; i < size; i++) {
+            if (codes[i] != codes[distinct - 1]) {
+                codes[distinct++] = codes[i];
+            }
+        }
+        return distinct == codes.length ? codes : Arrays.copyOf(codes, distinct);
+    }
+
+    /**
+     * Nombre de codes communs à deux ensembles.
+     */
+    public static int intersectionSize(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Indice de Jaccard de deux ensembles, 0 si les deux sont vides.
+     */
+    public static double jaccard(int[] a, int[] b) {
+        int shared = intersectionSize(a, b);
+        int union = a.length + b.length - shared;
+        return union == 0 ? 0 : (double) shared / union;
+    }
+}
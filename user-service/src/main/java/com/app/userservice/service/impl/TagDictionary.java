@@ -0,0 +1,111 @@
+package com.app.userservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.app.userservice.model.TagCode;
+import com.app.userservice.repository.TagCodeRepository;
+
+/**
+ * Dictionnaire des tags : associe à chaque identifiant de tag (compétence ou intérêt) un entier dense.
+ * <p>
+ * Les ensembles de tags des profils deviennent des tableaux d'entiers triés, sur lesquels
+ * intersections et unions se calculent par fusion, sans allocation ni hachage de chaînes
+ * (voir {@link TagCodeSets}).
+ * <p>
+ * Les codes sont persistés dans la collection {@code tag_codes} : ils restent identiques après
+ * un redémarrage et entre instances. Le dictionnaire est chargé au démarrage ; un tag inconnu
+ * (tag personnalisé créé depuis) reçoit son code à sa première utilisation.
+ * L'attribution se fait sans verrou global : les tags inconnus d'un ensemble sont attribués en un seul
+ * lot, et deux fils qui attribuent le même tag obtiennent le code persisté par le premier.
+ * Les identifiants de compétences et d'intérêts étant des ObjectId, ils partagent un même espace de codes.
+ */
+public class TagDictionary {
+
+    private final TagCodeRepository tagCodeRepository;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+    public TagDictionary(TagCodeRepository tagCodeRepository) {
+        this.tagCodeRepository = tagCodeRepository;
+    }
+
+    /**
+     * Charge les codes persistés.
+     *
+     * @return le nombre de tags connus
+     */
+    public int load() {
+        try (Stream<TagCode> stored = tagCodeRepository.streamAllBy()) {
+            stored.forEach(tagCode -> codes.put(tagCode.getId(), tagCode.getCode()));
+        }
+        // Les codes attribués avant l'introduction du compteur dédié ne doivent pas être réattribués
+        int nextCode = codes.values().stream().mapToInt(code -> code + 1).max().orElse(0);
+        tagCodeRepository.advanceSequence(nextCode);
+        return codes.size();
+    }
+
+    /**
+     * Retourne le code d'un tag, en l'attribuant au besoin.
+     *
+     * @param tagId identifiant du tag
+     * @return le code du tag
+     */
+    public int code(String tagId) {
+        Integer code = codes.get(tagId);
+        if (code != null) {
+            return code;
+        }
+        return assign(List.of(tagId)).get(tagId);
+    }
+
+    /**
+     * Encode un ensemble de tags.
+     *
+     * @param tagIds identifiants des tags ; les doublons et les valeurs nulles sont ignorés
+     * @return les codes des tags, triés et sans doublon
+     */
+    public int[] encode(Collection<String> tagIds) {
+        int[] encoded = new int[tagIds.size()];
+        int size = 0;
+        List<String> unknown = null;
+        for (String tagId : tagIds) {
+            if (tagId == null) {
+                continue;
+            }
+            Integer code = codes.get(tagId);
+            if (code != null) {
+                encoded[size++] = code;
+            } else {
+                if (unknown == null) {
+                    unknown = new ArrayList<>();
+                }
+                unknown.add(tagId);
+            }
+        }
+        if (unknown != null) {
+            for (int code : assign(unknown).values()) {
+                encoded[size++] = code;
+            }
+        }
+        return TagCodeSets.sortedSet(encoded, size);
+    }
+
+    /**
+     * Nombre de tags connus du dictionnaire.
+     */
+    public int size() {
+        return codes.size();
+    }
+
+    // Attribution hors de tout verrou : le dépôt retourne le code déjà persisté d'un tag attribué
+    // entre-temps par un autre fil ou une autre instance, si bien que tous obtiennent le même code
+    private Map<String, Integer> assign(Collection<String> tagIds) {
+        Map<String, Integer> assigned = tagCodeRepository.assignAll(tagIds);
+        codes.putAll(assigned);
+        return assigned;
+    }
+}
@@ -0,0 +1,186 @@
+package com.app.userservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.app.userservice.event.TagCatalogChangedEvent;
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.TagPosting;
+import com.app.userservice.model.TagType;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.TagPostingRepository;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.service.TagIndexService;
+
+@Service
+public class TagIndexServiceImpl implements TagIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagIndexServiceImpl.class);
+
+    // Nombre de profils comparés à l'index par requête
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final TagPostingRepository tagPostingRepository;
+    private final UserRepository userRepository;
+
+    // Réconciliation en cours, sur cette instance
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+
+    @Autowired
+    public TagIndexServiceImpl(TagPostingRepository tagPostingRepository, UserRepository userRepository) {
+        this.tagPostingRepository = tagPostingRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    @EventListener
+    public void onUserTagsChanged(UserTagsChangedEvent event) {
+        if (event.getSkillIds() != null && event.getInterestIds() != null
+                && event.getSkillIds().isEmpty() && event.getInterestIds().isEmpty()) {
+            // Utilisateur supprimé ou sans aucun tag : une seule suppression suffit
+            tagPostingRepository.deleteByUserId(event.getUserId());
+            return;
+        }
+        if (event.getSkillIds() != null) {
+            tagPostingRepository.replaceUserTags(event.getUserId(), TagType.SKILL, event.getSkillIds());
+        }
+        if (event.getInterestIds() != null) {
+            tagPostingRepository.replaceUserTags(event.getUserId(), TagType.INTEREST, event.getInterestIds());
+        }
+    }
+
+    @Override
+    public List<String> findUserIds(Collection<String> skillIds, Collection<String> interestIds, boolean matchAll) {
+        return tagPostingRepository.findUserIds(tagIds(skillIds, interestIds), matchAll);
+    }
+
+    @Override
+    public List<String> findTopUserIdsByOverlap(Collection<String> skillIds, Collection<String> interestIds, int limit) {
+        return tagPostingRepository.findTopUserIdsByOverlap(tagIds(skillIds, interestIds), limit);
+    }
+
+    @Override
+    @EventListener
+    public void onTagCatalogChanged(TagCatalogChangedEvent event) {
+        if (event.isDeleted()) {
+            TagType type = event.getCatalog() == TagCatalogChangedEvent.Catalog.SKILLS ? TagType.SKILL : TagType.INTEREST;
+            tagPostingRepository.deleteByTypeAndTagId(type, event.getTagId());
+        }
+    }
+
+    @Override
+    public long reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            throw new IllegalStateException("Une réconciliation de l'index des tags est déjà en cours");
+        }
+        try {
+            return reconcileAll();
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    @Override
+    public boolean reconcileInBackground() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                long changed = reconcileAll();
+                logger.info("Index inversé des tags réconcilié: {} entrées ajoutées ou retirées", changed);
+            } catch (RuntimeException e) {
+                logger.error("Échec de la réconciliation de l'index inversé des tags", e);
+            } finally {
+                reconciling.set(false);
+            }
+        }, "tag-index-reconcile");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public boolean isReconciling() {
+        return reconciling.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tagPostingRepository.count() == 0;
+    }
+
+    private long reconcileAll() {
+        long changed = 0;
+        List<UserProfile> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+        try (Stream<UserProfile> users = userRepository.streamAllByOrderByIdAsc()) {
+            for (UserProfile user : (Iterable<UserProfile>) users::iterator) {
+                batch.add(user);
+                if (batch.size() >= RECONCILE_BATCH_SIZE) {
+                    changed += reconcile(batch);
+                    batch.clear();
+                }
+            }
+        }
+        return changed + reconcile(batch);
+    }
+
+    // Compare les entrées attendues d'un lot de profils à celles de l'index, lues en une requête
+    private long reconcile(List<UserProfile> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        Set<TagPosting> expected = new HashSet<>();
+        for (UserProfile user : users) {
+            if (user.getSkills() != null) {
+                for (SkillTag skill : user.getSkills()) {
+                    if (skill.getId() != null) {
+                        expected.add(new TagPosting(TagType.SKILL, skill.getId(), user.getId()));
+                    }
+                }
+            }
+            if (user.getInterests() != null) {
+                for (InterestTag interest : user.getInterests()) {
+                    if (interest.getId() != null) {
+                        expected.add(new TagPosting(TagType.INTEREST, interest.getId(), user.getId()));
+                    }
+                }
+            }
+        }
+
+        List<TagPosting> stale = new ArrayList<>();
+        for (TagPosting posting : tagPostingRepository.findByUserIdIn(users.stream().map(UserProfile::getId).toList())) {
+            // Égalité sur (type, tagId, userId) : une entrée présente n'est plus à créer
+            if (!expected.remove(posting)) {
+                stale.add(posting);
+            }
+        }
+        tagPostingRepository.insertAllIgnoringDuplicates(new ArrayList<>(expected));
+        if (!stale.isEmpty()) {
+            tagPostingRepository.deleteAll(stale);
+        }
+        return expected.size() + stale.size();
+    }
+
+    private static Map<TagType, Collection<String>> tagIds(Collection<String> skillIds, Collection<String> interestIds) {
+        Map<TagType, Collection<String>> tagIds = new EnumMap<>(TagType.class);
+        tagIds.put(TagType.SKILL, skillIds);
+        tagIds.put(TagType.INTEREST, interestIds);
+        return tagIds;
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.userservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.app.userservice.model.ProfileMatch;
+
+/**
+ * Conserve les K meilleurs résultats de matching dans un tas borné.
+ * <p>
+ * Le tas est ordonné du moins bon au meilleur : un candidat n'y entre que s'il bat le moins bon
+ * des K retenus, ce qui borne la mémoire à K éléments et le coût à O(n log K).
+ * À score égal, l'identifiant le plus petit l'emporte, pour un classement déterministe.
+ * Non thread-safe : chaque fil de calcul utilise son propre tas, fusionné ensuite par {@link #addAll}.
+ */
+public class TopMatches {
+
+    // Du moins bon au meilleur
+    private static final Comparator<ProfileMatch> WORST_FIRST = Comparator
+            .comparingDouble(ProfileMatch::getScore)
+            .thenComparing((ProfileMatch match) -> match.getUser().getId(), Comparator.reverseOrder());
+
+    private final int limit;
+    private final PriorityQueue<ProfileMatch> heap;
+
+    /**
+     * @param limit nombre maximal de résultats conservés
+     */
+    public TopMatches(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(Math.max(1, limit), WORST_FIRST);
+    }
+
+    /**
+     * Propose un résultat ; les scores nuls sont ignorés.
+     *
+     * @param match résultat à proposer
+     */
+    public void offer(ProfileMatch match) {
+        if (limit <= 0 || match.getScore() <= 0) {
+            return;
+        }
+        if (heap.size() < limit) {
+            heap.add(match);
+        } else if (WORST_FIRST.compare(match, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(match);
+        }
+    }
+
+    /**
+     * Fusionne les résultats d'un autre tas.
+     *
+     * @param other tas à fusionner
+     */
+    public void addAll(TopMatches other) {
+        for (ProfileMatch match : other.heap) {
+            offer(match);
+        }
+    }
+
+    /**
+     * Retourne les résultats retenus, du meilleur au moins bon.
+     */
+    public List<ProfileMatch> toSortedList() {
+        List<ProfileMatch> matches = new ArrayList<>(heap);
+        matches.sort(WORST_FIRST.reversed());
+        return matches;
+    }
+}
@@ -0,0 +1,239 @@
+package com.app.userservice.service.impl;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache local (L1) des profils utilisateurs, devant UserRepository.
+ * <p>
+ * Les profils sont stockés une seule fois, par identifiant, dans un cache borné par un
+ * poids estimé en octets. L'email, l'identifiant Keycloak et le nom d'utilisateur sont des
+ * clés secondaires qui pointent vers l'identifiant : les quatre clés partagent la même entrée.
+ * Les chargements concurrents d'une même clé absente sont regroupés en une seule lecture
+ * MongoDB (Caffeine exécute la fonction de chargement une seule fois par clé).
+ * <p>
+ * Les profils retournés sont des copies : un appelant peut les modifier sans altérer le cache.
+ * Les écritures doivent appeler {@link #invalidate(String)} une fois la base mise à jour ;
+ * la durée de vie des entrées borne l'incohérence avec les écritures des autres instances.
+ * Une invalidation survenue pendant un chargement l'emporte : le profil lu, peut-être antérieur
+ * à l'écriture, est renvoyé à l'appelant sans être mis en cache.
+ * <p>
+ * Les statistiques (succès, échecs, évictions, poids évincé) sont publiées par
+ * {@link CaffeineCacheMetrics} sous les noms {@code cache.*} avec {@code cache=users}.
+ */
+public class UserProfileCache {
+
+    /**
+     * Clés secondaires d'un profil.
+     */
+    public enum Alias {
+        EMAIL, KEYCLOAK_ID, USERNAME
+    }
+
+    // Estimation grossière de l'empreinte mémoire d'un profil
+    private static final int BASE_WEIGHT = 512;
+    private static final int TAG_WEIGHT = 128;
+    private static final int OBJECTIVE_WEIGHT = 384;
+
+    private final Cache<String, UserProfile> users;
+    private final Cache<String, String> aliases;
+
+    // Nombre d'invalidations, pour écarter les profils lus avant une écriture concurrente
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param maxWeightBytes poids maximal estimé des profils en cache, en octets
+     * @param maxAliases nombre maximal de clés secondaires
+     * @param ttl durée de vie d'une entrée après son chargement
+     * @param meterRegistry registre des métriques
+     */
+    public UserProfileCache(long maxWeightBytes, long maxAliases, Duration ttl, MeterRegistry meterRegistry) {
+        this.users = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String id, UserProfile user) -> weigh(user))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.aliases = Caffeine.newBuilder()
+                .maximumSize(maxAliases)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, aliases, "users.aliases");
+    }
+
+    /**
+     * Retourne le profil d'identifiant donné, en le chargeant au besoin.
+     *
+     * @param id identifiant du profil
+     * @param loader lecture en base, appelée au plus une fois pour des accès concurrents
+     * @return une copie du profil
+     */
+    public Optional<UserProfile> getById(String id, Function<String, Optional<UserProfile>> loader) {
+        UserProfile user = users.get(id, key -> loader.apply(key).orElse(null));
+        if (user != null) {
+            registerAliases(user);
+        }
+        return copyOf(user);
+    }
+
+    /**
+     * Retourne le profil correspondant à une clé secondaire, en le chargeant au besoin.
+     *
+     * @param alias type de clé secondaire
+     * @param value valeur de la clé (email, identifiant Keycloak ou nom d'utilisateur)
+     * @param loader lecture en base, appelée au plus une fois pour des accès concurrents
+     * @return une copie du profil
+     */
+    public Optional<UserProfile> getByAlias(Alias alias, String value, Function<String, Optional<UserProfile>> loader) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String key = aliasKey(alias, value);
+
+        String id = aliases.getIfPresent(key);
+        if (id != null) {
+            UserProfile cached = users.getIfPresent(id);
+            if (cached != null && value.equals(aliasValue(alias, cached))) {
+                return copyOf(cached);
+            }
+            // Profil évincé ou clé secondaire modifiée depuis : l'association est périmée
+            aliases.invalidate(key);
+        }
+
+        // L'identifiant n'est connu qu'après la lecture : une invalidation survenue pendant celle-ci
+        // est détectée par le compteur, relevé avant la lecture
+        long stamp = invalidations.get();
+        UserProfile[] loaded = new UserProfile[1];
+        String loadedId = aliases.get(key, k -> loader.apply(value)
+                .map(user -> {
+                    loaded[0] = user;
+                    putUnlessInvalidated(user, stamp);
+                    return user.getId();
+                })
+                .orElse(null));
+        if (loadedId == null) {
+            return Optional.empty();
+        }
+        UserProfile user = users.getIfPresent(loadedId);
+        if (user == null) {
+            // Invalidé pendant la lecture, ou évincé entre-temps : profil lu renvoyé sans être mis en cache,
+            // ou lecture directe si le chargement a été fait par un autre fil
+            return loaded[0] != null ? copyOf(loaded[0]) : loader.apply(value);
+        }
+        registerAliases(user);
+        return copyOf(user);
+    }
+
+    /**
+     * Retire un profil et ses clés secondaires du cache.
+     *
+     * @param id identifiant du profil modifié ou supprimé
+     */
+    public void invalidate(String id) {
+        if (id == null) {
+            return;
+        }
+        // Retrait sous le verrou de l'entrée : il est ordonné avec les insertions de putUnlessInvalidated
+        UserProfile[] removed = new UserProfile[1];
+        users.asMap().compute(id, (key, current) -> {
+            invalidations.incrementAndGet();
+            removed[0] = current;
+            return null;
+        });
+        UserProfile cached = removed[0];
+        if (cached != null) {
+            for (Alias alias : Alias.values()) {
+                String value = aliasValue(alias, cached);
+                if (value != null) {
+                    aliases.invalidate(aliasKey(alias, value));
+                }
+            }
+        }
+    }
+
+    // Insère le profil lu, sauf si une invalidation a eu lieu depuis le début de la lecture : le profil
+    // lu peut alors être antérieur à l'écriture, et ne doit pas être servi jusqu'à expiration.
+    // Le compteur est global : une invalidation d'un autre profil fait aussi renoncer à l'insertion,
+    // ce qui ne coûte qu'une lecture de plus.
+    private void putUnlessInvalidated(UserProfile user, long stamp) {
+        users.asMap().compute(user.getId(), (id, current) -> {
+            if (invalidations.get() != stamp) {
+                return current;
+            }
+            return current != null ? current : user;
+        });
+    }
+
+    private void registerAliases(UserProfile user) {
+        for (Alias alias : Alias.values()) {
+            String value = aliasValue(alias, user);
+            if (value != null) {
+                String key = aliasKey(alias, value);
+                if (!user.getId().equals(aliases.getIfPresent(key))) {
+                    aliases.put(key, user.getId());
+                }
+            }
+        }
+    }
+
+    private static String aliasKey(Alias alias, String value) {
+        return alias.name() + ':' + value;
+    }
+
+    private static String aliasValue(Alias alias, UserProfile user) {
+        return switch (alias) {
+            case EMAIL -> user.getEmail();
+            case KEYCLOAK_ID -> user.getKeycloakId();
+            case USERNAME -> user.getUsername();
+        };
+    }
+
+    private static Optional<UserProfile> copyOf(UserProfile user) {
+        return user == null ? Optional.empty() : Optional.of(new UserProfile(user));
+    }
+
+    static int weigh(UserProfile user) {
+        int weight = BASE_WEIGHT
+                + length(user.getUsername()) + length(user.getEmail()) + length(user.getKeycloakId())
+                + length(user.getBio()) + length(user.getProfilePictureUrl());
+        if (user.getSkills() != null) {
+            for (SkillTag skill : user.getSkills()) {
+                weight += TAG_WEIGHT + length(skill.getName()) + length(skill.getCategory());
+            }
+        }
+        if (user.getInterests() != null) {
+            for (InterestTag interest : user.getInterests()) {
+                weight += TAG_WEIGHT + length(interest.getName()) + length(interest.getCategory());
+            }
+        }
+        if (user.getLearningObjectives() != null) {
+            for (LearningObjective objective : user.getLearningObjectives()) {
+                weight += OBJECTIVE_WEIGHT + length(objective.getTitle()) + length(objective.getDescription());
+            }
+        }
+        if (user.getPartnershipIds() != null) {
+            weight += user.getPartnershipIds().size() * 64;
+        }
+        return weight;
+    }
+
+    // Deux octets par caractère (UTF-16) pour une estimation prudente
+    private static int length(String value) {
+        return Objects.requireNonNullElse(value, "").length() * 2;
+    }
+}
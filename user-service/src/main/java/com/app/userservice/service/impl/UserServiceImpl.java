@@ -2,12 +2,28 @@ package com.app.userservice.service.impl;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.app.userservice.event.TagCatalogChangedEvent;
+import com.app.userservice.event.UserObjectivesChangedEvent;
+import com.app.userservice.event.UserTagsChangedEvent;
 import com.app.userservice.model.InterestTag;
 import com.app.userservice.model.LearningObjective;
 import com.app.userservice.model.ProfileCompletionStatus;
@@ -17,22 +33,34 @@ import com.app.userservice.repository.UserRepository;
 import com.app.userservice.service.InterestService;
 import com.app.userservice.service.LearningObjectiveService;
 import com.app.userservice.service.SkillService;
+import com.app.userservice.service.TagIndexService;
 import com.app.userservice.service.UserService;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    // Profils rechargés par lot pour notifier la suppression d'un tag
+    private static final int TAG_EVENT_BATCH_SIZE = 500;
+
     private final UserRepository userRepository;
     private final SkillService skillService;
     private final InterestService interestService;
     private final LearningObjectiveService learningObjectiveService;
+    private final TagIndexService tagIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserProfileCache userCache;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, SkillService skillService, InterestService interestService, LearningObjectiveService learningObjectiveService) {
+    public UserServiceImpl(UserRepository userRepository, SkillService skillService, InterestService interestService,
+                           LearningObjectiveService learningObjectiveService, TagIndexService tagIndexService,
+                           ApplicationEventPublisher eventPublisher, UserProfileCache userCache) {
         this.userRepository = userRepository;
         this.skillService = skillService;
         this.interestService = interestService;
         this.learningObjectiveService = learningObjectiveService;
+        this.tagIndexService = tagIndexService;
+        this.eventPublisher = eventPublisher;
+        this.userCache = userCache;
     }
 
     @Override
@@ -55,20 +83,71 @@ public class UserServiceImpl implements UserService {
         // Initialiser le statut de complétion
         userProfile.setProfileCompletionStatus(ProfileCompletionStatus.INITIAL);
         
-        return userRepository.save(userProfile);
+        UserProfile savedUser = userRepository.save(userProfile);
+        publishTagsChanged(savedUser, true, true);
+        return savedUser;
     }
     
     @Override
-    public UserProfile updatePersonalInfo(String userId, String username, String bio, String profilePictureUrl) {
-        UserProfile user = getUserById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId));
+    public UserProfile provisionUser(UserProfile userProfile) {
+        String keycloakId = userProfile.getKeycloakId();
+        if (keycloakId == null || keycloakId.isBlank()) {
+            throw new IllegalArgumentException("L'identifiant Keycloak est obligatoire");
+        }
         
-        if (username != null && !username.isEmpty()) {
-            // Vérifier si le nom d'utilisateur est déjà pris
-            if (!user.getUsername().equals(username) && userRepository.existsByUsername(username)) {
-                throw new IllegalArgumentException("Ce nom d'utilisateur est déjà pris");
+        // Cas courant : l'utilisateur a déjà été créé par une requête précédente
+        Optional<UserProfile> existing = getUserByKeycloakId(keycloakId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        
+        Date now = new Date();
+        userProfile.setCreatedAt(now);
+        userProfile.setUpdatedAt(now);
+        userProfile.setProfileCompletionStatus(ProfileCompletionStatus.INITIAL);
+        // Toujours un nouveau document : identifiant et version sont attribués à l'insertion
+        userProfile.setId(null);
+        userProfile.setVersion(null);
+        
+        // Les index uniques (keycloakId, email, nom d'utilisateur) départagent les créations concurrentes,
+        // sans vérification existsBy préalable
+        UserProfile savedUser;
+        try {
+            savedUser = userRepository.insert(userProfile);
+        } catch (DuplicateKeyException e) {
+            // Création concurrente pour le même identifiant Keycloak : on renvoie le profil déjà créé
+            Optional<UserProfile> winner = userRepository.findByKeycloakId(keycloakId);
+            if (winner.isPresent()) {
+                return winner.get();
             }
-            user.setUsername(username);
+            // Profil existant avec cet email mais sans identifiant Keycloak (inscription directe, données initiales)
+            return userRepository.findByEmail(userProfile.getEmail())
+                .map(user -> linkKeycloakId(user, keycloakId))
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Un utilisateur avec cet email ou ce nom d'utilisateur existe déjà"));
+        }
+        publishTagsChanged(savedUser, true, true);
+        return savedUser;
+    }
+    
+    // Lie le profil trouvé par email à l'identifiant Keycloak s'il n'en a pas encore ;
+    // un profil déjà lié est renvoyé tel quel, comme le faisait la recherche par email de la gateway
+    private UserProfile linkKeycloakId(UserProfile user, String keycloakId) {
+        if (user.getKeycloakId() != null) {
+            return user;
+        }
+        Optional<UserProfile> linked = userRepository.attachKeycloakId(user.getId(), keycloakId);
+        userCache.invalidate(user.getId());
+        // Lié entre-temps par une autre requête : on relit le profil
+        return linked.orElseGet(() -> userRepository.findById(user.getId()).orElse(user));
+    }
+    
+    @Override
+    public UserProfile updatePersonalInfo(String userId, String username, String bio, String profilePictureUrl,
+                                          Long expectedVersion) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (username != null && !username.isEmpty()) {
+            fields.put("username", username);
         }
         
         if (bio != null) {
@@ -76,107 +155,79 @@ public class UserServiceImpl implements UserService {
             if (bio.length() > 150) {
                 bio = bio.substring(0, 150);
             }
-            user.setBio(bio);
+            fields.put("bio", bio);
         }
         
         if (profilePictureUrl != null) {
-            user.setProfilePictureUrl(profilePictureUrl);
+            fields.put("profilePictureUrl", profilePictureUrl);
         }
+        fields.put("updatedAt", new Date());
         
-        // Mettre à jour le statut de complétion
-        if (user.getProfileCompletionStatus() == ProfileCompletionStatus.INITIAL) {
-            user.setProfileCompletionStatus(ProfileCompletionStatus.PERSONAL_INFO_COMPLETED);
+        // Une seule écriture, sans lecture préalable : le statut progresse s'il était encore INITIAL
+        // et l'index unique sur le nom d'utilisateur remplace la vérification existsByUsername
+        UserProfile savedUser;
+        try {
+            savedUser = userRepository.updateFields(userId, expectedVersion, fields,
+                    ProfileCompletionStatus.INITIAL, ProfileCompletionStatus.PERSONAL_INFO_COMPLETED)
+                .orElseThrow(() -> updateFailure(userId, expectedVersion));
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Ce nom d'utilisateur est déjà pris");
         }
-        
-        user.setUpdatedAt(new Date());
-        return userRepository.save(user);
+        userCache.invalidate(userId);
+        return savedUser;
     }
     
     @Override
-    public UserProfile updateInterests(String userId, List<InterestTag> interests) {
-        UserProfile user = getUserById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId));
+    public UserProfile updateInterests(String userId, List<InterestTag> interests, Long expectedVersion) {
+        Map<String, Object> fields = new LinkedHashMap<>();
         
         // Traiter les intérêts
         if (interests != null && !interests.isEmpty()) {
-            List<InterestTag> processedInterests = new ArrayList<>();
-            
-            for (InterestTag interest : interests) {
-                if (interest.getId() == null) {
-                    // Vérifier si un intérêt avec ce nom existe déjà
-                    Optional<InterestTag> existingInterest = interestService.getInterestByName(interest.getName());
-                    
-                    if (existingInterest.isPresent()) {
-                        // Utiliser l'intérêt existant
-                        processedInterests.add(existingInterest.get());
-                    } else {
-                        try {
-                            // Créer un nouvel intérêt
-                            InterestTag newInterest = new InterestTag();
-                            newInterest.setName(interest.getName());
-                            newInterest.setCategory(interest.getCategory());
-                            newInterest.setPredefined(false);
-                            
-                            InterestTag savedInterest = interestService.createInterest(newInterest);
-                            processedInterests.add(savedInterest);
-                        } catch (Exception e) {
-                            // En cas d'erreur, essayer de récupérer l'intérêt qui vient d'être créé
-                            Optional<InterestTag> justCreatedInterest = interestService.getInterestByName(interest.getName());
-                            if (justCreatedInterest.isPresent()) {
-                                processedInterests.add(justCreatedInterest.get());
-                            }
-                        }
-                    }
-                } else {
-                    // Vérifier que l'intérêt existe
-                    Optional<InterestTag> existingInterest = interestService.getInterestById(interest.getId());
-                    if (existingInterest.isPresent()) {
-                        processedInterests.add(existingInterest.get());
-                    }
-                }
-            }
-            
-            user.setInterests(processedInterests);
-        }
-        
-        // Mettre à jour le statut de complétion
-        if (user.getProfileCompletionStatus() == ProfileCompletionStatus.PERSONAL_INFO_COMPLETED) {
-            user.setProfileCompletionStatus(ProfileCompletionStatus.INTERESTS_COMPLETED);
+            fields.put("interests", resolveInterestSnapshots(interests));
         }
+        fields.put("updatedAt", new Date());
         
-        user.setUpdatedAt(new Date());
-        return userRepository.save(user);
+        UserProfile savedUser = userRepository.updateFields(userId, expectedVersion, fields,
+                ProfileCompletionStatus.PERSONAL_INFO_COMPLETED, ProfileCompletionStatus.INTERESTS_COMPLETED)
+            .orElseThrow(() -> updateFailure(userId, expectedVersion));
+        userCache.invalidate(userId);
+        publishTagsChanged(savedUser, false, true);
+        return savedUser;
     }
     
     @Override
-    public UserProfile updateLearningObjectives(String userId, List<LearningObjective> objectives) {
-        UserProfile user = getUserById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId));
-        
+    public UserProfile updateLearningObjectives(String userId, List<LearningObjective> objectives, Long expectedVersion) {
         // Vérifier le nombre d'objectifs (maximum 3)
         if (objectives != null && objectives.size() > 3) {
             throw new IllegalArgumentException("Vous ne pouvez pas avoir plus de 3 objectifs d'apprentissage");
         }
         
+        Map<String, Object> fields = new LinkedHashMap<>();
         if (objectives != null) {
-            // Attacher l'utilisateur aux objectifs
-            for (LearningObjective objective : objectives) {
-                objective.setUserId(userId);
+            // Les objectifs sont créés dans leur collection : s'assurer d'abord que le profil existe
+            if (!userRepository.existsById(userId)) {
+                throw new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId);
             }
-            
-            user.setLearningObjectives(objectives);
-            
-            // Traiter les objectifs d'apprentissage
-            processLearningObjectives(user);
+            fields.put("learningObjectives", resolveLearningObjectives(userId, objectives));
         }
+        fields.put("updatedAt", new Date());
         
-        // Mettre à jour le statut de complétion
-        if (user.getProfileCompletionStatus() == ProfileCompletionStatus.INTERESTS_COMPLETED) {
-            user.setProfileCompletionStatus(ProfileCompletionStatus.COMPLETED);
+        UserProfile savedUser = userRepository.updateFields(userId, expectedVersion, fields,
+                ProfileCompletionStatus.INTERESTS_COMPLETED, ProfileCompletionStatus.COMPLETED)
+            .orElseThrow(() -> updateFailure(userId, expectedVersion));
+        userCache.invalidate(userId);
+        if (objectives != null) {
+            eventPublisher.publishEvent(new UserObjectivesChangedEvent(userId));
         }
-        
-        user.setUpdatedAt(new Date());
-        return userRepository.save(user);
+        return savedUser;
+    }
+    
+    // Aucune mise à jour : profil inexistant, ou version différente de celle attendue
+    private RuntimeException updateFailure(String userId, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.existsById(userId)) {
+            return new OptimisticLockingFailureException("Le profil a été modifié entre-temps, veuillez le recharger");
+        }
+        return new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + userId);
     }
     
     @Override
@@ -186,30 +237,65 @@ public class UserServiceImpl implements UserService {
             
         return user.getProfileCompletionStatus();
     }
+    
+    @Override
+    @EventListener
+    public void onTagCatalogChanged(TagCatalogChangedEvent event) {
+        // Un seul updateMulti pour tous les profils qui portent le tag, puis invalidation de leurs copies en cache
+        String field = event.getCatalog().getProfileField();
+        List<String> userIds = event.isDeleted()
+            ? userRepository.pullTagSnapshots(field, event.getTagId())
+            : userRepository.updateTagSnapshots(field, event.getTagId(), event.getName(), event.getCategory());
+        userIds.forEach(userCache::invalidate);
+        if (event.isDeleted()) {
+            // Les signatures de similarité et les recommandations des profils concernés portent encore sur le tag
+            for (int from = 0; from < userIds.size(); from += TAG_EVENT_BATCH_SIZE) {
+                List<String> batch = userIds.subList(from, Math.min(from + TAG_EVENT_BATCH_SIZE, userIds.size()));
+                userRepository.findAllById(batch).forEach(user -> publishTagsChanged(user, true, true));
+            }
+        }
+    }
 
     @Override
     public List<UserProfile> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Override
+    public List<UserProfile> getUsersPage(String afterId, int size) {
+        Limit limit = Limit.of(size);
+        if (afterId == null) {
+            return userRepository.findAllByOrderByIdAsc(limit);
+        }
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+    }
+
+    @Override
+    public void forEachUser(Consumer<UserProfile> consumer) {
+        try (Stream<UserProfile> users = userRepository.streamAllByOrderByIdAsc()) {
+            users.forEach(consumer);
+        }
+    }
+
     @Override
     public Optional<UserProfile> getUserById(String id) {
-        return userRepository.findById(id);
+        return userCache.getById(id, userRepository::findById);
     }
 
     @Override
     public Optional<UserProfile> getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+        // Appelé par la gateway à chaque requête authentifiée : servi par le cache
+        return userCache.getByAlias(UserProfileCache.Alias.EMAIL, email, userRepository::findByEmail);
     }
     
     @Override
     public Optional<UserProfile> getUserByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCache.getByAlias(UserProfileCache.Alias.USERNAME, username, userRepository::findByUsername);
     }
     
     @Override
     public Optional<UserProfile> getUserByKeycloakId(String keycloakId) {
-        return userRepository.findByKeycloakId(keycloakId);
+        return userCache.getByAlias(UserProfileCache.Alias.KEYCLOAK_ID, keycloakId, userRepository::findByKeycloakId);
     }
 
     @Override
@@ -246,6 +332,12 @@ public class UserServiceImpl implements UserService {
             userProfile.setCreatedAt(currentUser.getCreatedAt());
         }
         
+        // Sans version fournie par le client, la sauvegarde se fait sur la version lue ;
+        // une version fournie active le contrôle optimiste contre les écritures concurrentes
+        if (userProfile.getVersion() == null) {
+            userProfile.setVersion(currentUser.getVersion());
+        }
+        
         // Mettre à jour la date de dernière modification
         userProfile.setUpdatedAt(new Date());
         
@@ -254,140 +346,100 @@ public class UserServiceImpl implements UserService {
         processInterests(userProfile);
         processLearningObjectives(userProfile);
         
-        return userRepository.save(userProfile);
+        UserProfile savedUser = userRepository.save(userProfile);
+        userCache.invalidate(id);
+        publishTagsChanged(savedUser, true, true);
+        eventPublisher.publishEvent(new UserObjectivesChangedEvent(id));
+        return savedUser;
+    }
+    
+    // Notifie les index (tag → utilisateurs) des nouveaux tags du profil
+    private void publishTagsChanged(UserProfile user, boolean skills, boolean interests) {
+        List<String> skillIds = skills ? tagIds(user.getSkills(), SkillTag::getId) : null;
+        List<String> interestIds = interests ? tagIds(user.getInterests(), InterestTag::getId) : null;
+        eventPublisher.publishEvent(new UserTagsChangedEvent(user.getId(), skillIds, interestIds));
+    }
+    
+    private <T> List<String> tagIds(List<T> tags, Function<T, String> idOf) {
+        if (tags == null) {
+            return List.of();
+        }
+        return tags.stream()
+            .map(idOf)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
     
     // Méthode d'aide pour traiter les compétences
     private void processSkills(UserProfile userProfile) {
         if (userProfile.getSkills() != null && !userProfile.getSkills().isEmpty()) {
-            List<SkillTag> processedSkills = new ArrayList<>();
-            
-            for (SkillTag skill : userProfile.getSkills()) {
-                if (skill.getId() == null) {
-                    // Vérifier si une compétence avec ce nom existe déjà
-                    Optional<SkillTag> existingSkill = skillService.getSkillByName(skill.getName());
-                    
-                    if (existingSkill.isPresent()) {
-                        // Utiliser la compétence existante
-                        processedSkills.add(existingSkill.get());
-                    } else {
-                        try {
-                            // Créer une nouvelle compétence
-                            SkillTag newSkill = new SkillTag();
-                            newSkill.setName(skill.getName());
-                            newSkill.setCategory(skill.getCategory());
-                            newSkill.setLevel(skill.getLevel());
-                            newSkill.setPredefined(false);
-                            
-                            SkillTag savedSkill = skillService.createSkill(newSkill);
-                            processedSkills.add(savedSkill);
-                        } catch (Exception e) {
-                            // En cas d'erreur, essayer de récupérer la compétence qui vient d'être créée
-                            Optional<SkillTag> justCreatedSkill = skillService.getSkillByName(skill.getName());
-                            if (justCreatedSkill.isPresent()) {
-                                processedSkills.add(justCreatedSkill.get());
-                            }
-                        }
-                    }
-                } else {
-                    // Vérifier que la compétence existe
-                    Optional<SkillTag> existingSkill = skillService.getSkillById(skill.getId());
-                    if (existingSkill.isPresent()) {
-                        processedSkills.add(existingSkill.get());
-                    }
-                }
-            }
-            
-            userProfile.setSkills(processedSkills);
+            // Résolution par lot, puis stockage d'instantanés compacts plutôt que de références
+            userProfile.setSkills(skillService.resolveSkills(userProfile.getSkills()).stream()
+                .map(SkillTag::toSnapshot)
+                .collect(Collectors.toList()));
         }
     }
     
     // Méthode d'aide pour traiter les intérêts
     private void processInterests(UserProfile userProfile) {
         if (userProfile.getInterests() != null && !userProfile.getInterests().isEmpty()) {
-            List<InterestTag> processedInterests = new ArrayList<>();
-            
-            for (InterestTag interest : userProfile.getInterests()) {
-                if (interest.getId() == null) {
-                    // Vérifier si un intérêt avec ce nom existe déjà
-                    Optional<InterestTag> existingInterest = interestService.getInterestByName(interest.getName());
-                    
-                    if (existingInterest.isPresent()) {
-                        // Utiliser l'intérêt existant
-                        processedInterests.add(existingInterest.get());
-                    } else {
-                        try {
-                            // Créer un nouvel intérêt
-                            InterestTag newInterest = new InterestTag();
-                            newInterest.setName(interest.getName());
-                            newInterest.setCategory(interest.getCategory());
-                            newInterest.setPredefined(false);
-                            
-                            InterestTag savedInterest = interestService.createInterest(newInterest);
-                            processedInterests.add(savedInterest);
-                        } catch (Exception e) {
-                            // En cas d'erreur, essayer de récupérer l'intérêt qui vient d'être créé
-                            Optional<InterestTag> justCreatedInterest = interestService.getInterestByName(interest.getName());
-                            if (justCreatedInterest.isPresent()) {
-                                processedInterests.add(justCreatedInterest.get());
-                            }
-                        }
-                    }
-                } else {
-                    // Vérifier que l'intérêt existe
-                    Optional<InterestTag> existingInterest = interestService.getInterestById(interest.getId());
-                    if (existingInterest.isPresent()) {
-                        processedInterests.add(existingInterest.get());
-                    }
-                }
-            }
-            
-            userProfile.setInterests(processedInterests);
+            userProfile.setInterests(resolveInterestSnapshots(userProfile.getInterests()));
         }
     }
 
+    // Résout les intérêts par lot et les convertit en instantanés embarqués
+    private List<InterestTag> resolveInterestSnapshots(List<InterestTag> interests) {
+        return interestService.resolveInterests(interests).stream()
+            .map(InterestTag::toSnapshot)
+            .collect(Collectors.toList());
+    }
+
     // Méthode d'aide pour traiter les objectifs d'apprentissage
     private void processLearningObjectives(UserProfile userProfile) {
         if (userProfile.getLearningObjectives() != null && !userProfile.getLearningObjectives().isEmpty()) {
-            List<LearningObjective> processedObjectives = new ArrayList<>();
-            
-            for (LearningObjective objective : userProfile.getLearningObjectives()) {
-                if (objective.getId() == null) {
-                    // Vérifier si un objectif avec ce titre existe déjà pour cet utilisateur
-                    Optional<LearningObjective> existingObjective = 
-                        learningObjectiveService.getObjectiveByTitleAndUserId(objective.getTitle(), userProfile.getId());
-                    
-                    if (existingObjective.isPresent()) {
-                        // Utiliser l'objectif existant
-                        processedObjectives.add(existingObjective.get());
-                    } else {
-                        try {
-                            // S'assurer que l'utilisateur est correctement assigné
-                            objective.setUserId(userProfile.getId());
-                            
-                            // Créer un nouvel objectif
-                            LearningObjective savedObjective = learningObjectiveService.createObjective(objective);
-                            processedObjectives.add(savedObjective);
-                        } catch (Exception e) {
-                            // En cas d'erreur, essayer de récupérer l'objectif qui vient d'être créé
-                            Optional<LearningObjective> justCreatedObjective = 
-                                learningObjectiveService.getObjectiveByTitleAndUserId(objective.getTitle(), userProfile.getId());
-                            if (justCreatedObjective.isPresent()) {
-                                processedObjectives.add(justCreatedObjective.get());
-                            }
-                        }
-                    }
+            userProfile.setLearningObjectives(
+                resolveLearningObjectives(userProfile.getId(), userProfile.getLearningObjectives()));
+        }
+    }
+    
+    // Retrouve ou crée chaque objectif dans sa collection et retourne les copies à embarquer
+    private List<LearningObjective> resolveLearningObjectives(String userId, List<LearningObjective> objectives) {
+        List<LearningObjective> processedObjectives = new ArrayList<>();
+        for (LearningObjective objective : objectives) {
+            if (objective.getId() == null) {
+                // Vérifier si un objectif avec ce titre existe déjà pour cet utilisateur
+                Optional<LearningObjective> existingObjective = 
+                    learningObjectiveService.getObjectiveByTitleAndUserId(objective.getTitle(), userId);
+                
+                if (existingObjective.isPresent()) {
+                    // Utiliser l'objectif existant
+                    processedObjectives.add(existingObjective.get());
                 } else {
-                    // Vérifier que l'objectif existe
-                    Optional<LearningObjective> existingObjective = learningObjectiveService.getObjectiveById(objective.getId());
-                    if (existingObjective.isPresent()) {
-                        processedObjectives.add(existingObjective.get());
+                    try {
+                        // S'assurer que l'utilisateur est correctement assigné
+                        objective.setUserId(userId);
+                        
+                        // Créer un nouvel objectif
+                        LearningObjective savedObjective = learningObjectiveService.createObjective(objective);
+                        processedObjectives.add(savedObjective);
+                    } catch (Exception e) {
+                        // En cas d'erreur, essayer de récupérer l'objectif qui vient d'être créé
+                        Optional<LearningObjective> justCreatedObjective = 
+                            learningObjectiveService.getObjectiveByTitleAndUserId(objective.getTitle(), userId);
+                        if (justCreatedObjective.isPresent()) {
+                            processedObjectives.add(justCreatedObjective.get());
+                        }
                     }
                 }
+            } else {
+                // Vérifier que l'objectif existe
+                Optional<LearningObjective> existingObjective = learningObjectiveService.getObjectiveById(objective.getId());
+                if (existingObjective.isPresent()) {
+                    processedObjectives.add(existingObjective.get());
+                }
             }
-            
-            userProfile.setLearningObjectives(processedObjectives);
         }
+        return processedObjectives;
     }
 
     @Override
@@ -396,15 +448,43 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + id);
         }
         userRepository.deleteById(id);
+        userCache.invalidate(id);
+        eventPublisher.publishEvent(UserTagsChangedEvent.removed(id));
     }
 
     @Override
     public List<UserProfile> findUsersBySkill(String skillName) {
-        return userRepository.findBySkillsName(skillName);
+        return findUsersByTags(List.of(skillName), List.of(), false);
     }
 
     @Override
     public List<UserProfile> findUsersByInterest(String interestName) {
-        return userRepository.findByInterestsName(interestName);
+        return findUsersByTags(List.of(), List.of(interestName), false);
+    }
+
+    @Override
+    public List<UserProfile> findUsersByTags(List<String> skillNames, List<String> interestNames, boolean matchAll) {
+        List<String> skillIds = skillNames.isEmpty() ? List.of() : skillService.getSkillsByNames(skillNames).stream()
+            .map(SkillTag::getId)
+            .collect(Collectors.toList());
+        List<String> interestIds = interestNames.isEmpty() ? List.of() : interestService.getInterestsByNames(interestNames).stream()
+            .map(InterestTag::getId)
+            .collect(Collectors.toList());
+        
+        // En mode ET, un tag inconnu ne peut être possédé par personne
+        boolean unknownTag = skillIds.size() < new HashSet<>(skillNames).size()
+            || interestIds.size() < new HashSet<>(interestNames).size();
+        if (matchAll && unknownTag) {
+            return List.of();
+        }
+        
+        // Lecture des posting lists, puis chargement des profils par _id
+        List<String> userIds = tagIndexService.findUserIds(skillIds, interestIds, matchAll);
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        List<UserProfile> users = new ArrayList<>();
+        userRepository.findAllById(userIds).forEach(users::add);
+        return users;
     }
 } 
\ No newline at end of file
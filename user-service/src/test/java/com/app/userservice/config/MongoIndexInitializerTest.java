@@ -0,0 +1,84 @@
+package com.app.userservice.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+@ExtendWith(MockitoExtension.class)
+public class MongoIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private IndexOperations indexOps;
+
+    @BeforeEach
+    public void setUp() {
+        when(mongoTemplate.indexOps(anyString())).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+    }
+
+    @Test
+    public void testStartupFailsWhenAUniqueIndexCannotBeCreated() {
+        // Arrange : des emails en double empêchent la création de l'index d'unicité
+        when(indexOps.ensureIndex(any())).thenAnswer(invocation -> {
+            Index index = invocation.getArgument(0);
+            if (index.getIndexKeys().containsKey("email")) {
+                throw new DuplicateKeyException("E11000 duplicate key error");
+            }
+            return "created";
+        });
+
+        // Act & Assert
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new MongoIndexInitializer().ensureIndexes(mongoTemplate));
+        assertTrue(e.getMessage().contains("email"));
+    }
+
+    @Test
+    public void testOtherIndexFailuresAreOnlyReported() {
+        // Arrange
+        when(indexOps.ensureIndex(any())).thenAnswer(invocation -> {
+            Index index = invocation.getArgument(0);
+            if (index.getIndexKeys().containsKey("skills._id")) {
+                throw new DuplicateKeyException("E11000 duplicate key error");
+            }
+            return "created";
+        });
+
+        // Act & Assert
+        assertDoesNotThrow(() -> new MongoIndexInitializer().ensureIndexes(mongoTemplate));
+    }
+
+    @Test
+    public void testObsoleteIndexesAreDropped() {
+        // Arrange
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(IndexField.create("skills.name", Sort.Direction.ASC)), "skills_name", false, false, "")));
+
+        // Act
+        new MongoIndexInitializer().ensureIndexes(mongoTemplate);
+
+        // Assert
+        verify(indexOps).dropIndex("skills_name");
+    }
+}
@@ -0,0 +1,97 @@
+package com.app.userservice.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mongodb.DBRef;
+
+/**
+ * Migration des profils à références (@DBRef) vers des copies embarquées, sur un MongoDB réel.
+ * Nécessite Docker ; ignoré sinon.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+public class TagSnapshotMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static final ObjectId JAVA = new ObjectId("662f1b2c3d4e5f6a7b8c9d01");
+    private static final ObjectId DELETED = new ObjectId("662f1b2c3d4e5f6a7b8c9d02");
+    private static final ObjectId MUSIC = new ObjectId("662f1b2c3d4e5f6a7b8c9d03");
+    private static final ObjectId OBJECTIVE = new ObjectId("662f1b2c3d4e5f6a7b8c9d04");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        List.of("users", "skills", "interests", "learning_objectives").forEach(mongoTemplate::dropCollection);
+        mongoTemplate.getCollection("skills").insertOne(new Document("_id", JAVA)
+                .append("name", "Java").append("category", "Programmation").append("isPredefined", true)
+                .append("level", 3).append("_class", "com.app.userservice.model.SkillTag"));
+        mongoTemplate.getCollection("learning_objectives").insertOne(new Document("_id", OBJECTIVE)
+                .append("title", "Spring").append("progressPercentage", 40).append("userId", "u1")
+                .append("_class", "com.app.userservice.model.LearningObjective"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReferencesAreReplacedBySnapshots() {
+        // Arrange
+        Document embeddedInterest = new Document("_id", MUSIC).append("name", "Musique").append("category", "Art");
+        mongoTemplate.getCollection("users").insertOne(new Document("_id", "u1")
+                .append("username", "alice")
+                .append("skills", List.of(new DBRef("skills", JAVA), new DBRef("skills", DELETED)))
+                .append("interests", List.of(embeddedInterest))
+                .append("learningObjectives", List.of(new DBRef("learning_objectives", OBJECTIVE))));
+
+        // Act
+        int migrated = new TagSnapshotMigration().migrate(mongoTemplate);
+
+        // Assert
+        assertEquals(1, migrated);
+        Document user = mongoTemplate.getCollection("users").find(new Document("_id", "u1")).first();
+        List<Document> skills = (List<Document>) user.get("skills");
+        assertEquals(1, skills.size());
+        assertEquals(new Document("_id", JAVA).append("name", "Java").append("category", "Programmation")
+                .append("isPredefined", true), skills.get(0));
+        assertEquals(List.of(embeddedInterest), user.get("interests"));
+        Document objective = ((List<Document>) user.get("learningObjectives")).get(0);
+        assertEquals("Spring", objective.getString("title"));
+        assertFalse(objective.containsKey("_class"));
+    }
+
+    @Test
+    public void testMigrationIsIdempotent() {
+        // Arrange
+        mongoTemplate.getCollection("users").insertOne(new Document("_id", "u1")
+                .append("skills", List.of(new DBRef("skills", JAVA))));
+        mongoTemplate.getCollection("users").insertOne(new Document("_id", "u2")
+                .append("skills", List.of(new Document("_id", JAVA).append("name", "Java"))));
+        TagSnapshotMigration migration = new TagSnapshotMigration();
+
+        // Act
+        int first = migration.migrate(mongoTemplate);
+        int second = migration.migrate(mongoTemplate);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.userservice.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.app.userservice.dto.UserPageDTO;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.service.MatchingService;
+import com.app.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class UserControllerTest {
+
+    private static final String FIRST_ID = "662f1b2c3d4e5f6a7b8c9d01";
+    private static final String SECOND_ID = "662f1b2c3d4e5f6a7b8c9d02";
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private MatchingService matchingService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new UserController(userService, matchingService, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    public void testFullPageReturnsTheCursorOfItsLastUser() throws Exception {
+        // Arrange
+        when(userService.getUsersPage(null, 2)).thenReturn(List.of(user(FIRST_ID, "alice"), user(SECOND_ID, "bob")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users.length()").value(2))
+                .andExpect(jsonPath("$.data.size").value(2))
+                .andExpect(jsonPath("$.data.nextCursor").value(UserPageDTO.encodeCursor(SECOND_ID)));
+    }
+
+    @Test
+    public void testCursorResumesAfterTheLastUserAndLastPageHasNoCursor() throws Exception {
+        // Arrange
+        when(userService.getUsersPage(FIRST_ID, 2)).thenReturn(List.of(user(SECOND_ID, "bob")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("cursor", UserPageDTO.encodeCursor(FIRST_ID)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users[0].username").value("bob"))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void testPageSizeAndCursorAreValidated() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("size", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("size", "101")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("cursor", UserPageDTO.encodeCursor("alice")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Curseur de pagination invalide"));
+        mockMvc.perform(get("/api/users").param("cursor", "%%%")).andExpect(status().isBadRequest());
+        verify(userService, never()).getUsersPage(any(), anyInt());
+    }
+
+    @Test
+    public void testCursorRoundTrip() {
+        // Act & Assert
+        assertEquals(FIRST_ID, UserPageDTO.decodeCursor(UserPageDTO.encodeCursor(FIRST_ID)));
+        assertThrows(IllegalArgumentException.class, () -> UserPageDTO.decodeCursor("not base64!"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamWritesOneProfilePerLine() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<UserProfile> consumer = invocation.getArgument(0);
+            consumer.accept(user(FIRST_ID, "alice"));
+            consumer.accept(user(SECOND_ID, "bob"));
+            return null;
+        }).when(userService).forEachUser(any());
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+
+        // Assert
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals("alice", objectMapper.readTree(lines[0]).get("username").asText());
+        assertEquals("bob", objectMapper.readTree(lines[1]).get("username").asText());
+    }
+
+    private static UserProfile user(String id, String username) {
+        return new UserProfile(id, "kc-" + username, username, null, null, username + "@example.com", null, null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.app.userservice.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.endpoint.OperationType;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointsSupplier;
+import org.springframework.boot.actuate.endpoint.web.WebOperation;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MongoDiagnosticsEndpointTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(EndpointAutoConfiguration.class, WebEndpointAutoConfiguration.class))
+            .withBean(MongoDiagnostics.class, () -> new MongoDiagnostics(true, Duration.ofMillis(100), 10, 10,
+                    new SimpleMeterRegistry()))
+            .withBean(MongoDiagnosticsEndpoint.class)
+            .withPropertyValues("management.endpoints.web.exposure.include=mongodiagnostics");
+
+    @Test
+    public void testWriteOperationIsNotExposedByDefault() {
+        // Act & Assert : seule la lecture est publiée sur HTTP
+        contextRunner.run(context -> assertEquals(Set.of(OperationType.READ),
+                webOperations(context.getBean(WebEndpointsSupplier.class))));
+    }
+
+    @Test
+    public void testWriteOperationCanBeOptedIn() {
+        // Act & Assert
+        contextRunner.withPropertyValues("management.endpoint.mongodiagnostics.access=UNRESTRICTED")
+                .run(context -> assertEquals(Set.of(OperationType.READ, OperationType.WRITE),
+                        webOperations(context.getBean(WebEndpointsSupplier.class))));
+    }
+
+    private static Set<OperationType> webOperations(WebEndpointsSupplier endpoints) {
+        return endpoints.getEndpoints().stream()
+                .filter(endpoint -> endpoint.getEndpointId().toString().equals("mongodiagnostics"))
+                .flatMap(endpoint -> endpoint.getOperations().stream())
+                .map(WebOperation::getType)
+                .collect(Collectors.toSet());
+    }
+}
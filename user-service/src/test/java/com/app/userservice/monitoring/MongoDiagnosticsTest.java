@@ -0,0 +1,88 @@
+package com.app.userservice.monitoring;
+
+import static com.app.userservice.monitoring.QueryCountFilterTest.command;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.app.userservice.monitoring.MongoDiagnostics.RepeatedQueries;
+import com.app.userservice.monitoring.MongoDiagnostics.SlowQuery;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MongoDiagnosticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoDiagnostics diagnostics = new MongoDiagnostics(true, Duration.ofMillis(100), 2, 10, meterRegistry);
+
+    @Test
+    public void testSlowQueryIsReportedWithItsShape() {
+        // Arrange
+        SlowQueryListener listener = new SlowQueryListener(diagnostics);
+        listener.commandStarted(command(1, "find", "{find: 'users', filter: {'skills.name': 'Java', _id: {$in: ['a', 'b']}}}"));
+        listener.commandStarted(command(2, "find", "{find: 'skills', filter: {name: 'Java'}}"));
+
+        // Act : la première commande dure 250 ms, la seconde 5 ms
+        listener.commandSucceeded(succeeded(1, TimeUnit.MILLISECONDS.toNanos(250)));
+        listener.commandSucceeded(succeeded(2, TimeUnit.MILLISECONDS.toNanos(5)));
+
+        // Assert
+        List<SlowQuery> slowQueries = diagnostics.recentSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals("users", slowQueries.get(0).collection());
+        assertEquals("{skills.name: ?, _id: {$in: [?]}}", slowQueries.get(0).shape());
+        assertEquals(250, slowQueries.get(0).durationMillis());
+        assertEquals(1.0, meterRegistry.get("mongodb.diagnostics.slow.queries").tag("collection", "users").counter().count());
+    }
+
+    @Test
+    public void testRepeatedQueriesAreFlaggedUntilDisabledAtRuntime() throws Exception {
+        // Arrange
+        MongoQueryTracker tracker = new MongoQueryTracker(diagnostics);
+        QueryCountingCommandListener listener = new QueryCountingCommandListener(tracker);
+        QueryCountFilter filter = new QueryCountFilter(tracker, diagnostics, meterRegistry);
+
+        // Act : trois lectures de skills (seuil 2), puis la même requête après désactivation
+        runRequest(filter, listener);
+        diagnostics.configure(false, null, null);
+        runRequest(filter, listener);
+
+        // Assert
+        List<RepeatedQueries> flagged = diagnostics.recentRepeatedQueries();
+        assertEquals(1, flagged.size());
+        assertEquals("GET /api/users/{id}", flagged.get(0).request());
+        assertEquals("skills", flagged.get(0).collection());
+        assertEquals(3, flagged.get(0).count());
+        assertFalse(flagged.get(0).origin().isEmpty());
+    }
+
+    private void runRequest(QueryCountFilter filter, QueryCountingCommandListener listener) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/u1");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+            listener.commandStarted(command("find", "{find: 'users'}"));
+            for (int i = 0; i < 3; i++) {
+                listener.commandStarted(command("find", "{find: 'skills'}"));
+            }
+        });
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, long nanos) {
+        ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+        return new CommandSucceededEvent(null, 1, requestId, connection, "user_service_db", "find", new BsonDocument(), nanos);
+    }
+}
@@ -0,0 +1,68 @@
+package com.app.userservice.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoDiagnostics diagnostics = new MongoDiagnostics(false, Duration.ofMillis(100), 10, 10, meterRegistry);
+    private final MongoQueryTracker tracker = new MongoQueryTracker(diagnostics);
+    private final QueryCountingCommandListener listener = new QueryCountingCommandListener(tracker);
+    private final QueryCountFilter filter = new QueryCountFilter(tracker, diagnostics, meterRegistry);
+
+    @Test
+    public void testQueriesOfARequestAreRecordedPerRoute() throws Exception {
+        // Arrange : un profil puis ses tags lus un par un, et une commande d'administration ignorée
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/u1");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+                listener.commandStarted(command("find", "{find: 'users'}"));
+                listener.commandStarted(command("find", "{find: 'skills'}"));
+                listener.commandStarted(command("getMore", "{getMore: 1, collection: 'skills'}"));
+                listener.commandStarted(command("hello", "{hello: 1}"));
+            }
+        });
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        listener.commandStarted(command("find", "{find: 'users'}"));
+
+        // Assert
+        DistributionSummary summary = meterRegistry.get(QueryCountFilter.METRIC)
+                .tag("uri", "/api/users/{id}").tag("method", "GET").summary();
+        assertEquals(1, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+    }
+
+    static CommandStartedEvent command(String name, String json) {
+        return command(1, name, json);
+    }
+
+    static CommandStartedEvent command(int requestId, String name, String json) {
+        ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+        return new CommandStartedEvent(null, 1, requestId, connection, "user_service_db", name, BsonDocument.parse(json));
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.app.userservice.model.DirtyUser;
+
+/**
+ * File des recommandations à recalculer sur un MongoDB réel.
+ * Nécessite Docker ; ignoré sinon.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+public class DirtyUserRepositoryCustomImplTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private DirtyUserRepository dirtyUserRepository;
+
+    @BeforeEach
+    public void setUp() {
+        dirtyUserRepository.deleteAll();
+    }
+
+    @Test
+    public void testRemarkedUserKeepsItsPlaceInTheQueue() throws Exception {
+        // Arrange
+        dirtyUserRepository.markDirty(List.of("u1"));
+        Thread.sleep(5);
+        dirtyUserRepository.markDirty(List.of("u2"));
+
+        // Act : u1 est marqué à nouveau, plusieurs fois
+        dirtyUserRepository.markDirty(List.of("u1"));
+        dirtyUserRepository.markDirty(List.of("u1"));
+
+        // Assert
+        List<DirtyUser> queue = dirtyUserRepository.findAllByOrderByDirtyAtAsc(Limit.of(10));
+        assertEquals(List.of("u1", "u2"), queue.stream().map(DirtyUser::getId).toList());
+        assertEquals(3, queue.get(0).getMarks());
+    }
+
+    @Test
+    public void testEntryMarkedDuringProcessingStaysQueued() {
+        // Arrange : entrée antérieure au compteur, et entrée marquée pendant le calcul
+        dirtyUserRepository.save(new DirtyUser("legacy", new Date()));
+        dirtyUserRepository.markDirty(List.of("u1", "u2"));
+        List<DirtyUser> processed = dirtyUserRepository.findAllByOrderByDirtyAtAsc(Limit.of(10));
+        dirtyUserRepository.markDirty(List.of("u2"));
+
+        // Act
+        dirtyUserRepository.acknowledge(processed);
+
+        // Assert
+        List<DirtyUser> remaining = dirtyUserRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals("u2", remaining.get(0).getId());
+        assertTrue(remaining.get(0).getMarks() > 1);
+    }
+}
@@ -0,0 +1,157 @@
+package com.app.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.BaseStream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.app.userservice.config.MongoIndexInitializer;
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Garde-fou sur les plans d'exécution : chaque requête dérivée de UserRepository et
+ * LearningObjectiveRepository est exécutée avec le profiler MongoDB activé, et le test
+ * échoue si l'une d'elles parcourt toute la collection (COLLSCAN).
+ * Nécessite Docker ; ignoré sinon.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+public class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    // Requêtes dont le parcours complet est assumé (recherche par sous-chaîne non utilisée par l'API)
+    private static final Set<String> ALLOWED_SCANS = Set.of(
+            "LearningObjectiveRepository.findByTitleContainingIgnoreCase");
+
+    private static final String SAMPLE_ID = "662f1b2c3d4e5f6a7b8c9d0e";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LearningObjectiveRepository learningObjectiveRepository;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate.getDb().runCommand(new Document("profile", 0));
+        mongoTemplate.getDb().getCollection("system.profile").drop();
+        new MongoIndexInitializer().ensureIndexes(mongoTemplate);
+
+        // Quelques documents pour que le planificateur ait des index à comparer
+        for (int i = 0; i < 20; i++) {
+            UserProfile user = new UserProfile(null, "kc-" + i, "user" + i, null, null,
+                    "user" + i + "@example.com", new Date(), new Date());
+            user.addSkill(new SkillTag(SAMPLE_ID, "Java", "Programmation", true, null));
+            user.addInterest(new InterestTag(SAMPLE_ID, "Musique", "Art", true));
+            userRepository.save(user);
+            learningObjectiveRepository.save(new LearningObjective("Objectif " + i, null, user.getId()));
+        }
+
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+    }
+
+    @Test
+    public void testUserRepositoryQueriesUseIndexes() throws Exception {
+        assertNoCollectionScan(UserRepository.class, userRepository, "users");
+    }
+
+    @Test
+    public void testLearningObjectiveRepositoryQueriesUseIndexes() throws Exception {
+        assertNoCollectionScan(LearningObjectiveRepository.class, learningObjectiveRepository, "learning_objectives");
+    }
+
+    @Test
+    public void testTagSnapshotUpdatesUseIndexes() {
+        // Act
+        Date before = new Date();
+        userRepository.updateTagSnapshots("skills", SAMPLE_ID, "Java SE", "Programmation");
+        userRepository.pullTagSnapshots("interests", SAMPLE_ID);
+
+        // Assert : relevé des profils concernés puis updateMulti, sans parcours de la collection
+        List<String> violations = collectionScans("users", before).stream()
+                .map(entry -> entry.getString("planSummary") + " " + entry.get("command"))
+                .toList();
+        assertTrue(violations.isEmpty(), "Requêtes sans index: " + violations);
+    }
+
+    private void assertNoCollectionScan(Class<?> repositoryInterface, Object repository, String collection) throws Exception {
+        List<String> violations = new ArrayList<>();
+        for (Method method : repositoryInterface.getDeclaredMethods()) {
+            if (method.isDefault() || method.isSynthetic()) {
+                continue;
+            }
+            String name = repositoryInterface.getSimpleName() + "." + method.getName();
+            Date before = new Date();
+
+            Object result = method.invoke(repository, sampleArguments(method));
+            if (result instanceof BaseStream<?, ?> stream) {
+                stream.iterator().hasNext();
+                stream.close();
+            }
+
+            if (!ALLOWED_SCANS.contains(name)) {
+                for (Document entry : collectionScans(collection, before)) {
+                    violations.add(name + " -> " + entry.getString("planSummary") + " " + entry.get("command"));
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), "Requêtes sans index: " + violations);
+    }
+
+    // Opérations profilées depuis la date donnée qui ont parcouru toute la collection
+    private List<Document> collectionScans(String collection, Date since) {
+        Query profiled = new Query(Criteria.where("ns").is(mongoTemplate.getDb().getName() + "." + collection)
+                .and("ts").gte(since)
+                .and("planSummary").regex("COLLSCAN"));
+        return mongoTemplate.find(profiled, Document.class, "system.profile");
+    }
+
+    private Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == String.class) {
+                args[i] = SAMPLE_ID;
+            } else if (Collection.class.isAssignableFrom(types[i])) {
+                args[i] = List.of(SAMPLE_ID);
+            } else if (types[i] == Limit.class) {
+                args[i] = Limit.of(10);
+            } else if (types[i] == Pageable.class) {
+                args[i] = PageRequest.of(0, 10);
+            } else {
+                throw new IllegalStateException("Type de paramètre non géré: " + types[i] + " dans " + method);
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.app.userservice.model.TagType;
+
+/**
+ * Index inversé tag → utilisateurs (TagPostingRepositoryCustomImpl) sur un MongoDB réel.
+ * Nécessite Docker ; ignoré sinon.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+public class TagPostingRepositoryCustomImplTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private TagPostingRepository tagPostingRepository;
+
+    @BeforeEach
+    public void setUp() {
+        // alice : s1, s2, i1 ; bob : s1, s2 ; carol : s1, i1
+        tagPostingRepository.deleteAll();
+        tagPostingRepository.replaceUserTags("alice", TagType.SKILL, List.of("s1", "s2"));
+        tagPostingRepository.replaceUserTags("alice", TagType.INTEREST, List.of("i1"));
+        tagPostingRepository.replaceUserTags("bob", TagType.SKILL, List.of("s1", "s2"));
+        tagPostingRepository.replaceUserTags("carol", TagType.SKILL, List.of("s1"));
+        tagPostingRepository.replaceUserTags("carol", TagType.INTEREST, List.of("i1"));
+    }
+
+    @Test
+    public void testUnionAndIntersectionOfPostingLists() {
+        // Act
+        List<String> any = tagPostingRepository.findUserIds(
+                Map.of(TagType.SKILL, List.of("s2"), TagType.INTEREST, List.of("i1")), false);
+        List<String> all = tagPostingRepository.findUserIds(
+                Map.of(TagType.SKILL, List.of("s1", "s2"), TagType.INTEREST, List.of("i1")), true);
+        List<String> unknown = tagPostingRepository.findUserIds(Map.of(TagType.SKILL, List.of("s9")), false);
+
+        // Assert
+        assertEquals(Set.of("alice", "bob", "carol"), new HashSet<>(any));
+        assertEquals(List.of("alice"), all);
+        assertEquals(List.of(), unknown);
+    }
+
+    @Test
+    public void testTopUsersAreRankedByOverlapThenId() {
+        // Act
+        List<String> top = tagPostingRepository.findTopUserIdsByOverlap(
+                Map.of(TagType.SKILL, List.of("s1", "s2"), TagType.INTEREST, List.of("i1")), 2);
+
+        // Assert : alice a les 3 tags, bob et carol 2 chacun
+        assertEquals(List.of("alice", "bob"), top);
+    }
+
+    @Test
+    public void testReplaceAndTagDeletionUpdatePostings() {
+        // Act
+        tagPostingRepository.replaceUserTags("bob", TagType.SKILL, List.of("s2", "s3"));
+        tagPostingRepository.deleteByTypeAndTagId(TagType.INTEREST, "i1");
+
+        // Assert
+        assertEquals(List.of("bob"), tagPostingRepository.findUserIds(Map.of(TagType.SKILL, List.of("s3")), false));
+        assertEquals(Set.of("alice", "carol"),
+                new HashSet<>(tagPostingRepository.findUserIds(Map.of(TagType.SKILL, List.of("s1")), false)));
+        assertEquals(List.of(), tagPostingRepository.findUserIds(Map.of(TagType.INTEREST, List.of("i1")), false));
+    }
+}
@@ -0,0 +1,91 @@
+package com.app.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+
+/**
+ * Écritures ciblées de UserRepositoryCustomImpl sur un MongoDB réel.
+ * Nécessite Docker ; ignoré sinon.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+public class UserRepositoryCustomImplTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static final String JAVA = "662f1b2c3d4e5f6a7b8c9d01";
+    private static final String PYTHON = "662f1b2c3d4e5f6a7b8c9d02";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testTagSnapshotsFollowRenameAndDelete() {
+        // Arrange
+        UserProfile alice = user("alice");
+        alice.addSkill(new SkillTag(JAVA, "Java", "Programmation", true, null));
+        alice.addSkill(new SkillTag(PYTHON, "Python", "Programmation", true, null));
+        alice.addInterest(new InterestTag(JAVA, "Java", "Loisirs", false));
+        UserProfile bob = user("bob");
+        bob.addSkill(new SkillTag(PYTHON, "Python", "Programmation", true, null));
+        alice = userRepository.save(alice);
+        bob = userRepository.save(bob);
+
+        // Act
+        List<String> renamed = userRepository.updateTagSnapshots("skills", JAVA, "Java SE", "Langages");
+        List<String> pulled = userRepository.pullTagSnapshots("skills", PYTHON);
+
+        // Assert
+        assertEquals(List.of(alice.getId()), renamed);
+        assertEquals(2, pulled.size());
+        UserProfile updatedAlice = userRepository.findById(alice.getId()).get();
+        assertEquals(1, updatedAlice.getSkills().size());
+        assertEquals("Java SE", updatedAlice.getSkills().get(0).getName());
+        assertEquals("Langages", updatedAlice.getSkills().get(0).getCategory());
+        // Les intérêts de même identifiant ne sont pas touchés
+        assertEquals("Java", updatedAlice.getInterests().get(0).getName());
+        assertTrue(userRepository.findById(bob.getId()).get().getSkills().isEmpty());
+    }
+
+    @Test
+    public void testKeycloakIdIsAttachedOnlyOnce() {
+        // Arrange
+        UserProfile registered = userRepository.save(user("carol"));
+
+        // Act
+        UserProfile linked = userRepository.attachKeycloakId(registered.getId(), "kc-1").get();
+        boolean relinked = userRepository.attachKeycloakId(registered.getId(), "kc-2").isPresent();
+
+        // Assert
+        assertEquals("kc-1", linked.getKeycloakId());
+        assertFalse(relinked);
+        assertEquals("kc-1", userRepository.findById(registered.getId()).get().getKeycloakId());
+    }
+
+    private static UserProfile user(String username) {
+        return new UserProfile(null, null, username, null, null, username + "@example.com", null, null);
+    }
+}
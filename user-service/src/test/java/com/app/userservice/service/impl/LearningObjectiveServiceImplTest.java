@@ -0,0 +1,127 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.app.userservice.event.UserObjectivesChangedEvent;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.repository.LearningObjectiveRepository;
+import com.app.userservice.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class LearningObjectiveServiceImplTest {
+
+    private static final String OBJECTIVE_ID = "662f1b2c3d4e5f6a7b8c9d0f";
+
+    @Mock
+    private LearningObjectiveRepository learningObjectiveRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LearningObjectiveServiceImpl learningObjectiveService;
+
+    @BeforeEach
+    public void setUp() {
+        UserProfileCache userCache = new UserProfileCache(1_000_000, 1_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        learningObjectiveService = new LearningObjectiveServiceImpl(learningObjectiveRepository, userRepository, userCache,
+                eventPublisher);
+    }
+
+    @Test
+    public void testUpdateTouchesOnlyTheObjectiveAndItsEmbeddedCopy() {
+        // Arrange
+        LearningObjective changes = new LearningObjective("Spring", null, null);
+        changes.setProgressPercentage(40);
+        LearningObjective updated = new LearningObjective(OBJECTIVE_ID, "Spring", null, 40, null, "u1", null, null);
+        when(learningObjectiveRepository.updateForUser("u1", OBJECTIVE_ID, changes)).thenReturn(Optional.of(updated));
+
+        // Act
+        Optional<LearningObjective> result = learningObjectiveService.updateObjectiveForUser("u1", OBJECTIVE_ID, changes);
+
+        // Assert
+        assertEquals(40, result.get().getProgressPercentage());
+        verify(userRepository).updateLearningObjective("u1", updated);
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    public void testAddIsRolledBackWhenTheProfileIsFull() {
+        // Arrange
+        when(userRepository.existsById("u1")).thenReturn(true);
+        when(learningObjectiveRepository.findByTitleAndUserId("Rust", "u1")).thenReturn(Optional.empty());
+        when(learningObjectiveRepository.save(any(LearningObjective.class))).thenAnswer(invocation -> {
+            LearningObjective saved = invocation.getArgument(0);
+            saved.setId(OBJECTIVE_ID);
+            return saved;
+        });
+        when(userRepository.pushLearningObjective(eq("u1"), any(LearningObjective.class), anyInt())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> learningObjectiveService.addObjectiveForUser("u1", new LearningObjective("Rust", null, null)));
+        verify(learningObjectiveRepository).deleteById(OBJECTIVE_ID);
+        when(userRepository.existsById("u2")).thenReturn(false);
+        assertTrue(learningObjectiveService.addObjectiveForUser("u2", new LearningObjective("Rust", null, null)).isEmpty());
+    }
+
+    @Test
+    public void testReusedObjectiveIsAcceptedOnlyIfAlreadyEmbedded() {
+        // Arrange
+        LearningObjective existing = new LearningObjective(OBJECTIVE_ID, "Rust", null, 0, null, "u1", null, null);
+        when(userRepository.existsById("u1")).thenReturn(true);
+        when(learningObjectiveRepository.findByTitleAndUserId("Rust", "u1")).thenReturn(Optional.of(existing));
+        when(userRepository.pushLearningObjective("u1", existing, 3)).thenReturn(false);
+        when(userRepository.hasLearningObjective("u1", OBJECTIVE_ID)).thenReturn(true, false);
+
+        // Act & Assert
+        assertEquals(OBJECTIVE_ID,
+                learningObjectiveService.addObjectiveForUser("u1", new LearningObjective("Rust", null, null)).get().getId());
+        assertThrows(IllegalArgumentException.class,
+                () -> learningObjectiveService.addObjectiveForUser("u1", new LearningObjective("Rust", null, null)));
+        verify(learningObjectiveRepository, never()).deleteById(any());
+    }
+
+    @Test
+    public void testUpdateAndDeleteSyncTheEmbeddedCopy() {
+        // Arrange
+        LearningObjective existing = new LearningObjective(OBJECTIVE_ID, "Rust", null, 0, null, "u1", null, null);
+        when(learningObjectiveRepository.findById(OBJECTIVE_ID)).thenReturn(Optional.of(existing));
+        when(learningObjectiveRepository.save(any(LearningObjective.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.updateLearningObjective(eq("u1"), any(LearningObjective.class))).thenReturn(true);
+        when(userRepository.pullLearningObjective("u1", OBJECTIVE_ID)).thenReturn(true);
+        LearningObjective changes = new LearningObjective("Rust avancé", null, null);
+
+        // Act
+        LearningObjective updated = learningObjectiveService.updateObjective(OBJECTIVE_ID, changes);
+        learningObjectiveService.deleteObjective(OBJECTIVE_ID);
+
+        // Assert
+        assertEquals("u1", updated.getUserId());
+        verify(userRepository).updateLearningObjective("u1", updated);
+        verify(userRepository).pullLearningObjective("u1", OBJECTIVE_ID);
+        verify(eventPublisher, times(2)).publishEvent(any(UserObjectivesChangedEvent.class));
+    }
+}
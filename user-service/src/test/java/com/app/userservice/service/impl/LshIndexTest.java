@@ -0,0 +1,68 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LshIndexTest {
+
+    private final LshIndex index = new LshIndex();
+
+    @Test
+    public void testPutReplacesThePreviousBands() {
+        // Arrange
+        index.put("alice", new long[] {1, 2, 3}, new int[] {1});
+        index.put("bob", new long[] {1, 2, 9}, new int[] {2});
+        index.put("carol", new long[] {3, 8, 9}, new int[] {3});
+
+        // Act : bob change de tags et ne partage plus que la bande 3 avec alice
+        index.put("bob", new long[] {3, 7, 7}, new int[] {4});
+
+        // Assert
+        assertEquals(Map.of("bob", 1, "carol", 1), index.sharedBands("alice"));
+        assertEquals(Map.of("alice", 1, "carol", 1), index.sharedBands("bob"));
+        assertArrayEquals(new int[] {4}, index.tags("bob"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testRemoveEmptiesItsBuckets() {
+        // Arrange
+        index.put("alice", new long[] {1, 2}, new int[] {1});
+        index.put("bob", new long[] {1, 2}, new int[] {2});
+
+        // Act
+        index.remove("bob");
+        index.remove("unknown");
+
+        // Assert
+        assertTrue(index.candidates("alice").isEmpty());
+        assertTrue(index.candidates("bob").isEmpty());
+        assertNull(index.tags("bob"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testMostSharedIsDeterministic() {
+        // Arrange
+        index.put("ref", new long[] {1, 2, 3}, new int[] {1});
+        index.put("d", new long[] {1, 8, 9}, new int[] {1});
+        index.put("c", new long[] {1, 2, 3}, new int[] {1});
+        index.put("b", new long[] {1, 2, 9}, new int[] {1});
+        index.put("a", new long[] {3, 8, 9}, new int[] {1});
+
+        // Act
+        List<String> kept = LshIndex.mostShared(index.sharedBands("ref"), 3);
+
+        // Assert : c (3 bandes), b (2), puis a avant d à égalité
+        assertEquals(List.of("c", "b", "a"), kept);
+        assertEquals(Set.of("a", "b", "c", "d"), index.candidates("ref"));
+    }
+}
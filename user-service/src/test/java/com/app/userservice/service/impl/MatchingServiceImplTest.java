@@ -0,0 +1,160 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.LearningObjective;
+import com.app.userservice.model.MatchMode;
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.TagCodeRepository;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.service.InterestService;
+import com.app.userservice.service.SkillService;
+import com.app.userservice.service.TagIndexService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class MatchingServiceImplTest {
+
+    private static final SkillTag JAVA = new SkillTag("s1", "Java", "Programmation", true, null);
+    private static final SkillTag PYTHON = new SkillTag("s2", "Python", "Programmation", true, null);
+    private static final SkillTag GUITARE = new SkillTag("s3", "Guitare", "Musique", true, null);
+    private static final InterestTag JEUX = new InterestTag("i1", "Jeux vidéo", "Loisirs", true);
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TagIndexService tagIndexService;
+    @Mock
+    private SkillService skillService;
+    @Mock
+    private InterestService interestService;
+    @Mock
+    private TagCodeRepository tagCodeRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MatchingServiceImpl matchingService;
+
+    @BeforeEach
+    public void setUp() {
+        AtomicInteger nextCode = new AtomicInteger();
+        lenient().when(tagCodeRepository.assignAll(any())).thenAnswer(invocation -> {
+            Map<String, Integer> codes = new HashMap<>();
+            invocation.<Collection<String>>getArgument(0).forEach(id -> codes.put(id, nextCode.getAndIncrement()));
+            return codes;
+        });
+        matchingService = new MatchingServiceImpl(userRepository, tagIndexService, skillService, interestService,
+                new ParallelMatchScorer(1, 512, 2048), new TagDictionary(tagCodeRepository), 1.0, 0.5, 100, meterRegistry);
+    }
+
+    @Test
+    public void testSimilarityRanksCandidatesFromPostingLists() {
+        // Arrange
+        UserProfile alice = user("u1", List.of(JAVA, PYTHON), List.of(JEUX));
+        UserProfile bob = user("u2", List.of(JAVA, PYTHON), List.of(JEUX));
+        UserProfile carol = user("u3", List.of(JAVA), List.of());
+        when(userRepository.findById("u1")).thenReturn(Optional.of(alice));
+        when(tagIndexService.findUserIds(List.of("s1", "s2"), List.of("i1"), false)).thenReturn(List.of("u1", "u3", "u2"));
+        when(userRepository.findAllById(List.of("u3", "u2"))).thenReturn(List.of(carol, bob));
+
+        // Act
+        List<ProfileMatch> matches = matchingService.findMatches("u1", MatchMode.SIMILARITY, 10);
+
+        // Assert : bob a tous les tags d'alice, carol une compétence sur deux (1 / 2.5)
+        assertEquals(List.of("u2", "u3"), matches.stream().map(match -> match.getUser().getId()).toList());
+        assertEquals(1.0, matches.get(0).getScore(), 1e-9);
+        assertEquals(0.4, matches.get(1).getScore(), 1e-9);
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    public void testCandidateLimitKeepsTheLargestTagOverlap() {
+        // Arrange : 4 candidats pour 2 places, les plus proches sont lus par nombre de tags communs
+        MatchingServiceImpl limited = new MatchingServiceImpl(userRepository, tagIndexService, skillService,
+                interestService, new ParallelMatchScorer(1, 512, 2048), new TagDictionary(tagCodeRepository),
+                1.0, 0.5, 2, meterRegistry);
+        UserProfile alice = user("u1", List.of(JAVA, PYTHON), List.of(JEUX));
+        UserProfile bob = user("u2", List.of(JAVA, PYTHON), List.of(JEUX));
+        UserProfile carol = user("u3", List.of(JAVA), List.of(JEUX));
+        when(userRepository.findById("u1")).thenReturn(Optional.of(alice));
+        when(tagIndexService.findUserIds(List.of("s1", "s2"), List.of("i1"), false))
+            .thenReturn(List.of("u5", "u1", "u4", "u3", "u2"));
+        when(tagIndexService.findTopUserIdsByOverlap(List.of("s1", "s2"), List.of("i1"), 3))
+            .thenReturn(List.of("u1", "u2", "u3"));
+        when(userRepository.findAllById(List.of("u2", "u3"))).thenReturn(List.of(bob, carol));
+
+        // Act
+        List<ProfileMatch> matches = limited.findMatches("u1", MatchMode.SIMILARITY, 10);
+
+        // Assert
+        assertEquals(List.of("u2", "u3"), matches.stream().map(match -> match.getUser().getId()).toList());
+        assertEquals(1.0, meterRegistry.get("matching.candidates.truncated").counter().count());
+    }
+
+    @Test
+    public void testComplementarityMatchesWhatOneKnowsWithWhatTheOtherWants() {
+        // Arrange : alice connaît Java et veut apprendre la guitare, dave l'inverse
+        UserProfile alice = user("u1", List.of(JAVA), List.of());
+        alice.setLearningObjectives(List.of(new LearningObjective("Guitare", null, "u1")));
+        UserProfile dave = user("u4", List.of(GUITARE), List.of());
+        dave.setLearningObjectives(List.of(new LearningObjective("java", null, "u4")));
+        when(userRepository.findById("u1")).thenReturn(Optional.of(alice));
+        when(skillService.getAllSkills()).thenReturn(List.of(JAVA, GUITARE));
+        when(tagIndexService.findUserIds(eq(List.of("s3")), anyList(), eq(false))).thenReturn(List.of("u4"));
+        when(userRepository.findAllById(any())).thenReturn(List.of(dave));
+
+        // Act
+        List<ProfileMatch> matches = matchingService.findMatches("u1", MatchMode.COMPLEMENTARITY, 10);
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertEquals(1.0, matches.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    public void testTopMatchesKeepsOnlyTheBestK() {
+        // Arrange
+        TopMatches left = new TopMatches(2);
+        TopMatches right = new TopMatches(2);
+        left.offer(new ProfileMatch(user("a", List.of(), List.of()), 0.2));
+        left.offer(new ProfileMatch(user("b", List.of(), List.of()), 0.9));
+        right.offer(new ProfileMatch(user("c", List.of(), List.of()), 0.5));
+        right.offer(new ProfileMatch(user("d", List.of(), List.of()), 0.0));
+
+        // Act
+        left.addAll(right);
+
+        // Assert
+        assertEquals(List.of("b", "c"), left.toSortedList().stream().map(match -> match.getUser().getId()).toList());
+    }
+
+    private static UserProfile user(String id, List<SkillTag> skills, List<InterestTag> interests) {
+        UserProfile user = new UserProfile(id, "kc-" + id, "user-" + id, null, null, id + "@example.com", null, null);
+        skills.forEach(user::addSkill);
+        interests.forEach(user::addInterest);
+        return user;
+    }
+}
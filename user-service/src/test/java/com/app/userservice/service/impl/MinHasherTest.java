@@ -0,0 +1,65 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class MinHasherTest {
+
+    private final MinHasher minHasher = new MinHasher(16, 4);
+
+    @Test
+    public void testSignatureEstimatesJaccard() {
+        // Arrange : 30 éléments communs sur 50 au total, Jaccard = 0.6
+        Set<String> a = range(0, 40);
+        Set<String> b = range(10, 50);
+
+        // Act
+        double estimate = estimateJaccard(minHasher.signature(a), minHasher.signature(b));
+
+        // Assert : écart-type de l'estimation ≈ sqrt(0.6 × 0.4 / 64) ≈ 0.06
+        assertEquals(0.6, estimate, 0.2);
+        assertArrayEquals(minHasher.signature(a), new MinHasher(16, 4).signature(a));
+        assertNull(minHasher.signature(Set.of()));
+    }
+
+    @Test
+    public void testLshIndexReturnsSimilarUsersOnly() {
+        // Arrange
+        LshIndex index = new LshIndex();
+        index.put("alice", minHasher.bandKeys(minHasher.signature(range(0, 10))), TagCodeSets.EMPTY);
+        index.put("bob", minHasher.bandKeys(minHasher.signature(range(0, 9))), TagCodeSets.EMPTY);
+        index.put("carol", minHasher.bandKeys(minHasher.signature(range(100, 110))), TagCodeSets.EMPTY);
+
+        // Act & Assert
+        assertEquals(Set.of("bob"), index.candidates("alice"));
+        index.remove("bob");
+        assertTrue(index.candidates("alice").isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    // Proportion de positions égales entre deux signatures
+    private static double estimateJaccard(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static Set<String> range(int from, int to) {
+        Set<String> elements = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            elements.add("S:" + i);
+        }
+        return elements;
+    }
+}
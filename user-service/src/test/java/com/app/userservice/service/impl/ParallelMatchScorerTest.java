@@ -0,0 +1,49 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.service.impl.ProfileTagEncoder.EncodedProfile;
+
+public class ParallelMatchScorerTest {
+
+    private final ParallelMatchScorer parallel = new ParallelMatchScorer(4, 16, 64);
+    private final ParallelMatchScorer sequential = new ParallelMatchScorer(1, 16, 64);
+
+    @AfterEach
+    public void tearDown() {
+        parallel.shutdown();
+    }
+
+    @Test
+    public void testParallelScoringMatchesSequentialScoring() {
+        // Arrange : 1000 candidats dont le score dépend de l'identifiant, avec des ex aequo
+        List<EncodedProfile> candidates = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UserProfile user = new UserProfile(String.format("u%04d", i), null, null, null, null, null, null, null);
+            candidates.add(new EncodedProfile(user, TagCodeSets.EMPTY, TagCodeSets.EMPTY, TagCodeSets.EMPTY));
+        }
+        ToDoubleFunction<EncodedProfile> score = candidate -> (Integer.parseInt(candidate.user().getId().substring(1)) * 37 % 101) / 100.0;
+
+        // Act
+        List<ProfileMatch> expected = sequential.topMatches(candidates, score, 25).toSortedList();
+        List<ProfileMatch> actual = parallel.topMatches(candidates, score, 25).toSortedList();
+
+        // Assert
+        assertEquals(25, actual.size());
+        assertEquals(ids(expected), ids(actual));
+        assertEquals(1.0, actual.get(0).getScore());
+    }
+
+    private static List<String> ids(List<ProfileMatch> matches) {
+        return matches.stream().map(match -> match.getUser().getId()).toList();
+    }
+}
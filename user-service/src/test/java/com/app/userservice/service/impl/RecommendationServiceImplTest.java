@@ -0,0 +1,99 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.DirtyUser;
+import com.app.userservice.model.MatchMode;
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.Recommendation;
+import com.app.userservice.model.Recommendation.RecommendedUser;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.DirtyUserRepository;
+import com.app.userservice.repository.RecommendationRepository;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.service.MatchingService;
+
+@ExtendWith(MockitoExtension.class)
+public class RecommendationServiceImplTest {
+
+    @Mock
+    private RecommendationRepository recommendationRepository;
+    @Mock
+    private DirtyUserRepository dirtyUserRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private MatchingService matchingService;
+
+    private RecommendationServiceImpl recommendationService;
+
+    @BeforeEach
+    public void setUp() {
+        recommendationService = new RecommendationServiceImpl(recommendationRepository, dirtyUserRepository,
+                userRepository, matchingService, 10, 2, Duration.ofDays(1));
+    }
+
+    @Test
+    public void testTagChangeMarksUserAndReferencingUsers() {
+        // Arrange
+        when(recommendationRepository.findReferencing("u1")).thenReturn(List.of(
+                new Recommendation("u2", null, null, null), new Recommendation("u3", null, null, null)));
+
+        // Act
+        recommendationService.onUserTagsChanged(new UserTagsChangedEvent("u1", List.of("s1"), null));
+
+        // Assert
+        verify(dirtyUserRepository).markDirty(Set.of("u1", "u2", "u3"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProcessQueueRecomputesAndPropagatesToPartners() {
+        // Arrange
+        DirtyUser entry = new DirtyUser("u1", new Date());
+        UserProfile u2 = new UserProfile("u2", "kc-2", "bob", null, null, "bob@example.com", null, null);
+        UserProfile u3 = new UserProfile("u3", "kc-3", "carol", null, null, "carol@example.com", null, null);
+        when(dirtyUserRepository.findAllByOrderByDirtyAtAsc(any())).thenReturn(List.of(entry));
+        when(userRepository.existsById("u1")).thenReturn(true);
+        when(matchingService.findMatches("u1", MatchMode.SIMILARITY, 2))
+                .thenReturn(List.of(new ProfileMatch(u2, 0.8), new ProfileMatch(u3, 0.1)));
+        when(matchingService.findMatches("u1", MatchMode.COMPLEMENTARITY, 2)).thenReturn(List.of());
+        // u2 a une liste pleine dont le pire score est battu par u1, u3 a une liste pleine meilleure
+        when(recommendationRepository.findAllById(any())).thenReturn(List.of(
+                new Recommendation("u2", List.of(recommended("u4", 0.9), recommended("u5", 0.5)), List.of(), new Date()),
+                new Recommendation("u3", List.of(recommended("u4", 0.9), recommended("u5", 0.5)), List.of(), new Date())));
+
+        // Act
+        int processed = recommendationService.processQueue();
+
+        // Assert
+        assertEquals(1, processed);
+        ArgumentCaptor<Recommendation> saved = ArgumentCaptor.forClass(Recommendation.class);
+        verify(recommendationRepository).save(saved.capture());
+        assertEquals(List.of("u2", "u3"), saved.getValue().getSimilar().stream().map(RecommendedUser::getUserId).toList());
+        verify(dirtyUserRepository).acknowledge(List.of(entry));
+        ArgumentCaptor<Set<String>> propagated = ArgumentCaptor.forClass(Set.class);
+        verify(dirtyUserRepository).markDirty(propagated.capture());
+        assertEquals(Set.of("u2"), propagated.getValue());
+    }
+
+    private static RecommendedUser recommended(String userId, double score) {
+        return new RecommendedUser(userId, userId, null, score);
+    }
+}
@@ -0,0 +1,237 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.userservice.event.TagCatalogChangedEvent;
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.ProfileMatch;
+import com.app.userservice.model.SimilarityEvaluation;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.model.UserSignature;
+import com.app.userservice.repository.TagCodeRepository;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.repository.UserSignatureRepository;
+import com.app.userservice.service.InterestService;
+import com.app.userservice.service.LearningObjectiveService;
+import com.app.userservice.service.SkillService;
+import com.app.userservice.service.TagIndexService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class SimilarityIndexServiceImplTest {
+
+    @Mock
+    private UserSignatureRepository userSignatureRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TagIndexService tagIndexService;
+    @Mock
+    private TagCodeRepository tagCodeRepository;
+    @Mock
+    private SkillService skillService;
+    @Mock
+    private InterestService interestService;
+    @Mock
+    private LearningObjectiveService learningObjectiveService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, UserProfile> users = new LinkedHashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        AtomicInteger nextCode = new AtomicInteger();
+        lenient().when(tagCodeRepository.assignAll(any())).thenAnswer(invocation -> {
+            Map<String, Integer> codes = new HashMap<>();
+            invocation.<Collection<String>>getArgument(0).forEach(id -> codes.put(id, nextCode.getAndIncrement()));
+            return codes;
+        });
+        lenient().when(userRepository.existsById(any())).thenAnswer(invocation -> users.containsKey(invocation.getArgument(0)));
+        lenient().when(userRepository.findById(any()))
+            .thenAnswer(invocation -> Optional.ofNullable(users.get(invocation.<String>getArgument(0))));
+        lenient().when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<UserProfile> found = new ArrayList<>();
+            invocation.<Iterable<String>>getArgument(0).forEach(id -> {
+                if (users.containsKey(id)) {
+                    found.add(users.get(id));
+                }
+            });
+            return found;
+        });
+    }
+
+    @Test
+    public void testTagChangesAreIndexedAndRemoved() {
+        // Arrange
+        SimilarityIndexServiceImpl service = service(5000);
+        users.put("alice", user("alice", "s1", "s2", "s3"));
+        users.put("bob", user("bob", "s1", "s2", "s3", "s4"));
+        service.onUserTagsChanged(new UserTagsChangedEvent("alice", List.of("s1", "s2", "s3"), List.of()));
+        service.onUserTagsChanged(new UserTagsChangedEvent("bob", List.of("s1", "s2", "s3", "s4"), List.of()));
+
+        // Act
+        List<ProfileMatch> before = service.findSimilarUsers("alice", 10);
+        service.onUserTagsChanged(UserTagsChangedEvent.removed("bob"));
+        List<ProfileMatch> after = service.findSimilarUsers("alice", 10);
+
+        // Assert
+        assertEquals(1, before.size());
+        assertEquals("bob", before.get(0).getUser().getId());
+        assertEquals(0.75, before.get(0).getScore(), 1e-9);
+        assertTrue(after.isEmpty());
+    }
+
+    @Test
+    public void testDeletedTagDropsOutOfTheCandidates() {
+        // Arrange : alice et bob n'ont en commun que le tag "gone", supprimé du catalogue ensuite
+        SimilarityIndexServiceImpl service = service(5000);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, skillService, interestService,
+                learningObjectiveService, tagIndexService, event -> {
+                    if (event instanceof UserTagsChangedEvent tagsChanged) {
+                        service.onUserTagsChanged(tagsChanged);
+                    }
+                }, new UserProfileCache(1_000_000, 1_000, Duration.ofMinutes(1), meterRegistry));
+        users.put("alice", user("alice", "a1", "gone"));
+        users.put("bob", user("bob", "b1", "gone"));
+        service.onUserTagsChanged(new UserTagsChangedEvent("alice", List.of("a1", "gone"), List.of()));
+        service.onUserTagsChanged(new UserTagsChangedEvent("bob", List.of("b1", "gone"), List.of()));
+        when(userRepository.pullTagSnapshots("skills", "gone")).thenAnswer(invocation -> {
+            users.values().forEach(user -> user.getSkills().removeIf(skill -> skill.getId().equals("gone")));
+            return List.of("alice", "bob");
+        });
+
+        // Act
+        List<ProfileMatch> before = service.findSimilarUsers("alice", 10);
+        userService.onTagCatalogChanged(TagCatalogChangedEvent.deleted(TagCatalogChangedEvent.Catalog.SKILLS, "gone"));
+        List<ProfileMatch> after = service.findSimilarUsers("alice", 10);
+
+        // Assert
+        assertEquals(List.of("bob"), before.stream().map(match -> match.getUser().getId()).toList());
+        assertTrue(after.isEmpty());
+    }
+
+    @Test
+    public void testSyncAppliesSignaturesWrittenByOtherInstances() {
+        // Arrange : les signatures sont calculées par une autre instance, avec les mêmes fonctions de hachage
+        SimilarityIndexServiceImpl service = service(5000);
+        users.put("alice", user("alice", "s1", "s2"));
+        users.put("bob", user("bob", "s1", "s2"));
+        when(userSignatureRepository.findByUpdatedAtGreaterThanOrderByUpdatedAtAsc(any()))
+            .thenReturn(List.of(signature("alice", "s1", "s2"), signature("bob", "s1", "s2")),
+                    List.of(signature("bob")));
+
+        // Act & Assert
+        service.syncFromStore();
+        assertEquals(1.0, service.findSimilarUsers("alice", 10).get(0).getScore(), 1e-9);
+        service.syncFromStore();
+        assertTrue(service.findSimilarUsers("alice", 10).isEmpty());
+    }
+
+    @Test
+    public void testApproximateSearchRecallAgainstExactScan() {
+        // Arrange : 20 groupes de 25 utilisateurs partageant un noyau de 8 tags, plus 2 tags au hasard
+        Random random = new Random(42);
+        for (int group = 0; group < 20; group++) {
+            for (int member = 0; member < 25; member++) {
+                List<String> tags = new ArrayList<>();
+                for (int tag = 0; tag < 8; tag++) {
+                    tags.add("g" + group + "-" + tag);
+                }
+                tags.add("t" + random.nextInt(200));
+                tags.add("t" + random.nextInt(200));
+                String id = "u" + group + "-" + member;
+                users.put(id, user(id, tags.toArray(String[]::new)));
+            }
+        }
+        when(userRepository.streamAllByOrderByIdAsc()).thenAnswer(invocation -> users.values().stream());
+        when(tagIndexService.findUserIds(anyList(), anyList(), anyBoolean())).thenReturn(new ArrayList<>(users.keySet()));
+        SimilarityIndexServiceImpl service = service(5000);
+        service.loadOrRebuild();
+
+        // Act
+        double recall = 0;
+        for (int group = 0; group < 20; group++) {
+            SimilarityEvaluation evaluation = service.evaluate("u" + group + "-0", 10);
+            recall += evaluation.getRecall() / 20;
+        }
+
+        // Assert
+        assertTrue(recall >= 0.9, "rappel moyen: " + recall);
+    }
+
+    @Test
+    public void testCandidateLimitKeepsTheClosestAndIsCounted() {
+        // Arrange : alice partage 3 tags sur 4 avec bob, 1 sur 4 avec les autres
+        SimilarityIndexServiceImpl service = service(1);
+        users.put("alice", user("alice", "s1", "s2", "s3"));
+        users.put("bob", user("bob", "s1", "s2", "s3", "s4"));
+        users.put("carol", user("carol", "s1"));
+        for (String id : users.keySet()) {
+            UserProfile user = users.get(id);
+            service.onUserTagsChanged(new UserTagsChangedEvent(id,
+                    user.getSkills().stream().map(SkillTag::getId).toList(), List.of()));
+        }
+
+        // Act
+        List<ProfileMatch> matches = service.findSimilarUsers("alice", 10);
+
+        // Assert
+        assertEquals("bob", matches.get(0).getUser().getId());
+        assertEquals(1.0, meterRegistry.get("similarity.candidates.truncated").counter().count());
+    }
+
+    private SimilarityIndexServiceImpl service(int maxCandidates) {
+        return new SimilarityIndexServiceImpl(userSignatureRepository, userRepository, tagIndexService,
+                new TagDictionary(tagCodeRepository), 32, 3, maxCandidates, meterRegistry);
+    }
+
+    private static UserProfile user(String id, String... skillIds) {
+        UserProfile user = new UserProfile(id, "kc-" + id, id, null, null, id + "@example.com", null, null);
+        for (String skillId : skillIds) {
+            user.addSkill(new SkillTag(skillId, skillId, null, false, null));
+        }
+        return user;
+    }
+
+    private static UserSignature signature(String userId, String... skillIds) {
+        MinHasher minHasher = new MinHasher(32, 3);
+        List<String> elements = new ArrayList<>();
+        for (String skillId : skillIds) {
+            elements.add("S:" + skillId);
+        }
+        int[] minHash = minHasher.signature(elements);
+        List<Long> bandKeys = new ArrayList<>();
+        if (minHash != null) {
+            for (long key : minHasher.bandKeys(minHash)) {
+                bandKeys.add(key);
+            }
+        }
+        return new UserSignature(userId, elements, minHash, bandKeys, 32, 3, new Date());
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.userservice.model.SkillTag;
+
+public class TagAutocompleteIndexTest {
+
+    private TagAutocompleteIndex<SkillTag> index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TagAutocompleteIndex<>(SkillTag::getId, SkillTag::getName, SkillTag::isPredefined);
+        index.replaceAll(List.of(
+                new SkillTag("1", "Java", "Programmation", true, null),
+                new SkillTag("2", "JavaScript", "Programmation", true, null),
+                new SkillTag("3", "Java EE avancé", "Programmation", false, null),
+                new SkillTag("4", "Spring pour Java", "Programmation", true, null),
+                new SkillTag("5", "Modélisation 3D", "Design", true, null)));
+    }
+
+    @Test
+    public void testSearchRanksPrefixThenPredefined() {
+        // Act
+        List<String> names = names(index.search("jav", 10));
+
+        // Assert
+        assertEquals(List.of("Java", "JavaScript", "Java EE avancé", "Spring pour Java"), names);
+    }
+
+    @Test
+    public void testSearchIsLimitedAndAccentInsensitive() {
+        // Assert
+        assertEquals(List.of("Java", "JavaScript"), names(index.search("JAVA", 2)));
+        assertEquals(List.of("Modélisation 3D"), names(index.search("modeli", 10)));
+        assertEquals(List.of("Java EE avancé"), names(index.search("avance", 10)));
+    }
+
+    @Test
+    public void testIndexIsUpdatedOnRenameAndDelete() {
+        // Act
+        index.put(new SkillTag("2", "TypeScript", "Programmation", true, null));
+        index.remove("1");
+
+        // Assert
+        assertEquals(List.of("Java EE avancé", "Spring pour Java"), names(index.search("java", 10)));
+        assertEquals(List.of("TypeScript"), names(index.search("script", 10)));
+        assertTrue(index.search("Kotlin", 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    private List<String> names(List<SkillTag> skills) {
+        return skills.stream().map(SkillTag::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,105 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.userservice.model.SkillTag;
+
+public class TagBatchResolverTest {
+
+    private final Map<String, SkillTag> skillsById = new LinkedHashMap<>();
+    private int findCalls;
+    private int upsertCalls;
+    private int findOrCreateCalls;
+    private TagBatchResolver<SkillTag> resolver;
+
+    @BeforeEach
+    public void setUp() {
+        skillsById.put("1", new SkillTag("1", "Java", "Programmation", true, null));
+        skillsById.put("2", new SkillTag("2", "Python", "Programmation", true, null));
+
+        resolver = new TagBatchResolver<>(new TagBatchResolver.TagStore<>() {
+            @Override
+            public List<SkillTag> findByIdsOrNames(Collection<String> ids, Collection<String> names) {
+                findCalls++;
+                return skillsById.values().stream()
+                        .filter(skill -> ids.contains(skill.getId()) || names.contains(skill.getName()))
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            public void upsertAllByName(List<SkillTag> tags) {
+                upsertCalls++;
+                for (SkillTag tag : tags) {
+                    String id = String.valueOf(skillsById.size() + 1);
+                    skillsById.put(id, new SkillTag(id, tag.getName(), tag.getCategory(), false, null));
+                }
+            }
+
+            @Override
+            public SkillTag findOrCreateByName(SkillTag tag) {
+                findOrCreateCalls++;
+                String id = String.valueOf(skillsById.size() + 1);
+                return skillsById.computeIfAbsent(id, k -> new SkillTag(k, tag.getName(), tag.getCategory(), false, null));
+            }
+        }, SkillTag::getId, SkillTag::getName, tag -> new SkillTag(tag.getName(), tag.getCategory()), "skills");
+    }
+
+    @Test
+    public void testResolveUsesConstantNumberOfRoundTrips() {
+        // Arrange
+        List<SkillTag> requested = new ArrayList<>();
+        requested.add(new SkillTag("1", null, null, false, null));
+        requested.add(new SkillTag("Python", null));
+        requested.add(new SkillTag("Rust", "Programmation"));
+        requested.add(new SkillTag("Go", "Programmation"));
+        requested.add(new SkillTag("inconnu", null, null, false, null));
+
+        // Act
+        List<SkillTag> resolved = resolver.resolve(requested);
+
+        // Assert
+        // Une recherche initiale, un upsert groupé et une relecture des tags créés
+        assertEquals(2, findCalls);
+        assertEquals(1, upsertCalls);
+        assertEquals(List.of("Java", "Python", "Rust", "Go"),
+                resolved.stream().map(SkillTag::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testResolveRemovesDuplicates() {
+        // Act
+        List<SkillTag> resolved = resolver.resolve(List.of(
+                new SkillTag("1", null, null, false, null),
+                new SkillTag("Java", null)));
+
+        // Assert
+        assertEquals(1, resolved.size());
+        assertEquals(1, findCalls);
+        assertEquals(0, upsertCalls);
+    }
+
+    @Test
+    public void testResolveSingleMissingTagUsesFindOrCreate() {
+        // Act
+        List<SkillTag> resolved = resolver.resolve(List.of(
+                new SkillTag("Java", null),
+                new SkillTag("Rust", "Programmation")));
+
+        // Assert
+        assertEquals(1, findCalls);
+        assertEquals(0, upsertCalls);
+        assertEquals(1, findOrCreateCalls);
+        assertEquals(List.of("Java", "Rust"),
+                resolved.stream().map(SkillTag::getName).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.repository.CatalogVersionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class TagCatalogCacheTest {
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    private final List<SkillTag> database = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private int loads;
+    private TagCatalogCache<SkillTag> cache;
+
+    @BeforeEach
+    public void setUp() {
+        database.add(new SkillTag("1", "Java", "Programmation", true, null));
+        database.add(new SkillTag("2", "Python", "Programmation", true, null));
+        cache = new TagCatalogCache<>("skills", () -> {
+            loads++;
+            return new ArrayList<>(database);
+        }, SkillTag::getId, SkillTag::getName, SkillTag::isPredefined, catalogVersionRepository, meterRegistry);
+    }
+
+    @Test
+    public void testLookupsAreServedFromCache() {
+        // Arrange
+        when(catalogVersionRepository.current("skills")).thenReturn(3L);
+
+        // Act
+        Optional<SkillTag> byId = cache.findById("1", id -> Optional.empty());
+        Optional<SkillTag> byName = cache.findByName("Python", name -> Optional.empty());
+        Optional<SkillTag> unknown = cache.findById("9", id -> Optional.empty());
+
+        // Assert
+        assertEquals("Java", byId.get().getName());
+        assertEquals("Python", byName.get().getName());
+        assertTrue(unknown.isEmpty());
+        assertEquals(1, loads);
+        assertEquals(2.0, meterRegistry.get("tag.catalog.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("tag.catalog.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void testNamesAreMatchedExactlyLikeTheUniqueIndex() {
+        // Arrange
+        when(catalogVersionRepository.current("skills")).thenReturn(3L);
+        SkillTag lowercase = new SkillTag("3", "java", "Programmation", false, null);
+
+        // Act
+        Optional<SkillTag> byName = cache.findByName("java", name -> Optional.of(lowercase));
+        List<SkillTag> byNames = cache.findByIdsOrNames(List.of(), List.of("Java", "java"), (ids, names) -> List.of());
+
+        // Assert
+        assertEquals("3", byName.get().getId());
+        assertEquals(List.of("1", "3"), byNames.stream().map(SkillTag::getId).toList());
+    }
+
+    @Test
+    public void testLocalWriteDoesNotReloadButRemoteWriteDoes() {
+        // Arrange
+        when(catalogVersionRepository.current("skills")).thenReturn(3L);
+        when(catalogVersionRepository.increment("skills")).thenReturn(4L);
+        cache.findAll();
+
+        // Act : écriture locale, version 3 -> 4
+        SkillTag rust = new SkillTag("3", "Rust", "Programmation", false, null);
+        database.add(rust);
+        cache.put(rust);
+        when(catalogVersionRepository.current("skills")).thenReturn(4L);
+        cache.refreshIfStale();
+
+        // Assert
+        assertEquals(1, loads);
+        assertEquals(List.of("Rust"), cache.search("ru", 5).stream().map(SkillTag::getName).toList());
+
+        // Act : écriture par une autre instance, version 4 -> 5
+        database.remove(0);
+        when(catalogVersionRepository.current("skills")).thenReturn(5L);
+        cache.refreshIfStale();
+
+        // Assert
+        assertEquals(2, loads);
+        assertTrue(cache.findByName("Java", name -> Optional.empty()).isEmpty());
+        assertEquals(2.0, meterRegistry.get("tag.catalog.cache.reloads").counter().count());
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.userservice.model.TagCode;
+import com.app.userservice.repository.TagCodeRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TagDictionaryTest {
+
+    @Mock
+    private TagCodeRepository tagCodeRepository;
+
+    @Test
+    public void testPersistedCodesAreReusedAndNewTagsAreAssigned() {
+        // Arrange : deux codes persistés lors d'un démarrage précédent
+        when(tagCodeRepository.streamAllBy()).thenReturn(Stream.of(new TagCode("java", 0), new TagCode("jeux", 1)));
+        when(tagCodeRepository.assignAll(List.of("rust", "go"))).thenReturn(Map.of("rust", 2, "go", 3));
+        TagDictionary dictionary = new TagDictionary(tagCodeRepository);
+
+        // Act
+        dictionary.load();
+        int[] encoded = dictionary.encode(Arrays.asList("rust", "java", null, "go", "java"));
+
+        // Assert : les tags inconnus sont attribués en un seul lot, après les codes persistés
+        assertArrayEquals(new int[] {0, 2, 3}, encoded);
+        assertEquals(2, dictionary.code("rust"));
+        assertEquals(4, dictionary.size());
+        verify(tagCodeRepository).advanceSequence(2);
+        verify(tagCodeRepository, times(1)).assignAll(any());
+    }
+
+    @Test
+    public void testSortedSetOperations() {
+        // Arrange
+        int[] a = TagCodeSets.sortedSet(new int[] {7, 3, 3, 1, 9}, 5);
+        int[] b = {1, 2, 7, 8};
+
+        // Act & Assert
+        assertArrayEquals(new int[] {1, 3, 7, 9}, a);
+        assertEquals(2, TagCodeSets.intersectionSize(a, b));
+        assertEquals(2.0 / 6, TagCodeSets.jaccard(a, b), 1e-9);
+        assertEquals(0, TagCodeSets.jaccard(TagCodeSets.EMPTY, TagCodeSets.EMPTY));
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.userservice.event.TagCatalogChangedEvent;
+import com.app.userservice.event.UserTagsChangedEvent;
+import com.app.userservice.model.InterestTag;
+import com.app.userservice.model.SkillTag;
+import com.app.userservice.model.TagPosting;
+import com.app.userservice.model.TagType;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.TagPostingRepository;
+import com.app.userservice.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TagIndexServiceImplTest {
+
+    @Mock
+    private TagPostingRepository tagPostingRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    private TagIndexServiceImpl tagIndexService;
+
+    @BeforeEach
+    public void setUp() {
+        tagIndexService = new TagIndexServiceImpl(tagPostingRepository, userRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReconcileRepairsAPartialIndex() {
+        // Arrange : il manque s2 et i1 à alice, et s3 lui a été retiré sans que l'index le sache
+        UserProfile alice = new UserProfile("u1", "kc-1", "alice", null, null, "alice@example.com", null, null);
+        alice.addSkill(new SkillTag("s1", "Java", null, true, null));
+        alice.addSkill(new SkillTag("s2", "Python", null, true, null));
+        alice.addInterest(new InterestTag("i1", "Jeux vidéo", null, true));
+        UserProfile bob = new UserProfile("u2", "kc-2", "bob", null, null, "bob@example.com", null, null);
+        bob.addSkill(new SkillTag("s1", "Java", null, true, null));
+        TagPosting stale = new TagPosting(TagType.SKILL, "s3", "u1");
+        when(userRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(alice, bob));
+        when(tagPostingRepository.findByUserIdIn(List.of("u1", "u2"))).thenReturn(List.of(
+                new TagPosting(TagType.SKILL, "s1", "u1"), stale, new TagPosting(TagType.SKILL, "s1", "u2")));
+
+        // Act
+        long changed = tagIndexService.reconcile();
+
+        // Assert
+        ArgumentCaptor<List<TagPosting>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(tagPostingRepository).insertAllIgnoringDuplicates(inserted.capture());
+        assertEquals(Set.of(new TagPosting(TagType.SKILL, "s2", "u1"), new TagPosting(TagType.INTEREST, "i1", "u1")),
+                new HashSet<>(inserted.getValue()));
+        verify(tagPostingRepository).deleteAll(List.of(stale));
+        assertEquals(3, changed);
+    }
+
+    @Test
+    public void testOnlyOneReconcileRunsAtATime() throws Exception {
+        // Arrange : la réconciliation en arrière-plan reste bloquée sur la lecture des profils
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.streamAllByOrderByIdAsc()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return Stream.empty();
+        });
+
+        // Act
+        boolean started = tagIndexService.reconcileInBackground();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        boolean startedAgain = tagIndexService.reconcileInBackground();
+
+        // Assert
+        assertTrue(started);
+        assertFalse(startedAgain);
+        assertTrue(tagIndexService.isReconciling());
+        assertThrows(IllegalStateException.class, () -> tagIndexService.reconcile());
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (tagIndexService.isReconciling() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(tagIndexService.isReconciling());
+    }
+
+    @Test
+    public void testDeletedTagLeavesTheIndex() {
+        // Act
+        tagIndexService.onTagCatalogChanged(TagCatalogChangedEvent.updated(
+                TagCatalogChangedEvent.Catalog.SKILLS, "s1", "Java SE", null));
+        tagIndexService.onTagCatalogChanged(TagCatalogChangedEvent.deleted(TagCatalogChangedEvent.Catalog.INTERESTS, "i1"));
+
+        // Assert
+        verify(tagPostingRepository).deleteByTypeAndTagId(TagType.INTEREST, "i1");
+        verify(tagPostingRepository, never()).deleteByTypeAndTagId(TagType.SKILL, "s1");
+    }
+
+    @Test
+    public void testPartialTagChangeOnlyReplacesItsType() {
+        // Act
+        tagIndexService.onUserTagsChanged(new UserTagsChangedEvent("u1", List.of("s1"), null));
+        tagIndexService.onUserTagsChanged(UserTagsChangedEvent.removed("u2"));
+
+        // Assert
+        verify(tagPostingRepository).replaceUserTags("u1", TagType.SKILL, List.of("s1"));
+        verify(tagPostingRepository, never()).replaceUserTags(any(), eq(TagType.INTEREST), any());
+        verify(tagPostingRepository).deleteByUserId("u2");
+    }
+}
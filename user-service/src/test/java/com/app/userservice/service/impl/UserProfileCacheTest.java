@@ -0,0 +1,126 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.userservice.model.UserProfile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserProfileCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private UserProfile stored;
+    private UserProfileCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        stored = new UserProfile("u1", "kc-1", "alice", null, null, "alice@example.com", null, null);
+        cache = new UserProfileCache(1_000_000, 1_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testSecondaryKeysShareTheSameEntry() {
+        // Act
+        Optional<UserProfile> byEmail = cache.getByAlias(UserProfileCache.Alias.EMAIL, "alice@example.com", this::load);
+        Optional<UserProfile> byId = cache.getById("u1", this::load);
+        Optional<UserProfile> byUsername = cache.getByAlias(UserProfileCache.Alias.USERNAME, "alice", this::load);
+
+        // Assert
+        assertEquals("u1", byEmail.get().getId());
+        assertEquals("u1", byId.get().getId());
+        assertEquals("u1", byUsername.get().getId());
+        assertNotSame(byEmail.get(), byId.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testInvalidateRemovesAllKeys() {
+        // Arrange
+        cache.getById("u1", this::load);
+
+        // Act
+        stored = new UserProfile("u1", "kc-1", "alice2", null, null, "alice@example.com", null, null);
+        cache.invalidate("u1");
+
+        // Assert
+        assertEquals("alice2", cache.getByAlias(UserProfileCache.Alias.EMAIL, "alice@example.com", this::load).get().getUsername());
+        assertTrue(cache.getByAlias(UserProfileCache.Alias.USERNAME, "alice", key -> Optional.empty()).isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testConcurrentMissesAreCollapsed() throws Exception {
+        // Arrange
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Optional<UserProfile>>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.getByAlias(UserProfileCache.Alias.KEYCLOAK_ID, "kc-1", key -> {
+                    sleep();
+                    return load(key);
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<Optional<UserProfile>> result : results) {
+            assertEquals("u1", result.get(5, TimeUnit.SECONDS).get().getId());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testInvalidationDuringLoadIsNotUndone() {
+        // Arrange : l'écriture et son invalidation surviennent pendant la lecture de l'ancien profil
+        UserProfile before = stored;
+        Optional<UserProfile> first = cache.getByAlias(UserProfileCache.Alias.EMAIL, "alice@example.com", key -> {
+            loads.incrementAndGet();
+            stored = new UserProfile("u1", "kc-1", "alice2", null, null, "alice@example.com", null, null);
+            cache.invalidate("u1");
+            return Optional.of(before);
+        });
+
+        // Act
+        Optional<UserProfile> second = cache.getByAlias(UserProfileCache.Alias.EMAIL, "alice@example.com", this::load);
+
+        // Assert
+        assertEquals("alice", first.get().getUsername());
+        assertEquals("alice2", second.get().getUsername());
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<UserProfile> load(String key) {
+        loads.incrementAndGet();
+        return Optional.of(stored);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
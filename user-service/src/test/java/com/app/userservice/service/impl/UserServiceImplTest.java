@@ -0,0 +1,236 @@
+package com.app.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+import com.app.userservice.event.TagCatalogChangedEvent;
+import com.app.userservice.model.ProfileCompletionStatus;
+import com.app.userservice.model.UserProfile;
+import com.app.userservice.repository.UserRepository;
+import com.app.userservice.service.InterestService;
+import com.app.userservice.service.LearningObjectiveService;
+import com.app.userservice.service.SkillService;
+import com.app.userservice.service.TagIndexService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SkillService skillService;
+    @Mock
+    private InterestService interestService;
+    @Mock
+    private LearningObjectiveService learningObjectiveService;
+    @Mock
+    private TagIndexService tagIndexService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    public void setUp() {
+        UserProfileCache userCache = new UserProfileCache(1_000_000, 1_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        userService = new UserServiceImpl(userRepository, skillService, interestService, learningObjectiveService,
+                tagIndexService, eventPublisher, userCache);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPersonalInfoIsASingleTargetedWrite() {
+        // Arrange
+        UserProfile updated = new UserProfile("u1", "kc-1", "alice", "Bio", null, "alice@example.com", null, null);
+        when(userRepository.updateFields(eq("u1"), eq(2L), anyMap(),
+                eq(ProfileCompletionStatus.INITIAL), eq(ProfileCompletionStatus.PERSONAL_INFO_COMPLETED)))
+            .thenReturn(Optional.of(updated));
+
+        // Act
+        UserProfile result = userService.updatePersonalInfo("u1", "alice", "Bio", null, 2L);
+
+        // Assert
+        ArgumentCaptor<Map<String, Object>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).updateFields(eq("u1"), eq(2L), fields.capture(), any(), any());
+        assertEquals("alice", fields.getValue().get("username"));
+        assertEquals("Bio", fields.getValue().get("bio"));
+        assertFalse(fields.getValue().containsKey("profilePictureUrl"));
+        assertEquals("alice", result.getUsername());
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    public void testStaleVersionAndDuplicateUsernameAreReported() {
+        // Arrange
+        when(userRepository.updateFields(eq("u1"), eq(1L), anyMap(), any(), any())).thenReturn(Optional.empty());
+        when(userRepository.existsById("u1")).thenReturn(true);
+        when(userRepository.updateFields(eq("u1"), eq(null), anyMap(), any(), any()))
+            .thenThrow(new DuplicateKeyException("username"));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> userService.updatePersonalInfo("u1", "alice", null, null, 1L));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                () -> userService.updatePersonalInfo("u1", "bob", null, null, null));
+        assertEquals("Ce nom d'utilisateur est déjà pris", duplicate.getMessage());
+    }
+
+    @Test
+    public void testProvisionReturnsExistingUserWithoutWriting() {
+        // Arrange
+        UserProfile existing = new UserProfile("u1", "kc-1", "alice", null, null, "alice@example.com", null, null);
+        when(userRepository.findByKeycloakId("kc-1")).thenReturn(Optional.of(existing));
+
+        // Act
+        UserProfile result = userService.provisionUser(request("kc-1", "alice"));
+
+        // Assert
+        assertEquals("u1", result.getId());
+        verify(userRepository, never()).insert(any(UserProfile.class));
+    }
+
+    @Test
+    public void testProvisionCreatesUnknownUser() {
+        // Arrange
+        when(userRepository.findByKeycloakId("kc-2")).thenReturn(Optional.empty());
+        when(userRepository.insert(any(UserProfile.class))).thenAnswer(invocation -> {
+            UserProfile user = invocation.getArgument(0);
+            user.setId("u2");
+            return user;
+        });
+
+        // Act
+        UserProfile result = userService.provisionUser(request("kc-2", "bob"));
+
+        // Assert
+        assertEquals("u2", result.getId());
+        assertEquals("kc-2", result.getKeycloakId());
+    }
+
+    @Test
+    public void testConcurrentProvisionReturnsTheWinningUser() {
+        // Arrange
+        UserProfile winner = new UserProfile("u3", "kc-3", "carol", null, null, "carol@example.com", null, null);
+        when(userRepository.findByKeycloakId("kc-3")).thenReturn(Optional.empty(), Optional.of(winner));
+        when(userRepository.insert(any(UserProfile.class))).thenThrow(new DuplicateKeyException("keycloakId_unique"));
+
+        // Act
+        UserProfile result = userService.provisionUser(request("kc-3", "carol"));
+
+        // Assert
+        assertEquals("u3", result.getId());
+    }
+
+    @Test
+    public void testProvisionLinksExistingEmailWithoutKeycloakId() {
+        // Arrange
+        UserProfile registered = new UserProfile("u4", null, "erin", null, null, "erin@example.com", null, null);
+        UserProfile linked = new UserProfile("u4", "kc-5", "erin", null, null, "erin@example.com", null, null);
+        when(userRepository.findByKeycloakId("kc-5")).thenReturn(Optional.empty());
+        when(userRepository.insert(any(UserProfile.class))).thenThrow(new DuplicateKeyException("email_unique"));
+        when(userRepository.findByEmail("erin@example.com")).thenReturn(Optional.of(registered));
+        when(userRepository.attachKeycloakId("u4", "kc-5")).thenReturn(Optional.of(linked));
+
+        // Act
+        UserProfile result = userService.provisionUser(request("kc-5", "erin"));
+
+        // Assert
+        assertEquals("u4", result.getId());
+        assertEquals("kc-5", result.getKeycloakId());
+    }
+
+    @Test
+    public void testProvisionRejectsUsernameOfAnotherAccount() {
+        // Arrange
+        when(userRepository.findByKeycloakId("kc-4")).thenReturn(Optional.empty());
+        when(userRepository.insert(any(UserProfile.class))).thenThrow(new DuplicateKeyException("username_unique"));
+        when(userRepository.findByEmail("dave@example.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userService.provisionUser(request("kc-4", "dave")));
+    }
+
+    @Test
+    public void testTagRenameUpdatesSnapshotsAndEvictsProfiles() {
+        // Arrange
+        UserProfile cached = new UserProfile("u1", "kc-1", "alice", null, null, "alice@example.com", null, null);
+        UserProfile renamed = new UserProfile("u1", "kc-1", "alice2", null, null, "alice@example.com", null, null);
+        when(userRepository.findById("u1")).thenReturn(Optional.of(cached), Optional.of(renamed));
+        userService.getUserById("u1");
+        when(userRepository.updateTagSnapshots("skills", "t1", "Java SE", "Langages")).thenReturn(List.of("u1"));
+
+        // Act
+        userService.onTagCatalogChanged(
+                TagCatalogChangedEvent.updated(TagCatalogChangedEvent.Catalog.SKILLS, "t1", "Java SE", "Langages"));
+
+        // Assert
+        assertEquals("alice2", userService.getUserById("u1").get().getUsername());
+        verify(userRepository, never()).pullTagSnapshots(any(), any());
+    }
+
+    @Test
+    public void testUsersPageStartsAtTheBeginningOrAfterTheCursor() {
+        // Arrange
+        UserProfile alice = new UserProfile("u1", "kc-1", "alice", null, null, "alice@example.com", null, null);
+        UserProfile bob = new UserProfile("u2", "kc-2", "bob", null, null, "bob@example.com", null, null);
+        when(userRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(alice, bob));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc("u2", Limit.of(2))).thenReturn(List.of());
+
+        // Act & Assert
+        assertEquals(List.of(alice, bob), userService.getUsersPage(null, 2));
+        assertEquals(List.of(), userService.getUsersPage("u2", 2));
+    }
+
+    @Test
+    public void testForEachUserConsumesAndClosesTheStream() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<UserProfile> users = Stream.of(
+                new UserProfile("u1", "kc-1", "alice", null, null, "alice@example.com", null, null),
+                new UserProfile("u2", "kc-2", "bob", null, null, "bob@example.com", null, null))
+            .onClose(() -> closed.set(true));
+        when(userRepository.streamAllByOrderByIdAsc()).thenReturn(users);
+        List<String> visited = new ArrayList<>();
+
+        // Act
+        userService.forEachUser(user -> visited.add(user.getUsername()));
+
+        // Assert
+        assertEquals(List.of("alice", "bob"), visited);
+        assertTrue(closed.get());
+    }
+
+    private static UserProfile request(String keycloakId, String username) {
+        return new UserProfile(null, keycloakId, username, null, null, username + "@example.com", null, null);
+    }
+}